@@ -0,0 +1,121 @@
+package com.example.rqchallenge.benchmark;
+
+import com.example.rqchallenge.employees.client.RestTemplateEmployeeClient;
+import com.example.rqchallenge.employees.controller.EmployeeController;
+import com.example.rqchallenge.employees.service.EmployeeService;
+import com.example.rqchallenge.employees.service.EmployeeServiceProperties;
+import com.example.rqchallenge.employees.snapshot.SnapshotWriteSource;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.client.RequestCallback;
+import org.springframework.web.client.ResponseExtractor;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+
+import static org.springframework.http.MediaType.APPLICATION_JSON;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * Controller round trip through MockMvc: request mapping, service, and Jackson serialization of the response.
+ * Serialized bodies are reused for as long as the snapshot is unchanged, so this mostly measures the cached path.
+ * The upstream is replaced by a canned response so only local work is measured.
+ */
+@State(Scope.Benchmark)
+public class EmployeeControllerBenchmark {
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    private int size;
+
+    private EmployeeService employeeService;
+    private MockMvc mockMvc;
+    private String etag;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        byte[] json = EmployeeDatasets.employeesJson(EmployeeDatasets.employees(size));
+        RestTemplate restTemplate = new RestTemplate() {
+            @Override
+            public <T> T execute(String url, HttpMethod method, RequestCallback requestCallback,
+                                 ResponseExtractor<T> responseExtractor, Object... uriVariables) {
+                try {
+                    return responseExtractor.extractData(new MockClientHttpResponse(json, HttpStatus.OK));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        };
+        EmployeeServiceProperties properties = new EmployeeServiceProperties();
+        properties.getSnapshot().setTtl(Duration.ofHours(1));
+        employeeService = new EmployeeService(new RestTemplateEmployeeClient(restTemplate, "http://upstream/"),
+                properties, new StaticListableBeanFactory().getBeanProvider(SnapshotWriteSource.class));
+        mockMvc = MockMvcBuilders
+                .standaloneSetup(new EmployeeController(employeeService, new ObjectMapper(), Duration.ZERO,
+                        DataSize.ofMegabytes(128)))
+                .build();
+        etag = mockMvc.perform(get("/employees").accept(APPLICATION_JSON)).andReturn()
+                .getResponse().getHeader(HttpHeaders.ETAG);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        employeeService.shutdown();
+    }
+
+    @Benchmark
+    public MvcResult getAllEmployees() throws Exception {
+        return mockMvc.perform(get("/employees").accept(APPLICATION_JSON)).andReturn();
+    }
+
+    /**
+     * A client polling {@code /employees} that already holds the current version: answered {@code 304} without
+     * rendering the list.
+     */
+    @Benchmark
+    public MvcResult getAllEmployeesNotModified() throws Exception {
+        return mockMvc.perform(get("/employees").accept(APPLICATION_JSON).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andReturn();
+    }
+
+    /**
+     * A client accepting gzip: sent the compressed bytes kept beside the plain ones.
+     */
+    @Benchmark
+    public MvcResult getAllEmployeesGzipped() throws Exception {
+        return mockMvc.perform(get("/employees").accept(APPLICATION_JSON).header(HttpHeaders.ACCEPT_ENCODING, "gzip"))
+                .andReturn();
+    }
+
+    @Benchmark
+    public MvcResult searchEmployees() throws Exception {
+        return mockMvc.perform(get("/employees/search/{searchString}", EmployeeDatasets.SEARCH_STRING)
+                .accept(APPLICATION_JSON)).andReturn();
+    }
+
+    @Benchmark
+    public MvcResult highestSalary() throws Exception {
+        return mockMvc.perform(get("/employees/highestSalary").accept(APPLICATION_JSON)).andReturn();
+    }
+
+    @Benchmark
+    public MvcResult topTenHighestEarningEmployeeNames() throws Exception {
+        return mockMvc.perform(get("/employees/topTenHighestEarningEmployeeNames").accept(APPLICATION_JSON)).andReturn();
+    }
+}
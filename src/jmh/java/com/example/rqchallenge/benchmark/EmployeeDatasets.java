@@ -0,0 +1,49 @@
+package com.example.rqchallenge.benchmark;
+
+import com.example.rqchallenge.employees.model.Employee;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Deterministic synthetic employee directories for benchmarks.
+ */
+final class EmployeeDatasets {
+
+    private static final String[] FIRST_NAMES = {
+            "Tiger", "Garrett", "Ashton", "Cedric", "Airi", "Brielle", "Herrod", "Rhona", "Colleen", "Sonya",
+            "Jena", "Quinn", "Charde", "Haley", "Tatyana", "Michael", "Paul", "Gloria", "Bradley", "Dai"
+    };
+    private static final String[] LAST_NAMES = {
+            "Nixon", "Winters", "Cox", "Kelly", "Satou", "Williamson", "Chandler", "Davidson", "Hurst", "Frost",
+            "Gaines", "Flynn", "Marshall", "Kennedy", "Fitzpatrick", "Silva", "Byrd", "Little", "Greer", "Rios"
+    };
+
+    static final String SEARCH_STRING = "son";
+
+    private EmployeeDatasets() {
+    }
+
+    static List<Employee> employees(int size) {
+        Random random = new Random(size);
+        List<Employee> employees = new ArrayList<>(size);
+        for (int id = 1; id <= size; id++) {
+            String name = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)] + " "
+                    + LAST_NAMES[random.nextInt(LAST_NAMES.length)] + " " + Integer.toString(id, 36);
+            employees.add(new Employee(id, name, 20_000 + random.nextInt(880_000), 18 + random.nextInt(50)));
+        }
+        return employees;
+    }
+
+    static byte[] employeesJson(List<Employee> employees) {
+        try {
+            return new ObjectMapper().writeValueAsBytes(Map.of("status", "success", "data", employees));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
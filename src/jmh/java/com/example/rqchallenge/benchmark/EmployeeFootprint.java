@@ -0,0 +1,55 @@
+package com.example.rqchallenge.benchmark;
+
+import com.example.rqchallenge.employees.model.Employee;
+import com.example.rqchallenge.employees.snapshot.EmployeeSnapshot;
+import com.example.rqchallenge.employees.store.EmployeeStore;
+import org.openjdk.jol.info.GraphLayout;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Retained heap of the employee directory held as a {@code List<Employee>} with a boxed id map, as the snapshot
+ * used to hold it, against the column store, for 1M employees by default. Run with {@code ./gradlew footprint}.
+ */
+public final class EmployeeFootprint {
+
+    private EmployeeFootprint() {
+    }
+
+    public static void main(String[] args) {
+        int size = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        List<Employee> employees = withProfileImages(EmployeeDatasets.employees(size));
+
+        List<Employee> list = new ArrayList<>(employees);
+        Map<Integer, Integer> rowsById = new HashMap<>();
+        for (int row = 0; row < list.size(); row++) {
+            rowsById.putIfAbsent(list.get(row).getId(), row);
+        }
+        EmployeeStore store = EmployeeStore.of(employees);
+        EmployeeSnapshot snapshot = new EmployeeSnapshot(1, Instant.now(), employees);
+
+        report("List<Employee> + HashMap<Integer, Integer>", GraphLayout.parseInstance(list, rowsById).totalSize(), size);
+        report("EmployeeStore", GraphLayout.parseInstance(store).totalSize(), size);
+        report("EmployeeSnapshot (store + indexes)", GraphLayout.parseInstance(snapshot).totalSize(), size);
+    }
+
+    /**
+     * Gives every employee its own profile image URL, so neither layout gets to share one string between rows.
+     */
+    private static List<Employee> withProfileImages(List<Employee> employees) {
+        List<Employee> result = new ArrayList<>(employees.size());
+        for (Employee employee : employees) {
+            result.add(new Employee(employee.getId(), employee.getName(), employee.getSalary(), employee.getAge(),
+                    "https://images.example.com/employees/" + employee.getId() + ".jpg"));
+        }
+        return result;
+    }
+
+    private static void report(String layout, long bytes, int size) {
+        System.out.printf("%-45s %,14d bytes %8.1f bytes/employee%n", layout, bytes, (double) bytes / size);
+    }
+}
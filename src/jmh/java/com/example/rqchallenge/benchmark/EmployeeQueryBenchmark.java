@@ -0,0 +1,127 @@
+package com.example.rqchallenge.benchmark;
+
+import com.example.rqchallenge.employees.model.Employee;
+import com.example.rqchallenge.employees.model.EmployeeStats;
+import com.example.rqchallenge.employees.snapshot.EmployeeSnapshot;
+import com.example.rqchallenge.employees.stats.SnapshotStats;
+import com.example.rqchallenge.employees.stats.StatsQuery;
+import com.example.rqchallenge.employees.stats.StatsSink;
+import com.example.rqchallenge.employees.store.EmployeeStore;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Random;
+
+import static java.util.Comparator.comparing;
+import static java.util.Comparator.naturalOrder;
+import static java.util.Comparator.reverseOrder;
+import static java.util.function.Function.identity;
+import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toMap;
+
+/**
+ * Compares the list-scanning query implementations {@code EmployeeService} used to run per request with the
+ * snapshot indexes that replace them, and a boxed {@code HashMap} id lookup with the snapshot's column store.
+ * The stats benchmarks compare answering {@code /employees/stats} from the snapshot with one streaming pass.
+ */
+@State(Scope.Benchmark)
+public class EmployeeQueryBenchmark {
+
+    private static final StatsQuery STATS_QUERY = new StatsQuery(10, 500_000, 30, 40, 10);
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    private int size;
+
+    private List<Employee> employees;
+    private Map<Integer, Employee> employeesById;
+    private EmployeeSnapshot snapshot;
+    private int[] lookupIds;
+    private int nextLookup;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        employees = EmployeeDatasets.employees(size);
+        employeesById = employees.stream().collect(toMap(Employee::getId, identity()));
+        snapshot = new EmployeeSnapshot(1, Instant.now(), employees);
+        lookupIds = new Random(size).ints(1024, 1, size + 1).toArray();
+    }
+
+    @Benchmark
+    public List<Employee> nameSearchScan() {
+        return employees.stream()
+                .filter(Objects::nonNull)
+                .filter(employee -> Objects.nonNull(employee.getName()))
+                .filter(employee -> employee.getName().toLowerCase().contains(EmployeeDatasets.SEARCH_STRING.toLowerCase()))
+                .collect(toList());
+    }
+
+    @Benchmark
+    public List<Employee> nameSearchIndex() {
+        return snapshot.getEmployees(snapshot.getNameIndex().search(EmployeeDatasets.SEARCH_STRING));
+    }
+
+    @Benchmark
+    public Integer highestSalaryScan() {
+        return employees.stream()
+                .map(Employee::getSalary)
+                .max(naturalOrder())
+                .orElse(0);
+    }
+
+    @Benchmark
+    public Integer highestSalaryIndex() {
+        return snapshot.getSalaryIndex().max().orElse(0);
+    }
+
+    @Benchmark
+    public List<String> topTenSort() {
+        return employees.stream()
+                .sorted(comparing(Employee::getSalary, reverseOrder()))
+                .limit(10)
+                .map(Employee::getName)
+                .collect(toList());
+    }
+
+    @Benchmark
+    public List<String> topTenIndex() {
+        return snapshot.getSalaryIndex().topNames(10);
+    }
+
+    @Benchmark
+    public EmployeeStats statsSnapshot() {
+        return SnapshotStats.compute(snapshot, STATS_QUERY);
+    }
+
+    @Benchmark
+    public EmployeeStats statsStream() {
+        StatsSink sink = new StatsSink(STATS_QUERY);
+        for (Employee employee : employees) {
+            sink.accept(employee.getId(), employee.getName(), employee.getSalary(), employee.getAge(),
+                    employee.getProfileImage());
+        }
+        return sink.getStats();
+    }
+
+    @Benchmark
+    public int salaryByIdMap() {
+        return employeesById.get(nextLookupId()).getSalary();
+    }
+
+    @Benchmark
+    public int salaryByIdStore() {
+        EmployeeStore store = snapshot.getStore();
+        return store.getSalary(store.rowOf(nextLookupId()));
+    }
+
+    private int nextLookupId() {
+        return lookupIds[nextLookup++ & (lookupIds.length - 1)];
+    }
+}
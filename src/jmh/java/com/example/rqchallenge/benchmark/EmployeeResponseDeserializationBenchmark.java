@@ -0,0 +1,57 @@
+package com.example.rqchallenge.benchmark;
+
+import com.example.rqchallenge.employees.model.EmployeeResponse;
+import com.example.rqchallenge.employees.stream.EmployeeListSink;
+import com.example.rqchallenge.employees.stream.EmployeeStreamReader;
+import com.example.rqchallenge.employees.stream.MaxSalarySink;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+
+/**
+ * Deserialization of the upstream {@code /employees} payload: full databinding against streaming it into a list
+ * or straight into an aggregate. Run with the {@code gc} profiler to compare allocation per operation.
+ */
+@State(Scope.Benchmark)
+public class EmployeeResponseDeserializationBenchmark {
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    private int size;
+
+    private byte[] json;
+    private ObjectReader reader;
+    private EmployeeStreamReader streamReader;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        json = EmployeeDatasets.employeesJson(EmployeeDatasets.employees(size));
+        reader = new ObjectMapper().readerFor(EmployeeResponse.class);
+        streamReader = new EmployeeStreamReader();
+    }
+
+    @Benchmark
+    public EmployeeResponse databind() throws IOException {
+        return reader.readValue(json);
+    }
+
+    @Benchmark
+    public EmployeeListSink streamToList() throws IOException {
+        EmployeeListSink sink = new EmployeeListSink();
+        streamReader.read(json, sink);
+        return sink;
+    }
+
+    @Benchmark
+    public MaxSalarySink streamToMaxSalary() throws IOException {
+        MaxSalarySink sink = new MaxSalarySink();
+        streamReader.read(json, sink);
+        return sink;
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.rqchallenge.benchmark;
+
+import com.example.rqchallenge.employees.concurrent.ParallelQueries;
+import com.example.rqchallenge.employees.model.Employee;
+import com.example.rqchallenge.employees.snapshot.EmployeeSnapshot;
+import com.example.rqchallenge.employees.snapshot.SnapshotDelta;
+import com.example.rqchallenge.employees.snapshot.SnapshotFile;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of building a snapshot and its indexes, paid once per upstream refresh rather than per request, of
+ * patching it with a small {@link SnapshotDelta} instead, and of writing it to and reading it back from a
+ * snapshot file.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class EmployeeSnapshotBuildBenchmark {
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    private int size;
+
+    private List<Employee> employees;
+    private List<Employee> refreshed;
+    private EmployeeSnapshot snapshot;
+    private Path directory;
+    private SnapshotFile file;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        employees = EmployeeDatasets.employees(size);
+        snapshot = new EmployeeSnapshot(1, Instant.now(), employees);
+        // One employee in a thousand gets a raise and as many again are hired: a typical refresh.
+        refreshed = new ArrayList<>(employees);
+        for (int i = 0; i < size; i += 1000) {
+            Employee employee = refreshed.get(i);
+            refreshed.set(i, new Employee(employee.getId(), employee.getName(), employee.getSalary() + 1000,
+                    employee.getAge(), employee.getProfileImage()));
+            refreshed.add(new Employee(size + i + 1, employee.getName(), employee.getSalary(), employee.getAge()));
+        }
+        directory = Files.createTempDirectory("snapshot-benchmark");
+        file = new SnapshotFile(directory.resolve("employees.snapshot"));
+        file.write(snapshot);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file.getPath());
+        Files.deleteIfExists(directory);
+    }
+
+    @Benchmark
+    public EmployeeSnapshot buildSnapshot() {
+        return new EmployeeSnapshot(1, Instant.now(), employees);
+    }
+
+    @Benchmark
+    public EmployeeSnapshot rebuildRefreshedSnapshot() {
+        return new EmployeeSnapshot(2, Instant.now(), refreshed);
+    }
+
+    @Benchmark
+    public EmployeeSnapshot applyRefreshDelta() {
+        return SnapshotDelta.between(snapshot, refreshed).applyTo(snapshot, 2, Instant.now());
+    }
+
+    @Benchmark
+    public void writeSnapshotFile() throws IOException {
+        file.write(snapshot);
+    }
+
+    @Benchmark
+    public EmployeeSnapshot restoreFromSnapshotFile() throws IOException {
+        SnapshotFile.Contents contents = file.read();
+        return new EmployeeSnapshot(1, contents.getLoadedAt(), contents.getStore(), ParallelQueries.sequential());
+    }
+}
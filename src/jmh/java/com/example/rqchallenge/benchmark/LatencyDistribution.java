@@ -0,0 +1,128 @@
+package com.example.rqchallenge.benchmark;
+
+import java.time.Duration;
+import java.util.SplittableRandom;
+
+/**
+ * Response delay the {@link UpstreamSimulator} adds to each request, parsed from a spec:
+ * <ul>
+ *     <li>{@code fixed:50ms}: always the same delay.</li>
+ *     <li>{@code uniform:10ms-200ms}: uniformly spread between the two.</li>
+ *     <li>{@code lognormal:50ms,400ms}: log-normal with the given median and 99th percentile, the long-tailed
+ *     shape most remote services show.</li>
+ * </ul>
+ * Durations take the {@code ns}, {@code us}, {@code ms} and {@code s} suffixes.
+ */
+abstract class LatencyDistribution {
+
+    /**
+     * Standard normal quantile at 0.99.
+     */
+    private static final double Z_99 = 2.3263478740;
+
+    static final LatencyDistribution NONE = fixed(Duration.ZERO);
+
+    abstract long sampleNanos(SplittableRandom random);
+
+    static LatencyDistribution parse(String spec) {
+        int colon = spec.indexOf(':');
+        String kind = colon < 0 ? spec : spec.substring(0, colon);
+        String arguments = colon < 0 ? "" : spec.substring(colon + 1);
+        switch (kind) {
+            case "none":
+                return NONE;
+            case "fixed":
+                return fixed(duration(arguments));
+            case "uniform": {
+                String[] bounds = arguments.split("-", 2);
+                if (bounds.length != 2) {
+                    throw new IllegalArgumentException("Expected uniform:<min>-<max>, got " + spec);
+                }
+                return uniform(duration(bounds[0]), duration(bounds[1]));
+            }
+            case "lognormal": {
+                String[] quantiles = arguments.split(",", 2);
+                if (quantiles.length != 2) {
+                    throw new IllegalArgumentException("Expected lognormal:<median>,<p99>, got " + spec);
+                }
+                return logNormal(duration(quantiles[0]), duration(quantiles[1]));
+            }
+            default:
+                throw new IllegalArgumentException("Unknown latency distribution: " + spec);
+        }
+    }
+
+    static LatencyDistribution fixed(Duration delay) {
+        long nanos = delay.toNanos();
+        return new LatencyDistribution() {
+            @Override
+            long sampleNanos(SplittableRandom random) {
+                return nanos;
+            }
+
+            @Override
+            public String toString() {
+                return "fixed:" + delay.toMillis() + "ms";
+            }
+        };
+    }
+
+    static LatencyDistribution uniform(Duration min, Duration max) {
+        long minNanos = min.toNanos();
+        long maxNanos = max.toNanos();
+        if (maxNanos < minNanos) {
+            throw new IllegalArgumentException("Uniform latency maximum is below its minimum");
+        }
+        return new LatencyDistribution() {
+            @Override
+            long sampleNanos(SplittableRandom random) {
+                return maxNanos == minNanos ? minNanos : random.nextLong(minNanos, maxNanos + 1);
+            }
+
+            @Override
+            public String toString() {
+                return "uniform:" + min.toMillis() + "ms-" + max.toMillis() + "ms";
+            }
+        };
+    }
+
+    static LatencyDistribution logNormal(Duration median, Duration p99) {
+        if (median.isZero() || median.isNegative() || p99.compareTo(median) < 0) {
+            throw new IllegalArgumentException("Log-normal latency needs 0 < median <= p99");
+        }
+        double mu = Math.log(median.toNanos());
+        double sigma = (Math.log(p99.toNanos()) - mu) / Z_99;
+        return new LatencyDistribution() {
+            @Override
+            long sampleNanos(SplittableRandom random) {
+                return (long) Math.exp(mu + sigma * gaussian(random));
+            }
+
+            @Override
+            public String toString() {
+                return "lognormal:" + median.toMillis() + "ms," + p99.toMillis() + "ms";
+            }
+        };
+    }
+
+    /**
+     * Standard normal sample by the Box-Muller transform; {@link SplittableRandom} has no Gaussian of its own.
+     */
+    private static double gaussian(SplittableRandom random) {
+        double u = 1.0 - random.nextDouble();
+        double v = random.nextDouble();
+        return Math.sqrt(-2.0 * Math.log(u)) * Math.cos(2.0 * Math.PI * v);
+    }
+
+    static Duration duration(String value) {
+        String trimmed = value.trim();
+        String[][] units = {{"ns", "1"}, {"us", "1000"}, {"ms", "1000000"}, {"s", "1000000000"}};
+        for (String[] unit : units) {
+            if (trimmed.endsWith(unit[0])) {
+                String amount = trimmed.substring(0, trimmed.length() - unit[0].length());
+                return Duration.ofNanos(Math.round(Double.parseDouble(amount) * Long.parseLong(unit[1])));
+            }
+        }
+        throw new IllegalArgumentException("Expected a duration such as 50ms, got " + value);
+    }
+}
@@ -0,0 +1,298 @@
+package com.example.rqchallenge.benchmark;
+
+import com.example.rqchallenge.RqChallengeApplication;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * End-to-end load test: starts the application against an {@link UpstreamSimulator}, drives each controller
+ * endpoint in turn over HTTP, and reports throughput and p50, p99 and p999 latency per endpoint. Run with
+ * {@code ./gradlew loadTest}; settings are {@code load.*} project properties, for example
+ * {@code -Pload.latency=lognormal:50ms,400ms -Pload.throttle-rate=0.05}, and {@code load.app.*} ones are passed
+ * to the application with the prefix removed.
+ * <p>
+ * Each endpoint gets {@code load.concurrency} workers that send their next request as soon as the last one is
+ * answered, for {@code load.warmup} and then {@code load.duration}. Only the second period is reported. Being a
+ * closed loop, the driver slows down with the application, so latencies are those seen at the offered
+ * concurrency rather than at a fixed arrival rate. Random choices are seeded, so runs with the same settings send
+ * the same requests. Results are also written as JSON, to compare runs.
+ */
+public final class LoadTest {
+
+    private static final String PREFIX = "load.";
+    private static final String APP_PREFIX = "load.app.";
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int size = Integer.getInteger("load.size", 10_000);
+        LatencyDistribution latency = LatencyDistribution.parse(setting("latency", "lognormal:50ms,300ms"));
+        double throttleRate = Double.parseDouble(setting("throttle-rate", "0"));
+        double errorRate = Double.parseDouble(setting("error-rate", "0"));
+        long seed = Long.getLong("load.seed", 42);
+        int concurrency = Integer.getInteger("load.concurrency", 16);
+        Duration warmup = LatencyDistribution.duration(setting("warmup", "10s"));
+        Duration duration = LatencyDistribution.duration(setting("duration", "30s"));
+        Path resultsFile = Path.of(setting("results", "build/results/load/results.json"));
+
+        try (UpstreamSimulator upstream = new UpstreamSimulator(EmployeeDatasets.employees(size), latency,
+                throttleRate, errorRate, seed);
+             ConfigurableApplicationContext application = start(upstream)) {
+            int port = ((WebServerApplicationContext) application).getWebServer().getPort();
+            String baseUrl = "http://127.0.0.1:" + port + "/employees";
+            HttpClient client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(5))
+                    .build();
+
+            List<Map<String, Object>> results = new ArrayList<>();
+            System.out.printf("%-28s %9s %7s %9s %9s %9s %9s %9s%n",
+                    "endpoint", "requests", "errors", "req/s", "p50 ms", "p99 ms", "p999 ms", "max ms");
+            for (Endpoint endpoint : endpoints(baseUrl, size, selected(), upstream)) {
+                run(client, endpoint, concurrency, warmup, seed);
+                upstream.reset();
+                Result result = run(client, endpoint, concurrency, duration, seed);
+                result.print();
+                Map<String, Object> json = result.toJson();
+                json.put("upstream", upstream.getResponseCounts());
+                results.add(json);
+            }
+
+            Map<String, Object> settings = new LinkedHashMap<>();
+            settings.put("size", size);
+            settings.put("latency", latency.toString());
+            settings.put("throttleRate", throttleRate);
+            settings.put("errorRate", errorRate);
+            settings.put("seed", seed);
+            settings.put("concurrency", concurrency);
+            settings.put("warmup", warmup.toString());
+            settings.put("duration", duration.toString());
+            settings.put("application", applicationProperties());
+            Map<String, Object> report = new LinkedHashMap<>();
+            report.put("settings", settings);
+            report.put("endpoints", results);
+            Files.createDirectories(resultsFile.toAbsolutePath().getParent());
+            new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(resultsFile.toFile(), report);
+            System.out.println("Results written to " + resultsFile.toAbsolutePath());
+        }
+    }
+
+    private static ConfigurableApplicationContext start(UpstreamSimulator upstream) {
+        Map<String, Object> properties = new LinkedHashMap<>();
+        properties.put("server.port", 0);
+        properties.put("employees.upstream.base-url", upstream.getBaseUrl());
+        properties.put("logging.level.root", "WARN");
+        properties.putAll(applicationProperties());
+        return new SpringApplicationBuilder(RqChallengeApplication.class).properties(properties).run();
+    }
+
+    private static Map<String, Object> applicationProperties() {
+        Map<String, Object> properties = new LinkedHashMap<>();
+        System.getProperties().stringPropertyNames().stream()
+                .filter(name -> name.startsWith(APP_PREFIX))
+                .sorted()
+                .forEach(name -> properties.put(name.substring(APP_PREFIX.length()), System.getProperty(name)));
+        return properties;
+    }
+
+    private static String setting(String name, String defaultValue) {
+        return System.getProperty(PREFIX + name, defaultValue);
+    }
+
+    /**
+     * Endpoints named by {@code load.endpoints}, comma separated, or every endpoint if unset.
+     */
+    private static Set<String> selected() {
+        String names = setting("endpoints", "");
+        return names.isBlank()
+                ? Set.of()
+                : Arrays.stream(names.split(",")).map(String::trim).collect(Collectors.toSet());
+    }
+
+    /**
+     * Writes come last, so reads are measured against the dataset as generated. Every delete, in the warmup or
+     * measured, names an employee that exists and that no earlier request deleted: ids are taken from the top of
+     * the dataset down, and once those run out each delete first adds its victim to the simulator directly, before
+     * the request is timed.
+     */
+    private static List<Endpoint> endpoints(String baseUrl, int size, Set<String> selected,
+                                            UpstreamSimulator upstream) {
+        AtomicInteger nextDelete = new AtomicInteger(size);
+        String search = baseUrl + "/search/" + EmployeeDatasets.SEARCH_STRING;
+        List<Endpoint> endpoints = List.of(
+                new Endpoint("getAllEmployees", random -> get(baseUrl)),
+                new Endpoint("getEmployeesByNameSearch", random -> get(search)),
+                new Endpoint("getEmployeeById", random -> get(baseUrl + "/" + (1 + random.nextInt(size)))),
+                new Endpoint("getHighestSalaryOfEmployees", random -> get(baseUrl + "/highestSalary")),
+                new Endpoint("getTopTenHighestEarningEmployeeNames",
+                        random -> get(baseUrl + "/topTenHighestEarningEmployeeNames")),
+                new Endpoint("getStats", random -> get(baseUrl + "/stats")),
+                new Endpoint("createEmployee", random -> HttpRequest.newBuilder(URI.create(baseUrl))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(String.format(
+                                "{\"name\":\"Load Test %d\",\"salary\":\"%d\",\"age\":\"%d\"}",
+                                random.nextInt(1_000_000), 20_000 + random.nextInt(880_000), 18 + random.nextInt(50))))
+                        .build()),
+                new Endpoint("deleteEmployeeById", random -> {
+                    int id = nextDelete.getAndDecrement();
+                    return HttpRequest.newBuilder(URI.create(baseUrl + "/" + (id > 0 ? id : upstream.addEmployee())))
+                            .DELETE()
+                            .build();
+                }));
+        return endpoints.stream()
+                .filter(endpoint -> selected.isEmpty() || selected.contains(endpoint.name))
+                .collect(Collectors.toList());
+    }
+
+    private static HttpRequest get(String url) {
+        return HttpRequest.newBuilder(URI.create(url)).header("Accept", "application/json").GET().build();
+    }
+
+    private static Result run(HttpClient client, Endpoint endpoint, int concurrency, Duration duration, long seed)
+            throws InterruptedException, ExecutionException {
+        ExecutorService workers = Executors.newFixedThreadPool(concurrency);
+        SplittableRandom seeds = new SplittableRandom(seed);
+        long started = System.nanoTime();
+        long deadline = started + duration.toNanos();
+        try {
+            List<Future<Samples>> futures = new ArrayList<>(concurrency);
+            for (int worker = 0; worker < concurrency; worker++) {
+                SplittableRandom random = seeds.split();
+                futures.add(workers.submit(() -> drive(client, endpoint, random, deadline)));
+            }
+            Samples all = new Samples();
+            for (Future<Samples> future : futures) {
+                all.addAll(future.get());
+            }
+            return new Result(endpoint.name, all, System.nanoTime() - started);
+        } finally {
+            workers.shutdownNow();
+        }
+    }
+
+    private static Samples drive(HttpClient client, Endpoint endpoint, SplittableRandom random, long deadline) {
+        Samples samples = new Samples();
+        while (System.nanoTime() < deadline && !Thread.currentThread().isInterrupted()) {
+            HttpRequest request = endpoint.request.apply(random);
+            long start = System.nanoTime();
+            boolean ok;
+            try {
+                int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                ok = status < 400;
+            } catch (IOException e) {
+                ok = false;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            samples.add(System.nanoTime() - start, ok);
+        }
+        return samples;
+    }
+
+    private static final class Endpoint {
+        private final String name;
+        private final Function<SplittableRandom, HttpRequest> request;
+
+        Endpoint(String name, Function<SplittableRandom, HttpRequest> request) {
+            this.name = name;
+            this.request = request;
+        }
+    }
+
+    /**
+     * Latencies in nanoseconds, kept whole so percentiles are exact.
+     */
+    private static final class Samples {
+        private long[] latencies = new long[1024];
+        private int count;
+        private int errors;
+
+        void add(long latency, boolean ok) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = latency;
+            if (!ok) {
+                errors++;
+            }
+        }
+
+        void addAll(Samples other) {
+            for (int i = 0; i < other.count; i++) {
+                add(other.latencies[i], true);
+            }
+            errors += other.errors;
+        }
+    }
+
+    private static final class Result {
+        private final String endpoint;
+        private final long[] sorted;
+        private final int errors;
+        private final double throughput;
+
+        Result(String endpoint, Samples samples, long elapsedNanos) {
+            this.endpoint = endpoint;
+            this.sorted = Arrays.copyOf(samples.latencies, samples.count);
+            Arrays.sort(sorted);
+            this.errors = samples.errors;
+            this.throughput = sorted.length * 1e9 / elapsedNanos;
+        }
+
+        /**
+         * Nearest-rank percentile, in milliseconds.
+         */
+        double percentile(double quantile) {
+            if (sorted.length == 0) {
+                return Double.NaN;
+            }
+            int rank = (int) Math.ceil(quantile * sorted.length);
+            return sorted[Math.max(0, rank - 1)] / 1e6;
+        }
+
+        void print() {
+            System.out.printf("%-28s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f%n", endpoint, sorted.length, errors,
+                    throughput, percentile(0.5), percentile(0.99), percentile(0.999), percentile(1.0));
+        }
+
+        Map<String, Object> toJson() {
+            Map<String, Object> json = new LinkedHashMap<>();
+            json.put("endpoint", endpoint);
+            json.put("requests", sorted.length);
+            json.put("errors", errors);
+            json.put("requestsPerSecond", throughput);
+            json.put("p50Millis", percentile(0.5));
+            json.put("p99Millis", percentile(0.99));
+            json.put("p999Millis", percentile(0.999));
+            json.put("maxMillis", percentile(1.0));
+            return json;
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.rqchallenge.benchmark;
+
+import com.example.rqchallenge.employees.concurrent.ParallelQueries;
+import com.example.rqchallenge.employees.index.NameIndex;
+import com.example.rqchallenge.employees.index.SalaryIndex;
+import com.example.rqchallenge.employees.store.EmployeeStore;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Sequential against fork-join execution of the snapshot work that still touches every row: name searches too
+ * short for the trigram index, verification of trigram candidates, and the salary index sort. A parallelism of
+ * 1 is the sequential path.
+ */
+@State(Scope.Benchmark)
+public class ParallelQueryBenchmark {
+
+    @Param({"1", "2", "4", "8"})
+    private int parallelism;
+
+    @Param({"100000", "1000000"})
+    private int size;
+
+    private EmployeeStore store;
+    private NameIndex nameIndex;
+    private ParallelQueries parallel;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        store = EmployeeStore.of(EmployeeDatasets.employees(size));
+        nameIndex = NameIndex.build(store);
+        parallel = parallelism == 1 ? ParallelQueries.sequential() : new ParallelQueries(parallelism, 0);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        parallel.shutdown();
+    }
+
+    @Benchmark
+    public int[] shortNameSearch() {
+        return nameIndex.search("on", parallel);
+    }
+
+    @Benchmark
+    public int[] verifiedNameSearch() {
+        return nameIndex.search("iams", parallel);
+    }
+
+    @Benchmark
+    public SalaryIndex salaryIndexBuild() {
+        return SalaryIndex.build(store, parallel);
+    }
+}
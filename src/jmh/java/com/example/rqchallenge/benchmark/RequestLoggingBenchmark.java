@@ -0,0 +1,146 @@
+package com.example.rqchallenge.benchmark;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.OutputStreamAppender;
+import com.example.rqchallenge.employees.client.RestTemplateEmployeeClient;
+import com.example.rqchallenge.employees.controller.EmployeeController;
+import com.example.rqchallenge.employees.service.EmployeeService;
+import com.example.rqchallenge.employees.service.EmployeeServiceProperties;
+import com.example.rqchallenge.employees.snapshot.SnapshotWriteSource;
+import com.example.rqchallenge.employees.web.AccessLogFilter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.client.RequestCallback;
+import org.springframework.web.client.ResponseExtractor;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+
+import static org.springframework.http.MediaType.APPLICATION_JSON;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * Cost of request logging on a cheap, cached endpoint, with log output formatted but discarded:
+ * <ul>
+ *     <li>{@code off}: no request logging</li>
+ *     <li>{@code access-async}: the access log line through an async appender, as configured for the service</li>
+ *     <li>{@code access-sync}: the access log line through a synchronous appender</li>
+ *     <li>{@code debug-sync}: the per-request DEBUG lines as well, synchronously, which is what logging every
+ *     request at INFO used to cost</li>
+ * </ul>
+ * Runs with several threads so that contention on the appender shows up.
+ */
+@State(Scope.Benchmark)
+@Threads(4)
+public class RequestLoggingBenchmark {
+
+    private static final String APPLICATION_LOGGER = "com.example.rqchallenge";
+
+    @Param({"off", "access-async", "access-sync", "debug-sync"})
+    private String logging;
+
+    private EmployeeService employeeService;
+    private MockMvc mockMvc;
+
+    @Setup
+    public void setUp() throws Exception {
+        byte[] json = EmployeeDatasets.employeesJson(EmployeeDatasets.employees(1000));
+        RestTemplate restTemplate = new RestTemplate() {
+            @Override
+            public <T> T execute(String url, HttpMethod method, RequestCallback requestCallback,
+                                 ResponseExtractor<T> responseExtractor, Object... uriVariables) {
+                try {
+                    return responseExtractor.extractData(new MockClientHttpResponse(json, HttpStatus.OK));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        };
+        EmployeeServiceProperties properties = new EmployeeServiceProperties();
+        properties.getSnapshot().setTtl(Duration.ofHours(1));
+        employeeService = new EmployeeService(new RestTemplateEmployeeClient(restTemplate, "http://upstream/"),
+                properties, new StaticListableBeanFactory().getBeanProvider(SnapshotWriteSource.class));
+        mockMvc = MockMvcBuilders
+                .standaloneSetup(new EmployeeController(employeeService, new ObjectMapper(), Duration.ZERO,
+                        DataSize.ofMegabytes(128)))
+                .addFilters(new AccessLogFilter())
+                .build();
+        configureLogging();
+        employeeService.getSnapshot();
+    }
+
+    @TearDown
+    public void tearDown() {
+        employeeService.shutdown();
+        Logger logger = context().getLogger(APPLICATION_LOGGER);
+        logger.detachAndStopAllAppenders();
+        logger.setLevel(null);
+        logger.setAdditive(true);
+    }
+
+    @Benchmark
+    public MvcResult highestSalary() throws Exception {
+        return mockMvc.perform(get("/employees/highestSalary").accept(APPLICATION_JSON)).andReturn();
+    }
+
+    private void configureLogging() {
+        LoggerContext context = context();
+        Logger logger = context.getLogger(APPLICATION_LOGGER);
+        logger.setAdditive(false);
+        if (logging.equals("off")) {
+            logger.setLevel(Level.OFF);
+            return;
+        }
+        logger.setLevel(logging.equals("debug-sync") ? Level.DEBUG : Level.INFO);
+
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(context);
+        encoder.setPattern("%d %5level [%thread] %logger{36} - %msg%n");
+        encoder.start();
+        OutputStreamAppender<ILoggingEvent> sink = new OutputStreamAppender<>();
+        sink.setContext(context);
+        sink.setEncoder(encoder);
+        sink.setOutputStream(OutputStream.nullOutputStream());
+        sink.start();
+        Appender<ILoggingEvent> appender = sink;
+        if (logging.equals("access-async")) {
+            AsyncAppender async = new AsyncAppender();
+            async.setContext(context);
+            async.setQueueSize(8192);
+            async.setDiscardingThreshold(2048);
+            async.setNeverBlock(true);
+            async.addAppender(sink);
+            async.start();
+            appender = async;
+        }
+        logger.addAppender(appender);
+    }
+
+    private static LoggerContext context() {
+        return (LoggerContext) LoggerFactory.getILoggerFactory();
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.rqchallenge.benchmark;
+
+import com.example.rqchallenge.employees.model.Employee;
+import com.example.rqchallenge.employees.snapshot.EmployeeSnapshot;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of writing creates and deletes through to the cached snapshot. Each write copies the snapshot's columns
+ * and indexes, so it grows with the snapshot; a bulk request's items are applied as one batch, for one copy,
+ * rather than one by one.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class SnapshotWriteBenchmark {
+
+    private static final int BULK_SIZE = 100;
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    private int size;
+
+    private EmployeeSnapshot snapshot;
+    private Employee created;
+    private List<Employee> bulkCreated;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        List<Employee> employees = EmployeeDatasets.employees(size);
+        snapshot = new EmployeeSnapshot(1, Instant.now(), employees);
+        created = new Employee(size + 1, "Tiger Nixon new", 320_800, 61);
+        bulkCreated = new ArrayList<>(BULK_SIZE);
+        for (int i = 1; i <= BULK_SIZE; i++) {
+            Employee employee = employees.get(i % size);
+            bulkCreated.add(new Employee(size + i, employee.getName(), employee.getSalary(), employee.getAge()));
+        }
+    }
+
+    @Benchmark
+    public EmployeeSnapshot create() {
+        return snapshot.withAdded(2, created);
+    }
+
+    @Benchmark
+    public EmployeeSnapshot delete() {
+        return snapshot.withRemoved(2, size / 2);
+    }
+
+    @Benchmark
+    public EmployeeSnapshot bulkCreateBatched() {
+        return snapshot.withWrites(2, bulkCreated, new int[0]);
+    }
+
+    @Benchmark
+    public EmployeeSnapshot bulkCreateOneByOne() {
+        EmployeeSnapshot result = snapshot;
+        for (Employee employee : bulkCreated) {
+            result = result.withAdded(2, employee);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,272 @@
+package com.example.rqchallenge.benchmark;
+
+import com.example.rqchallenge.employees.model.Employee;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Local stand-in for {@code dummy.restapiexample.com} under load: serves {@code /api/v1/employees},
+ * {@code /employee/{id}}, {@code /create} and {@code /delete/{id}} from a mutable in-memory directory, delaying
+ * each response by a sample of a {@link LatencyDistribution} and answering a share of requests with
+ * {@code 429 Too Many Requests} or {@code 500 Internal Server Error} instead.
+ * <p>
+ * Creates and deletes change the directory, and the list is tagged with an ETag naming its version, so
+ * conditional refreshes behave as against an upstream that supports them. Each request's random draws come from
+ * a source seeded with the run's seed and the request's place in the order of arrival, whichever thread serves
+ * it, so the n-th request always gets the same delay and fault. Which request comes n-th still depends on
+ * timing, so runs with the same settings see the same mix of delays and faults, spread over requests by
+ * arrival.
+ */
+final class UpstreamSimulator implements AutoCloseable {
+
+    private static final String API = "/api/v1/";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "upstream-simulator");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final LatencyDistribution latency;
+    private final double throttleRate;
+    private final double errorRate;
+    private final long seed;
+    private final AtomicLong requests = new AtomicLong();
+    private final Map<Integer, Employee> employees = new LinkedHashMap<>();
+    private final Map<String, LongAdder> responses = new ConcurrentHashMap<>();
+    private int nextId;
+    private long version;
+    private byte[] listBody;
+
+    UpstreamSimulator(List<Employee> employees, LatencyDistribution latency, double throttleRate, double errorRate,
+                      long seed) {
+        for (Employee employee : employees) {
+            this.employees.put(employee.getId(), employee);
+            nextId = Math.max(nextId, employee.getId());
+        }
+        this.latency = latency;
+        this.throttleRate = throttleRate;
+        this.errorRate = errorRate;
+        this.seed = seed;
+        try {
+            server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 4096);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        server.createContext(API, this::handle);
+        server.setExecutor(executor);
+        server.start();
+    }
+
+    String getBaseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + API;
+    }
+
+    /**
+     * Responses sent so far, keyed by route and status, such as {@code "GET employees 200"}.
+     */
+    Map<String, Long> getResponseCounts() {
+        Map<String, Long> counts = new TreeMap<>();
+        responses.forEach((key, count) -> counts.put(key, count.sum()));
+        return counts;
+    }
+
+    /**
+     * Clears the response counts and restarts the sequence random draws are taken in, so a measured period
+     * starts from the same draws whatever the warmup before it sent.
+     */
+    void reset() {
+        responses.clear();
+        requests.set(0);
+    }
+
+    /**
+     * Adds an employee straight to the directory, without a request, and returns its id.
+     */
+    synchronized int addEmployee() {
+        int id = ++nextId;
+        employees.put(id, new Employee(id, "Load Test " + id, 50_000, 30));
+        changed();
+        return id;
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        String method = exchange.getRequestMethod();
+        String path = exchange.getRequestURI().getPath().substring(API.length());
+        String route = method + " " + route(path);
+        int status;
+        try {
+            SplittableRandom current = new SplittableRandom(mix(seed + requests.getAndIncrement()));
+            sleep(latency.sampleNanos(current));
+            double draw = current.nextDouble();
+            if (draw < throttleRate) {
+                exchange.getResponseHeaders().set("Retry-After", "1");
+                status = respond(exchange, 429, error("Too Many Requests"));
+            } else if (draw < throttleRate + errorRate) {
+                status = respond(exchange, 500, error("Injected failure"));
+            } else {
+                status = serve(exchange, method, path);
+            }
+        } finally {
+            exchange.close();
+        }
+        responses.computeIfAbsent(route + " " + status, key -> new LongAdder()).increment();
+    }
+
+    private int serve(HttpExchange exchange, String method, String path) throws IOException {
+        if ("GET".equals(method) && path.equals("employees")) {
+            return list(exchange);
+        } else if ("GET".equals(method) && path.startsWith("employee/")) {
+            Employee employee = find(path.substring("employee/".length()));
+            return employee == null
+                    ? respond(exchange, 404, error("Not found"))
+                    : respond(exchange, 200, success(employee));
+        } else if ("POST".equals(method) && path.equals("create")) {
+            Map<String, Object> input;
+            try (InputStream body = exchange.getRequestBody()) {
+                input = objectMapper.readValue(body, new TypeReference<>() {
+                });
+            }
+            return respond(exchange, 200, success(create(input)));
+        } else if ("DELETE".equals(method) && path.startsWith("delete/")) {
+            delete(path.substring("delete/".length()));
+            return respond(exchange, 200, Map.of("status", "success", "message", "successfully! deleted Record"));
+        }
+        return respond(exchange, 404, error("Unknown route"));
+    }
+
+    private int list(HttpExchange exchange) throws IOException {
+        byte[] body;
+        String etag;
+        synchronized (this) {
+            etag = "\"v" + version + "\"";
+            if (listBody == null) {
+                listBody = objectMapper.writeValueAsBytes(success(new ArrayList<>(employees.values())));
+            }
+            body = listBody;
+        }
+        exchange.getResponseHeaders().set("ETag", etag);
+        if (etag.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+            exchange.sendResponseHeaders(304, -1);
+            return 304;
+        }
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, body.length);
+        exchange.getResponseBody().write(body);
+        return 200;
+    }
+
+    private synchronized Employee find(String id) {
+        try {
+            return employees.get(Integer.parseInt(id));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private synchronized Map<String, Object> create(Map<String, Object> input) {
+        int id = ++nextId;
+        employees.put(id, new Employee(id, String.valueOf(input.get("name")), intValue(input.get("salary")),
+                intValue(input.get("age"))));
+        changed();
+        Map<String, Object> created = new LinkedHashMap<>(input);
+        created.put("id", id);
+        return created;
+    }
+
+    private synchronized void delete(String id) {
+        try {
+            if (employees.remove(Integer.parseInt(id)) != null) {
+                changed();
+            }
+        } catch (NumberFormatException e) {
+            // Like the real upstream, deleting an unknown id still reports success.
+        }
+    }
+
+    private void changed() {
+        version++;
+        listBody = null;
+    }
+
+    private int respond(HttpExchange exchange, int status, Object body) throws IOException {
+        byte[] bytes = objectMapper.writeValueAsBytes(body);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        exchange.getResponseBody().write(bytes);
+        return status;
+    }
+
+    /**
+     * The route template of {@code path}, so ids do not each get their own count.
+     */
+    private static String route(String path) {
+        int slash = path.indexOf('/');
+        return slash < 0 ? path : path.substring(0, slash) + "/{id}";
+    }
+
+    /**
+     * Stafford's variant 13 of the 64-bit MurmurHash3 finalizer, so neighbouring requests get unrelated seeds.
+     */
+    private static long mix(long value) {
+        long mixed = (value ^ (value >>> 30)) * 0xBF58476D1CE4E5B9L;
+        mixed = (mixed ^ (mixed >>> 27)) * 0x94D049BB133111EBL;
+        return mixed ^ (mixed >>> 31);
+    }
+
+    private static int intValue(Object value) {
+        if (value instanceof Number) {
+            return ((Number) value).intValue();
+        }
+        try {
+            return value == null ? 0 : Integer.parseInt(value.toString());
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    private static Map<String, Object> success(Object data) {
+        return Map.of("status", "success", "data", data);
+    }
+
+    private static Map<String, Object> error(String message) {
+        return Map.of("status", "error", "message", message);
+    }
+
+    private static void sleep(long nanos) {
+        if (nanos <= 0) {
+            return;
+        }
+        try {
+            TimeUnit.NANOSECONDS.sleep(nanos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,200 @@
+package com.example.rqchallenge.employees.actuate;
+
+import com.example.rqchallenge.employees.client.CoalescingEmployeeClient;
+import com.example.rqchallenge.employees.client.ResilientEmployeeClient;
+import com.example.rqchallenge.employees.concurrent.SingleFlight;
+import com.example.rqchallenge.employees.resilience.Bulkhead;
+import com.example.rqchallenge.employees.resilience.CircuitBreaker;
+import com.example.rqchallenge.employees.resilience.UpstreamScheduler;
+import com.example.rqchallenge.employees.resilience.UpstreamScheduler.Lane;
+import com.example.rqchallenge.employees.service.EmployeeService;
+import com.example.rqchallenge.employees.shared.SharedSnapshots;
+import com.example.rqchallenge.employees.snapshot.EmployeeSnapshotCache.Stats;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.pool.PoolStats;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+
+/**
+ * Publishes the state shown at {@code /actuator/employees} as meters, so it can be scraped and graphed.
+ * Every meter reads its value when scraped; nothing is recorded on the request path.
+ */
+@Component
+public class EmployeeMetrics implements MeterBinder {
+
+    private final EmployeeService employeeService;
+    private final CoalescingEmployeeClient coalescingEmployeeClient;
+    private final ResilientEmployeeClient resilientEmployeeClient;
+    private final UpstreamScheduler upstreamScheduler;
+    private final ObjectProvider<PoolingHttpClientConnectionManager> connectionManager;
+    private final ObjectProvider<SharedSnapshots> sharedSnapshots;
+
+    public EmployeeMetrics(EmployeeService employeeService,
+                           CoalescingEmployeeClient coalescingEmployeeClient,
+                           ResilientEmployeeClient resilientEmployeeClient,
+                           UpstreamScheduler upstreamScheduler,
+                           ObjectProvider<PoolingHttpClientConnectionManager> connectionManager,
+                           ObjectProvider<SharedSnapshots> sharedSnapshots) {
+        this.employeeService = employeeService;
+        this.coalescingEmployeeClient = coalescingEmployeeClient;
+        this.resilientEmployeeClient = resilientEmployeeClient;
+        this.upstreamScheduler = upstreamScheduler;
+        this.connectionManager = connectionManager;
+        this.sharedSnapshots = sharedSnapshots;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        bindSnapshot(registry);
+        bindSingleFlight(registry);
+        bindResilience(registry);
+        bindScheduler(registry);
+        connectionManager.ifAvailable(manager -> bindConnectionPool(registry, manager));
+        sharedSnapshots.ifAvailable(shared -> bindShared(registry, shared));
+    }
+
+    private void bindSnapshot(MeterRegistry registry) {
+        Gauge.builder("employees.snapshot.size", employeeService, service -> service.getSnapshotStats().getSize())
+                .description("Employees in the cached snapshot")
+                .register(registry);
+        Gauge.builder("employees.snapshot.version", employeeService, service -> service.getSnapshotStats().getVersion())
+                .description("Version of the cached snapshot, bumped by every refresh and local write")
+                .register(registry);
+        TimeGauge.builder("employees.snapshot.age", employeeService, TimeUnit.MILLISECONDS,
+                        EmployeeMetrics::snapshotAgeMillis)
+                .description("Time since the cached snapshot was fetched from the upstream")
+                .register(registry);
+        snapshotCounter(registry, "employees.snapshot.requests", "hit", Stats::getHits);
+        snapshotCounter(registry, "employees.snapshot.requests", "stale", Stats::getStaleHits);
+        snapshotCounter(registry, "employees.snapshot.requests", "miss", Stats::getMisses);
+        snapshotCounter(registry, "employees.snapshot.requests", "coalesced", Stats::getCoalesced);
+        snapshotCounter(registry, "employees.snapshot.refreshes", "success",
+                stats -> stats.getRefreshes() - stats.getRefreshFailures());
+        snapshotCounter(registry, "employees.snapshot.refreshes", "failure", Stats::getRefreshFailures);
+        snapshotCounter(registry, "employees.snapshot.refreshes.not.modified", null, Stats::getNotModifiedRefreshes);
+        snapshotCounter(registry, "employees.snapshot.refreshes.delta", null, Stats::getDeltaRefreshes);
+        snapshotCounter(registry, "employees.snapshot.fallbacks", null, Stats::getFallbacks);
+        snapshotCounter(registry, "employees.snapshot.local.writes", null, Stats::getLocalWrites);
+    }
+
+    private void snapshotCounter(MeterRegistry registry, String name, String result, ToDoubleFunction<Stats> count) {
+        FunctionCounter.Builder<EmployeeService> builder = FunctionCounter.builder(name, employeeService,
+                service -> count.applyAsDouble(service.getSnapshotStats()));
+        if (result != null) {
+            builder.tag("result", result);
+        }
+        builder.register(registry);
+    }
+
+    private static double snapshotAgeMillis(EmployeeService service) {
+        Instant loadedAt = service.getSnapshotStats().getLoadedAt();
+        return loadedAt == null ? Double.NaN : Duration.between(loadedAt, Instant.now()).toMillis();
+    }
+
+    private void bindSingleFlight(MeterRegistry registry) {
+        // Per-URL stats are keyed by expanded URLs, so only their totals are published.
+        FunctionCounter.builder("employees.upstream.coalesced", coalescingEmployeeClient,
+                        client -> client.getStats().values().stream().mapToLong(SingleFlight.KeyStats::getShared).sum())
+                .description("Upstream reads that joined an identical call already in flight")
+                .register(registry);
+    }
+
+    private void bindResilience(MeterRegistry registry) {
+        CircuitBreaker circuitBreaker = resilientEmployeeClient.getCircuitBreaker();
+        for (CircuitBreaker.State state : CircuitBreaker.State.values()) {
+            Gauge.builder("employees.upstream.circuit.state", circuitBreaker,
+                            breaker -> breaker.getState() == state ? 1 : 0)
+                    .description("1 for the current circuit breaker state, 0 for the others")
+                    .tag("state", state.name())
+                    .register(registry);
+        }
+        Bulkhead bulkhead = resilientEmployeeClient.getBulkhead();
+        FunctionCounter.builder("employees.upstream.rejected", circuitBreaker, CircuitBreaker::getNotPermittedCalls)
+                .description("Upstream calls refused without being attempted")
+                .tag("reason", "circuit_open")
+                .register(registry);
+        FunctionCounter.builder("employees.upstream.rejected", bulkhead, Bulkhead::getRejectedCalls)
+                .description("Upstream calls refused without being attempted")
+                .tag("reason", "bulkhead_full")
+                .register(registry);
+        Gauge.builder("employees.upstream.active", bulkhead, Bulkhead::getActiveCalls)
+                .description("Upstream calls in flight")
+                .register(registry);
+        FunctionCounter.builder("employees.upstream.retries", resilientEmployeeClient,
+                        ResilientEmployeeClient::getRetries)
+                .description("Upstream reads retried after a transient failure")
+                .register(registry);
+    }
+
+    private void bindScheduler(MeterRegistry registry) {
+        for (Lane lane : Lane.values()) {
+            String tag = lane.name().toLowerCase();
+            Gauge.builder("employees.upstream.queued", upstreamScheduler, scheduler -> scheduler.getQueued(lane))
+                    .description("Upstream calls waiting for the scheduler to start them, by lane")
+                    .tag("lane", tag)
+                    .register(registry);
+            FunctionTimer.builder("employees.upstream.queue.wait", upstreamScheduler,
+                            scheduler -> scheduler.getStarted(lane),
+                            scheduler -> scheduler.getTotalWait(lane).toNanos(), TimeUnit.NANOSECONDS)
+                    .description("Time upstream calls spent queued before the scheduler started them, by lane")
+                    .tag("lane", tag)
+                    .register(registry);
+        }
+        FunctionCounter.builder("employees.upstream.rejected", upstreamScheduler, UpstreamScheduler::getRejectedCalls)
+                .description("Upstream calls refused without being attempted")
+                .tag("reason", "queue_full")
+                .register(registry);
+        FunctionCounter.builder("employees.upstream.throttled", upstreamScheduler, UpstreamScheduler::getThrottledCalls)
+                .description("Upstream answers of 429 Too Many Requests")
+                .register(registry);
+        if (upstreamScheduler.isRateLimited()) {
+            Gauge.builder("employees.upstream.rate", upstreamScheduler, UpstreamScheduler::getRate)
+                    .description("Upstream calls the scheduler starts per second, lowered while the upstream throttles")
+                    .register(registry);
+        }
+    }
+
+    private static void bindShared(MeterRegistry registry, SharedSnapshots shared) {
+        Gauge.builder("employees.shared.leader", shared, s -> s.isLeader() ? 1 : 0)
+                .description("Whether this node holds the snapshot refresh lease")
+                .register(registry);
+        FunctionCounter.builder("employees.shared.loads", shared, SharedSnapshots::getUpstreamLoads)
+                .description("Snapshot loads, by where the employee list was read from")
+                .tag("source", "upstream")
+                .register(registry);
+        FunctionCounter.builder("employees.shared.loads", shared, SharedSnapshots::getStoreLoads)
+                .description("Snapshot loads, by where the employee list was read from")
+                .tag("source", "store")
+                .register(registry);
+        FunctionCounter.builder("employees.shared.failures", shared, SharedSnapshots::getStoreFailures)
+                .description("Shared snapshot store operations that failed")
+                .register(registry);
+    }
+
+    private static void bindConnectionPool(MeterRegistry registry, PoolingHttpClientConnectionManager manager) {
+        poolGauge(registry, manager, "leased", PoolStats::getLeased);
+        poolGauge(registry, manager, "pending", PoolStats::getPending);
+        poolGauge(registry, manager, "available", PoolStats::getAvailable);
+        poolGauge(registry, manager, "max", PoolStats::getMax);
+    }
+
+    private static void poolGauge(MeterRegistry registry, PoolingHttpClientConnectionManager manager, String state,
+                                  ToIntFunction<PoolStats> value) {
+        Gauge.builder("employees.upstream.connections", manager, m -> value.applyAsInt(m.getTotalStats()))
+                .description("Upstream HTTP connection pool, by state")
+                .tag("state", state)
+                .register(registry);
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.rqchallenge.employees.actuate;
+
+import com.example.rqchallenge.employees.client.CoalescingEmployeeClient;
+import com.example.rqchallenge.employees.client.ResilientEmployeeClient;
+import com.example.rqchallenge.employees.resilience.Bulkhead;
+import com.example.rqchallenge.employees.resilience.CircuitBreaker;
+import com.example.rqchallenge.employees.resilience.UpstreamScheduler;
+import com.example.rqchallenge.employees.resilience.UpstreamScheduler.Lane;
+import com.example.rqchallenge.employees.service.EmployeeService;
+import com.example.rqchallenge.employees.shared.SharedSnapshots;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.pool.PoolStats;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Exposes the internal state of the employee read path at {@code /actuator/employees}.
+ */
+@Component
+@Endpoint(id = "employees")
+public class EmployeesEndpoint {
+
+    private final EmployeeService employeeService;
+    private final CoalescingEmployeeClient coalescingEmployeeClient;
+    private final ResilientEmployeeClient resilientEmployeeClient;
+    private final UpstreamScheduler upstreamScheduler;
+    private final ObjectProvider<PoolingHttpClientConnectionManager> connectionManager;
+    private final ObjectProvider<SharedSnapshots> sharedSnapshots;
+
+    public EmployeesEndpoint(EmployeeService employeeService,
+                             CoalescingEmployeeClient coalescingEmployeeClient,
+                             ResilientEmployeeClient resilientEmployeeClient,
+                             UpstreamScheduler upstreamScheduler,
+                             ObjectProvider<PoolingHttpClientConnectionManager> connectionManager,
+                             ObjectProvider<SharedSnapshots> sharedSnapshots) {
+        this.employeeService = employeeService;
+        this.coalescingEmployeeClient = coalescingEmployeeClient;
+        this.resilientEmployeeClient = resilientEmployeeClient;
+        this.upstreamScheduler = upstreamScheduler;
+        this.connectionManager = connectionManager;
+        this.sharedSnapshots = sharedSnapshots;
+    }
+
+    @ReadOperation
+    public Map<String, Object> employees() {
+        Map<String, Object> details = new LinkedHashMap<>();
+        details.put("snapshot", employeeService.getSnapshotStats());
+        sharedSnapshots.ifAvailable(shared -> details.put("shared", shared(shared)));
+        details.put("singleFlight", coalescingEmployeeClient.getStats());
+        details.put("resilience", resilience(resilientEmployeeClient));
+        details.put("scheduler", scheduler(upstreamScheduler));
+        connectionManager.ifAvailable(manager -> details.put("connectionPool", connectionPool(manager.getTotalStats())));
+        return details;
+    }
+
+    private static Map<String, Object> shared(SharedSnapshots shared) {
+        Map<String, Object> details = new LinkedHashMap<>();
+        details.put("nodeId", shared.getNodeId());
+        details.put("leader", shared.isLeader());
+        details.put("upstreamLoads", shared.getUpstreamLoads());
+        details.put("storeLoads", shared.getStoreLoads());
+        details.put("storeFailures", shared.getStoreFailures());
+        return details;
+    }
+
+    private static Map<String, Object> resilience(ResilientEmployeeClient client) {
+        CircuitBreaker circuitBreaker = client.getCircuitBreaker();
+        Map<String, Object> breaker = new LinkedHashMap<>();
+        breaker.put("state", circuitBreaker.getState());
+        breaker.put("failureRate", circuitBreaker.getFailureRate());
+        breaker.put("slowCallRate", circuitBreaker.getSlowCallRate());
+        breaker.put("notPermittedCalls", circuitBreaker.getNotPermittedCalls());
+        Bulkhead bulkhead = client.getBulkhead();
+        Map<String, Object> bulkheadDetails = new LinkedHashMap<>();
+        bulkheadDetails.put("activeCalls", bulkhead.getActiveCalls());
+        bulkheadDetails.put("maxConcurrentCalls", bulkhead.getMaxConcurrentCalls());
+        bulkheadDetails.put("rejectedCalls", bulkhead.getRejectedCalls());
+        Map<String, Object> resilience = new LinkedHashMap<>();
+        resilience.put("circuitBreaker", breaker);
+        resilience.put("bulkhead", bulkheadDetails);
+        resilience.put("retries", client.getRetries());
+        return resilience;
+    }
+
+    private static Map<String, Object> scheduler(UpstreamScheduler scheduler) {
+        Map<String, Object> lanes = new LinkedHashMap<>();
+        for (Lane lane : Lane.values()) {
+            long started = scheduler.getStarted(lane);
+            Map<String, Object> laneDetails = new LinkedHashMap<>();
+            laneDetails.put("queued", scheduler.getQueued(lane));
+            laneDetails.put("started", started);
+            laneDetails.put("meanWaitMillis", started == 0 ? 0 : scheduler.getTotalWait(lane).toMillis() / started);
+            lanes.put(lane.name().toLowerCase(), laneDetails);
+        }
+        Map<String, Object> details = new LinkedHashMap<>();
+        details.put("inFlight", scheduler.getInFlight());
+        details.put("maxInFlight", scheduler.getMaxInFlight());
+        if (scheduler.isRateLimited()) {
+            details.put("rate", scheduler.getRate());
+            details.put("maxRate", scheduler.getMaxRate());
+        }
+        details.put("throttledCalls", scheduler.getThrottledCalls());
+        details.put("rejectedCalls", scheduler.getRejectedCalls());
+        details.put("lanes", lanes);
+        return details;
+    }
+
+    private static Map<String, Integer> connectionPool(PoolStats stats) {
+        Map<String, Integer> pool = new LinkedHashMap<>();
+        pool.put("leased", stats.getLeased());
+        pool.put("pending", stats.getPending());
+        pool.put("available", stats.getAvailable());
+        pool.put("max", stats.getMax());
+        return pool;
+    }
+}
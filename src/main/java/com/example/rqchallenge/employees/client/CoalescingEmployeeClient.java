@@ -0,0 +1,111 @@
+package com.example.rqchallenge.employees.client;
+
+import com.example.rqchallenge.employees.concurrent.SingleFlight;
+import com.example.rqchallenge.employees.model.Employee;
+import com.example.rqchallenge.employees.resilience.UpstreamScheduler.Lane;
+import com.example.rqchallenge.employees.stream.EmployeeSink;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * {@link EmployeeClient} decorator that shares one in-flight upstream read among all concurrent callers asking
+ * for the same URL, so a burst of identical requests, for example after a snapshot expiry or a deploy, costs a
+ * single upstream call. Unconditional reads of the list are shared whichever method asks for them, so a read of
+ * the whole list, a streamed read and a refresh with nothing to validate against join each other. A streamed
+ * read is therefore materialized once per shared call, then replayed into each caller's sink. Conditional refreshes and
+ * mutations are never coalesced.
+ * <p>
+ * Views taken with {@link #inLane} only share in-flight reads made in their own lane, so an interactive caller never
+ * waits on a read queued behind bulk work. Reads are keyed by lane as well as URL, the {@link Lane#INTERACTIVE}
+ * lane by URL alone.
+ */
+public class CoalescingEmployeeClient implements EmployeeClient {
+
+    private static final int MAX_TRACKED_KEYS = 1_000;
+
+    private final EmployeeClient delegate;
+    private final SingleFlight<ConditionalEmployees> allEmployees;
+    private final SingleFlight<Employee> employeeById;
+    private final String keyPrefix;
+
+    public CoalescingEmployeeClient(EmployeeClient delegate) {
+        this(delegate, new SingleFlight<>(MAX_TRACKED_KEYS), new SingleFlight<>(MAX_TRACKED_KEYS), Lane.INTERACTIVE);
+    }
+
+    private CoalescingEmployeeClient(EmployeeClient delegate, SingleFlight<ConditionalEmployees> allEmployees,
+                                     SingleFlight<Employee> employeeById, Lane lane) {
+        this.delegate = delegate;
+        this.allEmployees = allEmployees;
+        this.employeeById = employeeById;
+        this.keyPrefix = lane == Lane.INTERACTIVE ? "" : lane.name().toLowerCase() + ":";
+    }
+
+    @Override
+    public EmployeeClient inLane(Lane lane) {
+        // A delegate without lanes gives every caller the same service, so its reads can be shared across them.
+        EmployeeClient laneDelegate = delegate.inLane(lane);
+        return laneDelegate == delegate
+                ? this
+                : new CoalescingEmployeeClient(laneDelegate, allEmployees, employeeById, lane);
+    }
+
+    @Override
+    public CompletableFuture<Void> streamAllEmployees(EmployeeSink sink) {
+        // Every sink consumes the stream differently, so a shared read is materialized once and replayed into
+        // each of them.
+        return getAllEmployees().thenAccept(employees -> {
+            for (Employee employee : employees) {
+                sink.accept(employee.getId(), employee.getName(), employee.getSalary(), employee.getAge(),
+                        employee.getProfileImage());
+            }
+        });
+    }
+
+    @Override
+    public CompletableFuture<List<Employee>> getAllEmployees() {
+        return unconditional().thenApply(ConditionalEmployees::getEmployees);
+    }
+
+    @Override
+    public CompletableFuture<ConditionalEmployees> getAllEmployeesIfModified(ConditionalEmployees previous) {
+        // Callers with different validators expect different answers. Only a refreshing snapshot cache passes
+        // validators, and it keeps at most one refresh in flight.
+        return previous == null ? unconditional() : delegate.getAllEmployeesIfModified(previous);
+    }
+
+    @Override
+    public CompletableFuture<Employee> getEmployeeById(String id) {
+        return employeeById.execute(keyPrefix + "employee/" + id, () -> delegate.getEmployeeById(id));
+    }
+
+    @Override
+    public CompletableFuture<Employee> createEmployee(Map<String, Object> employeeInput) {
+        return delegate.createEmployee(employeeInput);
+    }
+
+    @Override
+    public CompletableFuture<Void> deleteEmployee(String id) {
+        return delegate.deleteEmployee(id);
+    }
+
+    @Override
+    public CompletableFuture<String> deleteEmployeeAndReturnStatus(String id) {
+        return delegate.deleteEmployeeAndReturnStatus(id);
+    }
+
+    private CompletableFuture<ConditionalEmployees> unconditional() {
+        return allEmployees.execute(keyPrefix + "employees", () -> delegate.getAllEmployeesIfModified(null));
+    }
+
+    /**
+     * Executed and shared call counts per upstream URL, prefixed with the lane outside {@link Lane#INTERACTIVE}.
+     */
+    public Map<String, SingleFlight.KeyStats> getStats() {
+        Map<String, SingleFlight.KeyStats> stats = new TreeMap<>(allEmployees.getStats());
+        stats.putAll(employeeById.getStats());
+        return stats;
+    }
+}
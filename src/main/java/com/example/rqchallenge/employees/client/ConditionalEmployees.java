@@ -0,0 +1,82 @@
+package com.example.rqchallenge.employees.client;
+
+import com.example.rqchallenge.employees.model.Employee;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Outcome of a conditional read of the employee list: either the list, or word that it has not changed since
+ * an earlier read. Carries the upstream's {@code ETag} and {@code Last-Modified} validators, if it sent any, to
+ * make the next read conditional on, and when the upstream answered if that was before this read, as when the
+ * answer was passed on by another replica.
+ */
+public final class ConditionalEmployees {
+
+    private final List<Employee> employees;
+    private final String etag;
+    private final String lastModified;
+    private final Instant loadedAt;
+
+    private ConditionalEmployees(List<Employee> employees, String etag, String lastModified, Instant loadedAt) {
+        this.employees = employees;
+        this.etag = etag;
+        this.lastModified = lastModified;
+        this.loadedAt = loadedAt;
+    }
+
+    public static ConditionalEmployees modified(List<Employee> employees, String etag, String lastModified) {
+        return new ConditionalEmployees(employees, etag, lastModified, null);
+    }
+
+    /**
+     * The list is unchanged since {@code previous}, whose validators still apply.
+     */
+    public static ConditionalEmployees notModified(ConditionalEmployees previous) {
+        return new ConditionalEmployees(null, previous.etag, previous.lastModified, null);
+    }
+
+    /**
+     * This outcome as the upstream gave it at {@code loadedAt}, rather than just now.
+     */
+    public ConditionalEmployees loadedAt(Instant loadedAt) {
+        return new ConditionalEmployees(employees, etag, lastModified, loadedAt);
+    }
+
+    /**
+     * The validators of this read without its list, to keep for the next read.
+     */
+    public ConditionalEmployees validators() {
+        return new ConditionalEmployees(null, etag, lastModified, null);
+    }
+
+    public boolean isModified() {
+        return employees != null;
+    }
+
+    /**
+     * The employee list, or {@code null} if it has not been modified.
+     */
+    public List<Employee> getEmployees() {
+        return employees;
+    }
+
+    public String getEtag() {
+        return etag;
+    }
+
+    public String getLastModified() {
+        return lastModified;
+    }
+
+    /**
+     * When the upstream gave this outcome, or {@code null} if it was just now.
+     */
+    public Instant getLoadedAt() {
+        return loadedAt;
+    }
+
+    public boolean hasValidators() {
+        return etag != null || lastModified != null;
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.rqchallenge.employees.client;
+
+import com.example.rqchallenge.employees.model.Employee;
+import com.example.rqchallenge.employees.resilience.UpstreamScheduler.Lane;
+import com.example.rqchallenge.employees.stream.EmployeeListSink;
+import com.example.rqchallenge.employees.stream.EmployeeSink;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Access to the upstream employee API.
+ * <p>
+ * Every operation returns a future so that non-blocking implementations can keep thousands of requests in
+ * flight without a thread each. Blocking implementations return futures that are already complete.
+ */
+public interface EmployeeClient {
+
+    String SUCCESS = "success";
+
+    /**
+     * A view of this client whose upstream calls wait their turn in {@code lane}. Clients that do not schedule
+     * their calls return themselves.
+     */
+    default EmployeeClient inLane(Lane lane) {
+        return this;
+    }
+
+    /**
+     * Streams every upstream employee into {@code sink} as the response is parsed, without materializing the
+     * list. The sink may have received employees even if the returned future fails.
+     */
+    CompletableFuture<Void> streamAllEmployees(EmployeeSink sink);
+
+    default CompletableFuture<List<Employee>> getAllEmployees() {
+        EmployeeListSink sink = new EmployeeListSink();
+        return streamAllEmployees(sink).thenApply(done -> sink.getEmployees());
+    }
+
+    /**
+     * Fetches every employee, unless {@code previous} carries validators and the upstream confirms the list has
+     * not changed since. {@code previous} may be {@code null}. Implementations that cannot make conditional
+     * requests always fetch the list.
+     */
+    default CompletableFuture<ConditionalEmployees> getAllEmployeesIfModified(ConditionalEmployees previous) {
+        return getAllEmployees().thenApply(employees -> ConditionalEmployees.modified(employees, null, null));
+    }
+
+    CompletableFuture<Employee> getEmployeeById(String id);
+
+    CompletableFuture<Employee> createEmployee(Map<String, Object> employeeInput);
+
+    CompletableFuture<Void> deleteEmployee(String id);
+
+    CompletableFuture<String> deleteEmployeeAndReturnStatus(String id);
+}
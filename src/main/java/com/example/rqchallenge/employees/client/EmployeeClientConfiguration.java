@@ -0,0 +1,104 @@
+package com.example.rqchallenge.employees.client;
+
+import com.example.rqchallenge.employees.resilience.Bulkhead;
+import com.example.rqchallenge.employees.resilience.CircuitBreaker;
+import com.example.rqchallenge.employees.resilience.RetryPolicy;
+import com.example.rqchallenge.employees.resilience.UpstreamScheduler;
+import com.example.rqchallenge.employees.shared.SharedSnapshots;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.web.client.RestTemplate;
+
+import javax.annotation.PreDestroy;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Selects the upstream client for the configured {@code employees.execution-mode}:
+ * {@code blocking} (default) uses {@link RestTemplate}, {@code async} uses the non-blocking JDK {@link HttpClient}.
+ * The primary {@link EmployeeClient} wraps the selected one with metrics, then resilience guards, then the
+ * upstream scheduler, then request coalescing, so that coalesced callers share one scheduled call, a call only
+ * takes a bulkhead permit once the scheduler starts it, and every attempt the guards let through is timed and
+ * reported back to the scheduler. When snapshots are shared between replicas, the scheduled client is also
+ * wrapped by {@link SharedSnapshots#decorate} beneath the coalescing, so the very first snapshot load already
+ * goes through the shared store.
+ */
+@Configuration
+public class EmployeeClientConfiguration {
+
+    public static final String EXECUTION_MODE = "employees.execution-mode";
+    public static final String UPSTREAM = "upstream";
+
+    // Owned here rather than registered as a bean: any Executor bean would make Spring Boot back off from the
+    // task executor that streaming responses run on.
+    private final AtomicInteger retryThreads = new AtomicInteger();
+    private final ExecutorService retryExecutor = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "employee-upstream-retry-" + retryThreads.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @Bean
+    @Qualifier(UPSTREAM)
+    @ConditionalOnProperty(name = EXECUTION_MODE, havingValue = "blocking", matchIfMissing = true)
+    public EmployeeClient restTemplateEmployeeClient(RestTemplate restTemplate,
+                                                     @Value("${employees.upstream.base-url}") String baseUrl) {
+        return new RestTemplateEmployeeClient(restTemplate, baseUrl);
+    }
+
+    @Bean
+    @Qualifier(UPSTREAM)
+    @ConditionalOnProperty(name = EXECUTION_MODE, havingValue = "async")
+    public EmployeeClient httpClientEmployeeClient(ObjectMapper objectMapper,
+                                                   @Value("${employees.upstream.base-url}") String baseUrl,
+                                                   @Value("${employees.upstream.connect-timeout:5s}") Duration connectTimeout,
+                                                   @Value("${employees.upstream.read-timeout:10s}") Duration readTimeout) {
+        HttpClient httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(connectTimeout)
+                .build();
+        return new HttpClientEmployeeClient(httpClient, objectMapper, baseUrl, readTimeout);
+    }
+
+    @Bean
+    public ResilientEmployeeClient resilientEmployeeClient(@Qualifier(UPSTREAM) EmployeeClient upstreamEmployeeClient,
+                                                           CircuitBreaker upstreamCircuitBreaker,
+                                                           Bulkhead upstreamBulkhead,
+                                                           RetryPolicy upstreamRetryPolicy,
+                                                           UpstreamScheduler upstreamScheduler,
+                                                           MeterRegistry meterRegistry) {
+        EmployeeClient instrumented = new InstrumentedEmployeeClient(upstreamEmployeeClient, meterRegistry);
+        return new ResilientEmployeeClient(new RateFeedbackEmployeeClient(instrumented, upstreamScheduler),
+                upstreamCircuitBreaker, upstreamBulkhead, upstreamRetryPolicy, retryExecutor, upstreamScheduler);
+    }
+
+    @Bean
+    public ScheduledEmployeeClient scheduledEmployeeClient(ResilientEmployeeClient resilientEmployeeClient,
+                                                           UpstreamScheduler upstreamScheduler) {
+        return new ScheduledEmployeeClient(resilientEmployeeClient, upstreamScheduler);
+    }
+
+    @Bean
+    @Primary
+    public CoalescingEmployeeClient coalescingEmployeeClient(ScheduledEmployeeClient scheduledEmployeeClient,
+                                                             ObjectProvider<SharedSnapshots> sharedSnapshots) {
+        SharedSnapshots shared = sharedSnapshots.getIfAvailable();
+        EmployeeClient scheduled = shared == null ? scheduledEmployeeClient : shared.decorate(scheduledEmployeeClient);
+        return new CoalescingEmployeeClient(scheduled);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        retryExecutor.shutdownNow();
+    }
+}
@@ -0,0 +1,217 @@
+package com.example.rqchallenge.employees.client;
+
+import com.example.rqchallenge.employees.model.Employee;
+import com.example.rqchallenge.employees.model.EmployeeCreated;
+import com.example.rqchallenge.employees.model.EmployeeCreationResponse;
+import com.example.rqchallenge.employees.model.SingleEmployeeResponse;
+import com.example.rqchallenge.employees.stream.EmployeeListSink;
+import com.example.rqchallenge.employees.stream.EmployeeSink;
+import com.example.rqchallenge.employees.stream.EmployeeStreamReader;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestClientResponseException;
+import org.springframework.web.client.UnknownHttpStatusCodeException;
+import org.springframework.web.util.UriUtils;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Non-blocking {@link EmployeeClient} on the JDK {@link HttpClient}. Requests are multiplexed over a selector
+ * thread, so in-flight upstream calls do not hold a thread each. Failures surface as the same exception types
+ * and messages as {@link RestTemplateEmployeeClient}.
+ * <p>
+ * The employee list body is received as raw bytes, never blocking a thread on the socket, and then
+ * stream-parsed without building an object graph.
+ */
+public class HttpClientEmployeeClient implements EmployeeClient {
+
+    private static final Logger logger = LoggerFactory.getLogger(HttpClientEmployeeClient.class);
+
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper;
+    private final String baseUrl;
+    private final Duration requestTimeout;
+    private final EmployeeStreamReader streamReader;
+
+    public HttpClientEmployeeClient(HttpClient httpClient, ObjectMapper objectMapper, String baseUrl, Duration requestTimeout) {
+        this.httpClient = httpClient;
+        this.objectMapper = objectMapper;
+        this.baseUrl = baseUrl;
+        this.requestTimeout = requestTimeout;
+        this.streamReader = new EmployeeStreamReader(objectMapper.getFactory());
+    }
+
+    @Override
+    public CompletableFuture<Void> streamAllEmployees(EmployeeSink sink) {
+        String message = "Error fetching employees";
+        return exchange(request("employees").GET(), body -> streamReader.read(body, sink), message)
+                .thenApply(status -> {
+                    if (!SUCCESS.equals(status)) {
+                        throw new RuntimeException(message);
+                    }
+                    return null;
+                });
+    }
+
+    @Override
+    public CompletableFuture<ConditionalEmployees> getAllEmployeesIfModified(ConditionalEmployees previous) {
+        String message = "Error fetching employees";
+        HttpRequest.Builder builder = request("employees").GET();
+        if (previous != null && previous.getEtag() != null) {
+            builder.header(HttpHeaders.IF_NONE_MATCH, previous.getEtag());
+        }
+        if (previous != null && previous.getLastModified() != null) {
+            builder.header(HttpHeaders.IF_MODIFIED_SINCE, previous.getLastModified());
+        }
+        return exchangeResponse(builder, response -> {
+            if (response.statusCode() == HttpStatus.NOT_MODIFIED.value() && previous != null) {
+                return ConditionalEmployees.notModified(previous);
+            }
+            EmployeeListSink sink = new EmployeeListSink();
+            if (!SUCCESS.equals(streamReader.read(response.body(), sink))) {
+                throw new RuntimeException(message);
+            }
+            return ConditionalEmployees.modified(sink.getEmployees(),
+                    response.headers().firstValue(HttpHeaders.ETAG).orElse(null),
+                    response.headers().firstValue(HttpHeaders.LAST_MODIFIED).orElse(null));
+        }, message);
+    }
+
+    @Override
+    public CompletableFuture<Employee> getEmployeeById(String id) {
+        String message = "Error fetching employee by id";
+        return exchange(request("employee/" + encode(id)).GET(), SingleEmployeeResponse.class, message)
+                .thenApply(employeeResponse -> Optional.ofNullable(employeeResponse)
+                        .filter(response -> SUCCESS.equals(response.getStatus()))
+                        .map(SingleEmployeeResponse::getData)
+                        .orElseThrow(() -> new RuntimeException(message)));
+    }
+
+    @Override
+    public CompletableFuture<Employee> createEmployee(Map<String, Object> employeeInput) {
+        String message = "Error creating employee";
+        byte[] body;
+        try {
+            body = objectMapper.writeValueAsBytes(employeeInput);
+        } catch (JsonProcessingException e) {
+            return CompletableFuture.failedFuture(new RuntimeException(message, e));
+        }
+        HttpRequest.Builder request = request("create")
+                .header(HttpHeaders.CONTENT_TYPE, "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body));
+        return exchange(request, EmployeeCreationResponse.class, message)
+                .thenApply(employeeCreationResponse -> {
+                    if (Objects.nonNull(employeeCreationResponse) && SUCCESS.equals(employeeCreationResponse.getStatus())) {
+                        EmployeeCreated data = employeeCreationResponse.getData();
+                        return new Employee(data.getId(), data.getName(), data.getSalary(), data.getAge());
+                    }
+                    logger.error(message);
+                    throw new RuntimeException(message);
+                });
+    }
+
+    @Override
+    public CompletableFuture<Void> deleteEmployee(String id) {
+        return exchange(request("delete/" + encode(id)).DELETE(), Map.class, "Error deleting employee")
+                .thenApply(response -> null);
+    }
+
+    @Override
+    public CompletableFuture<String> deleteEmployeeAndReturnStatus(String id) {
+        return exchange(request("delete/" + encode(id)).DELETE(), Map.class, "Error deleting employee")
+                .thenApply(response -> (String) Objects.requireNonNull(response).get("status"));
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(requestTimeout)
+                .header(HttpHeaders.ACCEPT, "application/json");
+    }
+
+    private <T> CompletableFuture<T> exchange(HttpRequest.Builder builder, Class<T> responseType, String message) {
+        return exchange(builder, body -> body.length == 0 ? null : objectMapper.readValue(body, responseType), message);
+    }
+
+    private <T> CompletableFuture<T> exchange(HttpRequest.Builder builder, BodyReader<T> bodyReader, String message) {
+        return exchangeResponse(builder, response -> bodyReader.read(response.body()), message);
+    }
+
+    private <T> CompletableFuture<T> exchangeResponse(HttpRequest.Builder builder, ResponseReader<T> responseReader,
+                                                      String message) {
+        HttpRequest request = builder.build();
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray())
+                .handle((response, error) -> {
+                    if (error != null) {
+                        throw ioFailure(request, error);
+                    }
+                    if (response.statusCode() >= 400) {
+                        RestClientResponseException statusError = statusFailure(response);
+                        if (statusError instanceof HttpClientErrorException) {
+                            logger.error(message, statusError);
+                            throw new RuntimeException(message, statusError);
+                        }
+                        throw statusError;
+                    }
+                    try {
+                        return responseReader.read(response);
+                    } catch (IOException e) {
+                        logger.error(message, e);
+                        throw new RuntimeException(message, e);
+                    }
+                });
+    }
+
+    private static ResourceAccessException ioFailure(HttpRequest request, Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        IOException ioException = cause instanceof IOException ? (IOException) cause : new IOException(cause);
+        return new ResourceAccessException("I/O error on " + request.method() + " request for \"" + request.uri()
+                + "\": " + cause.getMessage(), ioException);
+    }
+
+    private static RestClientResponseException statusFailure(HttpResponse<byte[]> response) {
+        HttpHeaders headers = new HttpHeaders();
+        response.headers().map().forEach(headers::addAll);
+        int statusCode = response.statusCode();
+        HttpStatus status = HttpStatus.resolve(statusCode);
+        if (status == null) {
+            return new UnknownHttpStatusCodeException(statusCode, "", headers, response.body(), UTF_8);
+        }
+        if (status.is4xxClientError()) {
+            return HttpClientErrorException.create(status, status.getReasonPhrase(), headers, response.body(), UTF_8);
+        }
+        return HttpServerErrorException.create(status, status.getReasonPhrase(), headers, response.body(), UTF_8);
+    }
+
+    private static String encode(String pathSegment) {
+        return UriUtils.encodePathSegment(pathSegment, UTF_8);
+    }
+
+    @FunctionalInterface
+    private interface BodyReader<T> {
+        T read(byte[] body) throws IOException;
+    }
+
+    @FunctionalInterface
+    private interface ResponseReader<T> {
+        T read(HttpResponse<byte[]> response) throws IOException;
+    }
+}
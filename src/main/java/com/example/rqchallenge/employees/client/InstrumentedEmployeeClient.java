@@ -0,0 +1,131 @@
+package com.example.rqchallenge.employees.client;
+
+import com.example.rqchallenge.employees.concurrent.Futures;
+import com.example.rqchallenge.employees.model.Employee;
+import com.example.rqchallenge.employees.stream.EmployeeSink;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.web.client.RestClientResponseException;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * {@link EmployeeClient} decorator that times every upstream call in the {@value #METRIC} timer.
+ * <p>
+ * Calls are tagged with the HTTP method and the URL template, never the expanded URL, so ids do not turn into
+ * tag values. The {@code status} tag holds the response status of a failed call, {@code 2xx} for a successful
+ * one (whose exact status the clients do not surface), {@code 304} for a conditional read answered as unchanged
+ * and {@code NONE} when no response was received; the {@code exception} tag names the failure, if any. Wrapped
+ * inside the resilience guards, each retry attempt is timed on its own and calls the guards refuse are not
+ * timed at all.
+ */
+public class InstrumentedEmployeeClient implements EmployeeClient {
+
+    public static final String METRIC = "employees.upstream.requests";
+
+    private static final String EMPLOYEES = "/employees";
+    private static final String EMPLOYEE = "/employee/{id}";
+    private static final String CREATE = "/create";
+    private static final String DELETE = "/delete/{id}";
+
+    private static final String SUCCESS_STATUS = "2xx";
+
+    private final EmployeeClient delegate;
+    private final MeterRegistry registry;
+
+    public InstrumentedEmployeeClient(EmployeeClient delegate, MeterRegistry registry) {
+        this.delegate = delegate;
+        this.registry = registry;
+    }
+
+    @Override
+    public CompletableFuture<Void> streamAllEmployees(EmployeeSink sink) {
+        return timed("GET", EMPLOYEES, () -> delegate.streamAllEmployees(sink));
+    }
+
+    @Override
+    public CompletableFuture<List<Employee>> getAllEmployees() {
+        return timed("GET", EMPLOYEES, delegate::getAllEmployees);
+    }
+
+    @Override
+    public CompletableFuture<ConditionalEmployees> getAllEmployeesIfModified(ConditionalEmployees previous) {
+        return timed("GET", EMPLOYEES, () -> delegate.getAllEmployeesIfModified(previous),
+                result -> result.isModified() ? SUCCESS_STATUS : "304");
+    }
+
+    @Override
+    public CompletableFuture<Employee> getEmployeeById(String id) {
+        return timed("GET", EMPLOYEE, () -> delegate.getEmployeeById(id));
+    }
+
+    @Override
+    public CompletableFuture<Employee> createEmployee(Map<String, Object> employeeInput) {
+        return timed("POST", CREATE, () -> delegate.createEmployee(employeeInput));
+    }
+
+    @Override
+    public CompletableFuture<Void> deleteEmployee(String id) {
+        return timed("DELETE", DELETE, () -> delegate.deleteEmployee(id));
+    }
+
+    @Override
+    public CompletableFuture<String> deleteEmployeeAndReturnStatus(String id) {
+        return timed("DELETE", DELETE, () -> delegate.deleteEmployeeAndReturnStatus(id));
+    }
+
+    private <T> CompletableFuture<T> timed(String method, String uri, Supplier<CompletableFuture<T>> call) {
+        return timed(method, uri, call, value -> SUCCESS_STATUS);
+    }
+
+    private <T> CompletableFuture<T> timed(String method, String uri, Supplier<CompletableFuture<T>> call,
+                                           Function<T, String> successStatus) {
+        Timer.Sample sample = Timer.start(registry);
+        CompletableFuture<T> result;
+        try {
+            result = call.get();
+        } catch (RuntimeException e) {
+            result = CompletableFuture.failedFuture(e);
+        }
+        return result.whenComplete((value, error) -> sample.stop(Timer.builder(METRIC)
+                .description("Upstream employee API calls")
+                .tags(error == null
+                        ? successTags(method, uri, successStatus.apply(value))
+                        : failureTags(method, uri, Futures.unwrap(error)))
+                .register(registry)));
+    }
+
+    private static Tags successTags(String method, String uri, String status) {
+        return Tags.of("method", method, "uri", uri, "status", status, "outcome", "SUCCESS", "exception", "none");
+    }
+
+    private static Tags failureTags(String method, String uri, Throwable failure) {
+        String status = "NONE";
+        String outcome = "UNKNOWN";
+        RestClientResponseException response = responseFailure(failure);
+        if (response != null) {
+            int statusCode = response.getRawStatusCode();
+            status = String.valueOf(statusCode);
+            outcome = statusCode >= 500 ? "SERVER_ERROR" : statusCode >= 400 ? "CLIENT_ERROR" : "UNKNOWN";
+        }
+        return Tags.of("method", method, "uri", uri, "status", status, "outcome", outcome,
+                "exception", (response != null ? response : failure).getClass().getSimpleName());
+    }
+
+    /**
+     * The error response behind {@code failure}, which clients may wrap in an exception of their own.
+     */
+    private static RestClientResponseException responseFailure(Throwable failure) {
+        for (Throwable cause = failure; cause != null; cause = cause.getCause()) {
+            if (cause instanceof RestClientResponseException) {
+                return (RestClientResponseException) cause;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.rqchallenge.employees.client;
+
+import com.example.rqchallenge.employees.model.Employee;
+import com.example.rqchallenge.employees.resilience.UpstreamScheduler;
+import com.example.rqchallenge.employees.stream.EmployeeSink;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * {@link EmployeeClient} decorator that reports the outcome of every upstream attempt to an
+ * {@link UpstreamScheduler}, so that it can adapt its rate. It sits below the retries, which the scheduler does
+ * not see otherwise, so a {@code 429} that a retry recovers from still slows the scheduler down.
+ */
+public class RateFeedbackEmployeeClient implements EmployeeClient {
+
+    private final EmployeeClient delegate;
+    private final UpstreamScheduler scheduler;
+
+    public RateFeedbackEmployeeClient(EmployeeClient delegate, UpstreamScheduler scheduler) {
+        this.delegate = delegate;
+        this.scheduler = scheduler;
+    }
+
+    @Override
+    public CompletableFuture<Void> streamAllEmployees(EmployeeSink sink) {
+        return reported(delegate.streamAllEmployees(sink));
+    }
+
+    @Override
+    public CompletableFuture<List<Employee>> getAllEmployees() {
+        return reported(delegate.getAllEmployees());
+    }
+
+    @Override
+    public CompletableFuture<ConditionalEmployees> getAllEmployeesIfModified(ConditionalEmployees previous) {
+        return reported(delegate.getAllEmployeesIfModified(previous));
+    }
+
+    @Override
+    public CompletableFuture<Employee> getEmployeeById(String id) {
+        return reported(delegate.getEmployeeById(id));
+    }
+
+    @Override
+    public CompletableFuture<Employee> createEmployee(Map<String, Object> employeeInput) {
+        return reported(delegate.createEmployee(employeeInput));
+    }
+
+    @Override
+    public CompletableFuture<Void> deleteEmployee(String id) {
+        return reported(delegate.deleteEmployee(id));
+    }
+
+    @Override
+    public CompletableFuture<String> deleteEmployeeAndReturnStatus(String id) {
+        return reported(delegate.deleteEmployeeAndReturnStatus(id));
+    }
+
+    private <T> CompletableFuture<T> reported(CompletableFuture<T> call) {
+        return call.whenComplete((value, error) -> scheduler.onResponse(error));
+    }
+}
@@ -0,0 +1,171 @@
+package com.example.rqchallenge.employees.client;
+
+import com.example.rqchallenge.employees.concurrent.Futures;
+import com.example.rqchallenge.employees.model.Employee;
+import com.example.rqchallenge.employees.resilience.Bulkhead;
+import com.example.rqchallenge.employees.resilience.CallNotPermittedException;
+import com.example.rqchallenge.employees.resilience.CircuitBreaker;
+import com.example.rqchallenge.employees.resilience.RetryPolicy;
+import com.example.rqchallenge.employees.resilience.UpstreamFailures;
+import com.example.rqchallenge.employees.resilience.UpstreamScheduler;
+import com.example.rqchallenge.employees.stream.EmployeeSink;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * {@link EmployeeClient} decorator that guards every upstream call with a {@link Bulkhead} and a
+ * {@link CircuitBreaker}, and retries idempotent reads according to a {@link RetryPolicy}.
+ * <p>
+ * Calls the bulkhead or breaker refuses fail at once with {@link CallNotPermittedException} and are not retried.
+ * Only transient failures count against the breaker; an upstream that rejects a particular request is still
+ * healthy. Streamed reads and mutations are guarded but never retried: a sink may already hold part of a failed
+ * stream, and a mutation may have been applied before its response was lost.
+ * <p>
+ * Given the {@link UpstreamScheduler} its calls are started by, a retry waits out its backoff and then for a
+ * {@linkplain UpstreamScheduler#acquireRetryPermit rate permit}, so retries count against the scheduler's rate.
+ */
+public class ResilientEmployeeClient implements EmployeeClient {
+
+    private static final Logger logger = LoggerFactory.getLogger(ResilientEmployeeClient.class);
+
+    private final EmployeeClient delegate;
+    private final CircuitBreaker circuitBreaker;
+    private final Bulkhead bulkhead;
+    private final RetryPolicy retryPolicy;
+    private final Executor retryExecutor;
+    private final Supplier<CompletableFuture<Void>> retryPermits;
+    private final LongAdder retries = new LongAdder();
+
+    public ResilientEmployeeClient(EmployeeClient delegate, CircuitBreaker circuitBreaker, Bulkhead bulkhead,
+                                   RetryPolicy retryPolicy, Executor retryExecutor) {
+        this(delegate, circuitBreaker, bulkhead, retryPolicy, retryExecutor,
+                () -> CompletableFuture.completedFuture(null));
+    }
+
+    public ResilientEmployeeClient(EmployeeClient delegate, CircuitBreaker circuitBreaker, Bulkhead bulkhead,
+                                   RetryPolicy retryPolicy, Executor retryExecutor, UpstreamScheduler scheduler) {
+        this(delegate, circuitBreaker, bulkhead, retryPolicy, retryExecutor, scheduler::acquireRetryPermit);
+    }
+
+    private ResilientEmployeeClient(EmployeeClient delegate, CircuitBreaker circuitBreaker, Bulkhead bulkhead,
+                                    RetryPolicy retryPolicy, Executor retryExecutor,
+                                    Supplier<CompletableFuture<Void>> retryPermits) {
+        this.delegate = delegate;
+        this.circuitBreaker = circuitBreaker;
+        this.bulkhead = bulkhead;
+        this.retryPolicy = retryPolicy;
+        this.retryExecutor = retryExecutor;
+        this.retryPermits = retryPermits;
+    }
+
+    @Override
+    public CompletableFuture<Void> streamAllEmployees(EmployeeSink sink) {
+        return guarded(() -> delegate.streamAllEmployees(sink));
+    }
+
+    @Override
+    public CompletableFuture<List<Employee>> getAllEmployees() {
+        return retried(delegate::getAllEmployees);
+    }
+
+    @Override
+    public CompletableFuture<ConditionalEmployees> getAllEmployeesIfModified(ConditionalEmployees previous) {
+        return retried(() -> delegate.getAllEmployeesIfModified(previous));
+    }
+
+    @Override
+    public CompletableFuture<Employee> getEmployeeById(String id) {
+        return retried(() -> delegate.getEmployeeById(id));
+    }
+
+    @Override
+    public CompletableFuture<Employee> createEmployee(Map<String, Object> employeeInput) {
+        return guarded(() -> delegate.createEmployee(employeeInput));
+    }
+
+    @Override
+    public CompletableFuture<Void> deleteEmployee(String id) {
+        return guarded(() -> delegate.deleteEmployee(id));
+    }
+
+    @Override
+    public CompletableFuture<String> deleteEmployeeAndReturnStatus(String id) {
+        return guarded(() -> delegate.deleteEmployeeAndReturnStatus(id));
+    }
+
+    public CircuitBreaker getCircuitBreaker() {
+        return circuitBreaker;
+    }
+
+    public Bulkhead getBulkhead() {
+        return bulkhead;
+    }
+
+    public long getRetries() {
+        return retries.sum();
+    }
+
+    private <T> CompletableFuture<T> retried(Supplier<CompletableFuture<T>> call) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        attempt(call, 1, result);
+        return result;
+    }
+
+    private <T> void attempt(Supplier<CompletableFuture<T>> call, int attempt, CompletableFuture<T> result) {
+        guarded(call).whenComplete((value, error) -> {
+            if (error == null) {
+                result.complete(value);
+                return;
+            }
+            RuntimeException failure = Futures.unwrap(error);
+            Optional<Duration> delay = failure instanceof CallNotPermittedException
+                    ? Optional.empty()
+                    : retryPolicy.nextDelay(attempt, failure);
+            if (delay.isEmpty()) {
+                result.completeExceptionally(failure);
+                return;
+            }
+            retries.increment();
+            logger.debug("Retrying upstream call in {} ms after attempt {} failed: {}",
+                    delay.get().toMillis(), attempt, failure.toString());
+            CompletableFuture.delayedExecutor(delay.get().toMillis(), TimeUnit.MILLISECONDS, retryExecutor)
+                    .execute(() -> retryPermits.get().thenRun(() -> attempt(call, attempt + 1, result)));
+        });
+    }
+
+    private <T> CompletableFuture<T> guarded(Supplier<CompletableFuture<T>> call) {
+        if (!bulkhead.tryAcquire()) {
+            return CompletableFuture.failedFuture(new CallNotPermittedException("Upstream bulkhead is full"));
+        }
+        if (!circuitBreaker.tryAcquirePermission()) {
+            bulkhead.release();
+            return CompletableFuture.failedFuture(new CallNotPermittedException("Upstream circuit breaker is open"));
+        }
+        long start = System.nanoTime();
+        CompletableFuture<T> future;
+        try {
+            future = call.get();
+        } catch (RuntimeException e) {
+            future = CompletableFuture.failedFuture(e);
+        }
+        return future.whenComplete((value, error) -> {
+            bulkhead.release();
+            Duration duration = Duration.ofNanos(System.nanoTime() - start);
+            if (error != null && UpstreamFailures.isTransient(error)) {
+                circuitBreaker.onFailure(duration);
+            } else {
+                circuitBreaker.onSuccess(duration);
+            }
+        });
+    }
+}
@@ -0,0 +1,171 @@
+package com.example.rqchallenge.employees.client;
+
+import com.example.rqchallenge.employees.concurrent.Futures;
+import com.example.rqchallenge.employees.model.Employee;
+import com.example.rqchallenge.employees.model.EmployeeCreated;
+import com.example.rqchallenge.employees.model.EmployeeCreationResponse;
+import com.example.rqchallenge.employees.model.SingleEmployeeResponse;
+import com.example.rqchallenge.employees.stream.EmployeeListSink;
+import com.example.rqchallenge.employees.stream.EmployeeSink;
+import com.example.rqchallenge.employees.stream.EmployeeStreamReader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import static org.springframework.http.HttpMethod.DELETE;
+import static org.springframework.http.HttpMethod.GET;
+
+/**
+ * Blocking {@link EmployeeClient}: each call holds the calling thread for the full upstream round trip and
+ * returns an already completed future. The employee list is parsed straight off the response stream.
+ */
+public class RestTemplateEmployeeClient implements EmployeeClient {
+
+    private static final Logger logger = LoggerFactory.getLogger(RestTemplateEmployeeClient.class);
+
+    private final RestTemplate restTemplate;
+    private final String baseUrl;
+    private final EmployeeStreamReader streamReader = new EmployeeStreamReader();
+
+    public RestTemplateEmployeeClient(RestTemplate restTemplate, String baseUrl) {
+        this.restTemplate = restTemplate;
+        this.baseUrl = baseUrl;
+    }
+
+    @Override
+    public CompletableFuture<Void> streamAllEmployees(EmployeeSink sink) {
+        return Futures.completed(() -> {
+            String url = baseUrl + "employees";
+            try {
+                String status = restTemplate.execute(url, GET,
+                        request -> request.getHeaders().setAccept(List.of(MediaType.APPLICATION_JSON)),
+                        response -> streamReader.read(response.getBody(), sink));
+                if (!SUCCESS.equals(status)) {
+                    throw new RuntimeException("Error fetching employees");
+                }
+                return null;
+            } catch (HttpClientErrorException e) {
+                logger.error("Error fetching employees", e);
+                throw new RuntimeException("Error fetching employees", e);
+            }
+        });
+    }
+
+    @Override
+    public CompletableFuture<ConditionalEmployees> getAllEmployeesIfModified(ConditionalEmployees previous) {
+        return Futures.completed(() -> {
+            String url = baseUrl + "employees";
+            try {
+                ConditionalEmployees result = restTemplate.execute(url, GET, request -> {
+                    HttpHeaders headers = request.getHeaders();
+                    headers.setAccept(List.of(MediaType.APPLICATION_JSON));
+                    if (previous != null && previous.getEtag() != null) {
+                        headers.set(HttpHeaders.IF_NONE_MATCH, previous.getEtag());
+                    }
+                    if (previous != null && previous.getLastModified() != null) {
+                        headers.set(HttpHeaders.IF_MODIFIED_SINCE, previous.getLastModified());
+                    }
+                }, response -> {
+                    if (response.getRawStatusCode() == HttpStatus.NOT_MODIFIED.value() && previous != null) {
+                        return ConditionalEmployees.notModified(previous);
+                    }
+                    EmployeeListSink sink = new EmployeeListSink();
+                    if (!SUCCESS.equals(streamReader.read(response.getBody(), sink))) {
+                        return null;
+                    }
+                    return ConditionalEmployees.modified(sink.getEmployees(),
+                            response.getHeaders().getFirst(HttpHeaders.ETAG),
+                            response.getHeaders().getFirst(HttpHeaders.LAST_MODIFIED));
+                });
+                if (result == null) {
+                    throw new RuntimeException("Error fetching employees");
+                }
+                return result;
+            } catch (HttpClientErrorException e) {
+                logger.error("Error fetching employees", e);
+                throw new RuntimeException("Error fetching employees", e);
+            }
+        });
+    }
+
+    @Override
+    public CompletableFuture<Employee> getEmployeeById(String id) {
+        return Futures.completed(() -> {
+            String url = baseUrl + "employee/" + id;
+            try {
+                SingleEmployeeResponse employeeResponse = restTemplate.getForObject(url, SingleEmployeeResponse.class);
+                return Optional.ofNullable(employeeResponse)
+                        .stream()
+                        .filter(response -> response.getStatus().equals(SUCCESS))
+                        .map(SingleEmployeeResponse::getData)
+                        .filter(Objects::nonNull)
+                        .findFirst()
+                        .orElseThrow(() -> new RuntimeException("Error fetching employee by id"));
+            } catch (HttpClientErrorException e) {
+                logger.error("Error fetching employee by id: {}", id, e);
+                throw new RuntimeException("Error fetching employee by id", e);
+            }
+        });
+    }
+
+    @Override
+    public CompletableFuture<Employee> createEmployee(Map<String, Object> employeeInput) {
+        return Futures.completed(() -> {
+            EmployeeCreationResponse employeeCreationResponse;
+            try {
+                String url = baseUrl + "create";
+                HttpHeaders headers = new HttpHeaders();
+                headers.setContentType(MediaType.APPLICATION_JSON);
+                HttpEntity<Map<String, Object>> requestEntity = new HttpEntity<>(employeeInput, headers);
+                employeeCreationResponse = restTemplate.postForObject(url, requestEntity, EmployeeCreationResponse.class);
+            } catch (HttpClientErrorException e) {
+                logger.error("Error creating employee", e);
+                throw new RuntimeException("Error creating employee", e);
+            }
+            if (Objects.nonNull(employeeCreationResponse) && SUCCESS.equals(employeeCreationResponse.getStatus())) {
+                EmployeeCreated data = employeeCreationResponse.getData();
+                return new Employee(data.getId(), data.getName(), data.getSalary(), data.getAge());
+            } else {
+                logger.error("Error creating employee");
+                throw new RuntimeException("Error creating employee");
+            }
+        });
+    }
+
+    @Override
+    public CompletableFuture<Void> deleteEmployee(String id) {
+        return Futures.completed(() -> {
+            try {
+                restTemplate.delete(baseUrl + "delete/" + id);
+                return null;
+            } catch (HttpClientErrorException e) {
+                logger.error("Error deleting employee with id: {}", id, e);
+                throw new RuntimeException("Error deleting employee", e);
+            }
+        });
+    }
+
+    @Override
+    public CompletableFuture<String> deleteEmployeeAndReturnStatus(String id) {
+        return Futures.completed(() -> {
+            try {
+                var responseEntity = restTemplate.exchange(baseUrl + "delete/" + id, DELETE, null, Map.class);
+                return (String) Objects.requireNonNull(responseEntity.getBody()).get("status");
+            } catch (HttpClientErrorException e) {
+                logger.error("Error deleting employee with id: {}", id, e);
+                throw new RuntimeException("Error deleting employee", e);
+            }
+        });
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.rqchallenge.employees.client;
+
+import com.example.rqchallenge.employees.model.Employee;
+import com.example.rqchallenge.employees.resilience.UpstreamScheduler;
+import com.example.rqchallenge.employees.resilience.UpstreamScheduler.Lane;
+import com.example.rqchallenge.employees.stream.EmployeeSink;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * {@link EmployeeClient} decorator that submits every call to an {@link UpstreamScheduler} in one {@link Lane}:
+ * {@link Lane#INTERACTIVE} unless a view for another lane is taken with {@link #inLane}.
+ * <p>
+ * It sits above the resilience guards, so a call holds no bulkhead permit while it waits its turn and its wait
+ * does not count towards the breaker's slow calls. Retries of a call do not queue in a lane again, but each takes
+ * a {@linkplain UpstreamScheduler#acquireRetryPermit rate permit} from the scheduler.
+ */
+public class ScheduledEmployeeClient implements EmployeeClient {
+
+    private final EmployeeClient delegate;
+    private final UpstreamScheduler scheduler;
+    private final Lane lane;
+
+    public ScheduledEmployeeClient(EmployeeClient delegate, UpstreamScheduler scheduler) {
+        this(delegate, scheduler, Lane.INTERACTIVE);
+    }
+
+    private ScheduledEmployeeClient(EmployeeClient delegate, UpstreamScheduler scheduler, Lane lane) {
+        this.delegate = delegate;
+        this.scheduler = scheduler;
+        this.lane = lane;
+    }
+
+    @Override
+    public EmployeeClient inLane(Lane lane) {
+        return lane == this.lane ? this : new ScheduledEmployeeClient(delegate, scheduler, lane);
+    }
+
+    @Override
+    public CompletableFuture<Void> streamAllEmployees(EmployeeSink sink) {
+        return scheduler.schedule(lane, () -> delegate.streamAllEmployees(sink));
+    }
+
+    @Override
+    public CompletableFuture<List<Employee>> getAllEmployees() {
+        return scheduler.schedule(lane, delegate::getAllEmployees);
+    }
+
+    @Override
+    public CompletableFuture<ConditionalEmployees> getAllEmployeesIfModified(ConditionalEmployees previous) {
+        return scheduler.schedule(lane, () -> delegate.getAllEmployeesIfModified(previous));
+    }
+
+    @Override
+    public CompletableFuture<Employee> getEmployeeById(String id) {
+        return scheduler.schedule(lane, () -> delegate.getEmployeeById(id));
+    }
+
+    @Override
+    public CompletableFuture<Employee> createEmployee(Map<String, Object> employeeInput) {
+        return scheduler.schedule(lane, () -> delegate.createEmployee(employeeInput));
+    }
+
+    @Override
+    public CompletableFuture<Void> deleteEmployee(String id) {
+        return scheduler.schedule(lane, () -> delegate.deleteEmployee(id));
+    }
+
+    @Override
+    public CompletableFuture<String> deleteEmployeeAndReturnStatus(String id) {
+        return scheduler.schedule(lane, () -> delegate.deleteEmployeeAndReturnStatus(id));
+    }
+
+    public UpstreamScheduler getScheduler() {
+        return scheduler;
+    }
+}
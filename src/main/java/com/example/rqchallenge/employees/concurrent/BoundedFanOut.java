@@ -0,0 +1,131 @@
+package com.example.rqchallenge.employees.concurrent;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Runs one call per key with at most {@code maxConcurrency} calls in flight, starting the next key as each call
+ * completes. Calls are started on the given executor, so blocking calls overlap as well as asynchronous ones.
+ * <p>
+ * The returned future always completes normally: each key ends up either in {@link Result#getValues()} or in
+ * {@link Result#getFailures()}.
+ */
+public class BoundedFanOut {
+
+    private final Executor executor;
+    private final int maxConcurrency;
+
+    public BoundedFanOut(Executor executor, int maxConcurrency) {
+        if (maxConcurrency < 1) {
+            throw new IllegalArgumentException("maxConcurrency must be positive: " + maxConcurrency);
+        }
+        this.executor = executor;
+        this.maxConcurrency = maxConcurrency;
+    }
+
+    public <K, V> CompletableFuture<Result<K, V>> execute(List<K> keys, Function<K, CompletableFuture<V>> call) {
+        return new Run<>(keys, call).start();
+    }
+
+    public static final class Result<K, V> {
+
+        private final Map<K, V> values;
+        private final Map<K, RuntimeException> failures;
+
+        private Result(Map<K, V> values, Map<K, RuntimeException> failures) {
+            this.values = Collections.unmodifiableMap(values);
+            this.failures = Collections.unmodifiableMap(failures);
+        }
+
+        /**
+         * Successful outcomes, in key order.
+         */
+        public Map<K, V> getValues() {
+            return values;
+        }
+
+        /**
+         * Failed outcomes, unwrapped, in key order.
+         */
+        public Map<K, RuntimeException> getFailures() {
+            return failures;
+        }
+    }
+
+    private final class Run<K, V> {
+
+        private final List<K> keys;
+        private final Function<K, CompletableFuture<V>> call;
+        private final Object[] values;
+        private final RuntimeException[] failures;
+        private final AtomicInteger next = new AtomicInteger();
+        private final AtomicInteger remaining;
+        private final CompletableFuture<Result<K, V>> done = new CompletableFuture<>();
+
+        private Run(List<K> keys, Function<K, CompletableFuture<V>> call) {
+            this.keys = keys;
+            this.call = call;
+            this.values = new Object[keys.size()];
+            this.failures = new RuntimeException[keys.size()];
+            this.remaining = new AtomicInteger(keys.size());
+        }
+
+        private CompletableFuture<Result<K, V>> start() {
+            if (keys.isEmpty()) {
+                done.complete(result());
+            }
+            for (int i = 0; i < Math.min(maxConcurrency, keys.size()); i++) {
+                launchNext();
+            }
+            return done;
+        }
+
+        private void launchNext() {
+            int index = next.getAndIncrement();
+            if (index >= keys.size()) {
+                return;
+            }
+            CompletableFuture<V> outcome;
+            try {
+                outcome = CompletableFuture.supplyAsync(() -> call.apply(keys.get(index)), executor)
+                        .thenCompose(Function.identity());
+            } catch (RejectedExecutionException e) {
+                outcome = CompletableFuture.failedFuture(e);
+            }
+            outcome.whenComplete((value, error) -> {
+                if (error != null) {
+                    failures[index] = Futures.unwrap(error);
+                } else {
+                    values[index] = value;
+                }
+                // The decrement publishes this slot to whichever call completes last and assembles the result.
+                if (remaining.decrementAndGet() == 0) {
+                    done.complete(result());
+                } else {
+                    launchNext();
+                }
+            });
+        }
+
+        @SuppressWarnings("unchecked")
+        private Result<K, V> result() {
+            Map<K, V> succeeded = new LinkedHashMap<>();
+            Map<K, RuntimeException> failed = new LinkedHashMap<>();
+            for (int i = 0; i < keys.size(); i++) {
+                if (failures[i] != null) {
+                    failed.put(keys.get(i), failures[i]);
+                } else {
+                    succeeded.put(keys.get(i), (V) values[i]);
+                }
+            }
+            return new Result<>(succeeded, failed);
+        }
+    }
+}
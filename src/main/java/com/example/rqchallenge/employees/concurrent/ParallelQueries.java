@@ -0,0 +1,165 @@
+package com.example.rqchallenge.employees.concurrent;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.IntPredicate;
+
+/**
+ * Splits scans and sorts over large arrays into chunks run on a dedicated {@link ForkJoinPool}, so they never
+ * compete with the common pool or the servlet container for threads. Inputs smaller than {@code threshold} are
+ * processed sequentially on the calling thread, where splitting would cost more than it saves.
+ * <p>
+ * Results are identical to the sequential ones: filters return matches in ascending order and sorts are full
+ * sorts. {@link #sequential()} never splits and owns no threads.
+ */
+public final class ParallelQueries {
+
+    private static final ParallelQueries SEQUENTIAL = new ParallelQueries();
+    private static final int MIN_CHUNK = 4096;
+    private static final int CHUNKS_PER_THREAD = 4;
+
+    private final ForkJoinPool pool;
+    private final int threshold;
+
+    public ParallelQueries(int parallelism, int threshold) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("parallelism must be positive: " + parallelism);
+        }
+        this.pool = new ForkJoinPool(parallelism, pool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("employee-query-" + thread.getPoolIndex());
+            thread.setDaemon(true);
+            return thread;
+        }, null, false);
+        this.threshold = Math.max(threshold, 1);
+    }
+
+    private ParallelQueries() {
+        this.pool = null;
+        this.threshold = Integer.MAX_VALUE;
+    }
+
+    public static ParallelQueries sequential() {
+        return SEQUENTIAL;
+    }
+
+    public int getParallelism() {
+        return pool == null ? 1 : pool.getParallelism();
+    }
+
+    /**
+     * Positions in {@code [0, size)} that {@code matches} accepts, in ascending order. The predicate may be
+     * called from several threads at once.
+     */
+    public int[] filter(int size, IntPredicate matches) {
+        if (!isParallel(size)) {
+            return filter(0, size, matches);
+        }
+        return pool.invoke(new FilterTask(0, size, chunkSize(size), matches));
+    }
+
+    /**
+     * Sorts the first {@code count} keys in ascending order, sorting chunks in parallel and merging them.
+     */
+    public void sort(long[] keys, int count) {
+        if (!isParallel(count)) {
+            Arrays.sort(keys, 0, count);
+            return;
+        }
+        pool.invoke(new SortTask(keys, new long[count], 0, count, chunkSize(count)));
+    }
+
+    public void shutdown() {
+        if (pool != null) {
+            pool.shutdownNow();
+        }
+    }
+
+    private boolean isParallel(int size) {
+        return pool != null && size >= threshold;
+    }
+
+    private int chunkSize(int size) {
+        return Math.max(MIN_CHUNK, size / (pool.getParallelism() * CHUNKS_PER_THREAD));
+    }
+
+    private static int[] filter(int from, int to, IntPredicate matches) {
+        int[] result = new int[to - from];
+        int count = 0;
+        for (int i = from; i < to; i++) {
+            if (matches.test(i)) {
+                result[count++] = i;
+            }
+        }
+        return count == result.length ? result : Arrays.copyOf(result, count);
+    }
+
+    private static final class FilterTask extends RecursiveTask<int[]> {
+
+        private final int from;
+        private final int to;
+        private final int chunkSize;
+        private final IntPredicate matches;
+
+        private FilterTask(int from, int to, int chunkSize, IntPredicate matches) {
+            this.from = from;
+            this.to = to;
+            this.chunkSize = chunkSize;
+            this.matches = matches;
+        }
+
+        @Override
+        protected int[] compute() {
+            if (to - from <= chunkSize) {
+                return filter(from, to, matches);
+            }
+            int mid = (from + to) >>> 1;
+            FilterTask left = new FilterTask(from, mid, chunkSize, matches);
+            left.fork();
+            int[] right = new FilterTask(mid, to, chunkSize, matches).compute();
+            int[] leftMatches = left.join();
+            int[] result = Arrays.copyOf(leftMatches, leftMatches.length + right.length);
+            System.arraycopy(right, 0, result, leftMatches.length, right.length);
+            return result;
+        }
+    }
+
+    private static final class SortTask extends RecursiveAction {
+
+        private final long[] keys;
+        private final long[] buffer;
+        private final int from;
+        private final int to;
+        private final int chunkSize;
+
+        private SortTask(long[] keys, long[] buffer, int from, int to, int chunkSize) {
+            this.keys = keys;
+            this.buffer = buffer;
+            this.from = from;
+            this.to = to;
+            this.chunkSize = chunkSize;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= chunkSize) {
+                Arrays.sort(keys, from, to);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new SortTask(keys, buffer, from, mid, chunkSize), new SortTask(keys, buffer, mid, to, chunkSize));
+            if (keys[mid - 1] <= keys[mid]) {
+                return;
+            }
+            int left = from;
+            int right = mid;
+            for (int i = from; i < to; i++) {
+                buffer[i] = right >= to || (left < mid && keys[left] <= keys[right]) ? keys[left++] : keys[right++];
+            }
+            System.arraycopy(buffer, from, keys, from, to - from);
+        }
+    }
+}
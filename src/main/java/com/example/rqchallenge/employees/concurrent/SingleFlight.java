@@ -0,0 +1,88 @@
+package com.example.rqchallenge.employees.concurrent;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Collapses concurrent calls for the same key into one execution. While a call for a key is in flight, every
+ * further caller for that key receives the outcome of the in-flight call, including its failure, instead of
+ * starting its own. Nothing is cached once the call completes.
+ * <p>
+ * Per-key counters are kept for at most {@code maxTrackedKeys} keys; calls for further keys are counted
+ * under {@link #OTHER_KEYS}.
+ */
+public class SingleFlight<V> {
+
+    public static final String OTHER_KEYS = "other";
+
+    private final ConcurrentMap<String, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, KeyStats> stats = new ConcurrentHashMap<>();
+    private final int maxTrackedKeys;
+
+    public SingleFlight(int maxTrackedKeys) {
+        this.maxTrackedKeys = maxTrackedKeys;
+    }
+
+    public CompletableFuture<V> execute(String key, Supplier<CompletableFuture<V>> call) {
+        CompletableFuture<V> promise = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, promise);
+        if (existing != null) {
+            stats(key).shared.increment();
+            return existing.copy();
+        }
+        stats(key).executed.increment();
+        CompletableFuture<V> result;
+        try {
+            result = call.get();
+        } catch (RuntimeException e) {
+            result = CompletableFuture.failedFuture(e);
+        }
+        result.whenComplete((value, error) -> {
+            inFlight.remove(key, promise);
+            if (error != null) {
+                promise.completeExceptionally(Futures.unwrap(error));
+            } else {
+                promise.complete(value);
+            }
+        });
+        // Callers get a copy so that cancelling one of them cannot complete the call for the others.
+        return promise.copy();
+    }
+
+    public Map<String, KeyStats> getStats() {
+        return new TreeMap<>(stats);
+    }
+
+    private KeyStats stats(String key) {
+        KeyStats keyStats = stats.get(key);
+        if (keyStats != null) {
+            return keyStats;
+        }
+        String trackedKey = stats.size() < maxTrackedKeys ? key : OTHER_KEYS;
+        return stats.computeIfAbsent(trackedKey, ignored -> new KeyStats());
+    }
+
+    public static final class KeyStats {
+        private final LongAdder executed = new LongAdder();
+        private final LongAdder shared = new LongAdder();
+
+        /**
+         * Calls that went to the upstream.
+         */
+        public long getExecuted() {
+            return executed.sum();
+        }
+
+        /**
+         * Calls that joined an in-flight call instead of going to the upstream.
+         */
+        public long getShared() {
+            return shared.sum();
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.rqchallenge.employees.concurrent;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Token bucket rate limiter that hands out reservations instead of blocking: {@link #reserve()} takes a permit
+ * and returns how long the caller must wait before using it.
+ * <p>
+ * Permits accrue at {@code permitsPerSecond}, up to {@code burst} banked while idle. Reservations beyond the
+ * banked permits run the bucket into debt, so callers that must wait are spaced out at the configured rate in
+ * the order they reserved. Callers that would rather not commit to a wait can {@link #tryAcquire()} instead.
+ * <p>
+ * The rate may be changed at any time, for example to back off when the caller is throttled; permits already
+ * banked or owed are kept.
+ */
+public final class TokenBucket {
+
+    private static final double NANOS_PER_SECOND = 1e9;
+
+    private double permitsPerSecond;
+    private final int burst;
+    private final Clock clock;
+
+    private double permits;
+    private Instant refilledAt;
+
+    public TokenBucket(double permitsPerSecond, int burst, Clock clock) {
+        if (!(permitsPerSecond > 0)) {
+            throw new IllegalArgumentException("permitsPerSecond must be positive: " + permitsPerSecond);
+        }
+        if (burst < 1) {
+            throw new IllegalArgumentException("burst must be positive: " + burst);
+        }
+        this.permitsPerSecond = permitsPerSecond;
+        this.burst = burst;
+        this.clock = clock;
+        this.permits = burst;
+        this.refilledAt = clock.instant();
+    }
+
+    /**
+     * Takes a permit, returning how long to wait before it may be used; {@link Duration#ZERO} if it is free now.
+     */
+    public synchronized Duration reserve() {
+        refill();
+        permits -= 1;
+        if (permits >= 0) {
+            return Duration.ZERO;
+        }
+        return nanos(-permits);
+    }
+
+    /**
+     * Takes a permit if one is free now.
+     */
+    public synchronized boolean tryAcquire() {
+        refill();
+        if (permits < 1) {
+            return false;
+        }
+        permits -= 1;
+        return true;
+    }
+
+    /**
+     * How long until {@link #tryAcquire()} would succeed at the current rate; {@link Duration#ZERO} if it would now.
+     */
+    public synchronized Duration timeUntilAvailable() {
+        refill();
+        return permits >= 1 ? Duration.ZERO : nanos(1 - permits);
+    }
+
+    /**
+     * Makes no permit free for {@code pause}, as if the permits banked were spent and that long's worth borrowed.
+     */
+    public synchronized void holdOff(Duration pause) {
+        refill();
+        permits = Math.min(permits, 1 - pause.toNanos() / NANOS_PER_SECOND * permitsPerSecond);
+    }
+
+    public synchronized double getPermitsPerSecond() {
+        return permitsPerSecond;
+    }
+
+    public synchronized void setPermitsPerSecond(double permitsPerSecond) {
+        if (!(permitsPerSecond > 0)) {
+            throw new IllegalArgumentException("permitsPerSecond must be positive: " + permitsPerSecond);
+        }
+        refill();
+        this.permitsPerSecond = permitsPerSecond;
+    }
+
+    public int getBurst() {
+        return burst;
+    }
+
+    private Duration nanos(double owed) {
+        return Duration.ofNanos((long) Math.ceil(owed / permitsPerSecond * NANOS_PER_SECOND));
+    }
+
+    private void refill() {
+        Instant now = clock.instant();
+        if (now.isAfter(refilledAt)) {
+            double elapsedSeconds = Duration.between(refilledAt, now).toNanos() / NANOS_PER_SECOND;
+            permits = Math.min(burst, permits + elapsedSeconds * permitsPerSecond);
+            refilledAt = now;
+        }
+    }
+}
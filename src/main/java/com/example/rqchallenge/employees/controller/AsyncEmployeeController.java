@@ -0,0 +1,322 @@
+package com.example.rqchallenge.employees.controller;
+
+import com.example.rqchallenge.employees.concurrent.Futures;
+import com.example.rqchallenge.employees.model.Employee;
+import com.example.rqchallenge.employees.model.EmployeeBatchResponse;
+import com.example.rqchallenge.employees.model.EmployeeBulkJob;
+import com.example.rqchallenge.employees.model.EmployeeBulkResponse;
+import com.example.rqchallenge.employees.model.EmployeeStats;
+import com.example.rqchallenge.employees.service.EmployeeService;
+import com.example.rqchallenge.employees.stats.StatsQuery;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+
+import static com.example.rqchallenge.employees.client.EmployeeClientConfiguration.EXECUTION_MODE;
+import static org.slf4j.LoggerFactory.getLogger;
+import static org.springframework.http.HttpStatus.ACCEPTED;
+import static org.springframework.http.HttpStatus.BAD_REQUEST;
+import static org.springframework.http.HttpStatus.CREATED;
+import static org.springframework.http.HttpStatus.INTERNAL_SERVER_ERROR;
+import static org.springframework.http.HttpStatus.NOT_FOUND;
+import static org.springframework.http.HttpStatus.SERVICE_UNAVAILABLE;
+import static org.springframework.http.ResponseEntity.ok;
+import static org.springframework.http.ResponseEntity.status;
+
+@RestController
+@RequestMapping("/employees")
+@ConditionalOnProperty(name = EXECUTION_MODE, havingValue = "async")
+public class AsyncEmployeeController implements IAsyncEmployeeController {
+
+    private final EmployeeService employeeService;
+    private final ObjectMapper objectMapper;
+    private final SnapshotResponses snapshotResponses;
+    private static final Logger logger = getLogger(AsyncEmployeeController.class);
+
+    public AsyncEmployeeController(EmployeeService employeeService, ObjectMapper objectMapper,
+                                   @Value("${employees.http.max-age:0s}") Duration maxAge,
+                                   @Value("${employees.http.body-cache-size:128MB}") DataSize bodyCacheSize) {
+        this.employeeService = employeeService;
+        this.objectMapper = objectMapper;
+        this.snapshotResponses = new SnapshotResponses(objectMapper, maxAge, bodyCacheSize);
+    }
+
+    @Override
+    public CompletableFuture<ResponseEntity<byte[]>> getAllEmployees(int offset, Integer limit,
+                                                                     HttpHeaders requestHeaders) {
+        logger.debug("Received request to get all employees");
+        if (!EmployeePages.isValid(offset, limit)) {
+            return CompletableFuture.completedFuture(status(BAD_REQUEST).body(null));
+        }
+        CompletableFuture<ResponseEntity<byte[]>> response = employeeService.isSnapshotCacheEnabled()
+                ? employeeService.getSnapshotAsync().thenApply(current -> snapshotResponses.respond(
+                        "employees?offset=" + offset + "&limit=" + limit, current, requestHeaders,
+                        snapshot -> EmployeePages.page(snapshot.getEmployees(), offset, limit)))
+                : employeeService.getAllEmployeesAsync().thenApply(employees ->
+                        snapshotResponses.uncached(EmployeePages.page(employees, offset, limit)));
+        return response
+                .exceptionally(e -> {
+                    logger.error("Failed to get all employees", e);
+                    return status(INTERNAL_SERVER_ERROR).body(null);
+                });
+    }
+
+    @Override
+    public CompletableFuture<ResponseEntity<StreamingResponseBody>> streamAllEmployees(int offset, Integer limit) {
+        logger.debug("Received request to stream all employees");
+        if (!EmployeePages.isValid(offset, limit)) {
+            return CompletableFuture.completedFuture(status(BAD_REQUEST).body(null));
+        }
+        return employeeService.getAllEmployeesAsync()
+                .thenApply(employees -> EmployeePages.ndjson(employees, offset, limit, objectMapper))
+                .exceptionally(e -> {
+                    logger.error("Failed to stream all employees", e);
+                    return status(INTERNAL_SERVER_ERROR).body(null);
+                });
+    }
+
+    @Override
+    public CompletableFuture<ResponseEntity<byte[]>> getEmployeesByNameSearch(String searchString, int offset,
+                                                                              Integer limit,
+                                                                              HttpHeaders requestHeaders) {
+        logger.debug("Received request to search for employees with name containing: {}", searchString);
+        if (!EmployeePages.isValid(offset, limit)) {
+            return CompletableFuture.completedFuture(status(BAD_REQUEST).body(null));
+        }
+        CompletableFuture<ResponseEntity<byte[]>> response = employeeService.isSnapshotCacheEnabled()
+                ? employeeService.getSnapshotAsync().thenApply(current -> snapshotResponses.respond(
+                        "search/" + searchString + "?offset=" + offset + "&limit=" + limit, current, requestHeaders,
+                        snapshot -> EmployeePages.page(
+                                employeeService.getEmployeesByNameSearch(snapshot, searchString), offset, limit)))
+                : employeeService.getEmployeesByNameSearchAsync(searchString).thenApply(employees ->
+                        snapshotResponses.uncached(EmployeePages.page(employees, offset, limit)));
+        return response
+                .exceptionally(e -> {
+                    logger.error("Failed to search for employees", e);
+                    return status(INTERNAL_SERVER_ERROR).body(null);
+                });
+    }
+
+    @Override
+    public CompletableFuture<ResponseEntity<StreamingResponseBody>> streamEmployeesByNameSearch(String searchString,
+                                                                                               int offset,
+                                                                                               Integer limit) {
+        logger.debug("Received request to stream employees with name containing: {}", searchString);
+        if (!EmployeePages.isValid(offset, limit)) {
+            return CompletableFuture.completedFuture(status(BAD_REQUEST).body(null));
+        }
+        return employeeService.getEmployeesByNameSearchAsync(searchString)
+                .thenApply(employees -> EmployeePages.ndjson(employees, offset, limit, objectMapper))
+                .exceptionally(e -> {
+                    logger.error("Failed to stream employee search", e);
+                    return status(INTERNAL_SERVER_ERROR).body(null);
+                });
+    }
+
+    @Override
+    public CompletableFuture<ResponseEntity<EmployeeStats>> getEmployeeStats(int ageBucket, Integer salaryAbove,
+                                                                             Integer minAge, Integer maxAge,
+                                                                             int top) {
+        logger.debug("Received request to get employee stats");
+        StatsQuery query;
+        try {
+            query = new StatsQuery(ageBucket, salaryAbove, minAge, maxAge, top);
+        } catch (IllegalArgumentException e) {
+            logger.warn("Rejected employee stats query: {}", e.getMessage());
+            return CompletableFuture.completedFuture(status(BAD_REQUEST).body(null));
+        }
+        return employeeService.getEmployeeStatsAsync(query)
+                .thenApply(stats -> ok(stats))
+                .exceptionally(e -> {
+                    logger.error("Failed to get employee stats", e);
+                    return status(INTERNAL_SERVER_ERROR).body(null);
+                });
+    }
+
+    @Override
+    public CompletableFuture<ResponseEntity<Employee>> getEmployeeById(String id) {
+        logger.debug("Received request to get employee by id: {}", id);
+        return employeeService.getEmployeeByIdAsync(id)
+                .thenApply(employee -> ok(employee))
+                .exceptionally(e -> {
+                    logger.error("Failed to get employee by id: {}", id, e);
+                    return status(INTERNAL_SERVER_ERROR).body(null);
+                });
+    }
+
+    @Override
+    public CompletableFuture<ResponseEntity<EmployeeBatchResponse>> getEmployeesByIds(List<String> ids) {
+        logger.debug("Received request to get employees by ids: {}", ids);
+        return employeeService.getEmployeesByIdsAsync(ids)
+                .thenApply(batch -> ok(batch))
+                .exceptionally(e -> {
+                    RuntimeException cause = Futures.unwrap(e);
+                    if (cause instanceof IllegalArgumentException) {
+                        logger.warn("Rejected employee batch: {}", cause.getMessage());
+                        return status(BAD_REQUEST).body(null);
+                    }
+                    logger.error("Failed to get employees by ids", cause);
+                    return status(INTERNAL_SERVER_ERROR).body(null);
+                });
+    }
+
+    @Override
+    public CompletableFuture<ResponseEntity<byte[]>> getHighestSalaryOfEmployees(HttpHeaders requestHeaders) {
+        logger.debug("Received request to get highest salary of employees");
+        CompletableFuture<ResponseEntity<byte[]>> response = employeeService.isSnapshotCacheEnabled()
+                ? employeeService.getSnapshotAsync().thenApply(current -> snapshotResponses.respond(
+                        "highestSalary", current, requestHeaders,
+                        snapshot -> ok(employeeService.getHighestSalaryOfEmployees(snapshot))))
+                : employeeService.getHighestSalaryOfEmployeesAsync()
+                        .thenApply(highestSalary -> snapshotResponses.uncached(ok(highestSalary)));
+        return response
+                .exceptionally(e -> {
+                    logger.error("Failed to get highest salary of employees", e);
+                    return status(INTERNAL_SERVER_ERROR).body(null);
+                });
+    }
+
+    @Override
+    public CompletableFuture<ResponseEntity<byte[]>> getTopTenHighestEarningEmployeeNames(HttpHeaders requestHeaders) {
+        logger.debug("Received request to get top 10 highest earning employee names");
+        CompletableFuture<ResponseEntity<byte[]>> response = employeeService.isSnapshotCacheEnabled()
+                ? employeeService.getSnapshotAsync().thenApply(current -> snapshotResponses.respond(
+                        "topTenHighestEarningEmployeeNames", current, requestHeaders,
+                        snapshot -> ok(employeeService.getTopHighestEarningEmployeeNames(snapshot, 10))))
+                : employeeService.getTopTenHighestEarningEmployeeNamesAsync()
+                        .thenApply(topTenNames -> snapshotResponses.uncached(ok(topTenNames)));
+        return response
+                .exceptionally(e -> {
+                    logger.error("Failed to get top 10 highest earning employee names", e);
+                    return status(INTERNAL_SERVER_ERROR).body(null);
+                });
+    }
+
+    @Override
+    public CompletableFuture<ResponseEntity<byte[]>> getTopHighestEarningEmployeeNames(int n,
+                                                                                       HttpHeaders requestHeaders) {
+        logger.debug("Received request to get top {} highest earning employee names", n);
+        if (n < 0) {
+            return CompletableFuture.completedFuture(status(BAD_REQUEST).body(null));
+        }
+        CompletableFuture<ResponseEntity<byte[]>> response = employeeService.isSnapshotCacheEnabled()
+                ? employeeService.getSnapshotAsync().thenApply(current -> snapshotResponses.respond(
+                        "topHighestEarningEmployeeNames?n=" + n, current, requestHeaders,
+                        snapshot -> ok(employeeService.getTopHighestEarningEmployeeNames(snapshot, n))))
+                : employeeService.getTopHighestEarningEmployeeNamesAsync(n)
+                        .thenApply(topNames -> snapshotResponses.uncached(ok(topNames)));
+        return response
+                .exceptionally(e -> {
+                    logger.error("Failed to get top {} highest earning employee names", n, e);
+                    return status(INTERNAL_SERVER_ERROR).body(null);
+                });
+    }
+
+    @Override
+    public CompletableFuture<ResponseEntity<Employee>> createEmployee(Map<String, Object> employeeInput) {
+        logger.debug("Received request to create employee");
+        return employeeService.createEmployeeAsync(employeeInput)
+                .thenApply(employee -> status(CREATED).body(employee))
+                .exceptionally(e -> {
+                    logger.error("Failed to create employee", e);
+                    return status(INTERNAL_SERVER_ERROR).body(null);
+                });
+    }
+
+    @Override
+    public CompletableFuture<ResponseEntity<String>> deleteEmployeeById(String id) {
+        logger.debug("Received request to delete employee with id: {}", id);
+        return employeeService.deleteEmployeeAsync(id)
+                .thenApply(employeeName -> ok("Deleted employee: " + employeeName))
+                .exceptionally(e -> {
+                    logger.error("Failed to delete employee with id: {}", id, e);
+                    return status(INTERNAL_SERVER_ERROR).body("Failed to delete employee");
+                });
+    }
+
+    @Override
+    public CompletableFuture<ResponseEntity<String>> deleteEmployeeByIdAndReturnStatus(String id) {
+        logger.debug("Received request to delete employee with id: {}", id);
+        return employeeService.deleteEmployeeAndReturnStatusAsync(id)
+                .thenApply(employeeName -> ok("Employee deletion status : " + employeeName))
+                .exceptionally(e -> {
+                    logger.error("Failed to delete employee with id: {}", id, e);
+                    return status(INTERNAL_SERVER_ERROR).body("Failed to delete employee");
+                });
+    }
+
+    @Override
+    public CompletableFuture<ResponseEntity<EmployeeBulkResponse>> createEmployees(
+            List<Map<String, Object>> employeeInputs) {
+        logger.debug("Received request to create employees in bulk");
+        return employeeService.createEmployeesAsync(employeeInputs)
+                .thenApply(response -> ok(response))
+                .exceptionally(e -> bulkFailure("create", Futures.unwrap(e)));
+    }
+
+    @Override
+    public CompletableFuture<ResponseEntity<EmployeeBulkResponse>> deleteEmployees(List<String> ids) {
+        logger.debug("Received request to delete employees in bulk");
+        return employeeService.deleteEmployeesAsync(ids)
+                .thenApply(response -> ok(response))
+                .exceptionally(e -> bulkFailure("delete", Futures.unwrap(e)));
+    }
+
+    private static ResponseEntity<EmployeeBulkResponse> bulkFailure(String operation, RuntimeException cause) {
+        if (cause instanceof IllegalArgumentException) {
+            logger.warn("Rejected bulk {}: {}", operation, cause.getMessage());
+            return status(BAD_REQUEST).body(null);
+        }
+        logger.error("Failed to {} employees in bulk", operation, cause);
+        return status(INTERNAL_SERVER_ERROR).body(null);
+    }
+
+    @Override
+    public ResponseEntity<EmployeeBulkJob> submitCreateEmployees(List<Map<String, Object>> employeeInputs) {
+        logger.debug("Received request to create employees in a bulk job");
+        return submitBulkJob(() -> employeeService.submitCreateEmployees(employeeInputs));
+    }
+
+    @Override
+    public ResponseEntity<EmployeeBulkJob> submitDeleteEmployees(List<String> ids) {
+        logger.debug("Received request to delete employees in a bulk job");
+        return submitBulkJob(() -> employeeService.submitDeleteEmployees(ids));
+    }
+
+    @Override
+    public ResponseEntity<EmployeeBulkJob> getBulkJob(String jobId) {
+        EmployeeBulkJob job = employeeService.getBulkJob(jobId);
+        return job == null ? status(NOT_FOUND).body(null) : ok(job);
+    }
+
+    private ResponseEntity<EmployeeBulkJob> submitBulkJob(Supplier<EmployeeBulkJob> submit) {
+        try {
+            EmployeeBulkJob job = submit.get();
+            return status(ACCEPTED).location(URI.create("/employees/bulk/jobs/" + job.getId())).body(job);
+        } catch (IllegalArgumentException e) {
+            logger.warn("Rejected bulk job: {}", e.getMessage());
+            return status(BAD_REQUEST).body(null);
+        } catch (RejectedExecutionException e) {
+            logger.warn("Rejected bulk job: {}", e.getMessage());
+            return status(SERVICE_UNAVAILABLE).body(null);
+        } catch (RuntimeException e) {
+            logger.error("Failed to submit bulk job", e);
+            return status(INTERNAL_SERVER_ERROR).body(null);
+        }
+    }
+}
@@ -1,60 +1,151 @@
 package com.example.rqchallenge.employees.controller;
 
 import com.example.rqchallenge.employees.model.Employee;
+import com.example.rqchallenge.employees.model.EmployeeBatchResponse;
+import com.example.rqchallenge.employees.model.EmployeeBulkJob;
+import com.example.rqchallenge.employees.model.EmployeeBulkResponse;
+import com.example.rqchallenge.employees.model.EmployeeStats;
 import com.example.rqchallenge.employees.service.EmployeeService;
+import com.example.rqchallenge.employees.stats.StatsQuery;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
+import org.springframework.util.unit.DataSize;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.net.URI;
+import java.time.Duration;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
 
+import static com.example.rqchallenge.employees.client.EmployeeClientConfiguration.EXECUTION_MODE;
 import static org.slf4j.LoggerFactory.getLogger;
+import static org.springframework.http.HttpStatus.ACCEPTED;
+import static org.springframework.http.HttpStatus.BAD_REQUEST;
 import static org.springframework.http.HttpStatus.CREATED;
 import static org.springframework.http.HttpStatus.INTERNAL_SERVER_ERROR;
+import static org.springframework.http.HttpStatus.NOT_FOUND;
+import static org.springframework.http.HttpStatus.SERVICE_UNAVAILABLE;
 import static org.springframework.http.ResponseEntity.ok;
 import static org.springframework.http.ResponseEntity.status;
 
 @RestController
 @RequestMapping("/employees")
+@ConditionalOnProperty(name = EXECUTION_MODE, havingValue = "blocking", matchIfMissing = true)
 public class EmployeeController implements IEmployeeController {
 
     private final EmployeeService employeeService;
+    private final ObjectMapper objectMapper;
+    private final SnapshotResponses snapshotResponses;
     private static final Logger logger = getLogger(EmployeeController.class);
 
-    public EmployeeController(EmployeeService employeeService) {
+    public EmployeeController(EmployeeService employeeService, ObjectMapper objectMapper,
+                              @Value("${employees.http.max-age:0s}") Duration maxAge,
+                              @Value("${employees.http.body-cache-size:128MB}") DataSize bodyCacheSize) {
         this.employeeService = employeeService;
+        this.objectMapper = objectMapper;
+        this.snapshotResponses = new SnapshotResponses(objectMapper, maxAge, bodyCacheSize);
     }
 
     @Override
-    public ResponseEntity<List<Employee>> getAllEmployees() {
-        logger.info("Received request to get all employees");
+    public ResponseEntity<byte[]> getAllEmployees(int offset, Integer limit, HttpHeaders requestHeaders) {
+        logger.debug("Received request to get all employees");
+        if (!EmployeePages.isValid(offset, limit)) {
+            return status(BAD_REQUEST).body(null);
+        }
         try {
+            if (employeeService.isSnapshotCacheEnabled()) {
+                return snapshotResponses.respond("employees?offset=" + offset + "&limit=" + limit,
+                        employeeService.getSnapshot(), requestHeaders,
+                        snapshot -> EmployeePages.page(snapshot.getEmployees(), offset, limit));
+            }
             List<Employee> employees = employeeService.getAllEmployees();
-            return ok(employees);
+            return snapshotResponses.uncached(EmployeePages.page(employees, offset, limit));
         } catch (RuntimeException e) {
             logger.error("Failed to get all employees", e);
             return status(INTERNAL_SERVER_ERROR).body(null);
         }
     }
 
+    @Override
+    public ResponseEntity<StreamingResponseBody> streamAllEmployees(int offset, Integer limit) {
+        logger.debug("Received request to stream all employees");
+        if (!EmployeePages.isValid(offset, limit)) {
+            return status(BAD_REQUEST).body(null);
+        }
+        try {
+            List<Employee> employees = employeeService.getAllEmployees();
+            return EmployeePages.ndjson(employees, offset, limit, objectMapper);
+        } catch (RuntimeException e) {
+            logger.error("Failed to stream all employees", e);
+            return status(INTERNAL_SERVER_ERROR).body(null);
+        }
+    }
 
     @Override
-    public ResponseEntity<List<Employee>> getEmployeesByNameSearch(String searchString) {
-        logger.info("Received request to search for employees with name containing: {}", searchString);
+    public ResponseEntity<byte[]> getEmployeesByNameSearch(String searchString, int offset, Integer limit,
+                                                           HttpHeaders requestHeaders) {
+        logger.debug("Received request to search for employees with name containing: {}", searchString);
+        if (!EmployeePages.isValid(offset, limit)) {
+            return status(BAD_REQUEST).body(null);
+        }
         try {
+            if (employeeService.isSnapshotCacheEnabled()) {
+                return snapshotResponses.respond(
+                        "search/" + searchString + "?offset=" + offset + "&limit=" + limit,
+                        employeeService.getSnapshot(), requestHeaders, snapshot -> EmployeePages.page(
+                                employeeService.getEmployeesByNameSearch(snapshot, searchString), offset, limit));
+            }
             List<Employee> employees = employeeService.getEmployeesByNameSearch(searchString);
-            return ok(employees);
+            return snapshotResponses.uncached(EmployeePages.page(employees, offset, limit));
         } catch (RuntimeException e) {
             logger.error("Failed to search for employees", e);
             return status(INTERNAL_SERVER_ERROR).body(null);
         }
     }
 
+    @Override
+    public ResponseEntity<StreamingResponseBody> streamEmployeesByNameSearch(String searchString, int offset,
+                                                                             Integer limit) {
+        logger.debug("Received request to stream employees with name containing: {}", searchString);
+        if (!EmployeePages.isValid(offset, limit)) {
+            return status(BAD_REQUEST).body(null);
+        }
+        try {
+            List<Employee> employees = employeeService.getEmployeesByNameSearch(searchString);
+            return EmployeePages.ndjson(employees, offset, limit, objectMapper);
+        } catch (RuntimeException e) {
+            logger.error("Failed to stream employee search", e);
+            return status(INTERNAL_SERVER_ERROR).body(null);
+        }
+    }
+
+    @Override
+    public ResponseEntity<EmployeeStats> getEmployeeStats(int ageBucket, Integer salaryAbove, Integer minAge,
+                                                          Integer maxAge, int top) {
+        logger.debug("Received request to get employee stats");
+        try {
+            StatsQuery query = new StatsQuery(ageBucket, salaryAbove, minAge, maxAge, top);
+            return ok(employeeService.getEmployeeStats(query));
+        } catch (IllegalArgumentException e) {
+            logger.warn("Rejected employee stats query: {}", e.getMessage());
+            return status(BAD_REQUEST).body(null);
+        } catch (RuntimeException e) {
+            logger.error("Failed to get employee stats", e);
+            return status(INTERNAL_SERVER_ERROR).body(null);
+        }
+    }
+
     @Override
     public ResponseEntity<Employee> getEmployeeById(String id) {
-        logger.info("Received request to get employee by id: {}", id);
+        logger.debug("Received request to get employee by id: {}", id);
         try {
             Employee employee = employeeService.getEmployeeById(id);
             return ok(employee);
@@ -65,11 +156,30 @@ public class EmployeeController implements IEmployeeController {
     }
 
     @Override
-    public ResponseEntity<Integer> getHighestSalaryOfEmployees() {
-        logger.info("Received request to get highest salary of employees");
+    public ResponseEntity<EmployeeBatchResponse> getEmployeesByIds(List<String> ids) {
+        logger.debug("Received request to get employees by ids: {}", ids);
         try {
+            EmployeeBatchResponse batch = employeeService.getEmployeesByIds(ids);
+            return ok(batch);
+        } catch (IllegalArgumentException e) {
+            logger.warn("Rejected employee batch: {}", e.getMessage());
+            return status(BAD_REQUEST).body(null);
+        } catch (RuntimeException e) {
+            logger.error("Failed to get employees by ids", e);
+            return status(INTERNAL_SERVER_ERROR).body(null);
+        }
+    }
+
+    @Override
+    public ResponseEntity<byte[]> getHighestSalaryOfEmployees(HttpHeaders requestHeaders) {
+        logger.debug("Received request to get highest salary of employees");
+        try {
+            if (employeeService.isSnapshotCacheEnabled()) {
+                return snapshotResponses.respond("highestSalary", employeeService.getSnapshot(), requestHeaders,
+                        snapshot -> ok(employeeService.getHighestSalaryOfEmployees(snapshot)));
+            }
             Integer highestSalary = employeeService.getHighestSalaryOfEmployees();
-            return ok(highestSalary);
+            return snapshotResponses.uncached(ok(highestSalary));
         } catch (RuntimeException e) {
             logger.error("Failed to get highest salary of employees", e);
             return status(INTERNAL_SERVER_ERROR).body(null);
@@ -77,20 +187,45 @@ public class EmployeeController implements IEmployeeController {
     }
 
     @Override
-    public ResponseEntity<List<String>> getTopTenHighestEarningEmployeeNames() {
-        logger.info("Received request to get top 10 highest earning employee names");
+    public ResponseEntity<byte[]> getTopTenHighestEarningEmployeeNames(HttpHeaders requestHeaders) {
+        logger.debug("Received request to get top 10 highest earning employee names");
         try {
+            if (employeeService.isSnapshotCacheEnabled()) {
+                return snapshotResponses.respond("topTenHighestEarningEmployeeNames", employeeService.getSnapshot(),
+                        requestHeaders,
+                        snapshot -> ok(employeeService.getTopHighestEarningEmployeeNames(snapshot, 10)));
+            }
             List<String> topTenNames = employeeService.getTopTenHighestEarningEmployeeNames();
-            return ok(topTenNames);
+            return snapshotResponses.uncached(ok(topTenNames));
         } catch (RuntimeException e) {
             logger.error("Failed to get top 10 highest earning employee names", e);
             return status(INTERNAL_SERVER_ERROR).body(null);
         }
     }
 
+    @Override
+    public ResponseEntity<byte[]> getTopHighestEarningEmployeeNames(int n, HttpHeaders requestHeaders) {
+        logger.debug("Received request to get top {} highest earning employee names", n);
+        if (n < 0) {
+            return status(BAD_REQUEST).body(null);
+        }
+        try {
+            if (employeeService.isSnapshotCacheEnabled()) {
+                return snapshotResponses.respond("topHighestEarningEmployeeNames?n=" + n,
+                        employeeService.getSnapshot(), requestHeaders,
+                        snapshot -> ok(employeeService.getTopHighestEarningEmployeeNames(snapshot, n)));
+            }
+            List<String> topNames = employeeService.getTopHighestEarningEmployeeNames(n);
+            return snapshotResponses.uncached(ok(topNames));
+        } catch (RuntimeException e) {
+            logger.error("Failed to get top {} highest earning employee names", n, e);
+            return status(INTERNAL_SERVER_ERROR).body(null);
+        }
+    }
+
     @Override
     public ResponseEntity<Employee> createEmployee(Map<String, Object> employeeInput) {
-        logger.info("Received request to create employee with {}", employeeInput);
+        logger.debug("Received request to create employee");
         try {
             Employee employee = employeeService.createEmployee(employeeInput);
             return status(CREATED).body(employee);
@@ -102,7 +237,7 @@ public class EmployeeController implements IEmployeeController {
 
     @Override
     public ResponseEntity<String> deleteEmployeeById(String id) {
-        logger.info("Received request to delete employee with id: {}", id);
+        logger.debug("Received request to delete employee with id: {}", id);
         try {
             String employeeName = employeeService.deleteEmployee(id);
             return ok("Deleted employee: " + employeeName);
@@ -114,7 +249,7 @@ public class EmployeeController implements IEmployeeController {
 
     @Override
     public ResponseEntity<String> deleteEmployeeByIdAndReturnStatus(String id) {
-        logger.info("Received request to delete employee with id: {}", id);
+        logger.debug("Received request to delete employee with id: {}", id);
         try {
             String employeeName = employeeService.deleteEmployeeAndReturnStatus(id);
             return ok("Employee deletion status : " + employeeName);
@@ -123,4 +258,66 @@ public class EmployeeController implements IEmployeeController {
             return status(INTERNAL_SERVER_ERROR).body("Failed to delete employee");
         }
     }
+
+    @Override
+    public ResponseEntity<EmployeeBulkResponse> createEmployees(List<Map<String, Object>> employeeInputs) {
+        logger.debug("Received request to create employees in bulk");
+        try {
+            return ok(employeeService.createEmployees(employeeInputs));
+        } catch (IllegalArgumentException e) {
+            logger.warn("Rejected bulk create: {}", e.getMessage());
+            return status(BAD_REQUEST).body(null);
+        } catch (RuntimeException e) {
+            logger.error("Failed to create employees in bulk", e);
+            return status(INTERNAL_SERVER_ERROR).body(null);
+        }
+    }
+
+    @Override
+    public ResponseEntity<EmployeeBulkResponse> deleteEmployees(List<String> ids) {
+        logger.debug("Received request to delete employees in bulk");
+        try {
+            return ok(employeeService.deleteEmployees(ids));
+        } catch (IllegalArgumentException e) {
+            logger.warn("Rejected bulk delete: {}", e.getMessage());
+            return status(BAD_REQUEST).body(null);
+        } catch (RuntimeException e) {
+            logger.error("Failed to delete employees in bulk", e);
+            return status(INTERNAL_SERVER_ERROR).body(null);
+        }
+    }
+
+    @Override
+    public ResponseEntity<EmployeeBulkJob> submitCreateEmployees(List<Map<String, Object>> employeeInputs) {
+        logger.debug("Received request to create employees in a bulk job");
+        return submitBulkJob(() -> employeeService.submitCreateEmployees(employeeInputs));
+    }
+
+    @Override
+    public ResponseEntity<EmployeeBulkJob> submitDeleteEmployees(List<String> ids) {
+        logger.debug("Received request to delete employees in a bulk job");
+        return submitBulkJob(() -> employeeService.submitDeleteEmployees(ids));
+    }
+
+    @Override
+    public ResponseEntity<EmployeeBulkJob> getBulkJob(String jobId) {
+        EmployeeBulkJob job = employeeService.getBulkJob(jobId);
+        return job == null ? status(NOT_FOUND).body(null) : ok(job);
+    }
+
+    private ResponseEntity<EmployeeBulkJob> submitBulkJob(Supplier<EmployeeBulkJob> submit) {
+        try {
+            EmployeeBulkJob job = submit.get();
+            return status(ACCEPTED).location(URI.create("/employees/bulk/jobs/" + job.getId())).body(job);
+        } catch (IllegalArgumentException e) {
+            logger.warn("Rejected bulk job: {}", e.getMessage());
+            return status(BAD_REQUEST).body(null);
+        } catch (RejectedExecutionException e) {
+            logger.warn("Rejected bulk job: {}", e.getMessage());
+            return status(SERVICE_UNAVAILABLE).body(null);
+        } catch (RuntimeException e) {
+            logger.error("Failed to submit bulk job", e);
+            return status(INTERNAL_SERVER_ERROR).body(null);
+        }
+    }
 }
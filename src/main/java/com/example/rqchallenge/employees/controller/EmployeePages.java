@@ -0,0 +1,67 @@
+package com.example.rqchallenge.employees.controller;
+
+import com.example.rqchallenge.employees.model.Employee;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.List;
+
+import static org.springframework.http.MediaType.APPLICATION_NDJSON;
+import static org.springframework.http.ResponseEntity.ok;
+
+/**
+ * Offset/limit paging and NDJSON rendering of employee lists, shared by the blocking and async controllers.
+ * <p>
+ * Pages are views over the service's list, never copies. The NDJSON body writes one employee per line straight
+ * to the response, flushing after the first so clients see data before the rest is serialized.
+ */
+final class EmployeePages {
+
+    static final String TOTAL_COUNT = "X-Total-Count";
+
+    private EmployeePages() {
+    }
+
+    static boolean isValid(int offset, Integer limit) {
+        return offset >= 0 && (limit == null || limit >= 0);
+    }
+
+    static <T> List<T> slice(List<T> items, int offset, Integer limit) {
+        int from = Math.min(offset, items.size());
+        int to = limit == null ? items.size() : (int) Math.min((long) from + limit, items.size());
+        return items.subList(from, to);
+    }
+
+    static ResponseEntity<List<Employee>> page(List<Employee> employees, int offset, Integer limit) {
+        return ok().header(TOTAL_COUNT, String.valueOf(employees.size())).body(slice(employees, offset, limit));
+    }
+
+    static ResponseEntity<StreamingResponseBody> ndjson(List<Employee> employees, int offset, Integer limit,
+                                                        ObjectMapper objectMapper) {
+        List<Employee> page = slice(employees, offset, limit);
+        ObjectWriter writer = objectMapper.writerFor(Employee.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        StreamingResponseBody body = outputStream -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)
+                    .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)) {
+                // Lines are ended explicitly; the default separator would start every line after the first
+                // with a space.
+                generator.setRootValueSeparator(null);
+                for (int i = 0; i < page.size(); i++) {
+                    writer.writeValue(generator, page.get(i));
+                    generator.writeRaw('\n');
+                    if (i == 0) {
+                        generator.flush();
+                    }
+                }
+            }
+        };
+        return ok().contentType(APPLICATION_NDJSON)
+                .header(TOTAL_COUNT, String.valueOf(employees.size()))
+                .body(body);
+    }
+}
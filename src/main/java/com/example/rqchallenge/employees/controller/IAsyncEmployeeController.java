@@ -0,0 +1,95 @@
+package com.example.rqchallenge.employees.controller;
+
+import com.example.rqchallenge.employees.model.Employee;
+import com.example.rqchallenge.employees.model.EmployeeBatchResponse;
+import com.example.rqchallenge.employees.model.EmployeeBulkJob;
+import com.example.rqchallenge.employees.model.EmployeeBulkResponse;
+import com.example.rqchallenge.employees.model.EmployeeStats;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.springframework.http.MediaType.APPLICATION_NDJSON_VALUE;
+
+/**
+ * Non-blocking counterpart of {@link IEmployeeController}: the same routes, but every handler returns a future
+ * and releases the servlet thread while the upstream call is in flight.
+ */
+@RestController
+public interface IAsyncEmployeeController {
+
+    @GetMapping()
+    CompletableFuture<ResponseEntity<byte[]>> getAllEmployees(
+            @RequestParam(defaultValue = "0") int offset, @RequestParam(required = false) Integer limit,
+            @RequestHeader HttpHeaders requestHeaders);
+
+    @GetMapping(produces = APPLICATION_NDJSON_VALUE)
+    CompletableFuture<ResponseEntity<StreamingResponseBody>> streamAllEmployees(
+            @RequestParam(defaultValue = "0") int offset, @RequestParam(required = false) Integer limit);
+
+    @GetMapping("/search/{searchString}")
+    CompletableFuture<ResponseEntity<byte[]>> getEmployeesByNameSearch(
+            @PathVariable String searchString,
+            @RequestParam(defaultValue = "0") int offset, @RequestParam(required = false) Integer limit,
+            @RequestHeader HttpHeaders requestHeaders);
+
+    @GetMapping(path = "/search/{searchString}", produces = APPLICATION_NDJSON_VALUE)
+    CompletableFuture<ResponseEntity<StreamingResponseBody>> streamEmployeesByNameSearch(
+            @PathVariable String searchString,
+            @RequestParam(defaultValue = "0") int offset, @RequestParam(required = false) Integer limit);
+
+    @GetMapping("/stats")
+    CompletableFuture<ResponseEntity<EmployeeStats>> getEmployeeStats(
+            @RequestParam(defaultValue = "10") int ageBucket, @RequestParam(required = false) Integer salaryAbove,
+            @RequestParam(required = false) Integer minAge, @RequestParam(required = false) Integer maxAge,
+            @RequestParam(defaultValue = "10") int top);
+
+    @GetMapping("/{id}")
+    CompletableFuture<ResponseEntity<Employee>> getEmployeeById(@PathVariable String id);
+
+    @PostMapping("/batch")
+    CompletableFuture<ResponseEntity<EmployeeBatchResponse>> getEmployeesByIds(@RequestBody List<String> ids);
+
+    @GetMapping("/highestSalary")
+    CompletableFuture<ResponseEntity<byte[]>> getHighestSalaryOfEmployees(
+            @RequestHeader HttpHeaders requestHeaders);
+
+    @GetMapping("/topTenHighestEarningEmployeeNames")
+    CompletableFuture<ResponseEntity<byte[]>> getTopTenHighestEarningEmployeeNames(
+            @RequestHeader HttpHeaders requestHeaders);
+
+    @GetMapping("/topHighestEarningEmployeeNames")
+    CompletableFuture<ResponseEntity<byte[]>> getTopHighestEarningEmployeeNames(
+            @RequestParam(defaultValue = "10") int n, @RequestHeader HttpHeaders requestHeaders);
+
+    @PostMapping()
+    CompletableFuture<ResponseEntity<Employee>> createEmployee(@RequestBody Map<String, Object> employeeInput);
+
+    @DeleteMapping("/{id}")
+    CompletableFuture<ResponseEntity<String>> deleteEmployeeById(@PathVariable String id);
+
+    @DeleteMapping("delete/{id}")
+    CompletableFuture<ResponseEntity<String>> deleteEmployeeByIdAndReturnStatus(@PathVariable String id);
+
+    @PostMapping("/bulk")
+    CompletableFuture<ResponseEntity<EmployeeBulkResponse>> createEmployees(
+            @RequestBody List<Map<String, Object>> employeeInputs);
+
+    @DeleteMapping("/bulk")
+    CompletableFuture<ResponseEntity<EmployeeBulkResponse>> deleteEmployees(@RequestBody List<String> ids);
+
+    @PostMapping("/bulk/jobs/create")
+    ResponseEntity<EmployeeBulkJob> submitCreateEmployees(@RequestBody List<Map<String, Object>> employeeInputs);
+
+    @PostMapping("/bulk/jobs/delete")
+    ResponseEntity<EmployeeBulkJob> submitDeleteEmployees(@RequestBody List<String> ids);
+
+    @GetMapping("/bulk/jobs/{jobId}")
+    ResponseEntity<EmployeeBulkJob> getBulkJob(@PathVariable String jobId);
+
+}
@@ -1,30 +1,68 @@
 package com.example.rqchallenge.employees.controller;
 
 import com.example.rqchallenge.employees.model.Employee;
+import com.example.rqchallenge.employees.model.EmployeeBatchResponse;
+import com.example.rqchallenge.employees.model.EmployeeBulkJob;
+import com.example.rqchallenge.employees.model.EmployeeBulkResponse;
+import com.example.rqchallenge.employees.model.EmployeeStats;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.io.IOException;
 import java.util.List;
 import java.util.Map;
 
+import static org.springframework.http.MediaType.APPLICATION_NDJSON_VALUE;
+
 @RestController
 public interface IEmployeeController {
 
     @GetMapping()
-    ResponseEntity<List<Employee>> getAllEmployees() throws IOException;
+    ResponseEntity<byte[]> getAllEmployees(@RequestParam(defaultValue = "0") int offset,
+                                           @RequestParam(required = false) Integer limit,
+                                           @RequestHeader HttpHeaders requestHeaders) throws IOException;
+
+    @GetMapping(produces = APPLICATION_NDJSON_VALUE)
+    ResponseEntity<StreamingResponseBody> streamAllEmployees(@RequestParam(defaultValue = "0") int offset,
+                                                             @RequestParam(required = false) Integer limit);
 
     @GetMapping("/search/{searchString}")
-    ResponseEntity<List<Employee>> getEmployeesByNameSearch(@PathVariable String searchString);
+    ResponseEntity<byte[]> getEmployeesByNameSearch(@PathVariable String searchString,
+                                                    @RequestParam(defaultValue = "0") int offset,
+                                                    @RequestParam(required = false) Integer limit,
+                                                    @RequestHeader HttpHeaders requestHeaders);
+
+    @GetMapping(path = "/search/{searchString}", produces = APPLICATION_NDJSON_VALUE)
+    ResponseEntity<StreamingResponseBody> streamEmployeesByNameSearch(@PathVariable String searchString,
+                                                                      @RequestParam(defaultValue = "0") int offset,
+                                                                      @RequestParam(required = false) Integer limit);
+
+    @GetMapping("/stats")
+    ResponseEntity<EmployeeStats> getEmployeeStats(@RequestParam(defaultValue = "10") int ageBucket,
+                                                   @RequestParam(required = false) Integer salaryAbove,
+                                                   @RequestParam(required = false) Integer minAge,
+                                                   @RequestParam(required = false) Integer maxAge,
+                                                   @RequestParam(defaultValue = "10") int top);
 
     @GetMapping("/{id}")
     ResponseEntity<Employee> getEmployeeById(@PathVariable String id);
 
+    @PostMapping("/batch")
+    ResponseEntity<EmployeeBatchResponse> getEmployeesByIds(@RequestBody List<String> ids);
+
     @GetMapping("/highestSalary")
-    ResponseEntity<Integer> getHighestSalaryOfEmployees();
+    ResponseEntity<byte[]> getHighestSalaryOfEmployees(
+            @RequestHeader HttpHeaders requestHeaders);
 
     @GetMapping("/topTenHighestEarningEmployeeNames")
-    ResponseEntity<List<String>> getTopTenHighestEarningEmployeeNames();
+    ResponseEntity<byte[]> getTopTenHighestEarningEmployeeNames(
+            @RequestHeader HttpHeaders requestHeaders);
+
+    @GetMapping("/topHighestEarningEmployeeNames")
+    ResponseEntity<byte[]> getTopHighestEarningEmployeeNames(@RequestParam(defaultValue = "10") int n,
+                                                             @RequestHeader HttpHeaders requestHeaders);
 
     @PostMapping()
     ResponseEntity<Employee> createEmployee(@RequestBody Map<String, Object> employeeInput);
@@ -35,4 +73,19 @@ public interface IEmployeeController {
     @DeleteMapping("delete/{id}")
     ResponseEntity<String> deleteEmployeeByIdAndReturnStatus(@PathVariable String id);
 
+    @PostMapping("/bulk")
+    ResponseEntity<EmployeeBulkResponse> createEmployees(@RequestBody List<Map<String, Object>> employeeInputs);
+
+    @DeleteMapping("/bulk")
+    ResponseEntity<EmployeeBulkResponse> deleteEmployees(@RequestBody List<String> ids);
+
+    @PostMapping("/bulk/jobs/create")
+    ResponseEntity<EmployeeBulkJob> submitCreateEmployees(@RequestBody List<Map<String, Object>> employeeInputs);
+
+    @PostMapping("/bulk/jobs/delete")
+    ResponseEntity<EmployeeBulkJob> submitDeleteEmployees(@RequestBody List<String> ids);
+
+    @GetMapping("/bulk/jobs/{jobId}")
+    ResponseEntity<EmployeeBulkJob> getBulkJob(@PathVariable String jobId);
+
 }
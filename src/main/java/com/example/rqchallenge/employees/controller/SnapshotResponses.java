@@ -0,0 +1,249 @@
+package com.example.rqchallenge.employees.controller;
+
+import com.example.rqchallenge.employees.snapshot.EmployeeSnapshot;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+import static org.springframework.http.HttpHeaders.ACCEPT_ENCODING;
+import static org.springframework.http.HttpHeaders.CONTENT_ENCODING;
+import static org.springframework.http.HttpHeaders.IF_NONE_MATCH;
+import static org.springframework.http.HttpStatus.NOT_MODIFIED;
+import static org.springframework.http.MediaType.APPLICATION_JSON;
+import static org.springframework.http.ResponseEntity.ok;
+import static org.springframework.http.ResponseEntity.status;
+
+/**
+ * Conditional GETs and pre-serialized JSON bodies for reads answered from the snapshot, shared by the blocking and
+ * async controllers.
+ * <p>
+ * Every such response carries a strong ETag made of the snapshot's {@linkplain EmployeeSnapshot#getFingerprint()
+ * fingerprint}, which any replica holding the same employees gives too, so a client may revalidate against another
+ * replica than the one that answered it. A request whose {@code If-None-Match} names the current fingerprint is
+ * answered {@code 304} from the fingerprint alone. Otherwise the body is serialized once per route and snapshot
+ * version, and the bytes are reused until the snapshot changes.
+ * <p>
+ * Bodies of at least {@value #MIN_GZIP_SIZE} bytes are sent gzipped to clients that accept it. The gzipped bytes
+ * are compressed once, on the first such request, and kept beside the plain ones; the two have different ETags,
+ * as strong validators must. Cached bodies are evicted least recently used first once their total size exceeds
+ * {@code maxCachedSize}, and a body larger than that is served without being kept.
+ */
+final class SnapshotResponses {
+
+    static final int MIN_GZIP_SIZE = 1024;
+
+    private static final String GZIP = "gzip";
+
+    private final ObjectMapper objectMapper;
+    private final CacheControl cacheControl;
+    private final long maxCachedBytes;
+    private final Map<String, Rendered> bodies = new LinkedHashMap<>(16, 0.75f, true);
+    private long cachedBytes;
+
+    /**
+     * Lets clients reuse a response for {@code maxAge} without asking again, or makes them revalidate every time
+     * if it is zero.
+     */
+    SnapshotResponses(ObjectMapper objectMapper, Duration maxAge, DataSize maxCachedSize) {
+        this.objectMapper = objectMapper;
+        this.cacheControl = maxAge.isNegative() || maxAge.isZero()
+                ? CacheControl.noCache()
+                : CacheControl.maxAge(maxAge);
+        this.maxCachedBytes = maxCachedSize.toBytes();
+    }
+
+    /**
+     * Answers a read of {@code route} from {@code snapshot}: {@code 304} if the request's {@code If-None-Match}
+     * names its fingerprint, else the body {@code render} gives, serialized to JSON once per version and gzipped if
+     * the request accepts it. Headers {@code render} sets are kept.
+     */
+    ResponseEntity<byte[]> respond(String route, EmployeeSnapshot snapshot, HttpHeaders requestHeaders,
+                                   Function<EmployeeSnapshot, ResponseEntity<?>> render) {
+        String fingerprint = Long.toHexString(snapshot.getFingerprint());
+        String etag = '"' + fingerprint + '"';
+        String gzippedEtag = '"' + fingerprint + "-gz\"";
+        String matched = match(requestHeaders.get(IF_NONE_MATCH), etag, gzippedEtag);
+        if (matched != null) {
+            return status(NOT_MODIFIED).eTag(matched).cacheControl(cacheControl).varyBy(ACCEPT_ENCODING).build();
+        }
+        Rendered rendered;
+        synchronized (bodies) {
+            rendered = bodies.get(route);
+        }
+        if (rendered == null || rendered.version != snapshot.getVersion()) {
+            ResponseEntity<?> response = render.apply(snapshot);
+            rendered = new Rendered(snapshot.getVersion(), response.getHeaders(), serialize(response.getBody()));
+            store(route, rendered);
+        }
+        ResponseEntity.BodyBuilder response = ok().headers(rendered.headers)
+                .contentType(APPLICATION_JSON)
+                .cacheControl(cacheControl)
+                .varyBy(ACCEPT_ENCODING);
+        if (rendered.body.length >= MIN_GZIP_SIZE && acceptsGzip(requestHeaders.get(ACCEPT_ENCODING))) {
+            return response.eTag(gzippedEtag).header(CONTENT_ENCODING, GZIP).body(gzipped(route, rendered));
+        }
+        return response.eTag(etag).body(rendered.body);
+    }
+
+    /**
+     * {@code response} with its body serialized to JSON, for reads not answered from the snapshot.
+     */
+    ResponseEntity<byte[]> uncached(ResponseEntity<?> response) {
+        return ok().headers(response.getHeaders()).contentType(APPLICATION_JSON).body(serialize(response.getBody()));
+    }
+
+    private void store(String route, Rendered rendered) {
+        synchronized (bodies) {
+            Rendered replaced = bodies.remove(route);
+            if (replaced != null) {
+                cachedBytes -= replaced.size();
+            }
+            if (rendered.size() > maxCachedBytes) {
+                return;
+            }
+            bodies.put(route, rendered);
+            cachedBytes += rendered.size();
+            evict();
+        }
+    }
+
+    private byte[] gzipped(String route, Rendered rendered) {
+        byte[] gzipped = rendered.gzipped;
+        if (gzipped != null) {
+            return gzipped;
+        }
+        gzipped = gzip(rendered.body);
+        synchronized (bodies) {
+            if (rendered.gzipped == null) {
+                rendered.gzipped = gzipped;
+                if (bodies.get(route) == rendered) {
+                    cachedBytes += gzipped.length;
+                    evict();
+                }
+            }
+        }
+        return gzipped;
+    }
+
+    private void evict() {
+        Iterator<Rendered> eldest = bodies.values().iterator();
+        while (cachedBytes > maxCachedBytes && eldest.hasNext()) {
+            cachedBytes -= eldest.next().size();
+            eldest.remove();
+        }
+    }
+
+    private byte[] serialize(Object body) {
+        try {
+            return objectMapper.writeValueAsBytes(body);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Compresses {@code body} as tightly as gzip can, since it is done once per version and sent many times.
+     */
+    private static byte[] gzip(byte[] body) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(body.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out) {
+            {
+                def.setLevel(Deflater.BEST_COMPRESSION);
+            }
+        }) {
+            gzip.write(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * The tag among {@code etags} that an {@code If-None-Match} value names, compared weakly as RFC 9110 requires,
+     * or {@code null} if it names none. {@code *} names the first.
+     */
+    private static String match(List<String> ifNoneMatch, String... etags) {
+        if (ifNoneMatch == null) {
+            return null;
+        }
+        for (String header : ifNoneMatch) {
+            for (String candidate : header.split(",")) {
+                String tag = candidate.trim();
+                if (tag.startsWith("W/")) {
+                    tag = tag.substring(2);
+                }
+                if (tag.equals("*")) {
+                    return etags[0];
+                }
+                for (String etag : etags) {
+                    if (tag.equals(etag)) {
+                        return etag;
+                    }
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Whether an {@code Accept-Encoding} value admits gzip, by name or by {@code *}, with a non-zero weight.
+     */
+    private static boolean acceptsGzip(List<String> acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String header : acceptEncoding) {
+            for (String coding : header.split(",")) {
+                String[] parameters = coding.split(";");
+                String name = parameters[0].trim();
+                if ((name.equalsIgnoreCase(GZIP) || name.equals("*")) && !isRefused(parameters)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static boolean isRefused(String[] parameters) {
+        for (int i = 1; i < parameters.length; i++) {
+            String parameter = parameters[i].trim();
+            if (parameter.startsWith("q=") && parameter.substring(2).matches("0(\\.0{0,3})?")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static final class Rendered {
+        private final long version;
+        private final HttpHeaders headers;
+        private final byte[] body;
+        private volatile byte[] gzipped;
+
+        private Rendered(long version, HttpHeaders headers, byte[] body) {
+            this.version = version;
+            this.headers = headers;
+            this.body = body;
+        }
+
+        private long size() {
+            byte[] compressed = gzipped;
+            return body.length + (compressed == null ? 0 : compressed.length);
+        }
+    }
+}
@@ -0,0 +1,256 @@
+package com.example.rqchallenge.employees.index;
+
+import com.example.rqchallenge.employees.concurrent.ParallelQueries;
+import com.example.rqchallenge.employees.model.Employee;
+import com.example.rqchallenge.employees.store.EmployeeStore;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable trigram index over employee names, built once per snapshot.
+ * <p>
+ * Names are lower-cased once at build time. A search returns the rows whose folded name contains the folded
+ * search string, in row order, which is exactly what a {@code toLowerCase().contains(...)} scan of the source
+ * list returns. Search strings of three or more characters intersect the posting lists of their trigrams and
+ * only verify the surviving candidates; shorter ones fall back to a scan of the pre-folded names. Either scan
+ * can be split across a {@link ParallelQueries} pool.
+ * <p>
+ * {@link #withChanged} derives a new index for a batch of row changes without re-folding any other name: it
+ * copies the folded names and the posting map once, both linear in the size of the index, and rewrites each
+ * posting list the changed rows' trigrams touch once.
+ */
+public final class NameIndex {
+
+    private static final int GRAM = 3;
+    private static final int[] NO_ROWS = new int[0];
+
+    private final String[] foldedNames;
+    private final Map<Long, int[]> postings;
+
+    private NameIndex(String[] foldedNames, Map<Long, int[]> postings) {
+        this.foldedNames = foldedNames;
+        this.postings = postings;
+    }
+
+    public static NameIndex build(List<Employee> employees) {
+        return build(EmployeeStore.of(employees));
+    }
+
+    /**
+     * Builds the index from the name column of {@code store}, whose rows it refers to.
+     */
+    public static NameIndex build(EmployeeStore store) {
+        String[] foldedNames = new String[store.size()];
+        Map<Long, PostingsBuilder> builders = new HashMap<>();
+        for (int row = 0; row < foldedNames.length; row++) {
+            String name = store.getName(row);
+            if (!store.hasEmployee(row) || name == null) {
+                continue;
+            }
+            String folded = name.toLowerCase();
+            foldedNames[row] = folded;
+            for (int i = 0; i + GRAM <= folded.length(); i++) {
+                builders.computeIfAbsent(trigram(folded, i), key -> new PostingsBuilder()).add(row);
+            }
+        }
+        Map<Long, int[]> postings = new HashMap<>(builders.size() * 4 / 3 + 1);
+        builders.forEach((key, builder) -> postings.put(key, builder.toArray()));
+        return new NameIndex(foldedNames, postings);
+    }
+
+    /**
+     * This index without {@code removedRows} and plus {@code added[i]} at {@code addedRows[i]}. A row may be both
+     * removed and added, to index a changed name. Added rows must not already hold a name unless also removed.
+     */
+    public NameIndex withChanged(int[] removedRows, int[] addedRows, Employee[] added) {
+        int length = foldedNames.length;
+        for (int row : addedRows) {
+            length = Math.max(length, row + 1);
+        }
+        String[] names = Arrays.copyOf(foldedNames, length);
+        Map<Long, PostingsBuilder> removals = new HashMap<>();
+        for (int row : removedRows) {
+            String folded = row < foldedNames.length ? foldedNames[row] : null;
+            if (folded == null) {
+                continue;
+            }
+            names[row] = null;
+            for (int i = 0; i + GRAM <= folded.length(); i++) {
+                removals.computeIfAbsent(trigram(folded, i), key -> new PostingsBuilder()).add(row);
+            }
+        }
+        Map<Long, PostingsBuilder> additions = new HashMap<>();
+        for (int j = 0; j < addedRows.length; j++) {
+            int row = addedRows[j];
+            if (added[j] == null || added[j].getName() == null) {
+                continue;
+            }
+            String folded = added[j].getName().toLowerCase();
+            names[row] = folded;
+            for (int i = 0; i + GRAM <= folded.length(); i++) {
+                additions.computeIfAbsent(trigram(folded, i), key -> new PostingsBuilder()).add(row);
+            }
+        }
+
+        Map<Long, int[]> updated = new HashMap<>(postings);
+        Map<Long, int[]> removedByKey = new HashMap<>(removals.size() * 4 / 3 + 1);
+        removals.forEach((key, builder) -> removedByKey.put(key, builder.toSortedArray()));
+        for (Map.Entry<Long, int[]> entry : removedByKey.entrySet()) {
+            PostingsBuilder builder = additions.get(entry.getKey());
+            int[] rows = merge(updated.getOrDefault(entry.getKey(), NO_ROWS), entry.getValue(),
+                    builder == null ? NO_ROWS : builder.toSortedArray());
+            put(updated, entry.getKey(), rows);
+        }
+        additions.forEach((key, builder) -> {
+            if (!removedByKey.containsKey(key)) {
+                put(updated, key, merge(updated.getOrDefault(key, NO_ROWS), NO_ROWS, builder.toSortedArray()));
+            }
+        });
+        return new NameIndex(names, updated);
+    }
+
+    /**
+     * Rows whose name contains {@code searchString}, ignoring case, in ascending row order.
+     */
+    public int[] search(String searchString) {
+        return search(searchString, ParallelQueries.sequential());
+    }
+
+    /**
+     * As {@link #search(String)}, with the name scan and the candidate check split across {@code parallel}.
+     */
+    public int[] search(String searchString, ParallelQueries parallel) {
+        String folded = searchString.toLowerCase();
+        if (folded.length() < GRAM) {
+            return parallel.filter(foldedNames.length,
+                    row -> foldedNames[row] != null && foldedNames[row].contains(folded));
+        }
+        int gramCount = folded.length() - GRAM + 1;
+        int[][] lists = new int[gramCount][];
+        for (int i = 0; i < gramCount; i++) {
+            int[] rows = postings.get(trigram(folded, i));
+            if (rows == null) {
+                return NO_ROWS;
+            }
+            lists[i] = rows;
+        }
+        Arrays.sort(lists, (left, right) -> Integer.compare(left.length, right.length));
+
+        int[] candidates = lists[0];
+        int candidateCount = candidates.length;
+        for (int i = 1; i < lists.length && candidateCount > 0; i++) {
+            candidates = intersect(candidates, candidateCount, lists[i]);
+            candidateCount = candidates.length;
+        }
+
+        if (gramCount == 1) {
+            return Arrays.copyOf(candidates, candidateCount);
+        }
+        // Trigram hits are necessary but not sufficient, e.g. "abcxbcd" holds every trigram of "abcd".
+        int[] candidateRows = candidates;
+        int[] matches = parallel.filter(candidateCount, i -> foldedNames[candidateRows[i]].contains(folded));
+        for (int i = 0; i < matches.length; i++) {
+            matches[i] = candidateRows[matches[i]];
+        }
+        return matches;
+    }
+
+    public int size() {
+        return foldedNames.length;
+    }
+
+    private static void put(Map<Long, int[]> postings, long key, int[] rows) {
+        if (rows.length == 0) {
+            postings.remove(key);
+        } else {
+            postings.put(key, rows);
+        }
+    }
+
+    /**
+     * {@code rows} without {@code removed} and plus {@code added}, all three sorted.
+     */
+    private static int[] merge(int[] rows, int[] removed, int[] added) {
+        int[] result = new int[rows.length + added.length];
+        int count = 0;
+        int r = 0;
+        int a = 0;
+        for (int i = 0; i < rows.length || a < added.length; ) {
+            int row;
+            if (a < added.length && (i == rows.length || added[a] <= rows[i])) {
+                row = added[a++];
+                if (i < rows.length && rows[i] == row) {
+                    i++;
+                }
+            } else {
+                row = rows[i++];
+                while (r < removed.length && removed[r] < row) {
+                    r++;
+                }
+                if (r < removed.length && removed[r] == row) {
+                    continue;
+                }
+            }
+            result[count++] = row;
+        }
+        return count == result.length ? result : Arrays.copyOf(result, count);
+    }
+
+    private static int[] intersect(int[] left, int leftCount, int[] right) {
+        int[] result = new int[Math.min(leftCount, right.length)];
+        int count = 0;
+        int i = 0;
+        int j = 0;
+        while (i < leftCount && j < right.length) {
+            if (left[i] < right[j]) {
+                i++;
+            } else if (left[i] > right[j]) {
+                j++;
+            } else {
+                result[count++] = left[i];
+                i++;
+                j++;
+            }
+        }
+        return count == result.length ? result : Arrays.copyOf(result, count);
+    }
+
+    private static long trigram(String text, int offset) {
+        return ((long) text.charAt(offset) << 32) | ((long) text.charAt(offset + 1) << 16) | text.charAt(offset + 2);
+    }
+
+    private static final class PostingsBuilder {
+        private int[] rows = new int[4];
+        private int size;
+
+        void add(int row) {
+            // Rows arrive in ascending order, so a repeated trigram within one name is always the last entry.
+            if (size > 0 && rows[size - 1] == row) {
+                return;
+            }
+            if (size == rows.length) {
+                rows = Arrays.copyOf(rows, size * 2);
+            }
+            rows[size++] = row;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(rows, size);
+        }
+
+        int[] toSortedArray() {
+            int[] sorted = toArray();
+            Arrays.sort(sorted);
+            int count = 0;
+            for (int i = 0; i < sorted.length; i++) {
+                if (count == 0 || sorted[count - 1] != sorted[i]) {
+                    sorted[count++] = sorted[i];
+                }
+            }
+            return count == sorted.length ? sorted : Arrays.copyOf(sorted, count);
+        }
+    }
+}
@@ -0,0 +1,248 @@
+package com.example.rqchallenge.employees.index;
+
+import com.example.rqchallenge.employees.concurrent.ParallelQueries;
+import com.example.rqchallenge.employees.model.Employee;
+import com.example.rqchallenge.employees.store.EmployeeStore;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.OptionalInt;
+
+/**
+ * Immutable salary ordering of an employee list, built once per snapshot.
+ * <p>
+ * Columns are held as primitive arrays sorted by salary, highest first. Employees with equal salaries keep
+ * their original list order, matching a stable sort of the source list. Rows refer to positions in the
+ * list the index was built from.
+ * <p>
+ * {@link #withChanged} derives a new index for a batch of row changes in a single merge pass, without re-sorting
+ * the rows already indexed.
+ */
+public final class SalaryIndex {
+
+    private final int[] salaries;
+    private final int[] rows;
+    private final int[] ids;
+    private final String[] names;
+
+    private SalaryIndex(int[] salaries, int[] rows, int[] ids, String[] names) {
+        this.salaries = salaries;
+        this.rows = rows;
+        this.ids = ids;
+        this.names = names;
+    }
+
+    public static SalaryIndex build(List<Employee> employees) {
+        return build(employees, ParallelQueries.sequential());
+    }
+
+    /**
+     * As {@link #build(List)}, sorting across {@code parallel}.
+     */
+    public static SalaryIndex build(List<Employee> employees, ParallelQueries parallel) {
+        return build(EmployeeStore.of(employees), parallel);
+    }
+
+    /**
+     * Builds the index from the columns of {@code store}, whose rows it refers to, sorting across
+     * {@code parallel}.
+     */
+    public static SalaryIndex build(EmployeeStore store, ParallelQueries parallel) {
+        // Each key packs the inverted salary into the high half and the row into the low half,
+        // so a single primitive sort yields descending salaries with ties in row order.
+        long[] keys = new long[store.size()];
+        int count = 0;
+        for (int row = 0; row < store.size(); row++) {
+            if (store.hasEmployee(row)) {
+                keys[count++] = ((long) ~store.getSalary(row) << 32) | row;
+            }
+        }
+        parallel.sort(keys, count);
+
+        int[] salaries = new int[count];
+        int[] rows = new int[count];
+        int[] ids = new int[count];
+        String[] names = new String[count];
+        for (int i = 0; i < count; i++) {
+            int row = (int) keys[i];
+            salaries[i] = store.getSalary(row);
+            rows[i] = row;
+            ids[i] = store.getId(row);
+            names[i] = store.getName(row);
+        }
+        return new SalaryIndex(salaries, rows, ids, names);
+    }
+
+    /**
+     * This index without {@code removedRows}, indexed with {@code removedSalaries}, and plus {@code added[i]} at
+     * {@code addedRows[i]}. A row may be both removed and added, to index a changed salary. Removed rows the index
+     * does not hold are ignored; added rows must not already be indexed.
+     */
+    public SalaryIndex withChanged(int[] removedRows, int[] removedSalaries, int[] addedRows, Employee[] added) {
+        boolean[] removed = new boolean[salaries.length];
+        int removedCount = 0;
+        for (int i = 0; i < removedRows.length; i++) {
+            int salary = removedSalaries[i];
+            int position = Arrays.binarySearch(rows, lowerBound(salary), upperBound(salary), removedRows[i]);
+            if (position >= 0 && !removed[position]) {
+                removed[position] = true;
+                removedCount++;
+            }
+        }
+        Integer[] order = new Integer[addedRows.length];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (left, right) -> added[left].getSalary() != added[right].getSalary()
+                ? Integer.compare(added[right].getSalary(), added[left].getSalary())
+                : Integer.compare(addedRows[left], addedRows[right]));
+
+        int size = salaries.length - removedCount + addedRows.length;
+        int[] newSalaries = new int[size];
+        int[] newRows = new int[size];
+        int[] newIds = new int[size];
+        String[] newNames = new String[size];
+        int position = 0;
+        int next = 0;
+        for (int i = 0; i <= salaries.length; i++) {
+            // Added rows go before the first existing entry that sorts after them: a lower salary or a later row.
+            while (next < order.length && (i == salaries.length
+                    || added[order[next]].getSalary() > salaries[i]
+                    || added[order[next]].getSalary() == salaries[i] && addedRows[order[next]] < rows[i])) {
+                Employee employee = added[order[next]];
+                newSalaries[position] = employee.getSalary();
+                newRows[position] = addedRows[order[next]];
+                newIds[position] = employee.getId();
+                newNames[position] = employee.getName();
+                position++;
+                next++;
+            }
+            if (i < salaries.length && !removed[i]) {
+                newSalaries[position] = salaries[i];
+                newRows[position] = rows[i];
+                newIds[position] = ids[i];
+                newNames[position] = names[i];
+                position++;
+            }
+        }
+        return new SalaryIndex(newSalaries, newRows, newIds, newNames);
+    }
+
+    public int size() {
+        return salaries.length;
+    }
+
+    public OptionalInt max() {
+        return salaries.length == 0 ? OptionalInt.empty() : OptionalInt.of(salaries[0]);
+    }
+
+    public OptionalInt min() {
+        return salaries.length == 0 ? OptionalInt.empty() : OptionalInt.of(salaries[salaries.length - 1]);
+    }
+
+    /**
+     * Source list row of the employee at {@code rank} in salary order, the highest earner being rank 0.
+     */
+    public int rowAt(int rank) {
+        return rows[rank];
+    }
+
+    /**
+     * Names of the {@code n} highest earners, highest first.
+     */
+    public List<String> topNames(int n) {
+        int limit = limit(n);
+        List<String> result = new ArrayList<>(limit);
+        for (int i = 0; i < limit; i++) {
+            result.add(names[i]);
+        }
+        return result;
+    }
+
+    /**
+     * Ids of the {@code n} highest earners, highest first.
+     */
+    public int[] topIds(int n) {
+        return Arrays.copyOf(ids, limit(n));
+    }
+
+    /**
+     * Source list rows of the {@code n} highest earners, highest first.
+     */
+    public int[] topRows(int n) {
+        return Arrays.copyOf(rows, limit(n));
+    }
+
+    /**
+     * Nearest-rank percentile of the salary distribution, {@code percentile} in {@code [0, 100]}.
+     */
+    public OptionalInt percentile(double percentile) {
+        if (percentile < 0 || percentile > 100 || Double.isNaN(percentile)) {
+            throw new IllegalArgumentException("Percentile must be between 0 and 100");
+        }
+        if (salaries.length == 0) {
+            return OptionalInt.empty();
+        }
+        int rank = Math.max(1, (int) Math.ceil(percentile / 100 * salaries.length));
+        return OptionalInt.of(salaries[salaries.length - rank]);
+    }
+
+    /**
+     * Number of employees earning between {@code minSalary} and {@code maxSalary}, both inclusive.
+     */
+    public int countInRange(int minSalary, int maxSalary) {
+        return minSalary > maxSalary ? 0 : upperBound(minSalary) - lowerBound(maxSalary);
+    }
+
+    /**
+     * Source list rows of the employees earning between {@code minSalary} and {@code maxSalary}, highest first.
+     */
+    public int[] rowsInRange(int minSalary, int maxSalary) {
+        if (minSalary > maxSalary) {
+            return new int[0];
+        }
+        return Arrays.copyOfRange(rows, lowerBound(maxSalary), upperBound(minSalary));
+    }
+
+    private int limit(int n) {
+        if (n < 0) {
+            throw new IllegalArgumentException("n must not be negative");
+        }
+        return Math.min(n, salaries.length);
+    }
+
+    /**
+     * First position whose salary is at most {@code salary}.
+     */
+    private int lowerBound(int salary) {
+        int low = 0;
+        int high = salaries.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (salaries[mid] > salary) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * First position whose salary is below {@code salary}.
+     */
+    private int upperBound(int salary) {
+        int low = 0;
+        int high = salaries.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (salaries[mid] >= salary) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
@@ -2,6 +2,8 @@ package com.example.rqchallenge.employees.model;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
 
+import java.util.Objects;
+
 public class Employee {
 
     private int id;
@@ -25,6 +27,11 @@ public class Employee {
         this.age = age;
     }
 
+    public Employee(int id, String name, int salary, int age, String profileImage) {
+        this(id, name, salary, age);
+        this.profileImage = profileImage;
+    }
+
     public Employee() {
     }
 
@@ -47,4 +54,22 @@ public class Employee {
     public String getProfileImage() {
         return profileImage;
     }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof Employee)) {
+            return false;
+        }
+        Employee other = (Employee) o;
+        return id == other.id && age == other.age && salary == other.salary
+                && Objects.equals(name, other.name) && Objects.equals(profileImage, other.profileImage);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, name, age, salary, profileImage);
+    }
 }
@@ -0,0 +1,27 @@
+package com.example.rqchallenge.employees.model;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Outcome of a batch lookup: the employees found, in request order, and an error message for every id that
+ * could not be fetched.
+ */
+public class EmployeeBatchResponse {
+
+    private final List<Employee> employees;
+    private final Map<String, String> errors;
+
+    public EmployeeBatchResponse(List<Employee> employees, Map<String, String> errors) {
+        this.employees = employees;
+        this.errors = errors;
+    }
+
+    public List<Employee> getEmployees() {
+        return employees;
+    }
+
+    public Map<String, String> getErrors() {
+        return errors;
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.rqchallenge.employees.model;
+
+/**
+ * Progress of a bulk create or delete running in the background. {@code result} is set once the job has
+ * {@code COMPLETED}; {@code error} once it has {@code FAILED} as a whole, which individual item failures never
+ * cause.
+ */
+public class EmployeeBulkJob {
+
+    public static final String RUNNING = "RUNNING";
+    public static final String COMPLETED = "COMPLETED";
+    public static final String FAILED = "FAILED";
+
+    private final String id;
+    private final String operation;
+    private final String state;
+    private final int total;
+    private final int completed;
+    private final EmployeeBulkResponse result;
+    private final String error;
+
+    public EmployeeBulkJob(String id, String operation, String state, int total, int completed,
+                           EmployeeBulkResponse result, String error) {
+        this.id = id;
+        this.operation = operation;
+        this.state = state;
+        this.total = total;
+        this.completed = completed;
+        this.result = result;
+        this.error = error;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    /**
+     * {@code create} or {@code delete}.
+     */
+    public String getOperation() {
+        return operation;
+    }
+
+    public String getState() {
+        return state;
+    }
+
+    public int getTotal() {
+        return total;
+    }
+
+    /**
+     * Items finished so far, successfully or not.
+     */
+    public int getCompleted() {
+        return completed;
+    }
+
+    public EmployeeBulkResponse getResult() {
+        return result;
+    }
+
+    public String getError() {
+        return error;
+    }
+}
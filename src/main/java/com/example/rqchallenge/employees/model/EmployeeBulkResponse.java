@@ -0,0 +1,73 @@
+package com.example.rqchallenge.employees.model;
+
+import java.util.List;
+
+/**
+ * Outcome of a bulk create or delete: one result per submitted item, in submission order, plus success and
+ * failure counts. A failed item does not fail the others.
+ */
+public class EmployeeBulkResponse {
+
+    private final int succeeded;
+    private final int failed;
+    private final List<Item> results;
+
+    public EmployeeBulkResponse(int succeeded, int failed, List<Item> results) {
+        this.succeeded = succeeded;
+        this.failed = failed;
+        this.results = results;
+    }
+
+    public int getSucceeded() {
+        return succeeded;
+    }
+
+    public int getFailed() {
+        return failed;
+    }
+
+    public List<Item> getResults() {
+        return results;
+    }
+
+    /**
+     * Outcome of one item. {@code id} is the created or deleted employee's id, {@code null} for a create that
+     * failed. {@code employee} is the created employee, or the deleted one if it was known locally.
+     */
+    public static class Item {
+
+        private final int index;
+        private final String id;
+        private final String status;
+        private final Employee employee;
+        private final String error;
+
+        public Item(int index, String id, String status, Employee employee, String error) {
+            this.index = index;
+            this.id = id;
+            this.status = status;
+            this.employee = employee;
+            this.error = error;
+        }
+
+        public int getIndex() {
+            return index;
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public String getStatus() {
+            return status;
+        }
+
+        public Employee getEmployee() {
+            return employee;
+        }
+
+        public String getError() {
+            return error;
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.rqchallenge.employees.model;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Salary aggregates over every employee, answered by {@code GET /employees/stats}. Salary fields are
+ * {@code null} when there are no employees; {@code countAboveSalary} is {@code null} unless a threshold was
+ * requested.
+ */
+public class EmployeeStats {
+
+    private final int count;
+    private final Integer minSalary;
+    private final Integer maxSalary;
+    private final Double meanSalary;
+    private final Map<String, Integer> salaryPercentiles;
+    private final List<AgeBucket> ageBuckets;
+    private final Integer countAboveSalary;
+    private final List<Employee> topEarners;
+
+    public EmployeeStats(int count, Integer minSalary, Integer maxSalary, Double meanSalary,
+                         Map<String, Integer> salaryPercentiles, List<AgeBucket> ageBuckets,
+                         Integer countAboveSalary, List<Employee> topEarners) {
+        this.count = count;
+        this.minSalary = minSalary;
+        this.maxSalary = maxSalary;
+        this.meanSalary = meanSalary;
+        this.salaryPercentiles = salaryPercentiles;
+        this.ageBuckets = ageBuckets;
+        this.countAboveSalary = countAboveSalary;
+        this.topEarners = topEarners;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public Integer getMinSalary() {
+        return minSalary;
+    }
+
+    public Integer getMaxSalary() {
+        return maxSalary;
+    }
+
+    public Double getMeanSalary() {
+        return meanSalary;
+    }
+
+    /**
+     * Nearest-rank salary percentiles, keyed {@code p50}, {@code p90} and so on.
+     */
+    public Map<String, Integer> getSalaryPercentiles() {
+        return salaryPercentiles;
+    }
+
+    /**
+     * Non-empty age buckets, youngest first.
+     */
+    public List<AgeBucket> getAgeBuckets() {
+        return ageBuckets;
+    }
+
+    public Integer getCountAboveSalary() {
+        return countAboveSalary;
+    }
+
+    /**
+     * Highest earners within the requested age range, highest first.
+     */
+    public List<Employee> getTopEarners() {
+        return topEarners;
+    }
+
+    public static class AgeBucket {
+
+        private final int minAge;
+        private final int maxAge;
+        private final int count;
+        private final double meanSalary;
+
+        public AgeBucket(int minAge, int maxAge, int count, double meanSalary) {
+            this.minAge = minAge;
+            this.maxAge = maxAge;
+            this.count = count;
+            this.meanSalary = meanSalary;
+        }
+
+        public int getMinAge() {
+            return minAge;
+        }
+
+        public int getMaxAge() {
+            return maxAge;
+        }
+
+        public int getCount() {
+            return count;
+        }
+
+        public double getMeanSalary() {
+            return meanSalary;
+        }
+    }
+}
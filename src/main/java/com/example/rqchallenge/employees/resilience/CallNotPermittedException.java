@@ -0,0 +1,12 @@
+package com.example.rqchallenge.employees.resilience;
+
+/**
+ * Raised instead of calling the upstream when the circuit breaker is open, the bulkhead is full or the scheduler
+ * queue is full.
+ */
+public class CallNotPermittedException extends RuntimeException {
+
+    public CallNotPermittedException(String message) {
+        super(message);
+    }
+}
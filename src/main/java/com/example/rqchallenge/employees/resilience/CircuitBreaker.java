@@ -0,0 +1,173 @@
+package com.example.rqchallenge.employees.resilience;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Count-based circuit breaker over the outcomes of the last {@code windowSize} upstream calls.
+ * <ul>
+ *     <li>{@code CLOSED}: calls are permitted; once at least {@code minimumCalls} are recorded, the breaker opens
+ *     when the failure rate or the slow-call rate reaches its threshold</li>
+ *     <li>{@code OPEN}: calls are rejected until {@code openDuration} has passed</li>
+ *     <li>{@code HALF_OPEN}: up to {@code halfOpenCalls} trial calls are permitted; once they complete, the breaker
+ *     closes if both rates among them are under their thresholds and opens again otherwise</li>
+ * </ul>
+ * A call is slow when it takes at least {@code slowCallDuration}, whether it succeeded or not.
+ */
+public class CircuitBreaker {
+
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private final int minimumCalls;
+    private final double failureRateThreshold;
+    private final double slowCallRateThreshold;
+    private final Duration slowCallDuration;
+    private final Duration openDuration;
+    private final int halfOpenCalls;
+    private final Clock clock;
+
+    private final boolean[] failed;
+    private final boolean[] slow;
+    private int next;
+    private int recorded;
+    private int failures;
+    private int slowCalls;
+
+    private State state = State.CLOSED;
+    private Instant openedAt;
+    private int halfOpenPermitted;
+    private int halfOpenRecorded;
+    private int halfOpenFailures;
+    private int halfOpenSlowCalls;
+    private long notPermittedCalls;
+
+    public CircuitBreaker(int windowSize, int minimumCalls, double failureRateThreshold, double slowCallRateThreshold,
+                          Duration slowCallDuration, Duration openDuration, int halfOpenCalls, Clock clock) {
+        if (windowSize < 1 || minimumCalls < 1 || halfOpenCalls < 1) {
+            throw new IllegalArgumentException("Window size, minimum calls and half-open calls must be positive");
+        }
+        this.minimumCalls = Math.min(minimumCalls, windowSize);
+        this.failureRateThreshold = failureRateThreshold;
+        this.slowCallRateThreshold = slowCallRateThreshold;
+        this.slowCallDuration = slowCallDuration;
+        this.openDuration = openDuration;
+        this.halfOpenCalls = halfOpenCalls;
+        this.clock = clock;
+        this.failed = new boolean[windowSize];
+        this.slow = new boolean[windowSize];
+    }
+
+    /**
+     * Whether a call may proceed now. Every permitted call must be followed by {@link #onSuccess} or
+     * {@link #onFailure}.
+     */
+    public synchronized boolean tryAcquirePermission() {
+        if (state == State.OPEN) {
+            if (clock.instant().isBefore(openedAt.plus(openDuration))) {
+                notPermittedCalls++;
+                return false;
+            }
+            state = State.HALF_OPEN;
+            halfOpenPermitted = 0;
+            halfOpenRecorded = 0;
+            halfOpenFailures = 0;
+            halfOpenSlowCalls = 0;
+        }
+        if (state == State.HALF_OPEN) {
+            if (halfOpenPermitted >= halfOpenCalls) {
+                notPermittedCalls++;
+                return false;
+            }
+            halfOpenPermitted++;
+        }
+        return true;
+    }
+
+    public synchronized void onSuccess(Duration duration) {
+        record(false, isSlow(duration));
+    }
+
+    public synchronized void onFailure(Duration duration) {
+        record(true, isSlow(duration));
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    /**
+     * Percentage of failed calls in the current window, or {@code -1} below {@code minimumCalls}.
+     */
+    public synchronized double getFailureRate() {
+        return recorded < minimumCalls ? -1 : 100.0 * failures / recorded;
+    }
+
+    /**
+     * Percentage of slow calls in the current window, or {@code -1} below {@code minimumCalls}.
+     */
+    public synchronized double getSlowCallRate() {
+        return recorded < minimumCalls ? -1 : 100.0 * slowCalls / recorded;
+    }
+
+    public synchronized long getNotPermittedCalls() {
+        return notPermittedCalls;
+    }
+
+    private boolean isSlow(Duration duration) {
+        return duration.compareTo(slowCallDuration) >= 0;
+    }
+
+    private void record(boolean callFailed, boolean callSlow) {
+        if (state == State.OPEN) {
+            // A call that started before the breaker opened; its outcome no longer matters.
+            return;
+        }
+        if (state == State.HALF_OPEN) {
+            halfOpenRecorded++;
+            halfOpenFailures += callFailed ? 1 : 0;
+            halfOpenSlowCalls += callSlow ? 1 : 0;
+            if (halfOpenRecorded >= halfOpenCalls) {
+                if (exceedsThresholds(halfOpenFailures, halfOpenSlowCalls, halfOpenRecorded)) {
+                    open();
+                } else {
+                    close();
+                }
+            }
+            return;
+        }
+        if (recorded == failed.length) {
+            failures -= failed[next] ? 1 : 0;
+            slowCalls -= slow[next] ? 1 : 0;
+        } else {
+            recorded++;
+        }
+        failed[next] = callFailed;
+        slow[next] = callSlow;
+        failures += callFailed ? 1 : 0;
+        slowCalls += callSlow ? 1 : 0;
+        next = (next + 1) % failed.length;
+        if (recorded >= minimumCalls && exceedsThresholds(failures, slowCalls, recorded)) {
+            open();
+        }
+    }
+
+    private boolean exceedsThresholds(int failureCount, int slowCount, int total) {
+        return 100.0 * failureCount / total >= failureRateThreshold || 100.0 * slowCount / total >= slowCallRateThreshold;
+    }
+
+    private void open() {
+        state = State.OPEN;
+        openedAt = clock.instant();
+    }
+
+    private void close() {
+        state = State.CLOSED;
+        next = 0;
+        recorded = 0;
+        failures = 0;
+        slowCalls = 0;
+    }
+}
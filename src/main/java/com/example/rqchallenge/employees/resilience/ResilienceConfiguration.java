@@ -0,0 +1,73 @@
+package com.example.rqchallenge.employees.resilience;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.annotation.PreDestroy;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Resilience settings for upstream calls, under {@code employees.upstream.resilience}.
+ */
+@Configuration
+public class ResilienceConfiguration {
+
+    // Owned here rather than registered as a bean: any Executor bean would make Spring Boot back off from the
+    // task executor that streaming responses run on.
+    private final AtomicInteger schedulerThreads = new AtomicInteger();
+    private final ExecutorService schedulerExecutor = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "employee-upstream-scheduler-" + schedulerThreads.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @Bean
+    public CircuitBreaker upstreamCircuitBreaker(
+            @Value("${employees.upstream.resilience.circuit-breaker.window-size:20}") int windowSize,
+            @Value("${employees.upstream.resilience.circuit-breaker.minimum-calls:10}") int minimumCalls,
+            @Value("${employees.upstream.resilience.circuit-breaker.failure-rate-threshold:50}") double failureRateThreshold,
+            @Value("${employees.upstream.resilience.circuit-breaker.slow-call-rate-threshold:80}") double slowCallRateThreshold,
+            @Value("${employees.upstream.resilience.circuit-breaker.slow-call-duration:2s}") Duration slowCallDuration,
+            @Value("${employees.upstream.resilience.circuit-breaker.open-duration:10s}") Duration openDuration,
+            @Value("${employees.upstream.resilience.circuit-breaker.half-open-calls:3}") int halfOpenCalls) {
+        return new CircuitBreaker(windowSize, minimumCalls, failureRateThreshold, slowCallRateThreshold,
+                slowCallDuration, openDuration, halfOpenCalls, Clock.systemUTC());
+    }
+
+    @Bean
+    public Bulkhead upstreamBulkhead(
+            @Value("${employees.upstream.resilience.bulkhead.max-concurrent-calls:20}") int maxConcurrentCalls) {
+        return new Bulkhead(maxConcurrentCalls);
+    }
+
+    @Bean
+    public RetryPolicy upstreamRetryPolicy(
+            @Value("${employees.upstream.resilience.retry.max-attempts:3}") int maxAttempts,
+            @Value("${employees.upstream.resilience.retry.initial-backoff:100ms}") Duration initialBackoff,
+            @Value("${employees.upstream.resilience.retry.max-backoff:2s}") Duration maxBackoff,
+            @Value("${employees.upstream.resilience.retry.max-retry-after:5s}") Duration maxRetryAfter) {
+        return new RetryPolicy(maxAttempts, initialBackoff, maxBackoff, maxRetryAfter, Clock.systemUTC());
+    }
+
+    @Bean
+    public UpstreamScheduler upstreamScheduler(
+            @Value("${employees.upstream.resilience.scheduler.max-in-flight:16}") int maxInFlight,
+            @Value("${employees.upstream.resilience.scheduler.max-queued:500}") int maxQueued,
+            @Value("${employees.upstream.resilience.scheduler.rate-limit:10}") double rateLimit,
+            @Value("${employees.upstream.resilience.scheduler.min-rate:1}") double minRate,
+            @Value("${employees.upstream.resilience.scheduler.burst:10}") int burst,
+            @Value("${employees.upstream.resilience.scheduler.max-pause:30s}") Duration maxPause) {
+        return new UpstreamScheduler(maxInFlight, maxQueued, rateLimit, minRate, burst, maxPause, schedulerExecutor,
+                Clock.systemUTC());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        schedulerExecutor.shutdownNow();
+    }
+}
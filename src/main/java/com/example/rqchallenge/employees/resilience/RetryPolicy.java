@@ -0,0 +1,57 @@
+package com.example.rqchallenge.employees.resilience;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Retry schedule for idempotent upstream reads: exponential backoff with full jitter, so that callers failing
+ * together do not retry together. A {@code Retry-After} header takes precedence over the backoff; a request to
+ * wait longer than {@code maxRetryAfter} is not retried at all.
+ * <p>
+ * Only {@linkplain UpstreamFailures#isTransient transient} failures are retried.
+ */
+public class RetryPolicy {
+
+    private final int maxAttempts;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+    private final Duration maxRetryAfter;
+    private final Clock clock;
+
+    public RetryPolicy(int maxAttempts, Duration initialBackoff, Duration maxBackoff, Duration maxRetryAfter, Clock clock) {
+        if (maxAttempts < 1) {
+            throw new IllegalArgumentException("maxAttempts must be positive: " + maxAttempts);
+        }
+        this.maxAttempts = maxAttempts;
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+        this.maxRetryAfter = maxRetryAfter;
+        this.clock = clock;
+    }
+
+    public static RetryPolicy none() {
+        return new RetryPolicy(1, Duration.ZERO, Duration.ZERO, Duration.ZERO, Clock.systemUTC());
+    }
+
+    /**
+     * The delay before the next attempt after {@code attempt} attempts (1-based) have failed, the last with
+     * {@code failure}, or empty if the call should not be retried.
+     */
+    public Optional<Duration> nextDelay(int attempt, Throwable failure) {
+        if (attempt >= maxAttempts || !UpstreamFailures.isTransient(failure)) {
+            return Optional.empty();
+        }
+        Optional<Duration> retryAfter = UpstreamFailures.retryAfter(failure, clock);
+        if (retryAfter.isPresent()) {
+            return retryAfter.get().compareTo(maxRetryAfter) > 0 ? Optional.empty() : retryAfter;
+        }
+        long ceiling = Math.min(maxBackoff.toMillis(), initialBackoff.toMillis() << Math.min(attempt - 1, 30));
+        return Optional.of(Duration.ofMillis((long) (ThreadLocalRandom.current().nextDouble() * ceiling)));
+    }
+
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.rqchallenge.employees.resilience;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Optional;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Classifies upstream call failures. The clients wrap some upstream errors in a plain {@link RuntimeException},
+ * so the whole cause chain is inspected.
+ */
+public final class UpstreamFailures {
+
+    private UpstreamFailures() {
+    }
+
+    /**
+     * Whether the upstream could not be reached: the call was {@linkplain CallNotPermittedException not permitted}
+     * or failed {@linkplain #isTransient transiently}. Only then may a caller fall back on what it already holds.
+     */
+    public static boolean isUnavailable(Throwable failure) {
+        for (Throwable cause = failure; cause != null; cause = cause.getCause()) {
+            if (cause instanceof CallNotPermittedException) {
+                return true;
+            }
+            if (cause.getCause() == cause) {
+                break;
+            }
+        }
+        return isTransient(failure);
+    }
+
+    /**
+     * Whether the failure says the upstream is unavailable or overloaded (5xx, 429, I/O errors and timeouts), as
+     * opposed to rejecting this particular request.
+     */
+    public static boolean isTransient(Throwable failure) {
+        for (Throwable cause = failure; cause != null; cause = cause.getCause()) {
+            if (cause instanceof HttpServerErrorException || cause instanceof ResourceAccessException
+                    || cause instanceof IOException || cause instanceof TimeoutException) {
+                return true;
+            }
+            if (cause instanceof HttpStatusCodeException
+                    && ((HttpStatusCodeException) cause).getRawStatusCode() == HttpStatus.TOO_MANY_REQUESTS.value()) {
+                return true;
+            }
+            if (cause.getCause() == cause) {
+                break;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Whether the upstream answered {@code 429 Too Many Requests}.
+     */
+    public static boolean isRateLimited(Throwable failure) {
+        for (Throwable cause = failure; cause != null; cause = cause.getCause()) {
+            if (cause instanceof HttpStatusCodeException) {
+                return ((HttpStatusCodeException) cause).getRawStatusCode() == HttpStatus.TOO_MANY_REQUESTS.value();
+            }
+            if (cause.getCause() == cause) {
+                break;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * The delay requested by a {@code Retry-After} header on a 429 or 503 response, given either in seconds or as
+     * an HTTP date.
+     */
+    public static Optional<Duration> retryAfter(Throwable failure, Clock clock) {
+        for (Throwable cause = failure; cause != null; cause = cause.getCause()) {
+            if (cause instanceof HttpStatusCodeException) {
+                HttpHeaders headers = ((HttpStatusCodeException) cause).getResponseHeaders();
+                String value = headers == null ? null : headers.getFirst(HttpHeaders.RETRY_AFTER);
+                return value == null ? Optional.empty() : parseRetryAfter(value.trim(), clock);
+            }
+            if (cause.getCause() == cause) {
+                break;
+            }
+        }
+        return Optional.empty();
+    }
+
+    private static Optional<Duration> parseRetryAfter(String value, Clock clock) {
+        try {
+            return Optional.of(Duration.ofSeconds(Math.max(0, Long.parseLong(value))));
+        } catch (NumberFormatException e) {
+            try {
+                ZonedDateTime at = ZonedDateTime.parse(value, DateTimeFormatter.RFC_1123_DATE_TIME);
+                Duration delay = Duration.between(clock.instant(), at.toInstant());
+                return Optional.of(delay.isNegative() ? Duration.ZERO : delay);
+            } catch (DateTimeParseException ignored) {
+                return Optional.empty();
+            }
+        }
+    }
+}
@@ -0,0 +1,336 @@
+package com.example.rqchallenge.employees.resilience;
+
+import com.example.rqchallenge.employees.concurrent.TokenBucket;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * Admits upstream calls no faster than the upstream accepts them, and in priority order when they must wait.
+ * <p>
+ * At most {@code maxInFlight} calls run at once, started no faster than a {@link TokenBucket} allows. A call
+ * that can start at once runs on the caller's thread; the others queue in their {@link Lane} and are started on
+ * {@code executor} as slots and permits free up, always from the most urgent non-empty lane. Beyond
+ * {@code maxQueued} waiting calls, new calls fail with {@link CallNotPermittedException}. Another attempt of a
+ * started call waits for a {@linkplain #acquireRetryPermit rate permit} too, ahead of every queued call.
+ * <p>
+ * The rate adapts to what the upstream reports through {@link #onResponse}: a {@code 429} halves it, at most once
+ * per second and never below {@code minRate}, and pauses every lane for the {@code Retry-After} it carries, up to
+ * {@code maxPause}. Each successful call then wins back a little, so the rate climbs back to {@code maxRate} over
+ * a few seconds of steady traffic. Without a rate limit, only the in-flight cap and the lanes apply.
+ */
+public class UpstreamScheduler {
+
+    /**
+     * Priority lanes, most urgent first.
+     */
+    public enum Lane {
+        /** A caller is waiting on this call alone, such as a read by id. */
+        INTERACTIVE,
+        /** Snapshot refreshes, which keep list reads off the upstream. */
+        REFRESH,
+        /** Batch lookups and bulk writes, which issue many calls for one request. */
+        BULK
+    }
+
+    private static final Logger logger = LoggerFactory.getLogger(UpstreamScheduler.class);
+
+    private static final double BACK_OFF_FACTOR = 0.5;
+    private static final Duration BACK_OFF_INTERVAL = Duration.ofSeconds(1);
+    // Permits per second won back per second of successful calls at the current rate.
+    private static final double RECOVERY_STEP = 1;
+
+    private final int maxInFlight;
+    private final int maxQueued;
+    private final TokenBucket rateLimit;
+    private final double maxRate;
+    private final double minRate;
+    private final Duration maxPause;
+    private final Executor executor;
+    private final Clock clock;
+
+    private final List<ArrayDeque<Pending<?>>> queues = new ArrayList<>();
+    private final ArrayDeque<CompletableFuture<Void>> retryPermits = new ArrayDeque<>();
+    private int inFlight;
+    private int queued;
+    private boolean wakeUpScheduled;
+    private double rate;
+    private Instant backedOffAt;
+    private final long[] started = new long[Lane.values().length];
+    private final long[] waitNanos = new long[Lane.values().length];
+    private long throttledCalls;
+    private long rejectedCalls;
+
+    /**
+     * @param maxRate calls started per second, or zero or less for no rate limit
+     */
+    public UpstreamScheduler(int maxInFlight, int maxQueued, double maxRate, double minRate, int burst,
+                             Duration maxPause, Executor executor, Clock clock) {
+        if (maxInFlight < 1 || maxQueued < 0) {
+            throw new IllegalArgumentException("maxInFlight must be positive and maxQueued not negative");
+        }
+        this.maxInFlight = maxInFlight;
+        this.maxQueued = maxQueued;
+        this.rateLimit = maxRate > 0 ? new TokenBucket(maxRate, burst, clock) : null;
+        this.maxRate = maxRate;
+        this.minRate = Math.min(Math.max(minRate, Double.MIN_VALUE), maxRate);
+        this.maxPause = maxPause;
+        this.executor = executor;
+        this.clock = clock;
+        this.rate = maxRate;
+        for (int i = 0; i < Lane.values().length; i++) {
+            queues.add(new ArrayDeque<>());
+        }
+    }
+
+    /**
+     * Starts {@code call} once the upstream can take it, ahead of calls waiting in less urgent lanes.
+     */
+    public <T> CompletableFuture<T> schedule(Lane lane, Supplier<CompletableFuture<T>> call) {
+        Pending<T> pending = new Pending<>(lane, call, clock.instant());
+        boolean startNow;
+        synchronized (this) {
+            startNow = queued == 0 && inFlight < maxInFlight && (rateLimit == null || rateLimit.tryAcquire());
+            if (startNow) {
+                inFlight++;
+                started[lane.ordinal()]++;
+            } else if (queued >= maxQueued) {
+                rejectedCalls++;
+                return CompletableFuture.failedFuture(
+                        new CallNotPermittedException("Upstream scheduler queue is full"));
+            } else {
+                queues.get(lane.ordinal()).add(pending);
+                queued++;
+            }
+        }
+        if (startNow) {
+            start(pending);
+        } else {
+            dispatch();
+        }
+        return pending.result;
+    }
+
+    /**
+     * Completes once another attempt of a call this scheduler already started may go to the upstream. The attempt
+     * takes a rate permit, ahead of every queued call, but no in-flight slot, since its call holds one.
+     */
+    public CompletableFuture<Void> acquireRetryPermit() {
+        CompletableFuture<Void> permit = new CompletableFuture<>();
+        synchronized (this) {
+            if (rateLimit == null || retryPermits.isEmpty() && rateLimit.tryAcquire()) {
+                permit.complete(null);
+                return permit;
+            }
+            retryPermits.add(permit);
+        }
+        dispatch();
+        return permit;
+    }
+
+    /**
+     * Adapts the rate to the outcome of one upstream attempt; {@code failure} is {@code null} for a success.
+     */
+    public void onResponse(Throwable failure) {
+        if (rateLimit == null) {
+            return;
+        }
+        if (failure != null && UpstreamFailures.isRateLimited(failure)) {
+            throttled(failure);
+        } else if (failure == null || !UpstreamFailures.isTransient(failure)) {
+            recovered();
+        }
+    }
+
+    public synchronized int getQueued(Lane lane) {
+        return queues.get(lane.ordinal()).size();
+    }
+
+    public synchronized int getInFlight() {
+        return inFlight;
+    }
+
+    public int getMaxInFlight() {
+        return maxInFlight;
+    }
+
+    /**
+     * Calls started from {@code lane}, whether they waited or not.
+     */
+    public synchronized long getStarted(Lane lane) {
+        return started[lane.ordinal()];
+    }
+
+    /**
+     * Total time the calls started from {@code lane} spent queued, by the scheduler's clock.
+     */
+    public synchronized Duration getTotalWait(Lane lane) {
+        return Duration.ofNanos(waitNanos[lane.ordinal()]);
+    }
+
+    public boolean isRateLimited() {
+        return rateLimit != null;
+    }
+
+    /**
+     * Calls started per second now, or zero without a rate limit.
+     */
+    public synchronized double getRate() {
+        return rateLimit == null ? 0 : rate;
+    }
+
+    public double getMaxRate() {
+        return Math.max(maxRate, 0);
+    }
+
+    /**
+     * Upstream answers of {@code 429 Too Many Requests} reported to {@link #onResponse}.
+     */
+    public synchronized long getThrottledCalls() {
+        return throttledCalls;
+    }
+
+    public synchronized long getRejectedCalls() {
+        return rejectedCalls;
+    }
+
+    private void dispatch() {
+        List<Pending<?>> ready = new ArrayList<>();
+        List<CompletableFuture<Void>> permitted = new ArrayList<>();
+        Duration wakeUp = null;
+        synchronized (this) {
+            while (!retryPermits.isEmpty() || queued > 0 && inFlight < maxInFlight) {
+                if (rateLimit != null && !rateLimit.tryAcquire()) {
+                    if (!wakeUpScheduled) {
+                        wakeUpScheduled = true;
+                        wakeUp = rateLimit.timeUntilAvailable();
+                    }
+                    break;
+                }
+                if (!retryPermits.isEmpty()) {
+                    permitted.add(retryPermits.poll());
+                    continue;
+                }
+                Pending<?> next = poll();
+                inFlight++;
+                queued--;
+                started[next.lane.ordinal()]++;
+                waitNanos[next.lane.ordinal()] += Duration.between(next.queuedAt, clock.instant()).toNanos();
+                ready.add(next);
+            }
+        }
+        if (wakeUp != null) {
+            scheduleWakeUp(wakeUp);
+        }
+        for (CompletableFuture<Void> permit : permitted) {
+            permit.complete(null);
+        }
+        for (Pending<?> next : ready) {
+            try {
+                executor.execute(() -> start(next));
+            } catch (RejectedExecutionException e) {
+                finish(next, CompletableFuture.failedFuture(e));
+            }
+        }
+    }
+
+    private void scheduleWakeUp(Duration delay) {
+        try {
+            CompletableFuture.delayedExecutor(Math.max(delay.toNanos(), 1), NANOSECONDS, executor).execute(() -> {
+                synchronized (this) {
+                    wakeUpScheduled = false;
+                }
+                dispatch();
+            });
+        } catch (RejectedExecutionException e) {
+            synchronized (this) {
+                wakeUpScheduled = false;
+            }
+        }
+    }
+
+    private Pending<?> poll() {
+        for (ArrayDeque<Pending<?>> queue : queues) {
+            if (!queue.isEmpty()) {
+                return queue.poll();
+            }
+        }
+        throw new IllegalStateException("No queued call");
+    }
+
+    private <T> void start(Pending<T> pending) {
+        CompletableFuture<T> future;
+        try {
+            future = pending.call.get();
+        } catch (RuntimeException e) {
+            future = CompletableFuture.failedFuture(e);
+        }
+        finish(pending, future);
+    }
+
+    private <T> void finish(Pending<T> pending, CompletableFuture<T> future) {
+        future.whenComplete((value, error) -> {
+            synchronized (this) {
+                inFlight--;
+            }
+            dispatch();
+            if (error != null) {
+                pending.result.completeExceptionally(error);
+            } else {
+                pending.result.complete(value);
+            }
+        });
+    }
+
+    private synchronized void throttled(Throwable failure) {
+        throttledCalls++;
+        Duration pause = UpstreamFailures.retryAfter(failure, clock).orElse(Duration.ZERO);
+        if (pause.compareTo(maxPause) > 0) {
+            pause = maxPause;
+        }
+        if (!pause.isZero()) {
+            rateLimit.holdOff(pause);
+        }
+        Instant now = clock.instant();
+        if (backedOffAt == null || !now.isBefore(backedOffAt.plus(BACK_OFF_INTERVAL))) {
+            backedOffAt = now;
+            rate = Math.max(minRate, rate * BACK_OFF_FACTOR);
+            rateLimit.setPermitsPerSecond(rate);
+            logger.info("Upstream is throttling calls; lowering the rate to {} per second, pausing {} ms",
+                    String.format("%.2f", rate), pause.toMillis());
+        }
+    }
+
+    private synchronized void recovered() {
+        if (rate < maxRate) {
+            rate = Math.min(maxRate, rate + RECOVERY_STEP / rate);
+            rateLimit.setPermitsPerSecond(rate);
+        }
+    }
+
+    private static final class Pending<T> {
+
+        private final Lane lane;
+        private final Supplier<CompletableFuture<T>> call;
+        private final CompletableFuture<T> result = new CompletableFuture<>();
+        private final Instant queuedAt;
+
+        private Pending(Lane lane, Supplier<CompletableFuture<T>> call, Instant queuedAt) {
+            this.lane = lane;
+            this.call = call;
+            this.queuedAt = queuedAt;
+        }
+    }
+}
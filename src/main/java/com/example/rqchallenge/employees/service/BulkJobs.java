@@ -0,0 +1,111 @@
+package com.example.rqchallenge.employees.service;
+
+import com.example.rqchallenge.employees.concurrent.Futures;
+import com.example.rqchallenge.employees.model.EmployeeBulkJob;
+import com.example.rqchallenge.employees.model.EmployeeBulkResponse;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * In-memory registry of background bulk jobs. Holds at most {@code maxJobs} jobs: finished jobs are evicted
+ * oldest first to make room, and new jobs are rejected while every slot holds a running one.
+ */
+final class BulkJobs {
+
+    private final int maxJobs;
+    private final Map<String, Job> jobs = new LinkedHashMap<>();
+
+    BulkJobs(int maxJobs) {
+        if (maxJobs < 1) {
+            throw new IllegalArgumentException("maxJobs must be positive: " + maxJobs);
+        }
+        this.maxJobs = maxJobs;
+    }
+
+    /**
+     * Starts {@code run}, passing it a callback to call as each item finishes, and returns the new job.
+     *
+     * @throws RejectedExecutionException if {@code maxJobs} jobs are still running
+     */
+    EmployeeBulkJob submit(String operation, int total,
+                           Function<Runnable, CompletableFuture<EmployeeBulkResponse>> run) {
+        Job job = new Job(UUID.randomUUID().toString(), operation, total);
+        synchronized (this) {
+            Iterator<Job> oldest = jobs.values().iterator();
+            while (jobs.size() >= maxJobs && oldest.hasNext()) {
+                if (oldest.next().isFinished()) {
+                    oldest.remove();
+                }
+            }
+            if (jobs.size() >= maxJobs) {
+                throw new RejectedExecutionException(maxJobs + " bulk jobs are already running");
+            }
+            jobs.put(job.id, job);
+        }
+        CompletableFuture<EmployeeBulkResponse> result;
+        try {
+            result = run.apply(job.completed::incrementAndGet);
+        } catch (RuntimeException e) {
+            result = CompletableFuture.failedFuture(e);
+        }
+        result.whenComplete(job::finish);
+        return job.status();
+    }
+
+    /**
+     * The job with the given id, or {@code null} if there is none or it has been evicted.
+     */
+    synchronized EmployeeBulkJob get(String id) {
+        Job job = jobs.get(id);
+        return job == null ? null : job.status();
+    }
+
+    private static final class Job {
+        private final String id;
+        private final String operation;
+        private final int total;
+        private final AtomicInteger completed = new AtomicInteger();
+        private volatile EmployeeBulkResponse result;
+        private volatile String error;
+        private volatile boolean finished;
+
+        private Job(String id, String operation, int total) {
+            this.id = id;
+            this.operation = operation;
+            this.total = total;
+        }
+
+        private void finish(EmployeeBulkResponse response, Throwable failure) {
+            if (failure != null) {
+                error = Futures.unwrap(failure).getMessage();
+            } else {
+                result = response;
+            }
+            finished = true;
+        }
+
+        private boolean isFinished() {
+            return finished;
+        }
+
+        private EmployeeBulkJob status() {
+            // Read the flag first: once set, the result or error written before it is visible.
+            if (!finished) {
+                return new EmployeeBulkJob(id, operation, EmployeeBulkJob.RUNNING, total,
+                        Math.min(completed.get(), total), null, null);
+            }
+            if (error != null) {
+                return new EmployeeBulkJob(id, operation, EmployeeBulkJob.FAILED, total,
+                        Math.min(completed.get(), total), null, error);
+            }
+            return new EmployeeBulkJob(id, operation, EmployeeBulkJob.COMPLETED, total, total, result, null);
+        }
+    }
+}
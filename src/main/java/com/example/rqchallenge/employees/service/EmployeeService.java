@@ -1,150 +1,642 @@
 package com.example.rqchallenge.employees.service;
 
-import com.example.rqchallenge.employees.model.EmployeeResponse;
+import com.example.rqchallenge.employees.client.EmployeeClient;
+import com.example.rqchallenge.employees.concurrent.BoundedFanOut;
+import com.example.rqchallenge.employees.concurrent.Futures;
+import com.example.rqchallenge.employees.concurrent.ParallelQueries;
 import com.example.rqchallenge.employees.model.Employee;
-import com.example.rqchallenge.employees.model.EmployeeCreated;
-import com.example.rqchallenge.employees.model.EmployeeCreationResponse;
-import com.example.rqchallenge.employees.model.SingleEmployeeResponse;
+import com.example.rqchallenge.employees.model.EmployeeBatchResponse;
+import com.example.rqchallenge.employees.model.EmployeeBulkJob;
+import com.example.rqchallenge.employees.model.EmployeeBulkResponse;
+import com.example.rqchallenge.employees.model.EmployeeStats;
+import com.example.rqchallenge.employees.resilience.UpstreamFailures;
+import com.example.rqchallenge.employees.resilience.UpstreamScheduler.Lane;
+import com.example.rqchallenge.employees.snapshot.EmployeeSnapshot;
+import com.example.rqchallenge.employees.snapshot.EmployeeSnapshotCache;
+import com.example.rqchallenge.employees.snapshot.SnapshotWriteListener;
+import com.example.rqchallenge.employees.snapshot.SnapshotWriteSource;
+import com.example.rqchallenge.employees.stats.SnapshotStats;
+import com.example.rqchallenge.employees.stats.StatsQuery;
+import com.example.rqchallenge.employees.stats.StatsSink;
+import com.example.rqchallenge.employees.store.EmployeeStore;
+import com.example.rqchallenge.employees.stream.MaxSalarySink;
+import com.example.rqchallenge.employees.stream.NameSearchSink;
+import com.example.rqchallenge.employees.stream.TopSalarySink;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.http.*;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.HttpClientErrorException;
-import org.springframework.web.client.RestTemplate;
 
+import javax.annotation.PreDestroy;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-import java.util.Optional;
-
-import static java.util.Comparator.*;
-import static java.util.stream.Collectors.toList;
-import static org.springframework.http.HttpMethod.DELETE;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
 
+/**
+ * Employee queries and mutations. Every operation has a non-blocking {@code *Async} variant; the blocking
+ * variants wait for it and rethrow its failure unwrapped.
+ * <p>
+ * List-derived queries are answered from the indexes of the cached snapshot. With the snapshot cache disabled,
+ * they stream the upstream list through a single-purpose sink instead, so the full list is never held.
+ * <p>
+ * Successful creates and deletes are written through to the cached snapshot, and deletes take the employee's
+ * name from it instead of fetching the employee first.
+ * <p>
+ * While the upstream is unavailable, reads fall back to the last known snapshot where it can answer them.
+ * <p>
+ * Batch lookups take what they can from the snapshot and fetch the remaining ids from the upstream in
+ * parallel, with at most {@code employees.batch.max-concurrency} calls in flight per batch.
+ * <p>
+ * With {@code employees.query.parallelism} set, snapshots holding at least {@code employees.query.parallel-threshold}
+ * employees are indexed and searched across that many dedicated threads.
+ * <p>
+ * Stats are computed once per snapshot and query: the last result is kept until either changes.
+ * <p>
+ * Bulk creates and deletes submit each item to the upstream with at most {@code employees.bulk.max-concurrency}
+ * calls in flight, paced by the upstream scheduler like every other call, and report each item's outcome. Bulk deletes take one upstream call per item. The items that succeed are written through to the
+ * cached snapshot together once every item has been answered, for the cost of one snapshot copy. Either can run
+ * as a background job instead, whose progress is kept for the last {@code employees.bulk.max-jobs} jobs.
+ * <p>
+ * Upstream calls are scheduled by lane: snapshot refreshes in {@link Lane#REFRESH}, batch lookups and bulk
+ * writes in {@link Lane#BULK}, and everything else, made on behalf of a single waiting caller, in
+ * {@link Lane#INTERACTIVE}.
+ */
 @Service
 public class EmployeeService {
 
-    private static final String BASE_URL = "https://dummy.restapiexample.com/api/v1/";
-    public static final String SUCCESS = "success";
+    public static final String SUCCESS = EmployeeClient.SUCCESS;
     private static final Logger logger = LoggerFactory.getLogger(EmployeeService.class);
-    private final RestTemplate restTemplate;
+    private final EmployeeClient employeeClient;
+    private final EmployeeClient bulkClient;
+    private final Duration fallbackMaxAge;
+    private final Clock clock;
+    private final ExecutorService refreshExecutor;
+    private final ExecutorService batchExecutor;
+    private final EmployeeSnapshotCache snapshotCache;
+    private final BoundedFanOut batchFanOut;
+    private final int batchMaxSize;
+    private final ExecutorService bulkExecutor;
+    private final BoundedFanOut bulkFanOut;
+    private final int bulkMaxSize;
+    private final BulkJobs bulkJobs;
+    private final ParallelQueries parallelQueries;
+    private final AtomicReference<SnapshotStatsResult> lastStats = new AtomicReference<>();
 
     @Autowired
-    public EmployeeService(RestTemplate restTemplate) {
-        this.restTemplate = restTemplate;
+    public EmployeeService(EmployeeClient employeeClient, EmployeeServiceProperties properties,
+                           ObjectProvider<SnapshotWriteSource> snapshotWriteSources) {
+        this(employeeClient, properties, Clock.systemUTC(), snapshotWriteSources);
+    }
+
+    /**
+     * As the injected constructor, telling snapshot ages by {@code clock}.
+     */
+    public EmployeeService(EmployeeClient employeeClient, EmployeeServiceProperties properties, Clock clock,
+                           ObjectProvider<SnapshotWriteSource> snapshotWriteSources) {
+        EmployeeServiceProperties.Batch batch = properties.getBatch();
+        EmployeeServiceProperties.Query query = properties.getQuery();
+        EmployeeServiceProperties.Bulk bulk = properties.getBulk();
+        this.employeeClient = employeeClient;
+        this.bulkClient = employeeClient.inLane(Lane.BULK);
+        this.fallbackMaxAge = properties.getUpstream().getResilience().getFallbackMaxAge();
+        this.clock = clock;
+        this.refreshExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "employee-snapshot-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+        AtomicInteger batchThreads = new AtomicInteger();
+        this.batchExecutor = Executors.newFixedThreadPool(batch.getMaxConcurrency(), runnable -> {
+            Thread thread = new Thread(runnable, "employee-batch-" + batchThreads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.parallelQueries = query.getParallelism() > 0
+                ? new ParallelQueries(query.getParallelism(), query.getParallelThreshold())
+                : ParallelQueries.sequential();
+        EmployeeClient refreshClient = employeeClient.inLane(Lane.REFRESH);
+        this.snapshotCache = new EmployeeSnapshotCache(refreshClient::getAllEmployeesIfModified,
+                properties.getSnapshot().getTtl(), properties.getSnapshot().getMaxStale(), fallbackMaxAge,
+                refreshExecutor, clock, parallelQueries);
+        this.batchFanOut = new BoundedFanOut(batchExecutor, batch.getMaxConcurrency());
+        this.batchMaxSize = batch.getMaxSize();
+        AtomicInteger bulkThreads = new AtomicInteger();
+        this.bulkExecutor = Executors.newFixedThreadPool(bulk.getMaxConcurrency(), runnable -> {
+            Thread thread = new Thread(runnable, "employee-bulk-" + bulkThreads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.bulkFanOut = new BoundedFanOut(bulkExecutor, bulk.getMaxConcurrency());
+        this.bulkMaxSize = bulk.getMaxSize();
+        this.bulkJobs = new BulkJobs(bulk.getMaxJobs());
+        snapshotWriteSources.ifAvailable(source -> source.subscribe(new SnapshotWriteListener() {
+            @Override
+            public void created(Employee employee) {
+                snapshotCache.recordCreated(employee);
+            }
+
+            @Override
+            public void deleted(int id) {
+                snapshotCache.recordDeleted(id);
+            }
+        }));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        refreshExecutor.shutdownNow();
+        batchExecutor.shutdownNow();
+        bulkExecutor.shutdownNow();
+        parallelQueries.shutdown();
+    }
+
+    /**
+     * Whether reads are answered from a cached snapshot, whose version then tags everything derived from it.
+     */
+    public boolean isSnapshotCacheEnabled() {
+        return snapshotCache.isEnabled();
+    }
+
+    public EmployeeSnapshot getSnapshot() {
+        return snapshotCache.get();
+    }
+
+    public CompletableFuture<EmployeeSnapshot> getSnapshotAsync() {
+        return snapshotCache.getAsync();
+    }
+
+    /**
+     * Serves {@code employees}, persisted by an earlier run, until the upstream first answers.
+     */
+    public void restoreSnapshot(EmployeeStore store, Instant loadedAt) {
+        snapshotCache.restore(store, loadedAt);
+    }
+
+    public void addSnapshotRefreshListener(Consumer<EmployeeSnapshot> listener) {
+        snapshotCache.addRefreshListener(listener);
+    }
+
+    public EmployeeSnapshotCache.Stats getSnapshotStats() {
+        return snapshotCache.getStats();
     }
 
     public List<Employee> getAllEmployees() {
-        String url = BASE_URL + "employees";
-        try {
-            EmployeeResponse employeeResponse = restTemplate.getForObject(url, EmployeeResponse.class);
-            return Optional.ofNullable(employeeResponse)
-                    .stream()
-                    .filter(response -> response.getStatus().equals(SUCCESS))
-                    .map(EmployeeResponse::getData)
-                    .findFirst()
-                    .orElseThrow(() -> new RuntimeException("Error fetching employees"));
-        } catch (HttpClientErrorException e) {
-            logger.error("Error fetching employees", e);
-            throw new RuntimeException("Error fetching employees", e);
-        }
+        return Futures.join(getAllEmployeesAsync());
+    }
+
+    public CompletableFuture<List<Employee>> getAllEmployeesAsync() {
+        return getSnapshotAsync().thenApply(EmployeeSnapshot::getEmployees);
     }
 
     public List<Employee> getEmployeesByNameSearch(String searchString) {
-        logger.info("Searching for employees with name containing: {}", searchString);
-        List<Employee> allEmployees = getAllEmployees();
-        return allEmployees.stream()
-                .filter(Objects::nonNull)
-                .filter(employee -> Objects.nonNull(employee.getName()))
-                .filter(employee -> employee.getName().toLowerCase().contains(searchString.toLowerCase()))
-                .collect(toList());
+        return Futures.join(getEmployeesByNameSearchAsync(searchString));
+    }
+
+    public CompletableFuture<List<Employee>> getEmployeesByNameSearchAsync(String searchString) {
+        logger.debug("Searching for employees with name containing: {}", searchString);
+        if (!snapshotCache.isEnabled()) {
+            NameSearchSink sink = new NameSearchSink(searchString);
+            return employeeClient.streamAllEmployees(sink).thenApply(done -> sink.getMatches());
+        }
+        return getSnapshotAsync().thenApply(snapshot -> getEmployeesByNameSearch(snapshot, searchString));
+    }
+
+    /**
+     * The employees of {@code snapshot} whose names contain {@code searchString}, ignoring case, so that a
+     * response and the version tagging it come from the same snapshot.
+     */
+    public List<Employee> getEmployeesByNameSearch(EmployeeSnapshot snapshot, String searchString) {
+        return snapshot.getEmployees(snapshot.searchNames(searchString));
     }
 
     public Employee getEmployeeById(String id) {
+        return Futures.join(getEmployeeByIdAsync(id));
+    }
+
+    public CompletableFuture<Employee> getEmployeeByIdAsync(String id) {
         if (Objects.isNull(id)) {
-            throw new RuntimeException("NonNull Id required");
+            return CompletableFuture.failedFuture(new RuntimeException("NonNull Id required"));
+        }
+        logger.debug("Fetching employee by id: {}", id);
+        return employeeClient.getEmployeeById(id).handle((employee, error) -> {
+            if (error == null) {
+                return employee;
+            }
+            RuntimeException failure = Futures.unwrap(error);
+            EmployeeSnapshot snapshot = snapshotCache.peek();
+            Employee cached = snapshot != null && UpstreamFailures.isUnavailable(failure) && canFallBackTo(snapshot)
+                    ? lookup(snapshot, id)
+                    : null;
+            if (cached == null) {
+                throw failure;
+            }
+            logger.warn("Upstream unavailable, serving employee {} from snapshot version {}: {}",
+                    id, snapshot.getVersion(), failure.getMessage());
+            return cached;
+        });
+    }
+
+    /**
+     * Whether {@code snapshot} was loaded recently enough to answer for an unavailable upstream.
+     */
+    private boolean canFallBackTo(EmployeeSnapshot snapshot) {
+        return Duration.between(snapshot.getLoadedAt(), clock.instant()).compareTo(fallbackMaxAge) <= 0;
+    }
+
+    public EmployeeBatchResponse getEmployeesByIds(List<String> ids) {
+        return Futures.join(getEmployeesByIdsAsync(ids));
+    }
+
+    /**
+     * Looks up every distinct id, serving from the snapshot where it has the id and fetching the rest from the
+     * upstream. Ids that cannot be fetched are reported in {@link EmployeeBatchResponse#getErrors()}; they do not
+     * fail the batch.
+     */
+    public CompletableFuture<EmployeeBatchResponse> getEmployeesByIdsAsync(List<String> ids) {
+        if (Objects.isNull(ids) || ids.contains(null)) {
+            return CompletableFuture.failedFuture(new IllegalArgumentException("NonNull Ids required"));
         }
-        logger.info("Fetching employee by id: {}", id);
-        String url = BASE_URL + "employee/" + id;
+        List<String> distinctIds = new ArrayList<>(new LinkedHashSet<>(ids));
+        if (distinctIds.size() > batchMaxSize) {
+            return CompletableFuture.failedFuture(
+                    new IllegalArgumentException("At most " + batchMaxSize + " ids per batch"));
+        }
+        logger.debug("Fetching {} employees by id", distinctIds.size());
+        CompletableFuture<EmployeeSnapshot> snapshot = snapshotCache.isEnabled()
+                ? getSnapshotAsync().exceptionally(e -> null)
+                : CompletableFuture.completedFuture(null);
+        return snapshot.thenCompose(current -> {
+            Map<String, Employee> local = new LinkedHashMap<>();
+            List<String> remote = new ArrayList<>();
+            for (String id : distinctIds) {
+                Employee employee = current == null ? null : lookup(current, id);
+                if (employee != null) {
+                    local.put(id, employee);
+                } else {
+                    remote.add(id);
+                }
+            }
+            return batchFanOut.execute(remote, bulkClient::getEmployeeById).thenApply(fetched -> {
+                List<Employee> employees = new ArrayList<>(distinctIds.size());
+                Map<String, String> errors = new LinkedHashMap<>();
+                for (String id : distinctIds) {
+                    Employee employee = local.containsKey(id) ? local.get(id) : fetched.getValues().get(id);
+                    if (employee != null) {
+                        employees.add(employee);
+                    } else {
+                        RuntimeException failure = fetched.getFailures().get(id);
+                        errors.put(id, failure != null ? failure.getMessage() : "Employee not found");
+                    }
+                }
+                return new EmployeeBatchResponse(employees, errors);
+            });
+        });
+    }
+
+    private static Employee lookup(EmployeeSnapshot snapshot, String id) {
         try {
-            SingleEmployeeResponse employeeResponse = restTemplate.getForObject(url, SingleEmployeeResponse.class);
-            return Optional.ofNullable(employeeResponse)
-                    .stream()
-                    .filter(response -> response.getStatus().equals(SUCCESS))
-                    .map(SingleEmployeeResponse::getData)
-                    .filter(Objects::nonNull)
-                    .findFirst()
-                    .orElseThrow(() -> new RuntimeException("Error fetching employee by id"));
-        } catch (HttpClientErrorException e) {
-            logger.error("Error fetching employee by id: {}", id, e);
-            throw new RuntimeException("Error fetching employee by id", e);
+            return snapshot.getEmployee(Integer.parseInt(id));
+        } catch (NumberFormatException e) {
+            return null;
         }
     }
 
     public Integer getHighestSalaryOfEmployees() {
-        logger.info("Fetching the highest salary among employees");
-        List<Employee> allEmployees = getAllEmployees();
-        return allEmployees.stream()
-                .map(Employee::getSalary)
-                .max(naturalOrder())
-                .orElse(0);
+        return Futures.join(getHighestSalaryOfEmployeesAsync());
+    }
+
+    public CompletableFuture<Integer> getHighestSalaryOfEmployeesAsync() {
+        logger.debug("Fetching the highest salary among employees");
+        if (!snapshotCache.isEnabled()) {
+            MaxSalarySink sink = new MaxSalarySink();
+            return employeeClient.streamAllEmployees(sink).thenApply(done -> sink.getMax().orElse(0));
+        }
+        return getSnapshotAsync().thenApply(this::getHighestSalaryOfEmployees);
+    }
+
+    /**
+     * The highest salary in {@code snapshot}, or 0 if it holds no employees.
+     */
+    public Integer getHighestSalaryOfEmployees(EmployeeSnapshot snapshot) {
+        return snapshot.getSalaryIndex().max().orElse(0);
     }
 
     public List<String> getTopTenHighestEarningEmployeeNames() {
-        logger.info("Fetching the top 10 highest earning employee names");
-        List<Employee> allEmployees = getAllEmployees();
-        return allEmployees.stream()
-                .sorted(comparing(Employee::getSalary, reverseOrder()))
-                .limit(10)
-                .map(Employee::getName)
-                .collect(toList());
+        return getTopHighestEarningEmployeeNames(10);
     }
 
-    public Employee createEmployee(Map<String, Object> employeeInput) {
-        logger.info("Creating employee {}", employeeInput);
-        EmployeeCreationResponse employeeCreationResponse;
-        try {
-            String url = BASE_URL + "create";
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_JSON);
-            HttpEntity<Map<String, Object>> requestEntity = new HttpEntity<>(employeeInput, headers);
-            employeeCreationResponse = restTemplate.postForObject(url, requestEntity, EmployeeCreationResponse.class);
-        } catch (HttpClientErrorException e) {
-            logger.error("Error creating employee", e);
-            throw new RuntimeException("Error creating employee");
+    public CompletableFuture<List<String>> getTopTenHighestEarningEmployeeNamesAsync() {
+        return getTopHighestEarningEmployeeNamesAsync(10);
+    }
+
+    public List<String> getTopHighestEarningEmployeeNames(int n) {
+        return Futures.join(getTopHighestEarningEmployeeNamesAsync(n));
+    }
+
+    public CompletableFuture<List<String>> getTopHighestEarningEmployeeNamesAsync(int n) {
+        logger.debug("Fetching the top {} highest earning employee names", n);
+        if (!snapshotCache.isEnabled()) {
+            TopSalarySink sink = new TopSalarySink(n);
+            return employeeClient.streamAllEmployees(sink).thenApply(done -> sink.getNames());
         }
-        if (Objects.nonNull(employeeCreationResponse) && SUCCESS.equals(employeeCreationResponse.getStatus())) {
-            EmployeeCreated data = employeeCreationResponse.getData();
-            return new Employee(data.getId(), data.getName(), data.getSalary(), data.getAge());
-        } else {
-            logger.error("Error creating employee");
-            throw new RuntimeException("Error creating employee");
+        return getSnapshotAsync().thenApply(snapshot -> getTopHighestEarningEmployeeNames(snapshot, n));
+    }
+
+    /**
+     * The names of the {@code n} highest earners in {@code snapshot}, highest first.
+     */
+    public List<String> getTopHighestEarningEmployeeNames(EmployeeSnapshot snapshot, int n) {
+        return snapshot.getSalaryIndex().topNames(n);
+    }
+
+    public EmployeeStats getEmployeeStats(StatsQuery query) {
+        return Futures.join(getEmployeeStatsAsync(query));
+    }
+
+    public CompletableFuture<EmployeeStats> getEmployeeStatsAsync(StatsQuery query) {
+        logger.debug("Computing employee stats");
+        if (!snapshotCache.isEnabled()) {
+            StatsSink sink = new StatsSink(query);
+            return employeeClient.streamAllEmployees(sink).thenApply(done -> sink.getStats());
         }
+        return getSnapshotAsync().thenApply(snapshot -> {
+            SnapshotStatsResult last = lastStats.get();
+            if (last != null && last.snapshot == snapshot && last.query.equals(query)) {
+                return last.stats;
+            }
+            EmployeeStats stats = SnapshotStats.compute(snapshot, query);
+            lastStats.set(new SnapshotStatsResult(snapshot, query, stats));
+            return stats;
+        });
+    }
+
+    public Employee createEmployee(Map<String, Object> employeeInput) {
+        return Futures.join(createEmployeeAsync(employeeInput));
+    }
+
+    public CompletableFuture<Employee> createEmployeeAsync(Map<String, Object> employeeInput) {
+        return createEmployeeAsync(employeeClient, employeeInput);
+    }
+
+    private CompletableFuture<Employee> createEmployeeAsync(EmployeeClient client, Map<String, Object> employeeInput) {
+        return createUpstream(client, employeeInput).thenApply(employee -> {
+            recordCreated(employee);
+            return employee;
+        });
+    }
+
+    private CompletableFuture<Employee> createUpstream(EmployeeClient client, Map<String, Object> employeeInput) {
+        logger.debug("Creating employee named {}", employeeInput == null ? null : employeeInput.get("name"));
+        return client.createEmployee(employeeInput);
     }
 
     public String deleteEmployee(String id) {
-        logger.info("Deleting employee with id: {}", id);
+        return Futures.join(deleteEmployeeAsync(id));
+    }
+
+    public CompletableFuture<String> deleteEmployeeAsync(String id) {
+        logger.debug("Deleting employee with id: {}", id);
+        EmployeeSnapshot snapshot = Objects.isNull(id) ? null : snapshotCache.peek();
+        Employee cached = snapshot == null ? null : lookup(snapshot, id);
+        CompletableFuture<Employee> employee = cached != null
+                ? CompletableFuture.completedFuture(cached)
+                : getEmployeeByIdAsync(id);
+        return employee.thenCompose(found -> employeeClient.deleteEmployee(id).thenApply(deleted -> {
+            recordDeleted(found.getId());
+            return found.getName();
+        }));
+    }
+
+    public String deleteEmployeeAndReturnStatus(String id) {
+        return Futures.join(deleteEmployeeAndReturnStatusAsync(id));
+    }
+
+    public CompletableFuture<String> deleteEmployeeAndReturnStatusAsync(String id) {
+        return deleteEmployeeAndReturnStatusAsync(employeeClient, id);
+    }
+
+    private CompletableFuture<String> deleteEmployeeAndReturnStatusAsync(EmployeeClient client, String id) {
+        return deleteUpstream(client, id).thenApply(status -> {
+            if (SUCCESS.equals(status)) {
+                recordDeleted(id);
+            }
+            return status;
+        });
+    }
+
+    private CompletableFuture<String> deleteUpstream(EmployeeClient client, String id) {
+        logger.debug("Deleting employee with id: {}", id);
+        return client.deleteEmployeeAndReturnStatus(id);
+    }
+
+    public EmployeeBulkResponse createEmployees(List<Map<String, Object>> employeeInputs) {
+        return Futures.join(createEmployeesAsync(employeeInputs));
+    }
+
+    /**
+     * Creates every employee in {@code employeeInputs}. Items that fail are reported in the response; they do not
+     * fail the others.
+     */
+    public CompletableFuture<EmployeeBulkResponse> createEmployeesAsync(List<Map<String, Object>> employeeInputs) {
         try {
-            Employee employee = getEmployeeById(id);
-            String url = BASE_URL + "delete/";
-            restTemplate.delete(url + id);
-            return employee.getName();
-        } catch (HttpClientErrorException e) {
-            logger.error("Error deleting employee with id: {}", id, e);
-            throw new RuntimeException("Error deleting employee", e);
+            checkBulk(employeeInputs);
+        } catch (IllegalArgumentException e) {
+            return CompletableFuture.failedFuture(e);
         }
+        return bulkCreate(employeeInputs, () -> {
+        });
     }
 
-    public String deleteEmployeeAndReturnStatus(String id) {
-        logger.info("Deleting employee with id: {}", id);
+    /**
+     * Starts {@link #createEmployeesAsync} as a background job.
+     *
+     * @throws IllegalArgumentException if the batch is invalid
+     * @throws java.util.concurrent.RejectedExecutionException if too many bulk jobs are running
+     */
+    public EmployeeBulkJob submitCreateEmployees(List<Map<String, Object>> employeeInputs) {
+        checkBulk(employeeInputs);
+        return bulkJobs.submit("create", employeeInputs.size(), itemDone -> bulkCreate(employeeInputs, itemDone));
+    }
+
+    public EmployeeBulkResponse deleteEmployees(List<String> ids) {
+        return Futures.join(deleteEmployeesAsync(ids));
+    }
+
+    /**
+     * Deletes every employee in {@code ids}, one upstream call each. Items that fail are reported in the response;
+     * they do not fail the others.
+     */
+    public CompletableFuture<EmployeeBulkResponse> deleteEmployeesAsync(List<String> ids) {
         try {
-            String url = BASE_URL + "delete/";
-            var responseEntity = restTemplate.exchange(url + id, DELETE, null, Map.class);
-            return (String) Objects.requireNonNull(responseEntity.getBody()).get("status");
-        } catch (HttpClientErrorException e) {
-            logger.error("Error deleting employee with id: {}", id, e);
-            throw new RuntimeException("Error deleting employee", e);
+            checkBulk(ids);
+        } catch (IllegalArgumentException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        return bulkDelete(ids, () -> {
+        });
+    }
+
+    /**
+     * Starts {@link #deleteEmployeesAsync} as a background job.
+     *
+     * @throws IllegalArgumentException if the batch is invalid
+     * @throws java.util.concurrent.RejectedExecutionException if too many bulk jobs are running
+     */
+    public EmployeeBulkJob submitDeleteEmployees(List<String> ids) {
+        checkBulk(ids);
+        return bulkJobs.submit("delete", ids.size(), itemDone -> bulkDelete(ids, itemDone));
+    }
+
+    /**
+     * The background bulk job with the given id, or {@code null} if it is unknown or has been evicted.
+     */
+    public EmployeeBulkJob getBulkJob(String jobId) {
+        return bulkJobs.get(jobId);
+    }
+
+    private void checkBulk(List<?> items) {
+        if (Objects.isNull(items) || items.contains(null)) {
+            throw new IllegalArgumentException("NonNull items required");
+        }
+        if (items.size() > bulkMaxSize) {
+            throw new IllegalArgumentException("At most " + bulkMaxSize + " items per bulk request");
+        }
+    }
+
+    private CompletableFuture<EmployeeBulkResponse> bulkCreate(List<Map<String, Object>> employeeInputs,
+                                                               Runnable itemDone) {
+        logger.debug("Creating {} employees in bulk", employeeInputs.size());
+        return bulkFanOut.execute(indexes(employeeInputs.size()), index ->
+                        createUpstream(bulkClient, employeeInputs.get(index))
+                                .whenComplete((employee, error) -> itemDone.run()))
+                .thenApply(outcome -> {
+                    List<EmployeeBulkResponse.Item> results = new ArrayList<>(employeeInputs.size());
+                    List<Employee> created = new ArrayList<>(outcome.getValues().size());
+                    for (int index = 0; index < employeeInputs.size(); index++) {
+                        Employee employee = outcome.getValues().get(index);
+                        if (employee != null) {
+                            String id = String.valueOf(employee.getId());
+                            results.add(new EmployeeBulkResponse.Item(index, id, SUCCESS, employee, null));
+                            created.add(employee);
+                        } else {
+                            results.add(failedItem(index, null, outcome.getFailures().get(index)));
+                        }
+                    }
+                    recordWrites(created, List.of());
+                    return bulkResponse(results);
+                });
+    }
+
+    private CompletableFuture<EmployeeBulkResponse> bulkDelete(List<String> ids, Runnable itemDone) {
+        logger.debug("Deleting {} employees in bulk", ids.size());
+        EmployeeSnapshot snapshot = snapshotCache.peek();
+        List<Employee> known = new ArrayList<>(ids.size());
+        for (String id : ids) {
+            known.add(snapshot == null ? null : lookup(snapshot, id));
+        }
+        return bulkFanOut.execute(indexes(ids.size()), index ->
+                        deleteUpstream(bulkClient, ids.get(index))
+                                .thenApply(status -> {
+                                    if (!SUCCESS.equals(status)) {
+                                        throw new IllegalStateException("Upstream answered delete with " + status);
+                                    }
+                                    return status;
+                                })
+                                .whenComplete((status, error) -> itemDone.run()))
+                .thenApply(outcome -> {
+                    List<EmployeeBulkResponse.Item> results = new ArrayList<>(ids.size());
+                    List<String> deleted = new ArrayList<>(outcome.getValues().size());
+                    for (int index = 0; index < ids.size(); index++) {
+                        if (outcome.getValues().containsKey(index)) {
+                            results.add(new EmployeeBulkResponse.Item(index, ids.get(index), SUCCESS, known.get(index),
+                                    null));
+                            deleted.add(ids.get(index));
+                        } else {
+                            results.add(failedItem(index, ids.get(index), outcome.getFailures().get(index)));
+                        }
+                    }
+                    recordWrites(List.of(), deleted);
+                    return bulkResponse(results);
+                });
+    }
+
+    private static List<Integer> indexes(int size) {
+        List<Integer> indexes = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            indexes.add(i);
+        }
+        return indexes;
+    }
+
+    private static EmployeeBulkResponse.Item failedItem(int index, String id, RuntimeException failure) {
+        String message = failure == null ? "Unknown failure" : failure.getMessage();
+        return new EmployeeBulkResponse.Item(index, id, "error", null, message);
+    }
+
+    private static EmployeeBulkResponse bulkResponse(List<EmployeeBulkResponse.Item> results) {
+        int succeeded = 0;
+        for (EmployeeBulkResponse.Item item : results) {
+            if (SUCCESS.equals(item.getStatus())) {
+                succeeded++;
+            }
+        }
+        return new EmployeeBulkResponse(succeeded, results.size() - succeeded, results);
+    }
+
+    private void recordDeleted(String id) {
+        recordWrites(List.of(), List.of(id));
+    }
+
+    /**
+     * Applies the creates and deletes of one request to the snapshot in one batch. Non-numeric ids cannot be in
+     * the snapshot and are skipped.
+     */
+    private void recordWrites(List<Employee> created, List<String> deletedIds) {
+        int[] parsed = new int[deletedIds.size()];
+        int count = 0;
+        for (String id : deletedIds) {
+            try {
+                parsed[count] = Integer.parseInt(id);
+            } catch (NumberFormatException e) {
+                logger.debug("Not updating the snapshot for non-numeric id: {}", id);
+                continue;
+            }
+            count++;
+        }
+        snapshotCache.recordWrites(created, Arrays.copyOf(parsed, count));
+    }
+
+    private void recordCreated(Employee employee) {
+        snapshotCache.recordCreated(employee);
+    }
+
+    private void recordDeleted(int id) {
+        snapshotCache.recordDeleted(id);
+    }
+
+    private static final class SnapshotStatsResult {
+        private final EmployeeSnapshot snapshot;
+        private final StatsQuery query;
+        private final EmployeeStats stats;
+
+        private SnapshotStatsResult(EmployeeSnapshot snapshot, StatsQuery query, EmployeeStats stats) {
+            this.snapshot = snapshot;
+            this.query = query;
+            this.stats = stats;
         }
     }
 }
@@ -0,0 +1,166 @@
+package com.example.rqchallenge.employees.service;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Settings of {@link EmployeeService}, bound from the {@code employees.*} properties. A new instance holds the
+ * defaults, so callers building a service by hand only set what they change.
+ */
+@Component
+@ConfigurationProperties(prefix = "employees")
+public class EmployeeServiceProperties {
+
+    private final Snapshot snapshot = new Snapshot();
+    private final Upstream upstream = new Upstream();
+    private final Batch batch = new Batch();
+    private final Query query = new Query();
+    private final Bulk bulk = new Bulk();
+
+    public Snapshot getSnapshot() {
+        return snapshot;
+    }
+
+    public Upstream getUpstream() {
+        return upstream;
+    }
+
+    public Batch getBatch() {
+        return batch;
+    }
+
+    public Query getQuery() {
+        return query;
+    }
+
+    public Bulk getBulk() {
+        return bulk;
+    }
+
+    public static class Snapshot {
+
+        /** How long a snapshot is served as is; zero or less disables the snapshot cache. */
+        private Duration ttl = Duration.ofSeconds(30);
+        /** How long past its TTL a snapshot is still served while it is refreshed in the background. */
+        private Duration maxStale = Duration.ofMinutes(5);
+
+        public Duration getTtl() {
+            return ttl;
+        }
+
+        public void setTtl(Duration ttl) {
+            this.ttl = ttl;
+        }
+
+        public Duration getMaxStale() {
+            return maxStale;
+        }
+
+        public void setMaxStale(Duration maxStale) {
+            this.maxStale = maxStale;
+        }
+    }
+
+    public static class Upstream {
+
+        private final Resilience resilience = new Resilience();
+
+        public Resilience getResilience() {
+            return resilience;
+        }
+    }
+
+    public static class Resilience {
+
+        /** Oldest snapshot served while the upstream is unavailable. */
+        private Duration fallbackMaxAge = Duration.ofHours(1);
+
+        public Duration getFallbackMaxAge() {
+            return fallbackMaxAge;
+        }
+
+        public void setFallbackMaxAge(Duration fallbackMaxAge) {
+            this.fallbackMaxAge = fallbackMaxAge;
+        }
+    }
+
+    public static class Batch {
+
+        private int maxConcurrency = 16;
+        private int maxSize = 500;
+
+        public int getMaxConcurrency() {
+            return maxConcurrency;
+        }
+
+        public void setMaxConcurrency(int maxConcurrency) {
+            this.maxConcurrency = maxConcurrency;
+        }
+
+        public int getMaxSize() {
+            return maxSize;
+        }
+
+        public void setMaxSize(int maxSize) {
+            this.maxSize = maxSize;
+        }
+    }
+
+    public static class Query {
+
+        /** Threads snapshot queries are split across; zero or less runs them on the caller's thread. */
+        private int parallelism = 0;
+        /** Smallest snapshot whose queries are split across those threads. */
+        private int parallelThreshold = 50_000;
+
+        public int getParallelism() {
+            return parallelism;
+        }
+
+        public void setParallelism(int parallelism) {
+            this.parallelism = parallelism;
+        }
+
+        public int getParallelThreshold() {
+            return parallelThreshold;
+        }
+
+        public void setParallelThreshold(int parallelThreshold) {
+            this.parallelThreshold = parallelThreshold;
+        }
+    }
+
+    public static class Bulk {
+
+        private int maxSize = 1000;
+        private int maxConcurrency = 8;
+        /** Bulk jobs whose progress is kept. */
+        private int maxJobs = 100;
+
+        public int getMaxSize() {
+            return maxSize;
+        }
+
+        public void setMaxSize(int maxSize) {
+            this.maxSize = maxSize;
+        }
+
+        public int getMaxConcurrency() {
+            return maxConcurrency;
+        }
+
+        public void setMaxConcurrency(int maxConcurrency) {
+            this.maxConcurrency = maxConcurrency;
+        }
+
+        public int getMaxJobs() {
+            return maxJobs;
+        }
+
+        public void setMaxJobs(int maxJobs) {
+            this.maxJobs = maxJobs;
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.rqchallenge.employees.service;
+
+import com.example.rqchallenge.employees.snapshot.EmployeeSnapshot;
+import com.example.rqchallenge.employees.snapshot.SnapshotFile;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Keeps the last snapshot loaded from the upstream in {@code employees.snapshot.file}, and serves it at startup
+ * until the upstream first answers, so a restart does not wait on a slow or unavailable upstream. Files older
+ * than {@code employees.snapshot.file-max-age} are ignored.
+ * <p>
+ * Snapshots are written on a dedicated thread. Refreshes that arrive while a write is in progress are
+ * coalesced, so only the latest of them is written next.
+ */
+@Component
+@ConditionalOnProperty(name = "employees.snapshot.file")
+public class SnapshotPersistence {
+
+    private static final Logger logger = LoggerFactory.getLogger(SnapshotPersistence.class);
+
+    private final EmployeeService employeeService;
+    private final SnapshotFile file;
+    private final Duration maxAge;
+    private final ExecutorService writeExecutor;
+    private final AtomicReference<EmployeeSnapshot> pending = new AtomicReference<>();
+
+    public SnapshotPersistence(EmployeeService employeeService,
+                               @Value("${employees.snapshot.file}") Path path,
+                               @Value("${employees.snapshot.file-max-age:24h}") Duration maxAge) {
+        this.employeeService = employeeService;
+        this.file = new SnapshotFile(path);
+        this.maxAge = maxAge;
+        this.writeExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "employee-snapshot-write");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PostConstruct
+    public void start() {
+        restore();
+        employeeService.addSnapshotRefreshListener(this::schedule);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        writeExecutor.shutdown();
+    }
+
+    private void restore() {
+        long started = System.nanoTime();
+        SnapshotFile.Contents contents;
+        try {
+            contents = file.read();
+        } catch (IOException e) {
+            logger.warn("Ignoring unreadable snapshot file {}", file.getPath(), e);
+            return;
+        }
+        if (contents == null) {
+            logger.info("No snapshot file at {}", file.getPath());
+            return;
+        }
+        Duration age = Duration.between(contents.getLoadedAt(), Instant.now());
+        if (age.compareTo(maxAge) > 0) {
+            logger.info("Ignoring snapshot file {}, loaded {} ago", file.getPath(), age);
+            return;
+        }
+        employeeService.restoreSnapshot(contents.getStore(), contents.getLoadedAt());
+        logger.info("Restored {} employees from {} in {} ms", contents.getStore().size(), file.getPath(),
+                Duration.ofNanos(System.nanoTime() - started).toMillis());
+    }
+
+    private void schedule(EmployeeSnapshot snapshot) {
+        if (pending.getAndSet(snapshot) == null) {
+            writeExecutor.execute(this::writePending);
+        }
+    }
+
+    private void writePending() {
+        EmployeeSnapshot snapshot = pending.getAndSet(null);
+        try {
+            file.write(snapshot);
+            logger.debug("Wrote snapshot version {} to {}", snapshot.getVersion(), file.getPath());
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Failed to write snapshot file {}", file.getPath(), e);
+        }
+    }
+}
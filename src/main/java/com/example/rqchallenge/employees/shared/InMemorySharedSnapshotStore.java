@@ -0,0 +1,103 @@
+package com.example.rqchallenge.employees.shared;
+
+import com.example.rqchallenge.employees.client.ConditionalEmployees;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * {@link SharedSnapshotStore} held in memory, shared by every node given the same instance. Operations complete
+ * before they return, and announced writes are delivered on the announcing thread.
+ */
+public class InMemorySharedSnapshotStore implements SharedSnapshotStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(InMemorySharedSnapshotStore.class);
+
+    private final Clock clock;
+    private final List<Consumer<SharedWrite>> listeners = new CopyOnWriteArrayList<>();
+    private SharedEmployees employees;
+    private String leaseHolder;
+    private Instant leaseExpiresAt;
+
+    public InMemorySharedSnapshotStore(Clock clock) {
+        this.clock = clock;
+    }
+
+    @Override
+    public synchronized CompletableFuture<SharedEmployees> read() {
+        return CompletableFuture.completedFuture(employees);
+    }
+
+    @Override
+    public synchronized CompletableFuture<Boolean> tryAcquireLease(String nodeId, Duration duration) {
+        Instant now = clock.instant();
+        if (leaseHolder != null && !leaseHolder.equals(nodeId) && now.isBefore(leaseExpiresAt)) {
+            return CompletableFuture.completedFuture(false);
+        }
+        if (!nodeId.equals(leaseHolder)) {
+            logger.info("Node {} took the snapshot refresh lease", nodeId);
+        }
+        leaseHolder = nodeId;
+        leaseExpiresAt = now.plus(duration);
+        return CompletableFuture.completedFuture(true);
+    }
+
+    @Override
+    public synchronized CompletableFuture<Void> releaseLease(String nodeId) {
+        if (nodeId.equals(leaseHolder)) {
+            leaseHolder = null;
+            leaseExpiresAt = null;
+        }
+        return CompletableFuture.completedFuture(null);
+    }
+
+    @Override
+    public synchronized CompletableFuture<SharedEmployees> publish(String nodeId, ConditionalEmployees employees,
+                                                                   Instant loadedAt) {
+        if (!holdsLease(nodeId)) {
+            return CompletableFuture.completedFuture(null);
+        }
+        long generation = this.employees == null ? 1 : this.employees.getGeneration() + 1;
+        this.employees = new SharedEmployees(generation, loadedAt, employees.getEmployees(), employees.getEtag(),
+                employees.getLastModified());
+        return CompletableFuture.completedFuture(this.employees);
+    }
+
+    @Override
+    public synchronized CompletableFuture<SharedEmployees> confirm(String nodeId, long generation, Instant loadedAt) {
+        if (!holdsLease(nodeId) || employees == null || employees.getGeneration() != generation) {
+            return CompletableFuture.completedFuture(null);
+        }
+        employees = employees.withLoadedAt(loadedAt);
+        return CompletableFuture.completedFuture(employees);
+    }
+
+    @Override
+    public CompletableFuture<Void> announce(SharedWrite write) {
+        for (Consumer<SharedWrite> listener : listeners) {
+            try {
+                listener.accept(write);
+            } catch (RuntimeException e) {
+                logger.warn("Snapshot write listener failed", e);
+            }
+        }
+        return CompletableFuture.completedFuture(null);
+    }
+
+    @Override
+    public Runnable subscribe(Consumer<SharedWrite> listener) {
+        listeners.add(listener);
+        return () -> listeners.remove(listener);
+    }
+
+    private boolean holdsLease(String nodeId) {
+        return nodeId.equals(leaseHolder) && clock.instant().isBefore(leaseExpiresAt);
+    }
+}
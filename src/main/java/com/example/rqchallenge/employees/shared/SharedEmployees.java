@@ -0,0 +1,55 @@
+package com.example.rqchallenge.employees.shared;
+
+import com.example.rqchallenge.employees.client.ConditionalEmployees;
+import com.example.rqchallenge.employees.model.Employee;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * An employee list published to a {@link SharedSnapshotStore}, with the upstream validators it was read with.
+ * Generations grow by one with each publish, so nodes can tell whether the list changed since they last read it.
+ */
+public final class SharedEmployees {
+
+    private final long generation;
+    private final Instant loadedAt;
+    private final List<Employee> employees;
+    private final String etag;
+    private final String lastModified;
+
+    public SharedEmployees(long generation, Instant loadedAt, List<Employee> employees, String etag,
+                           String lastModified) {
+        this.generation = generation;
+        this.loadedAt = loadedAt;
+        this.employees = employees;
+        this.etag = etag;
+        this.lastModified = lastModified;
+    }
+
+    public long getGeneration() {
+        return generation;
+    }
+
+    public Instant getLoadedAt() {
+        return loadedAt;
+    }
+
+    public List<Employee> getEmployees() {
+        return employees;
+    }
+
+    /**
+     * This list as confirmed unchanged by the upstream at {@code loadedAt}, under the same generation.
+     */
+    public SharedEmployees withLoadedAt(Instant loadedAt) {
+        return new SharedEmployees(generation, loadedAt, employees, etag, lastModified);
+    }
+
+    /**
+     * The list as if this node had read it from the upstream when the publishing node did, validators included.
+     */
+    public ConditionalEmployees toConditionalEmployees() {
+        return ConditionalEmployees.modified(employees, etag, lastModified).loadedAt(loadedAt);
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.rqchallenge.employees.shared;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Clock;
+
+/**
+ * The {@link SharedSnapshotStore} used when snapshots are shared and no other store is configured: one held in
+ * this JVM, which only shares the snapshot between nodes running in it. Separate replicas each get their own,
+ * so a warning is logged when it is created.
+ */
+@Configuration
+@ConditionalOnProperty(name = "employees.shared.enabled", havingValue = "true")
+public class SharedSnapshotConfiguration {
+
+    private static final Logger logger = LoggerFactory.getLogger(SharedSnapshotConfiguration.class);
+
+    @Bean
+    @ConditionalOnMissingBean
+    public SharedSnapshotStore sharedSnapshotStore() {
+        logger.warn("employees.shared.enabled is set but no SharedSnapshotStore bean is configured: using an "
+                + "in-memory store, which does NOT share the snapshot between replicas. Each replica will read the "
+                + "upstream itself and will not see writes made through the others until its next refresh.");
+        return new InMemorySharedSnapshotStore(Clock.systemUTC());
+    }
+}
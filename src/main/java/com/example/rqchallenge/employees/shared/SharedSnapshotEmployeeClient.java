@@ -0,0 +1,104 @@
+package com.example.rqchallenge.employees.shared;
+
+import com.example.rqchallenge.employees.client.ConditionalEmployees;
+import com.example.rqchallenge.employees.client.EmployeeClient;
+import com.example.rqchallenge.employees.model.Employee;
+import com.example.rqchallenge.employees.resilience.UpstreamScheduler.Lane;
+import com.example.rqchallenge.employees.stream.EmployeeSink;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+/**
+ * {@link EmployeeClient} decorator that reads the employee list through a {@link SharedSnapshotLoader} and
+ * announces the creates and deletes that succeed through it. Every other call passes straight through.
+ * <p>
+ * Views taken with {@link #inLane} share the loader with this client, and the loader always reads the upstream in
+ * {@link Lane#REFRESH}.
+ */
+public class SharedSnapshotEmployeeClient implements EmployeeClient {
+
+    private final EmployeeClient delegate;
+    private final SharedSnapshotLoader loader;
+    private final Consumer<Employee> created;
+    private final Consumer<Integer> deleted;
+
+    SharedSnapshotEmployeeClient(EmployeeClient delegate, SharedSnapshotLoader loader, Consumer<Employee> created,
+                                 Consumer<Integer> deleted) {
+        this.delegate = delegate;
+        this.loader = loader;
+        this.created = created;
+        this.deleted = deleted;
+    }
+
+    @Override
+    public EmployeeClient inLane(Lane lane) {
+        EmployeeClient laneDelegate = delegate.inLane(lane);
+        return laneDelegate == delegate
+                ? this
+                : new SharedSnapshotEmployeeClient(laneDelegate, loader, created, deleted);
+    }
+
+    @Override
+    public CompletableFuture<Void> streamAllEmployees(EmployeeSink sink) {
+        return delegate.streamAllEmployees(sink);
+    }
+
+    @Override
+    public CompletableFuture<List<Employee>> getAllEmployees() {
+        return delegate.getAllEmployees();
+    }
+
+    @Override
+    public CompletableFuture<ConditionalEmployees> getAllEmployeesIfModified(ConditionalEmployees previous) {
+        return loader.apply(previous);
+    }
+
+    @Override
+    public CompletableFuture<Employee> getEmployeeById(String id) {
+        return delegate.getEmployeeById(id);
+    }
+
+    @Override
+    public CompletableFuture<Employee> createEmployee(Map<String, Object> employeeInput) {
+        return delegate.createEmployee(employeeInput).thenApply(employee -> {
+            if (employee != null) {
+                created.accept(employee);
+            }
+            return employee;
+        });
+    }
+
+    @Override
+    public CompletableFuture<Void> deleteEmployee(String id) {
+        return delegate.deleteEmployee(id).thenApply(done -> {
+            announceDeleted(id);
+            return done;
+        });
+    }
+
+    @Override
+    public CompletableFuture<String> deleteEmployeeAndReturnStatus(String id) {
+        return delegate.deleteEmployeeAndReturnStatus(id).thenApply(status -> {
+            if (SUCCESS.equals(status)) {
+                announceDeleted(id);
+            }
+            return status;
+        });
+    }
+
+    /**
+     * Non-numeric ids cannot be in any snapshot, so their deletes are not announced.
+     */
+    private void announceDeleted(String id) {
+        int parsed;
+        try {
+            parsed = Integer.parseInt(id);
+        } catch (NumberFormatException e) {
+            return;
+        }
+        deleted.accept(parsed);
+    }
+}
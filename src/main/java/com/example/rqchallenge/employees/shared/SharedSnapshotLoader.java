@@ -0,0 +1,164 @@
+package com.example.rqchallenge.employees.shared;
+
+import com.example.rqchallenge.employees.client.ConditionalEmployees;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Snapshot loader that reads the employee list through a {@link SharedSnapshotStore}, so that of all the nodes
+ * sharing the store only one reads it from the upstream.
+ * <p>
+ * Each load first tries to take or renew the store's refresh lease. The node holding it loads from the upstream
+ * as a lone node would, publishes every changed list it reads, and confirms the published one when the upstream
+ * reports no change. The others load the published list instead, and answer "not modified" while its generation
+ * is the one they last read, so their snapshots keep their versions. Either way a follower reports the time the
+ * leader read the list, so its snapshot ages from then. A follower keeps the upstream validators of the list it
+ * read, so it can refresh conditionally as soon as it takes the lease over. That happens when the leader stops
+ * renewing it: the leader renews it on each of its refreshes and gives it up on shutdown.
+ * <p>
+ * Until a list has been published, while the published one is older than {@code maxAge}, and whenever the store
+ * fails, nodes load from the upstream directly.
+ */
+public class SharedSnapshotLoader implements Function<ConditionalEmployees, CompletableFuture<ConditionalEmployees>> {
+
+    private static final Logger logger = LoggerFactory.getLogger(SharedSnapshotLoader.class);
+
+    private final SharedSnapshotStore store;
+    private final String nodeId;
+    private final Duration leaseDuration;
+    private final Duration maxAge;
+    private final Function<ConditionalEmployees, CompletableFuture<ConditionalEmployees>> upstream;
+    private final Clock clock;
+    private final AtomicLong lastGeneration = new AtomicLong(-1);
+    private final LongAdder upstreamLoads = new LongAdder();
+    private final LongAdder storeLoads = new LongAdder();
+    private final LongAdder storeFailures = new LongAdder();
+    private volatile boolean leader;
+
+    public SharedSnapshotLoader(SharedSnapshotStore store, String nodeId, Duration leaseDuration, Duration maxAge,
+                                Function<ConditionalEmployees, CompletableFuture<ConditionalEmployees>> upstream,
+                                Clock clock) {
+        this.store = store;
+        this.nodeId = nodeId;
+        this.leaseDuration = leaseDuration;
+        this.maxAge = maxAge;
+        this.upstream = upstream;
+        this.clock = clock;
+    }
+
+    @Override
+    public CompletableFuture<ConditionalEmployees> apply(ConditionalEmployees previous) {
+        return store.tryAcquireLease(nodeId, leaseDuration)
+                .handle((acquired, failure) -> {
+                    if (failure != null) {
+                        storeFailures.increment();
+                        logger.warn("Shared snapshot store unavailable, loading from the upstream", failure);
+                        return loadFromUpstream(previous);
+                    }
+                    leader = acquired;
+                    return acquired ? refreshShared(previous) : loadShared(previous);
+                })
+                .thenCompose(Function.identity());
+    }
+
+    /**
+     * Loads from the upstream as the lease holder, and publishes what changed or confirms what did not.
+     */
+    private CompletableFuture<ConditionalEmployees> refreshShared(ConditionalEmployees previous) {
+        return loadFromUpstream(previous).thenCompose(result -> {
+            if (!result.isModified()) {
+                return confirm(result);
+            }
+            return store.publish(nodeId, result, clock.instant()).handle((published, failure) -> {
+                if (failure != null) {
+                    storeFailures.increment();
+                    logger.warn("Failed to publish the employee list to the shared snapshot store", failure);
+                } else if (published == null) {
+                    logger.info("Lost the snapshot refresh lease before publishing");
+                } else {
+                    lastGeneration.set(published.getGeneration());
+                }
+                return result;
+            });
+        });
+    }
+
+    private CompletableFuture<ConditionalEmployees> confirm(ConditionalEmployees result) {
+        long generation = lastGeneration.get();
+        if (generation < 0) {
+            return CompletableFuture.completedFuture(result);
+        }
+        return store.confirm(nodeId, generation, clock.instant()).handle((confirmed, failure) -> {
+            if (failure != null) {
+                storeFailures.increment();
+                logger.warn("Failed to confirm the employee list in the shared snapshot store", failure);
+            }
+            return result;
+        });
+    }
+
+    /**
+     * Loads the published list, or from the upstream if there is none yet or it is too old.
+     */
+    private CompletableFuture<ConditionalEmployees> loadShared(ConditionalEmployees previous) {
+        return store.read()
+                .handle((shared, failure) -> {
+                    if (failure != null) {
+                        storeFailures.increment();
+                        logger.warn("Shared snapshot store unavailable, loading from the upstream", failure);
+                        return loadFromUpstream(previous);
+                    }
+                    if (shared == null) {
+                        return loadFromUpstream(previous);
+                    }
+                    if (shared.getLoadedAt().plus(maxAge).isBefore(clock.instant())) {
+                        logger.debug("Shared employee list from {} is too old, loading from the upstream",
+                                shared.getLoadedAt());
+                        return loadFromUpstream(previous);
+                    }
+                    storeLoads.increment();
+                    if (previous != null && shared.getGeneration() == lastGeneration.get()) {
+                        return CompletableFuture.completedFuture(
+                                ConditionalEmployees.notModified(previous).loadedAt(shared.getLoadedAt()));
+                    }
+                    lastGeneration.set(shared.getGeneration());
+                    return CompletableFuture.completedFuture(shared.toConditionalEmployees());
+                })
+                .thenCompose(Function.identity());
+    }
+
+    private CompletableFuture<ConditionalEmployees> loadFromUpstream(ConditionalEmployees previous) {
+        upstreamLoads.increment();
+        return upstream.apply(previous);
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    /**
+     * Whether this node held the refresh lease at its last load.
+     */
+    public boolean isLeader() {
+        return leader;
+    }
+
+    public long getUpstreamLoads() {
+        return upstreamLoads.sum();
+    }
+
+    public long getStoreLoads() {
+        return storeLoads.sum();
+    }
+
+    public long getStoreFailures() {
+        return storeFailures.sum();
+    }
+}
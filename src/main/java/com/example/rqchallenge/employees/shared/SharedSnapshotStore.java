@@ -0,0 +1,60 @@
+package com.example.rqchallenge.employees.shared;
+
+import com.example.rqchallenge.employees.client.ConditionalEmployees;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+/**
+ * Store shared by every replica of the service. It holds the employee list last read from the upstream, a lease
+ * naming the one replica that refreshes that list, and a channel on which replicas announce the writes they make.
+ * <p>
+ * Implementations front a distributed store. {@link InMemorySharedSnapshotStore} shares one between the replicas
+ * in a single JVM, for tests and single-node setups. Every operation may complete asynchronously, and a failed
+ * one leaves the store as it was.
+ */
+public interface SharedSnapshotStore {
+
+    /**
+     * The list last published, or {@code null} if none has been.
+     */
+    CompletableFuture<SharedEmployees> read();
+
+    /**
+     * Takes the refresh lease for {@code nodeId} for {@code duration}, or renews it if {@code nodeId} already
+     * holds it. Completes with whether {@code nodeId} holds the lease now; it does not if another node holds an
+     * unexpired lease.
+     */
+    CompletableFuture<Boolean> tryAcquireLease(String nodeId, Duration duration);
+
+    /**
+     * Gives up the refresh lease if {@code nodeId} holds it, so another node can take it at once.
+     */
+    CompletableFuture<Void> releaseLease(String nodeId);
+
+    /**
+     * Replaces the shared list with {@code employees}, read from the upstream at {@code loadedAt}, if
+     * {@code nodeId} still holds the refresh lease. Completes with what was published under its new generation,
+     * or with {@code null} if the lease had passed to another node.
+     */
+    CompletableFuture<SharedEmployees> publish(String nodeId, ConditionalEmployees employees, Instant loadedAt);
+
+    /**
+     * Records that the upstream confirmed the shared list unchanged at {@code loadedAt}, if {@code nodeId} still
+     * holds the refresh lease and the list is still at {@code generation}. Completes with the list under its new
+     * load time and unchanged generation, or with {@code null} if either condition failed.
+     */
+    CompletableFuture<SharedEmployees> confirm(String nodeId, long generation, Instant loadedAt);
+
+    /**
+     * Tells every subscribed node, this one included, of a write made through {@code write}'s node.
+     */
+    CompletableFuture<Void> announce(SharedWrite write);
+
+    /**
+     * Calls {@code listener} with every write announced from now on. Returns a handle that stops it.
+     */
+    Runnable subscribe(Consumer<SharedWrite> listener);
+}
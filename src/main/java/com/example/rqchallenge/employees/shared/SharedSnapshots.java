@@ -0,0 +1,135 @@
+package com.example.rqchallenge.employees.shared;
+
+import com.example.rqchallenge.employees.client.EmployeeClient;
+import com.example.rqchallenge.employees.resilience.UpstreamScheduler.Lane;
+import com.example.rqchallenge.employees.snapshot.SnapshotWriteListener;
+import com.example.rqchallenge.employees.snapshot.SnapshotWriteSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Shares the employee snapshot between the replicas of the service through a {@link SharedSnapshotStore}, so the
+ * upstream is read by one replica rather than by each of them. See {@link SharedSnapshotLoader}.
+ * <p>
+ * {@link #decorate} wraps the upstream client so it reads the list through the loader and announces the creates
+ * and deletes made through this replica. As a {@link SnapshotWriteSource} it reports those announced by the
+ * others, so every replica sees a write as soon as the one that made it. Replicas are told apart by
+ * {@code employees.shared.node-id}, a random id unless set.
+ */
+@Component
+@ConditionalOnProperty(name = "employees.shared.enabled", havingValue = "true")
+public class SharedSnapshots implements SnapshotWriteSource {
+
+    private static final Logger logger = LoggerFactory.getLogger(SharedSnapshots.class);
+
+    private final SharedSnapshotStore store;
+    private final String nodeId;
+    private final Duration leaseDuration;
+    private final Duration maxAge;
+    private final Clock clock;
+    private final List<Runnable> subscriptions = new CopyOnWriteArrayList<>();
+    private volatile SharedSnapshotLoader loader;
+
+    @Autowired
+    public SharedSnapshots(SharedSnapshotStore store,
+                           @Value("${employees.shared.node-id:}") String nodeId,
+                           @Value("${employees.shared.lease-duration:90s}") Duration leaseDuration,
+                           @Value("${employees.snapshot.ttl:30s}") Duration snapshotTtl,
+                           @Value("${employees.snapshot.max-stale:5m}") Duration snapshotMaxStale) {
+        this(store, nodeId, leaseDuration, snapshotTtl.plus(snapshotMaxStale), Clock.systemUTC());
+    }
+
+    SharedSnapshots(SharedSnapshotStore store, String nodeId, Duration leaseDuration, Duration maxAge, Clock clock) {
+        this.store = store;
+        this.nodeId = nodeId.isEmpty() ? UUID.randomUUID().toString() : nodeId;
+        this.leaseDuration = leaseDuration;
+        this.maxAge = maxAge;
+        this.clock = clock;
+        logger.info("Sharing the employee snapshot as node {}", this.nodeId);
+    }
+
+    /**
+     * Wraps {@code client} so it reads the employee list through the store and announces its writes to the other
+     * nodes. A published list is used until it is older than the snapshot TTL plus its max-stale: the leader
+     * refreshes when its own requests find its snapshot stale, which may come after the followers' do.
+     */
+    public EmployeeClient decorate(EmployeeClient client) {
+        EmployeeClient refreshClient = client.inLane(Lane.REFRESH);
+        loader = new SharedSnapshotLoader(store, nodeId, leaseDuration, maxAge,
+                refreshClient::getAllEmployeesIfModified, clock);
+        return new SharedSnapshotEmployeeClient(client, loader,
+                employee -> announce(SharedWrite.created(nodeId, employee)),
+                id -> announce(SharedWrite.deleted(nodeId, id)));
+    }
+
+    /**
+     * Calls {@code listener} with each create and delete another node announces. This node's own are skipped.
+     */
+    @Override
+    public void subscribe(SnapshotWriteListener listener) {
+        subscriptions.add(store.subscribe(write -> {
+            if (nodeId.equals(write.getNodeId())) {
+                return;
+            }
+            if (write.isCreate()) {
+                listener.created(write.getCreated());
+            } else {
+                listener.deleted(write.getDeletedId());
+            }
+        }));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        subscriptions.forEach(Runnable::run);
+        store.releaseLease(nodeId).exceptionally(failure -> {
+            logger.warn("Failed to release the snapshot refresh lease", failure);
+            return null;
+        });
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    /**
+     * Whether this node held the refresh lease at its last snapshot load.
+     */
+    public boolean isLeader() {
+        SharedSnapshotLoader current = loader;
+        return current != null && current.isLeader();
+    }
+
+    public long getUpstreamLoads() {
+        SharedSnapshotLoader current = loader;
+        return current == null ? 0 : current.getUpstreamLoads();
+    }
+
+    public long getStoreLoads() {
+        SharedSnapshotLoader current = loader;
+        return current == null ? 0 : current.getStoreLoads();
+    }
+
+    public long getStoreFailures() {
+        SharedSnapshotLoader current = loader;
+        return current == null ? 0 : current.getStoreFailures();
+    }
+
+    private void announce(SharedWrite write) {
+        store.announce(write).exceptionally(failure -> {
+            logger.warn("Failed to announce a snapshot write to the other nodes", failure);
+            return null;
+        });
+    }
+}
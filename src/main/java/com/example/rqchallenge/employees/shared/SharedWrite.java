@@ -0,0 +1,50 @@
+package com.example.rqchallenge.employees.shared;
+
+import com.example.rqchallenge.employees.model.Employee;
+
+/**
+ * A create or delete that one node made through the upstream, announced so the others can apply it to their
+ * snapshots without waiting for the next refresh.
+ */
+public final class SharedWrite {
+
+    private final String nodeId;
+    private final Employee created;
+    private final int deletedId;
+
+    private SharedWrite(String nodeId, Employee created, int deletedId) {
+        this.nodeId = nodeId;
+        this.created = created;
+        this.deletedId = deletedId;
+    }
+
+    public static SharedWrite created(String nodeId, Employee employee) {
+        return new SharedWrite(nodeId, employee, 0);
+    }
+
+    public static SharedWrite deleted(String nodeId, int id) {
+        return new SharedWrite(nodeId, null, id);
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    public boolean isCreate() {
+        return created != null;
+    }
+
+    /**
+     * The employee created, or {@code null} for a delete.
+     */
+    public Employee getCreated() {
+        return created;
+    }
+
+    /**
+     * The id of the employee deleted; meaningless for a create.
+     */
+    public int getDeletedId() {
+        return deletedId;
+    }
+}
@@ -0,0 +1,334 @@
+package com.example.rqchallenge.employees.snapshot;
+
+import com.example.rqchallenge.employees.concurrent.ParallelQueries;
+import com.example.rqchallenge.employees.index.NameIndex;
+import com.example.rqchallenge.employees.index.SalaryIndex;
+import com.example.rqchallenge.employees.model.Employee;
+import com.example.rqchallenge.employees.store.EmployeeStore;
+
+import java.time.Instant;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.Set;
+
+/**
+ * Immutable view of the employee directory as last fetched from the upstream API, plus any local writes made
+ * since.
+ * <p>
+ * Employees are held column by column in an {@link EmployeeStore} and materialized as {@link Employee} objects
+ * only when a response needs them, so the snapshot's footprint does not grow with one object per employee.
+ * Queries run against the indexes and the store's columns.
+ * <p>
+ * Local writes derive a new snapshot rather than rebuilding one: a created employee is appended as a new row
+ * and a deleted one leaves a tombstone, so existing rows keep their positions and nothing is re-sorted or
+ * re-folded. The snapshot is immutable, though, so each derivation still copies the store's columns and the
+ * indexes' arrays, in time linear in the number of rows; {@link #withWrites} takes a batch of writes for the
+ * price of one copy, and {@link EmployeeSnapshotCache} derives snapshots that way, off the writer's thread. The
+ * live rows behind {@link #getEmployees()} are only listed once something reads them. Once tombstones make up
+ * more than a quarter of the rows, the next delete compacts the snapshot with a full rebuild. A
+ * {@link SnapshotDelta} from a refresh is applied the same way, as one batch.
+ */
+public final class EmployeeSnapshot {
+
+    private static final int COMPACTION_DIVISOR = 4;
+
+    private final long version;
+    private final Instant loadedAt;
+    private final EmployeeStore store;
+    private final BitSet tombstones;
+    private final List<Employee> employees;
+    private final SalaryIndex salaryIndex;
+    private final NameIndex nameIndex;
+    private final ParallelQueries parallel;
+    private volatile Long fingerprint;
+
+    public EmployeeSnapshot(long version, Instant loadedAt, List<Employee> employees) {
+        this(version, loadedAt, employees, ParallelQueries.sequential());
+    }
+
+    /**
+     * Builds the snapshot's indexes, and those of snapshots derived from it, across {@code parallel}.
+     */
+    public EmployeeSnapshot(long version, Instant loadedAt, List<Employee> employees, ParallelQueries parallel) {
+        this(version, loadedAt, EmployeeStore.of(employees), parallel);
+    }
+
+    /**
+     * Holds the employees of {@code store} as they are, building the indexes from its columns, across
+     * {@code parallel}.
+     */
+    public EmployeeSnapshot(long version, Instant loadedAt, EmployeeStore store, ParallelQueries parallel) {
+        this.version = version;
+        this.loadedAt = loadedAt;
+        this.store = store;
+        this.tombstones = new BitSet();
+        this.employees = new Rows(store, tombstones);
+        this.salaryIndex = SalaryIndex.build(store, parallel);
+        this.nameIndex = NameIndex.build(store);
+        this.parallel = parallel;
+    }
+
+    private EmployeeSnapshot(long version, Instant loadedAt, EmployeeStore store, BitSet tombstones,
+                             SalaryIndex salaryIndex, NameIndex nameIndex, ParallelQueries parallel) {
+        this.version = version;
+        this.loadedAt = loadedAt;
+        this.parallel = parallel;
+        this.store = store;
+        this.tombstones = tombstones;
+        this.salaryIndex = salaryIndex;
+        this.nameIndex = nameIndex;
+        this.employees = new Rows(store, tombstones);
+    }
+
+    /**
+     * This snapshot plus {@code employee}, replacing any employee with the same id.
+     */
+    public EmployeeSnapshot withAdded(long newVersion, Employee employee) {
+        return withWrites(newVersion, List.of(employee), new int[0]);
+    }
+
+    /**
+     * This snapshot without the employee with the given id, or this snapshot if it holds no such employee.
+     */
+    public EmployeeSnapshot withRemoved(long newVersion, int id) {
+        return withWrites(newVersion, List.of(), new int[]{id});
+    }
+
+    /**
+     * This snapshot plus {@code created}, each replacing any employee with the same id, and then without the
+     * employees with {@code deletedIds}, derived with one copy of the columns and indexes. Returns this snapshot
+     * if nothing changes.
+     */
+    public EmployeeSnapshot withWrites(long newVersion, List<Employee> created, int[] deletedIds) {
+        Set<Integer> deleted = new HashSet<>();
+        for (int id : deletedIds) {
+            deleted.add(id);
+        }
+        Map<Integer, Employee> inserted = new LinkedHashMap<>();
+        for (Employee employee : created) {
+            if (!deleted.contains(employee.getId())) {
+                inserted.remove(employee.getId());
+                inserted.put(employee.getId(), employee);
+            }
+        }
+        Set<Integer> replacedIds = new HashSet<>(deleted);
+        replacedIds.addAll(inserted.keySet());
+        int[] removedRows = replacedIds.stream()
+                .mapToInt(store::rowOf)
+                .filter(row -> row >= 0)
+                .sorted()
+                .toArray();
+        if (removedRows.length == 0 && inserted.isEmpty()) {
+            return this;
+        }
+        return withChanges(newVersion, loadedAt, removedRows, new int[0], new Employee[0],
+                new ArrayList<>(inserted.values()));
+    }
+
+    /**
+     * This snapshot, loaded from the upstream at {@code newLoadedAt}. Shares every column and index, and the
+     * version, since no employee changed.
+     */
+    public EmployeeSnapshot withLoadedAt(Instant newLoadedAt) {
+        return new EmployeeSnapshot(version, newLoadedAt, store, tombstones, salaryIndex, nameIndex, parallel);
+    }
+
+    /**
+     * This snapshot without the employees in {@code deletedRows}, with {@code updated[i]} in {@code updatedRows[i]}
+     * and with {@code inserted} appended, loaded from the upstream at {@code newLoadedAt}.
+     */
+    EmployeeSnapshot withChanges(long newVersion, Instant newLoadedAt, int[] deletedRows, int[] updatedRows,
+                                 Employee[] updated, List<Employee> inserted) {
+        if (deletedRows.length == 0 && updatedRows.length == 0 && inserted.isEmpty()) {
+            return withLoadedAt(newLoadedAt);
+        }
+        BitSet newTombstones = tombstones;
+        int[] deletedIds = new int[deletedRows.length];
+        if (deletedRows.length > 0) {
+            newTombstones = (BitSet) tombstones.clone();
+            for (int i = 0; i < deletedRows.length; i++) {
+                newTombstones.set(deletedRows[i]);
+                deletedIds[i] = store.getId(deletedRows[i]);
+            }
+        }
+        EmployeeStore newStore = store.withoutIds(deletedIds).withReplaced(updatedRows, updated)
+                .withAppended(inserted);
+
+        int changed = deletedRows.length + updatedRows.length;
+        int[] removedRows = Arrays.copyOf(deletedRows, changed);
+        System.arraycopy(updatedRows, 0, removedRows, deletedRows.length, updatedRows.length);
+        int[] removedSalaries = new int[changed];
+        for (int i = 0; i < changed; i++) {
+            removedSalaries[i] = store.getSalary(removedRows[i]);
+        }
+        int[] addedRows = Arrays.copyOf(updatedRows, updatedRows.length + inserted.size());
+        Employee[] added = Arrays.copyOf(updated, addedRows.length);
+        for (int i = 0; i < inserted.size(); i++) {
+            addedRows[updatedRows.length + i] = store.size() + i;
+            added[updatedRows.length + i] = inserted.get(i);
+        }
+
+        EmployeeSnapshot snapshot = new EmployeeSnapshot(newVersion, newLoadedAt, newStore, newTombstones,
+                salaryIndex.withChanged(removedRows, removedSalaries, addedRows, added),
+                nameIndex.withChanged(removedRows, addedRows, added), parallel);
+        if (newTombstones.cardinality() * COMPACTION_DIVISOR > newStore.size()) {
+            return new EmployeeSnapshot(newVersion, newLoadedAt, snapshot.employees, parallel);
+        }
+        return snapshot;
+    }
+
+    /**
+     * Changes whenever the employees do, and not when an unchanged list is reloaded, so it can tag anything
+     * derived from them. Versions are only comparable within one process.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    public Instant getLoadedAt() {
+        return loadedAt;
+    }
+
+    /**
+     * A 64-bit hash of the employees, in order, computed on first use. Unlike the version it is the same in every
+     * process holding the same employees, so it can tag what replicas serve.
+     */
+    public long getFingerprint() {
+        Long computed = fingerprint;
+        if (computed == null) {
+            computed = computeFingerprint();
+            fingerprint = computed;
+        }
+        return computed;
+    }
+
+    /**
+     * Every employee in the snapshot, materialized as the list is read.
+     */
+    public List<Employee> getEmployees() {
+        return employees;
+    }
+
+    public EmployeeStore getStore() {
+        return store;
+    }
+
+    public SalaryIndex getSalaryIndex() {
+        return salaryIndex;
+    }
+
+    public NameIndex getNameIndex() {
+        return nameIndex;
+    }
+
+    /**
+     * Rows whose name contains {@code searchString}, ignoring case, in ascending row order.
+     */
+    public int[] searchNames(String searchString) {
+        return nameIndex.search(searchString, parallel);
+    }
+
+    /**
+     * Employees at the given index rows, in the order given. Index rows are stable across local writes and do
+     * not necessarily match positions in {@link #getEmployees()}.
+     */
+    public List<Employee> getEmployees(int[] rows) {
+        List<Employee> result = new ArrayList<>(rows.length);
+        for (int row : rows) {
+            result.add(store.getEmployee(row));
+        }
+        return result;
+    }
+
+    /**
+     * The first employee in the snapshot with the given id, or {@code null}.
+     */
+    public Employee getEmployee(int id) {
+        int row = store.rowOf(id);
+        return row < 0 ? null : store.getEmployee(row);
+    }
+
+    public int size() {
+        return employees.size();
+    }
+
+    /**
+     * Whether the given store row holds one of the snapshot's employees, rather than nothing or a removed one.
+     */
+    public boolean holdsRow(int row) {
+        return store.hasEmployee(row) && !tombstones.get(row);
+    }
+
+    private long computeFingerprint() {
+        long hash = size();
+        for (int row = 0; row < store.size(); row++) {
+            if (!holdsRow(row)) {
+                continue;
+            }
+            hash = mix(hash, store.getId(row));
+            hash = mix(hash, store.getSalary(row));
+            hash = mix(hash, store.getAge(row));
+            hash = mix(hash, Objects.hashCode(store.getName(row)));
+            hash = mix(hash, Objects.hashCode(store.getProfileImage(row)));
+        }
+        return hash;
+    }
+
+    private static long mix(long hash, int value) {
+        long mixed = (hash ^ value) * 0x9E3779B97F4A7C15L;
+        return mixed ^ (mixed >>> 29);
+    }
+
+    /**
+     * Read-only list over the store rows not in {@code tombstones}, in order. The rows are listed on first access
+     * by index, so deriving a snapshot does not pay for it.
+     */
+    private static final class Rows extends AbstractList<Employee> implements RandomAccess {
+
+        private final EmployeeStore store;
+        private final BitSet tombstones;
+        private final int size;
+        private volatile int[] live;
+
+        private Rows(EmployeeStore store, BitSet tombstones) {
+            this.store = store;
+            this.tombstones = tombstones;
+            this.size = store.size() - tombstones.cardinality();
+        }
+
+        @Override
+        public Employee get(int index) {
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException("Index " + index + " of " + size);
+            }
+            return store.getEmployee(tombstones.isEmpty() ? index : liveRows()[index]);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        private int[] liveRows() {
+            // Racing readers may each list the rows; they all arrive at the same array contents.
+            int[] rows = live;
+            if (rows == null) {
+                rows = new int[size];
+                int count = 0;
+                for (int row = tombstones.nextClearBit(0); row < store.size(); row = tombstones.nextClearBit(row + 1)) {
+                    rows[count++] = row;
+                }
+                live = rows;
+            }
+            return rows;
+        }
+    }
+}
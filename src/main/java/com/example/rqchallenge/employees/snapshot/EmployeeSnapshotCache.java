@@ -0,0 +1,552 @@
+package com.example.rqchallenge.employees.snapshot;
+
+import com.example.rqchallenge.employees.client.ConditionalEmployees;
+import com.example.rqchallenge.employees.concurrent.Futures;
+import com.example.rqchallenge.employees.concurrent.ParallelQueries;
+import com.example.rqchallenge.employees.model.Employee;
+import com.example.rqchallenge.employees.resilience.UpstreamFailures;
+import com.example.rqchallenge.employees.store.EmployeeStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Holds the last good {@link EmployeeSnapshot} and refreshes it with stale-while-revalidate semantics.
+ * <ul>
+ *     <li>younger than {@code ttl}: served as is</li>
+ *     <li>older than {@code ttl} but within {@code maxStale}: served as is while a background refresh runs</li>
+ *     <li>missing or older than {@code ttl + maxStale}: callers wait for a refresh</li>
+ * </ul>
+ * At most one upstream fetch is in flight at any time; every concurrent caller shares it. If a fetch fails
+ * because the upstream is {@linkplain UpstreamFailures#isUnavailable unavailable} while a snapshot loaded within
+ * {@code fallbackMaxAge} is held, callers are served that snapshot rather than the failure. Any other failure is
+ * propagated.
+ * A non-positive {@code ttl} disables caching and every call loads synchronously.
+ * <p>
+ * Successful writes are applied to the cached snapshot without a refetch. Deriving a snapshot copies its columns
+ * and indexes, so the writer only queues its write and the copy is made on {@code refreshExecutor}; writes that
+ * queue up meanwhile are folded into one batch and cost one copy between them. A read waits for the writes
+ * queued before it, so it sees them. Writes made while a refresh is in flight are replayed onto the refreshed
+ * snapshot, since the upstream may have answered before seeing them. Replaying is safe because both kinds of
+ * write are idempotent.
+ * <p>
+ * A snapshot {@linkplain #restore restored} from an earlier run is served however old it is, until the first
+ * refresh succeeds. Refresh listeners are told of every snapshot loaded from the upstream.
+ * <p>
+ * Refreshes are conditional on the validators of the last successful read, so an unchanged upstream answers
+ * without a body and the held snapshot is kept, version and all, with a new load time. A snapshot's load time is
+ * when the upstream answered, which the loader may report as earlier than the load itself. A changed list is applied
+ * to the held snapshot as a {@link SnapshotDelta} when it can be, and rebuilt from scratch otherwise.
+ */
+public class EmployeeSnapshotCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmployeeSnapshotCache.class);
+
+    private final Function<ConditionalEmployees, CompletableFuture<ConditionalEmployees>> loader;
+    private final Duration ttl;
+    private final Duration maxStale;
+    private final Duration fallbackMaxAge;
+    private final Executor refreshExecutor;
+    private final Clock clock;
+    private final ParallelQueries parallel;
+
+    private final AtomicReference<EmployeeSnapshot> current = new AtomicReference<>();
+    private final AtomicReference<CompletableFuture<EmployeeSnapshot>> inFlight = new AtomicReference<>();
+    private final AtomicReference<ConditionalEmployees> validators = new AtomicReference<>();
+    private final AtomicLong versions = new AtomicLong();
+    private final List<Consumer<EmployeeSnapshot>> refreshListeners = new CopyOnWriteArrayList<>();
+    private volatile boolean restored;
+    private WriteBatch pendingWrites = new WriteBatch();
+    private WriteBatch queuedWrites;
+    private boolean applyingWrites;
+    private volatile CompletableFuture<Void> writesApplied = CompletableFuture.completedFuture(null);
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder staleHits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder refreshes = new LongAdder();
+    private final LongAdder refreshFailures = new LongAdder();
+    private final LongAdder localWrites = new LongAdder();
+    private final LongAdder fallbacks = new LongAdder();
+    private final LongAdder notModifiedRefreshes = new LongAdder();
+    private final LongAdder deltaRefreshes = new LongAdder();
+
+    public EmployeeSnapshotCache(Supplier<CompletableFuture<List<Employee>>> loader, Duration ttl, Duration maxStale,
+                                 Executor refreshExecutor, Clock clock) {
+        this(loader, ttl, maxStale, refreshExecutor, clock, ParallelQueries.sequential());
+    }
+
+    public EmployeeSnapshotCache(Supplier<CompletableFuture<List<Employee>>> loader, Duration ttl, Duration maxStale,
+                                 Executor refreshExecutor, Clock clock, ParallelQueries parallel) {
+        this(previous -> loader.get().thenApply(employees -> ConditionalEmployees.modified(employees, null, null)),
+                ttl, maxStale, refreshExecutor, clock, parallel);
+    }
+
+    /**
+     * Falls back on a held snapshot of any age when the upstream is unavailable.
+     */
+    public EmployeeSnapshotCache(Function<ConditionalEmployees, CompletableFuture<ConditionalEmployees>> loader,
+                                 Duration ttl, Duration maxStale, Executor refreshExecutor, Clock clock,
+                                 ParallelQueries parallel) {
+        this(loader, ttl, maxStale, ChronoUnit.FOREVER.getDuration(), refreshExecutor, clock, parallel);
+    }
+
+    /**
+     * Loads employees through {@code loader}, passing it the validators of the last successful read, or
+     * {@code null} if no snapshot is held to fall back on.
+     */
+    public EmployeeSnapshotCache(Function<ConditionalEmployees, CompletableFuture<ConditionalEmployees>> loader,
+                                 Duration ttl, Duration maxStale, Duration fallbackMaxAge, Executor refreshExecutor,
+                                 Clock clock, ParallelQueries parallel) {
+        this.loader = loader;
+        this.ttl = ttl;
+        this.maxStale = maxStale;
+        this.fallbackMaxAge = fallbackMaxAge;
+        this.refreshExecutor = refreshExecutor;
+        this.clock = clock;
+        this.parallel = parallel;
+    }
+
+    public boolean isEnabled() {
+        return !ttl.isNegative() && !ttl.isZero();
+    }
+
+    public EmployeeSnapshot get() {
+        return Futures.join(getAsync());
+    }
+
+    public CompletableFuture<EmployeeSnapshot> getAsync() {
+        if (!isEnabled()) {
+            misses.increment();
+            return load(null).thenApply(result -> publish(build(null, result)));
+        }
+        CompletableFuture<Void> writes = writesApplied;
+        if (!writes.isDone()) {
+            return writes.thenCompose(applied -> getAsync());
+        }
+        EmployeeSnapshot snapshot = current.get();
+        if (snapshot == null) {
+            misses.increment();
+            return refresh(false);
+        }
+        Duration age = Duration.between(snapshot.getLoadedAt(), clock.instant());
+        if (age.compareTo(ttl) < 0) {
+            hits.increment();
+            return CompletableFuture.completedFuture(snapshot);
+        }
+        if (age.compareTo(ttl.plus(maxStale)) < 0 || restored) {
+            staleHits.increment();
+            refresh(true);
+            return CompletableFuture.completedFuture(snapshot);
+        }
+        misses.increment();
+        return refresh(false);
+    }
+
+    /**
+     * Returns the cached snapshot without triggering any upstream traffic, or {@code null} if none is held.
+     */
+    public EmployeeSnapshot peek() {
+        return current.get();
+    }
+
+    public void invalidate() {
+        current.set(null);
+    }
+
+    /**
+     * Serves {@code employees}, loaded from the upstream at {@code loadedAt} by an earlier run, until a refresh
+     * succeeds, and starts that refresh in the background. Does nothing if a snapshot is already held.
+     */
+    public void restore(List<Employee> employees, Instant loadedAt) {
+        restore(EmployeeStore.of(employees), loadedAt);
+    }
+
+    /**
+     * As {@link #restore(List, Instant)}, serving the employees of {@code store} without copying them.
+     */
+    public void restore(EmployeeStore store, Instant loadedAt) {
+        if (!isEnabled()) {
+            return;
+        }
+        EmployeeSnapshot snapshot = new EmployeeSnapshot(versions.incrementAndGet(), loadedAt, store, parallel);
+        if (!current.compareAndSet(null, snapshot)) {
+            return;
+        }
+        restored = true;
+        refresh(true);
+    }
+
+    /**
+     * Calls {@code listener} with each snapshot loaded from the upstream, on the thread that completed the load.
+     */
+    public void addRefreshListener(Consumer<EmployeeSnapshot> listener) {
+        refreshListeners.add(listener);
+    }
+
+    /**
+     * Adds an employee the upstream has just created to the cached snapshot.
+     */
+    public void recordCreated(Employee employee) {
+        write(List.of(employee), new int[0]);
+    }
+
+    /**
+     * Removes an employee the upstream has just deleted from the cached snapshot.
+     */
+    public void recordDeleted(int id) {
+        write(List.of(), new int[]{id});
+    }
+
+    /**
+     * Applies a batch of creates and deletes the upstream has just made to the cached snapshot at once, so the
+     * batch costs one copy of the snapshot rather than one per write.
+     */
+    public void recordWrites(List<Employee> created, int[] deletedIds) {
+        if (created.isEmpty() && deletedIds.length == 0) {
+            return;
+        }
+        write(created, deletedIds);
+    }
+
+    private void write(List<Employee> created, int[] deletedIds) {
+        synchronized (this) {
+            if (!isEnabled()) {
+                return;
+            }
+            if (inFlight.get() != null) {
+                pendingWrites.add(created, deletedIds);
+            }
+            if (current.get() == null) {
+                return;
+            }
+            if (queuedWrites == null) {
+                queuedWrites = new WriteBatch();
+                writesApplied = queuedWrites.applied;
+            }
+            queuedWrites.add(created, deletedIds);
+            if (applyingWrites) {
+                return;
+            }
+            applyingWrites = true;
+        }
+        try {
+            refreshExecutor.execute(this::applyQueuedWrites);
+        } catch (RejectedExecutionException e) {
+            // Shutting down: apply on this thread rather than leave readers waiting for the writes.
+            applyQueuedWrites();
+        }
+    }
+
+    /**
+     * Applies queued batches of writes, one copy of the snapshot each, until none is left.
+     */
+    private void applyQueuedWrites() {
+        while (true) {
+            WriteBatch batch;
+            synchronized (this) {
+                batch = queuedWrites;
+                queuedWrites = null;
+                if (batch == null) {
+                    applyingWrites = false;
+                    return;
+                }
+            }
+            try {
+                apply(batch);
+            } catch (RuntimeException e) {
+                logger.warn("Applying employee writes to the snapshot failed", e);
+            }
+            batch.applied.complete(null);
+        }
+    }
+
+    /**
+     * Applies {@code batch} to the held snapshot, again to the new one if a refresh publishes one meanwhile.
+     */
+    private void apply(WriteBatch batch) {
+        while (true) {
+            EmployeeSnapshot base = current.get();
+            if (base == null) {
+                return;
+            }
+            if (current.compareAndSet(base, batch.applyTo(base, versions.incrementAndGet()))) {
+                localWrites.add(batch.writes);
+                return;
+            }
+        }
+    }
+
+    public Stats getStats() {
+        EmployeeSnapshot snapshot = current.get();
+        return new Stats(hits.sum(), staleHits.sum(), misses.sum(), coalesced.sum(), refreshes.sum(),
+                refreshFailures.sum(), notModifiedRefreshes.sum(), deltaRefreshes.sum(), localWrites.sum(),
+                fallbacks.sum(), snapshot == null ? 0 : snapshot.getVersion(), snapshot == null ? 0 : snapshot.size(),
+                snapshot == null ? null : snapshot.getLoadedAt());
+    }
+
+    private CompletableFuture<EmployeeSnapshot> refresh(boolean background) {
+        CompletableFuture<EmployeeSnapshot> promise = new CompletableFuture<>();
+        CompletableFuture<EmployeeSnapshot> existing = inFlight.compareAndExchange(null, promise);
+        if (existing != null) {
+            coalesced.increment();
+            return existing;
+        }
+        Runnable task = () -> {
+            EmployeeSnapshot base = current.get();
+            load(base).thenApply(result -> build(base, result)).whenComplete((built, error) -> {
+                if (error != null) {
+                    refreshFailures.increment();
+                    logger.warn("Employee snapshot refresh failed", error);
+                    clearPendingWrites();
+                    inFlight.compareAndSet(promise, null);
+                    EmployeeSnapshot lastKnown = current.get();
+                    Throwable failure = Futures.unwrap(error);
+                    if (lastKnown != null && UpstreamFailures.isUnavailable(failure) && canFallBackTo(lastKnown)) {
+                        fallbacks.increment();
+                        promise.complete(lastKnown);
+                    } else {
+                        promise.completeExceptionally(failure);
+                    }
+                } else {
+                    EmployeeSnapshot snapshot = publish(built);
+                    restored = false;
+                    inFlight.compareAndSet(promise, null);
+                    promise.complete(snapshot);
+                    notifyRefreshListeners(snapshot);
+                }
+            });
+        };
+        if (background) {
+            refreshExecutor.execute(task);
+        } else {
+            task.run();
+        }
+        return promise;
+    }
+
+    private boolean canFallBackTo(EmployeeSnapshot snapshot) {
+        return Duration.between(snapshot.getLoadedAt(), clock.instant()).compareTo(fallbackMaxAge) <= 0;
+    }
+
+    /**
+     * Loads employees, conditionally on the last read's validators if {@code base} is held to fall back on.
+     */
+    private CompletableFuture<ConditionalEmployees> load(EmployeeSnapshot base) {
+        refreshes.increment();
+        try {
+            return loader.apply(base == null ? null : validators.get());
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * The snapshot {@code result} describes: {@code base} itself if the upstream reports no change, {@code base}
+     * with a delta applied if one fits, or a snapshot built from scratch.
+     */
+    private EmployeeSnapshot build(EmployeeSnapshot base, ConditionalEmployees result) {
+        long version = versions.incrementAndGet();
+        Instant loadedAt = result.getLoadedAt() != null ? result.getLoadedAt() : clock.instant();
+        EmployeeSnapshot snapshot;
+        if (!result.isModified()) {
+            if (base == null) {
+                throw new IllegalStateException("Upstream reported no change to a list that was never read");
+            }
+            notModifiedRefreshes.increment();
+            snapshot = base.withLoadedAt(loadedAt);
+        } else {
+            SnapshotDelta delta = base == null ? null : SnapshotDelta.between(base, result.getEmployees());
+            if (delta != null) {
+                deltaRefreshes.increment();
+                logger.debug("Applying snapshot delta: {} inserted, {} updated, {} deleted",
+                        delta.getInserted(), delta.getUpdated(), delta.getDeleted());
+                snapshot = delta.applyTo(base, version, loadedAt);
+            } else {
+                snapshot = new EmployeeSnapshot(version, loadedAt, result.getEmployees(), parallel);
+            }
+        }
+        if (isEnabled()) {
+            validators.set(result.hasValidators() ? result.validators() : null);
+        }
+        return snapshot;
+    }
+
+    private EmployeeSnapshot publish(EmployeeSnapshot snapshot) {
+        if (!isEnabled()) {
+            return snapshot;
+        }
+        synchronized (this) {
+            if (!pendingWrites.isEmpty()) {
+                snapshot = pendingWrites.applyTo(snapshot, versions.incrementAndGet());
+            }
+            pendingWrites = new WriteBatch();
+            current.set(snapshot);
+        }
+        return snapshot;
+    }
+
+    private void notifyRefreshListeners(EmployeeSnapshot snapshot) {
+        for (Consumer<EmployeeSnapshot> listener : refreshListeners) {
+            try {
+                listener.accept(snapshot);
+            } catch (RuntimeException e) {
+                logger.warn("Employee snapshot refresh listener failed", e);
+            }
+        }
+    }
+
+    private synchronized void clearPendingWrites() {
+        pendingWrites = new WriteBatch();
+    }
+
+    /**
+     * Creates and deletes in the order they were made, folded into one {@link EmployeeSnapshot#withWrites} call.
+     */
+    private static final class WriteBatch {
+
+        private final Map<Integer, Employee> created = new LinkedHashMap<>();
+        private final Set<Integer> deleted = new LinkedHashSet<>();
+        private final CompletableFuture<Void> applied = new CompletableFuture<>();
+        private int writes;
+
+        void add(List<Employee> createdEmployees, int[] deletedIds) {
+            for (Employee employee : createdEmployees) {
+                // A create replaces any employee with its id, so it supersedes an earlier delete of that id.
+                deleted.remove(employee.getId());
+                created.remove(employee.getId());
+                created.put(employee.getId(), employee);
+            }
+            for (int id : deletedIds) {
+                created.remove(id);
+                deleted.add(id);
+            }
+            writes += createdEmployees.size() + deletedIds.length;
+        }
+
+        boolean isEmpty() {
+            return writes == 0;
+        }
+
+        EmployeeSnapshot applyTo(EmployeeSnapshot snapshot, long version) {
+            return snapshot.withWrites(version, new ArrayList<>(created.values()),
+                    deleted.stream().mapToInt(Integer::intValue).toArray());
+        }
+    }
+
+    public static final class Stats {
+        private final long hits;
+        private final long staleHits;
+        private final long misses;
+        private final long coalesced;
+        private final long refreshes;
+        private final long refreshFailures;
+        private final long notModifiedRefreshes;
+        private final long deltaRefreshes;
+        private final long localWrites;
+        private final long fallbacks;
+        private final long version;
+        private final int size;
+        private final Instant loadedAt;
+
+        Stats(long hits, long staleHits, long misses, long coalesced, long refreshes, long refreshFailures,
+              long notModifiedRefreshes, long deltaRefreshes, long localWrites, long fallbacks, long version, int size,
+              Instant loadedAt) {
+            this.hits = hits;
+            this.staleHits = staleHits;
+            this.misses = misses;
+            this.coalesced = coalesced;
+            this.refreshes = refreshes;
+            this.refreshFailures = refreshFailures;
+            this.notModifiedRefreshes = notModifiedRefreshes;
+            this.deltaRefreshes = deltaRefreshes;
+            this.localWrites = localWrites;
+            this.fallbacks = fallbacks;
+            this.version = version;
+            this.size = size;
+            this.loadedAt = loadedAt;
+        }
+
+        public long getHits() {
+            return hits;
+        }
+
+        public long getStaleHits() {
+            return staleHits;
+        }
+
+        public long getMisses() {
+            return misses;
+        }
+
+        public long getCoalesced() {
+            return coalesced;
+        }
+
+        public long getRefreshes() {
+            return refreshes;
+        }
+
+        public long getRefreshFailures() {
+            return refreshFailures;
+        }
+
+        /**
+         * Refreshes the upstream answered as unchanged since the previous one.
+         */
+        public long getNotModifiedRefreshes() {
+            return notModifiedRefreshes;
+        }
+
+        /**
+         * Refreshes applied to the previous snapshot as a {@link SnapshotDelta} rather than rebuilt.
+         */
+        public long getDeltaRefreshes() {
+            return deltaRefreshes;
+        }
+
+        public long getLocalWrites() {
+            return localWrites;
+        }
+
+        /**
+         * Failed refreshes answered with the last known snapshot.
+         */
+        public long getFallbacks() {
+            return fallbacks;
+        }
+
+        public long getVersion() {
+            return version;
+        }
+
+        public int getSize() {
+            return size;
+        }
+
+        public Instant getLoadedAt() {
+            return loadedAt;
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.rqchallenge.employees.snapshot;
+
+import com.example.rqchallenge.employees.model.Employee;
+import com.example.rqchallenge.employees.store.EmployeeStore;
+import com.example.rqchallenge.employees.store.IntIntMap;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * The inserts, updates and deletes that turn a snapshot's employees into a freshly fetched list, so a refresh
+ * can patch the snapshot's store and indexes instead of rebuilding them.
+ * <p>
+ * Each fetched employee is matched to its snapshot row by id and compared with the row field by field. The
+ * snapshot applies the changes in place: updated rows keep their positions, deleted rows become tombstones and
+ * inserted employees are appended. The result therefore equals a snapshot built from the fetched list only when
+ * the list keeps the snapshot's order and adds employees at its end; {@link #between} returns {@code null} when
+ * it does not, when either side holds {@code null} entries or repeated ids, or when so much has changed that a
+ * rebuild is cheaper.
+ */
+public final class SnapshotDelta {
+
+    private static final int MIN_CHANGES = 16;
+    private static final int MAX_CHANGE_DIVISOR = 8;
+
+    private final int[] deletedRows;
+    private final int[] updatedRows;
+    private final Employee[] updated;
+    private final List<Employee> inserted;
+
+    private SnapshotDelta(int[] deletedRows, int[] updatedRows, Employee[] updated, List<Employee> inserted) {
+        this.deletedRows = deletedRows;
+        this.updatedRows = updatedRows;
+        this.updated = updated;
+        this.inserted = inserted;
+    }
+
+    /**
+     * The changes from {@code snapshot} to {@code employees}, or {@code null} if the snapshot should be rebuilt
+     * from the list instead.
+     */
+    public static SnapshotDelta between(EmployeeSnapshot snapshot, List<Employee> employees) {
+        EmployeeStore store = snapshot.getStore();
+        int size = snapshot.size();
+        // Every held employee is indexed by salary unless it is null, and found by id unless its id repeats.
+        if (snapshot.getSalaryIndex().size() != size || store.idCount() != size) {
+            return null;
+        }
+        int maxChanges = Math.max(MIN_CHANGES, Math.max(size, employees.size()) / MAX_CHANGE_DIVISOR);
+        IntIntMap fetchedIds = new IntIntMap(employees.size());
+        List<Employee> inserted = new ArrayList<>();
+        List<Employee> updated = new ArrayList<>();
+        List<Integer> updatedRows = new ArrayList<>();
+        int lastRow = -1;
+        for (Employee employee : employees) {
+            if (employee == null || fetchedIds.put(employee.getId(), 0) != IntIntMap.MISSING) {
+                return null;
+            }
+            int row = store.rowOf(employee.getId());
+            if (row < 0) {
+                inserted.add(employee);
+            } else if (row < lastRow || !inserted.isEmpty()) {
+                return null;
+            } else {
+                lastRow = row;
+                if (!matches(store, row, employee)) {
+                    updated.add(employee);
+                    updatedRows.add(row);
+                }
+            }
+            if (inserted.size() + updated.size() > maxChanges) {
+                return null;
+            }
+        }
+
+        int deletedCount = size - (employees.size() - inserted.size());
+        if (inserted.size() + updated.size() + deletedCount > maxChanges) {
+            return null;
+        }
+        int[] deletedRows = new int[deletedCount];
+        for (int row = 0, count = 0; count < deletedCount; row++) {
+            if (snapshot.holdsRow(row) && !fetchedIds.containsKey(store.getId(row))) {
+                deletedRows[count++] = row;
+            }
+        }
+        return new SnapshotDelta(deletedRows, updatedRows.stream().mapToInt(Integer::intValue).toArray(),
+                updated.toArray(new Employee[0]), inserted);
+    }
+
+    /**
+     * {@code snapshot}, which must be the one this delta was computed from, with the changes applied.
+     */
+    public EmployeeSnapshot applyTo(EmployeeSnapshot snapshot, long newVersion, Instant loadedAt) {
+        return snapshot.withChanges(newVersion, loadedAt, deletedRows, updatedRows, updated, inserted);
+    }
+
+    public int getInserted() {
+        return inserted.size();
+    }
+
+    public int getUpdated() {
+        return updated.length;
+    }
+
+    public int getDeleted() {
+        return deletedRows.length;
+    }
+
+    public boolean isEmpty() {
+        return deletedRows.length == 0 && updated.length == 0 && inserted.isEmpty();
+    }
+
+    private static boolean matches(EmployeeStore store, int row, Employee employee) {
+        return store.getSalary(row) == employee.getSalary()
+                && store.getAge(row) == employee.getAge()
+                && Objects.equals(store.getName(row), employee.getName())
+                && Objects.equals(store.getProfileImage(row), employee.getProfileImage());
+    }
+}
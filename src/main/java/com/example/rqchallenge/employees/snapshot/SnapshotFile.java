@@ -0,0 +1,219 @@
+package com.example.rqchallenge.employees.snapshot;
+
+import com.example.rqchallenge.employees.model.Employee;
+import com.example.rqchallenge.employees.store.EmployeeStore;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * Reads and writes a snapshot's employees in a compact binary file, through memory-mapped buffers.
+ * <p>
+ * The layout mirrors {@link EmployeeStore}: a header, a table of the distinct names and profile images, then
+ * one {@code int} column each for ids, salaries, ages and string table positions, and a CRC32 of everything
+ * before it. Reading decodes each distinct string once, copies the columns in bulk and hands them to an
+ * {@link EmployeeStore} as they are, so no {@link Employee} is built on the way back in.
+ * <p>
+ * Writes go to a temporary file that is moved over the target, so readers never see a partial file.
+ */
+public class SnapshotFile {
+
+    private static final int MAGIC = 0x454D5053;
+    private static final int FORMAT_VERSION = 1;
+    private static final int NULL_STRING = -1;
+    private static final int HEADER_BYTES = 4 + 4 + 8 + 4 + 4;
+    private static final int COLUMNS = 5;
+
+    private final Path path;
+
+    public SnapshotFile(Path path) {
+        this.path = path;
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    /**
+     * Replaces the file with the employees of {@code snapshot}.
+     */
+    public void write(EmployeeSnapshot snapshot) throws IOException {
+        EmployeeStore store = snapshot.getStore();
+        int count = 0;
+        int[] rows = new int[store.size()];
+        for (int row = 0; row < store.size(); row++) {
+            if (snapshot.holdsRow(row)) {
+                rows[count++] = row;
+            }
+        }
+        Map<String, Integer> positions = new HashMap<>();
+        List<byte[]> strings = new ArrayList<>();
+        int[] names = new int[count];
+        int[] profileImages = new int[count];
+        long stringBytes = 0;
+        for (int i = 0; i < count; i++) {
+            for (String value : new String[]{store.getName(rows[i]), store.getProfileImage(rows[i])}) {
+                if (value != null && !positions.containsKey(value)) {
+                    positions.put(value, strings.size());
+                    byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+                    strings.add(bytes);
+                    stringBytes += 4 + bytes.length;
+                }
+            }
+            names[i] = position(positions, store.getName(rows[i]));
+            profileImages[i] = position(positions, store.getProfileImage(rows[i]));
+        }
+        long size = HEADER_BYTES + stringBytes + (long) COLUMNS * 4 * count + 8;
+        if (size > Integer.MAX_VALUE) {
+            throw new IOException("Snapshot of " + count + " employees is too large to map: " + size + " bytes");
+        }
+
+        Path parent = path.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        Path temporary = Files.createTempFile(parent, path.getFileName().toString(), ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temporary, READ, WRITE, CREATE, TRUNCATE_EXISTING)) {
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+                buffer.putInt(MAGIC)
+                        .putInt(FORMAT_VERSION)
+                        .putLong(snapshot.getLoadedAt().toEpochMilli())
+                        .putInt(count)
+                        .putInt(strings.size());
+                for (byte[] bytes : strings) {
+                    buffer.putInt(bytes.length).put(bytes);
+                }
+                IntBuffer columns = buffer.asIntBuffer();
+                for (int i = 0; i < count; i++) {
+                    columns.put(store.getId(rows[i]));
+                }
+                for (int i = 0; i < count; i++) {
+                    columns.put(store.getSalary(rows[i]));
+                }
+                for (int i = 0; i < count; i++) {
+                    columns.put(store.getAge(rows[i]));
+                }
+                columns.put(names).put(profileImages);
+                buffer.position(buffer.position() + columns.position() * 4);
+                buffer.putLong(checksum(buffer, buffer.position()));
+                buffer.force();
+            }
+            Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    /**
+     * The employees last written, or {@code null} if there is no file.
+     *
+     * @throws IOException if the file cannot be read or is not a valid snapshot file
+     */
+    public Contents read() throws IOException {
+        try (FileChannel channel = FileChannel.open(path, READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Snapshot file is too large: " + channel.size() + " bytes");
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return read(buffer);
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (BufferUnderflowException | IndexOutOfBoundsException | IllegalArgumentException
+                 | NegativeArraySizeException e) {
+            throw new IOException("Snapshot file " + path + " is truncated or corrupt", e);
+        }
+    }
+
+    private Contents read(ByteBuffer buffer) throws IOException {
+        if (buffer.limit() < HEADER_BYTES + 8 || buffer.getInt() != MAGIC) {
+            throw new IOException(path + " is not a snapshot file");
+        }
+        int formatVersion = buffer.getInt();
+        if (formatVersion != FORMAT_VERSION) {
+            throw new IOException("Unsupported snapshot file version " + formatVersion);
+        }
+        long stored = buffer.getLong(buffer.limit() - 8);
+        if (stored != checksum(buffer, buffer.limit() - 8)) {
+            throw new IOException("Snapshot file " + path + " fails its checksum");
+        }
+        Instant loadedAt = Instant.ofEpochMilli(buffer.getLong());
+        int count = buffer.getInt();
+        String[] strings = new String[buffer.getInt()];
+        for (int i = 0; i < strings.length; i++) {
+            byte[] bytes = new byte[buffer.getInt()];
+            buffer.get(bytes);
+            strings[i] = new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        IntBuffer columns = buffer.asIntBuffer();
+        int[] ids = new int[count];
+        int[] salaries = new int[count];
+        int[] ages = new int[count];
+        int[] names = new int[count];
+        int[] profileImages = new int[count];
+        columns.get(ids).get(salaries).get(ages).get(names).get(profileImages);
+
+        String[] nameColumn = new String[count];
+        String[] profileImageColumn = new String[count];
+        for (int i = 0; i < count; i++) {
+            nameColumn[i] = string(strings, names[i]);
+            profileImageColumn[i] = string(strings, profileImages[i]);
+        }
+        return new Contents(loadedAt, EmployeeStore.of(ids, salaries, ages, nameColumn, profileImageColumn));
+    }
+
+    private static int position(Map<String, Integer> positions, String value) {
+        return value == null ? NULL_STRING : positions.get(value);
+    }
+
+    private static String string(String[] strings, int position) {
+        return position == NULL_STRING ? null : strings[position];
+    }
+
+    private static long checksum(ByteBuffer buffer, int length) {
+        CRC32 crc = new CRC32();
+        crc.update(buffer.duplicate().position(0).limit(length));
+        return crc.getValue();
+    }
+
+    /**
+     * Employees read back from the file, one store row each, and when the snapshot they came from was loaded from
+     * the upstream.
+     */
+    public static final class Contents {
+        private final Instant loadedAt;
+        private final EmployeeStore store;
+
+        Contents(Instant loadedAt, EmployeeStore store) {
+            this.loadedAt = loadedAt;
+            this.store = store;
+        }
+
+        public Instant getLoadedAt() {
+            return loadedAt;
+        }
+
+        public EmployeeStore getStore() {
+            return store;
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.rqchallenge.employees.snapshot;
+
+import com.example.rqchallenge.employees.model.Employee;
+
+/**
+ * Told of each create and delete a {@link SnapshotWriteSource} reports.
+ */
+public interface SnapshotWriteListener {
+
+    void created(Employee employee);
+
+    void deleted(int id);
+}
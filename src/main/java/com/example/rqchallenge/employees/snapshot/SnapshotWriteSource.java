@@ -0,0 +1,10 @@
+package com.example.rqchallenge.employees.snapshot;
+
+/**
+ * Reports creates and deletes made outside this service, such as through another replica, so the cached snapshot
+ * can reflect them before its next refresh.
+ */
+public interface SnapshotWriteSource {
+
+    void subscribe(SnapshotWriteListener listener);
+}
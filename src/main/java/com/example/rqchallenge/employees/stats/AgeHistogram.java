@@ -0,0 +1,46 @@
+package com.example.rqchallenge.employees.stats;
+
+import com.example.rqchallenge.employees.model.EmployeeStats;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Employee count and salary total per fixed-width age bucket, in primitive arrays. Ages outside
+ * {@code [0, MAX_AGE]} are counted in the first or last bucket.
+ */
+final class AgeHistogram {
+
+    static final int MAX_AGE = 150;
+
+    private final int width;
+    private int[] counts = new int[0];
+    private long[] salaryTotals = new long[0];
+
+    AgeHistogram(int width) {
+        this.width = width;
+    }
+
+    void add(int age, int salary) {
+        int bucket = Math.min(Math.max(age, 0), MAX_AGE) / width;
+        if (bucket >= counts.length) {
+            counts = Arrays.copyOf(counts, bucket + 1);
+            salaryTotals = Arrays.copyOf(salaryTotals, bucket + 1);
+        }
+        counts[bucket]++;
+        salaryTotals[bucket] += salary;
+    }
+
+    List<EmployeeStats.AgeBucket> buckets() {
+        List<EmployeeStats.AgeBucket> buckets = new ArrayList<>();
+        for (int bucket = 0; bucket < counts.length; bucket++) {
+            if (counts[bucket] > 0) {
+                int minAge = bucket * width;
+                buckets.add(new EmployeeStats.AgeBucket(minAge, minAge + width - 1, counts[bucket],
+                        (double) salaryTotals[bucket] / counts[bucket]));
+            }
+        }
+        return buckets;
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.rqchallenge.employees.stats;
+
+import com.example.rqchallenge.employees.index.SalaryIndex;
+import com.example.rqchallenge.employees.model.Employee;
+import com.example.rqchallenge.employees.model.EmployeeStats;
+import com.example.rqchallenge.employees.snapshot.EmployeeSnapshot;
+import com.example.rqchallenge.employees.store.EmployeeStore;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Answers a {@link StatsQuery} from a snapshot. Salary extremes, percentiles and the count above a threshold
+ * come from the presorted {@link SalaryIndex}; the mean and the age histogram take one pass over the store
+ * columns; top earners walk the salary index from the top until enough of them fall in the age range.
+ */
+public final class SnapshotStats {
+
+    private SnapshotStats() {
+    }
+
+    public static EmployeeStats compute(EmployeeSnapshot snapshot, StatsQuery query) {
+        SalaryIndex salaryIndex = snapshot.getSalaryIndex();
+        EmployeeStore store = snapshot.getStore();
+        int count = salaryIndex.size();
+
+        AgeHistogram histogram = new AgeHistogram(query.getAgeBucketWidth());
+        long salaryTotal = 0;
+        for (int row = 0; row < store.size(); row++) {
+            if (snapshot.holdsRow(row)) {
+                int salary = store.getSalary(row);
+                salaryTotal += salary;
+                histogram.add(store.getAge(row), salary);
+            }
+        }
+
+        Map<String, Integer> percentiles = new LinkedHashMap<>();
+        if (count > 0) {
+            for (double percentile : StatsQuery.PERCENTILES) {
+                percentiles.put(StatsQuery.percentileKey(percentile), salaryIndex.percentile(percentile).getAsInt());
+            }
+        }
+        Integer salaryAbove = query.getSalaryAbove();
+        Integer countAbove = null;
+        if (salaryAbove != null) {
+            countAbove = salaryAbove == Integer.MAX_VALUE
+                    ? 0 : salaryIndex.countInRange(salaryAbove + 1, Integer.MAX_VALUE);
+        }
+        return new EmployeeStats(count,
+                count == 0 ? null : salaryIndex.min().getAsInt(),
+                count == 0 ? null : salaryIndex.max().getAsInt(),
+                count == 0 ? null : (double) salaryTotal / count,
+                percentiles, histogram.buckets(), countAbove, topEarners(snapshot, query));
+    }
+
+    private static List<Employee> topEarners(EmployeeSnapshot snapshot, StatsQuery query) {
+        SalaryIndex salaryIndex = snapshot.getSalaryIndex();
+        EmployeeStore store = snapshot.getStore();
+        if (!query.hasAgeRange()) {
+            return snapshot.getEmployees(salaryIndex.topRows(query.getTop()));
+        }
+        List<Employee> topEarners = new ArrayList<>(query.getTop());
+        for (int rank = 0; rank < salaryIndex.size() && topEarners.size() < query.getTop(); rank++) {
+            int row = salaryIndex.rowAt(rank);
+            if (query.isAgeInRange(store.getAge(row))) {
+                topEarners.add(store.getEmployee(row));
+            }
+        }
+        return topEarners;
+    }
+}
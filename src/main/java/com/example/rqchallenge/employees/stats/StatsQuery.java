@@ -0,0 +1,83 @@
+package com.example.rqchallenge.employees.stats;
+
+import java.util.Objects;
+
+/**
+ * What {@code GET /employees/stats} aggregates: the width of the age buckets, an optional salary threshold to
+ * count employees above, and how many top earners to list from an optional, inclusive age range.
+ */
+public final class StatsQuery {
+
+    public static final int MAX_TOP = 1000;
+
+    static final double[] PERCENTILES = {50, 90, 95, 99};
+
+    private final int ageBucketWidth;
+    private final Integer salaryAbove;
+    private final int minAge;
+    private final int maxAge;
+    private final int top;
+
+    /**
+     * @throws IllegalArgumentException if the bucket width is not positive, {@code top} is outside
+     *                                  {@code [0, MAX_TOP]} or the age range is empty
+     */
+    public StatsQuery(int ageBucketWidth, Integer salaryAbove, Integer minAge, Integer maxAge, int top) {
+        if (ageBucketWidth < 1) {
+            throw new IllegalArgumentException("Age bucket width must be positive");
+        }
+        if (top < 0 || top > MAX_TOP) {
+            throw new IllegalArgumentException("Top must be between 0 and " + MAX_TOP);
+        }
+        this.ageBucketWidth = ageBucketWidth;
+        this.salaryAbove = salaryAbove;
+        this.minAge = minAge == null ? Integer.MIN_VALUE : minAge;
+        this.maxAge = maxAge == null ? Integer.MAX_VALUE : maxAge;
+        this.top = top;
+        if (this.minAge > this.maxAge) {
+            throw new IllegalArgumentException("Minimum age must not exceed maximum age");
+        }
+    }
+
+    public int getAgeBucketWidth() {
+        return ageBucketWidth;
+    }
+
+    public Integer getSalaryAbove() {
+        return salaryAbove;
+    }
+
+    public int getTop() {
+        return top;
+    }
+
+    public boolean isAgeInRange(int age) {
+        return age >= minAge && age <= maxAge;
+    }
+
+    boolean hasAgeRange() {
+        return minAge != Integer.MIN_VALUE || maxAge != Integer.MAX_VALUE;
+    }
+
+    static String percentileKey(double percentile) {
+        return "p" + (int) percentile;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof StatsQuery)) {
+            return false;
+        }
+        StatsQuery that = (StatsQuery) o;
+        return ageBucketWidth == that.ageBucketWidth && minAge == that.minAge && maxAge == that.maxAge
+                && top == that.top && Objects.equals(salaryAbove, that.salaryAbove);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(ageBucketWidth, salaryAbove, minAge, maxAge, top);
+    }
+}
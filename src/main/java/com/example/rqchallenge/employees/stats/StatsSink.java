@@ -0,0 +1,104 @@
+package com.example.rqchallenge.employees.stats;
+
+import com.example.rqchallenge.employees.model.Employee;
+import com.example.rqchallenge.employees.model.EmployeeStats;
+import com.example.rqchallenge.employees.stream.EmployeeSink;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Answers a {@link StatsQuery} in a single pass over streamed employees, for when there is no snapshot to
+ * answer it from. Salaries are kept in a primitive array for the percentiles, and top earners in a bounded
+ * heap. Results match {@link SnapshotStats} for the same employees.
+ */
+public class StatsSink implements EmployeeSink {
+
+    private final StatsQuery query;
+    private final AgeHistogram histogram;
+    // Worst kept entry at the head: lowest salary, and latest in stream order among equal salaries.
+    private final PriorityQueue<Entry> topEarners;
+    private int[] salaries = new int[1024];
+    private int count;
+    private long salaryTotal;
+    private int countAbove;
+
+    public StatsSink(StatsQuery query) {
+        this.query = query;
+        this.histogram = new AgeHistogram(query.getAgeBucketWidth());
+        this.topEarners = new PriorityQueue<>(Math.max(1, query.getTop()), StatsSink::compareWorstFirst);
+    }
+
+    @Override
+    public void accept(int id, String name, int salary, int age, String profileImage) {
+        long position = count;
+        if (count == salaries.length) {
+            salaries = Arrays.copyOf(salaries, count * 2);
+        }
+        salaries[count++] = salary;
+        salaryTotal += salary;
+        histogram.add(age, salary);
+        if (query.getSalaryAbove() != null && salary > query.getSalaryAbove()) {
+            countAbove++;
+        }
+        if (query.getTop() == 0 || !query.isAgeInRange(age)) {
+            return;
+        }
+        if (topEarners.size() < query.getTop()) {
+            topEarners.add(new Entry(salary, position, new Employee(id, name, salary, age, profileImage)));
+        } else if (salary > topEarners.peek().salary) {
+            topEarners.poll();
+            topEarners.add(new Entry(salary, position, new Employee(id, name, salary, age, profileImage)));
+        }
+    }
+
+    @Override
+    public boolean readsProfileImages() {
+        return true;
+    }
+
+    public EmployeeStats getStats() {
+        int[] sorted = Arrays.copyOf(salaries, count);
+        Arrays.sort(sorted);
+        Map<String, Integer> percentiles = new LinkedHashMap<>();
+        if (count > 0) {
+            for (double percentile : StatsQuery.PERCENTILES) {
+                int rank = Math.max(1, (int) Math.ceil(percentile / 100 * count));
+                percentiles.put(StatsQuery.percentileKey(percentile), sorted[rank - 1]);
+            }
+        }
+        List<Entry> entries = new ArrayList<>(topEarners);
+        entries.sort(Collections.reverseOrder(StatsSink::compareWorstFirst));
+        List<Employee> top = new ArrayList<>(entries.size());
+        for (Entry entry : entries) {
+            top.add(entry.employee);
+        }
+        return new EmployeeStats(count,
+                count == 0 ? null : sorted[0],
+                count == 0 ? null : sorted[count - 1],
+                count == 0 ? null : (double) salaryTotal / count,
+                percentiles, histogram.buckets(), query.getSalaryAbove() == null ? null : countAbove, top);
+    }
+
+    private static int compareWorstFirst(Entry left, Entry right) {
+        int bySalary = Integer.compare(left.salary, right.salary);
+        return bySalary != 0 ? bySalary : Long.compare(right.position, left.position);
+    }
+
+    private static final class Entry {
+        private final int salary;
+        private final long position;
+        private final Employee employee;
+
+        private Entry(int salary, long position, Employee employee) {
+            this.salary = salary;
+            this.position = position;
+            this.employee = employee;
+        }
+    }
+}
@@ -0,0 +1,243 @@
+package com.example.rqchallenge.employees.store;
+
+import com.example.rqchallenge.employees.model.Employee;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable, column-oriented employee table: one primitive array per numeric field and one array of string
+ * references per text field, so a million rows cost a handful of arrays rather than a million objects. Equal
+ * names and profile images share one instance, since the upstream repeats them freely.
+ * <p>
+ * Rows are addressed by position, and a row may hold no employee, mirroring a {@code null} entry in the source
+ * list. {@link #getEmployee(int)} materializes a new {@link Employee} for a row; query paths should read the
+ * columns instead. {@link #rowOf(int)} finds the first row with a given id in constant time.
+ * <p>
+ * {@link #withAppended} and {@link #withReplaced} copy the columns; {@link #withoutId} and {@link #withoutIds}
+ * copy only the id map. Each takes a batch as well as a single employee, so a batch costs one copy, and an
+ * empty batch none.
+ */
+public final class EmployeeStore {
+
+    private final int size;
+    private final int[] ids;
+    private final int[] salaries;
+    private final int[] ages;
+    private final String[] names;
+    private final String[] profileImages;
+    private final BitSet emptyRows;
+    private final IntIntMap rowsById;
+
+    private EmployeeStore(int size, int[] ids, int[] salaries, int[] ages, String[] names, String[] profileImages,
+                          BitSet emptyRows, IntIntMap rowsById) {
+        this.size = size;
+        this.ids = ids;
+        this.salaries = salaries;
+        this.ages = ages;
+        this.names = names;
+        this.profileImages = profileImages;
+        this.emptyRows = emptyRows;
+        this.rowsById = rowsById;
+    }
+
+    public static EmployeeStore of(List<Employee> employees) {
+        int size = employees.size();
+        int[] ids = new int[size];
+        int[] salaries = new int[size];
+        int[] ages = new int[size];
+        String[] names = new String[size];
+        String[] profileImages = new String[size];
+        BitSet emptyRows = new BitSet();
+        IntIntMap rowsById = new IntIntMap(size);
+        Map<String, String> dictionary = new HashMap<>();
+        for (int row = 0; row < size; row++) {
+            Employee employee = employees.get(row);
+            if (employee == null) {
+                emptyRows.set(row);
+                continue;
+            }
+            ids[row] = employee.getId();
+            salaries[row] = employee.getSalary();
+            ages[row] = employee.getAge();
+            names[row] = canonical(dictionary, employee.getName());
+            profileImages[row] = canonical(dictionary, employee.getProfileImage());
+            rowsById.putIfAbsent(employee.getId(), row);
+        }
+        return new EmployeeStore(size, ids, salaries, ages, names, profileImages, emptyRows, rowsById);
+    }
+
+    /**
+     * A store over the given columns, one row per position and none of them empty. The arrays are used as they
+     * are, not copied, so the caller must not change them afterwards; equal strings should already be one
+     * instance.
+     *
+     * @throws IllegalArgumentException if the columns differ in length
+     */
+    public static EmployeeStore of(int[] ids, int[] salaries, int[] ages, String[] names, String[] profileImages) {
+        int size = ids.length;
+        if (salaries.length != size || ages.length != size || names.length != size
+                || profileImages.length != size) {
+            throw new IllegalArgumentException("Columns differ in length");
+        }
+        IntIntMap rowsById = new IntIntMap(size);
+        for (int row = 0; row < size; row++) {
+            rowsById.putIfAbsent(ids[row], row);
+        }
+        return new EmployeeStore(size, ids, salaries, ages, names, profileImages, new BitSet(), rowsById);
+    }
+
+    /**
+     * This store plus a row for {@code employee}, which becomes the row found for its id.
+     */
+    public EmployeeStore withAppended(Employee employee) {
+        return withAppended(List.of(employee));
+    }
+
+    /**
+     * This store plus one row per employee, in order. Each becomes the row found for its id.
+     */
+    public EmployeeStore withAppended(List<Employee> employees) {
+        if (employees.isEmpty()) {
+            return this;
+        }
+        int newSize = size + employees.size();
+        int[] newIds = Arrays.copyOf(ids, newSize);
+        int[] newSalaries = Arrays.copyOf(salaries, newSize);
+        int[] newAges = Arrays.copyOf(ages, newSize);
+        String[] newNames = Arrays.copyOf(names, newSize);
+        String[] newProfileImages = Arrays.copyOf(profileImages, newSize);
+        IntIntMap newRowsById = rowsById.copy();
+        for (int i = 0; i < employees.size(); i++) {
+            Employee employee = employees.get(i);
+            int row = size + i;
+            newIds[row] = employee.getId();
+            newSalaries[row] = employee.getSalary();
+            newAges[row] = employee.getAge();
+            newNames[row] = employee.getName();
+            newProfileImages[row] = employee.getProfileImage();
+            newRowsById.put(employee.getId(), row);
+        }
+        return new EmployeeStore(newSize, newIds, newSalaries, newAges, newNames, newProfileImages, emptyRows,
+                newRowsById);
+    }
+
+    /**
+     * This store with {@code employees[i]} in {@code rows[i]}. Each employee must keep the id of the row it
+     * replaces, so the id map is shared.
+     */
+    public EmployeeStore withReplaced(int[] rows, Employee[] employees) {
+        if (rows.length == 0) {
+            return this;
+        }
+        int[] newSalaries = salaries.clone();
+        int[] newAges = ages.clone();
+        String[] newNames = names.clone();
+        String[] newProfileImages = profileImages.clone();
+        for (int i = 0; i < rows.length; i++) {
+            int row = rows[i];
+            Employee employee = employees[i];
+            if (emptyRows.get(row) || ids[row] != employee.getId()) {
+                throw new IllegalArgumentException("Row " + row + " does not hold employee " + employee.getId());
+            }
+            newSalaries[row] = employee.getSalary();
+            newAges[row] = employee.getAge();
+            newNames[row] = employee.getName();
+            newProfileImages[row] = employee.getProfileImage();
+        }
+        return new EmployeeStore(size, ids, newSalaries, newAges, newNames, newProfileImages, emptyRows, rowsById);
+    }
+
+    /**
+     * This store with {@code id} no longer found by {@link #rowOf(int)}. Rows are left as they are.
+     */
+    public EmployeeStore withoutId(int id) {
+        if (!rowsById.containsKey(id)) {
+            return this;
+        }
+        return withoutIds(new int[]{id});
+    }
+
+    /**
+     * This store with none of {@code ids} found by {@link #rowOf(int)}. Rows are left as they are.
+     */
+    public EmployeeStore withoutIds(int[] removedIds) {
+        if (removedIds.length == 0) {
+            return this;
+        }
+        IntIntMap newRowsById = rowsById.copy();
+        for (int id : removedIds) {
+            newRowsById.remove(id);
+        }
+        return new EmployeeStore(size, ids, salaries, ages, names, profileImages, emptyRows, newRowsById);
+    }
+
+    /**
+     * Number of rows, including rows that hold no employee.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Number of distinct ids found by {@link #rowOf(int)}.
+     */
+    public int idCount() {
+        return rowsById.size();
+    }
+
+    public boolean hasEmployee(int row) {
+        return !emptyRows.get(row);
+    }
+
+    /**
+     * The row holding the employee with the given id, or {@link IntIntMap#MISSING}.
+     */
+    public int rowOf(int id) {
+        return rowsById.get(id);
+    }
+
+    public int getId(int row) {
+        return ids[row];
+    }
+
+    public int getSalary(int row) {
+        return salaries[row];
+    }
+
+    public int getAge(int row) {
+        return ages[row];
+    }
+
+    public String getName(int row) {
+        return names[row];
+    }
+
+    public String getProfileImage(int row) {
+        return profileImages[row];
+    }
+
+    /**
+     * A new {@link Employee} holding the given row, or {@code null} if the row holds no employee.
+     */
+    public Employee getEmployee(int row) {
+        if (row >= size) {
+            throw new IndexOutOfBoundsException("Row " + row + " of " + size);
+        }
+        if (emptyRows.get(row)) {
+            return null;
+        }
+        return new Employee(ids[row], names[row], salaries[row], ages[row], profileImages[row]);
+    }
+
+    private static String canonical(Map<String, String> dictionary, String value) {
+        if (value == null) {
+            return null;
+        }
+        String existing = dictionary.putIfAbsent(value, value);
+        return existing == null ? value : existing;
+    }
+}
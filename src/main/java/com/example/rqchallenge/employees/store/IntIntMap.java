@@ -0,0 +1,159 @@
+package com.example.rqchallenge.employees.store;
+
+/**
+ * Hash map from {@code int} keys to non-negative {@code int} values, with no boxing.
+ * <p>
+ * Open addressing with linear probing over a power-of-two table kept at most half full. Removal shifts later
+ * entries of the probe sequence back instead of leaving tombstones, so lookups stay short however many keys
+ * have been removed. Not thread-safe; {@link #copy()} it before changing a map other threads read.
+ */
+public final class IntIntMap {
+
+    public static final int MISSING = -1;
+
+    private static final int MIN_CAPACITY = 16;
+    private static final int MAX_CAPACITY = 1 << 30;
+
+    private int[] keys;
+    // Each value is stored plus one, so that zero marks a free slot and keys need no sentinel.
+    private int[] values;
+    private int size;
+
+    public IntIntMap(int expectedSize) {
+        int capacity = capacityFor(expectedSize);
+        this.keys = new int[capacity];
+        this.values = new int[capacity];
+    }
+
+    private IntIntMap(int[] keys, int[] values, int size) {
+        this.keys = keys;
+        this.values = values;
+        this.size = size;
+    }
+
+    /**
+     * The value mapped to {@code key}, or {@link #MISSING}.
+     */
+    public int get(int key) {
+        int mask = keys.length - 1;
+        for (int slot = mix(key) & mask; values[slot] != 0; slot = (slot + 1) & mask) {
+            if (keys[slot] == key) {
+                return values[slot] - 1;
+            }
+        }
+        return MISSING;
+    }
+
+    public boolean containsKey(int key) {
+        return get(key) != MISSING;
+    }
+
+    /**
+     * Maps {@code key} to {@code value} and returns the previous value, or {@link #MISSING}.
+     */
+    public int put(int key, int value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("Value must not be negative: " + value);
+        }
+        int mask = keys.length - 1;
+        int slot = mix(key) & mask;
+        for (; values[slot] != 0; slot = (slot + 1) & mask) {
+            if (keys[slot] == key) {
+                int previous = values[slot] - 1;
+                values[slot] = value + 1;
+                return previous;
+            }
+        }
+        keys[slot] = key;
+        values[slot] = value + 1;
+        if (++size > keys.length / 2) {
+            resize();
+        }
+        return MISSING;
+    }
+
+    /**
+     * Maps {@code key} to {@code value} unless it is already mapped, and returns the value now mapped.
+     */
+    public int putIfAbsent(int key, int value) {
+        int existing = get(key);
+        if (existing != MISSING) {
+            return existing;
+        }
+        put(key, value);
+        return value;
+    }
+
+    /**
+     * Removes {@code key} and returns the value it was mapped to, or {@link #MISSING}.
+     */
+    public int remove(int key) {
+        int mask = keys.length - 1;
+        int slot = mix(key) & mask;
+        while (values[slot] != 0 && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        if (values[slot] == 0) {
+            return MISSING;
+        }
+        int removed = values[slot] - 1;
+        int free = slot;
+        for (int next = (free + 1) & mask; values[next] != 0; next = (next + 1) & mask) {
+            // An entry may fill the free slot only if the slot lies on its probe path, between its home and it.
+            int home = mix(keys[next]) & mask;
+            if (((next - home) & mask) >= ((next - free) & mask)) {
+                keys[free] = keys[next];
+                values[free] = values[next];
+                free = next;
+            }
+        }
+        values[free] = 0;
+        size--;
+        return removed;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public IntIntMap copy() {
+        return new IntIntMap(keys.clone(), values.clone(), size);
+    }
+
+    private void resize() {
+        if (keys.length == MAX_CAPACITY) {
+            throw new IllegalStateException("IntIntMap is full");
+        }
+        int[] oldKeys = keys;
+        int[] oldValues = values;
+        keys = new int[oldKeys.length * 2];
+        values = new int[oldValues.length * 2];
+        int mask = keys.length - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldValues[i] != 0) {
+                int slot = mix(oldKeys[i]) & mask;
+                while (values[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    private static int capacityFor(int expectedSize) {
+        int capacity = MIN_CAPACITY;
+        while (capacity < MAX_CAPACITY && capacity / 2 < expectedSize) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+
+    /**
+     * Spreads sequential ids, the common case, across the table.
+     */
+    private static int mix(int key) {
+        int hash = key * 0x9E3779B9;
+        return hash ^ (hash >>> 16);
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.rqchallenge.employees.stream;
+
+import com.example.rqchallenge.employees.model.Employee;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Collects every streamed employee, profile image included.
+ */
+public class EmployeeListSink implements EmployeeSink {
+
+    private final List<Employee> employees = new ArrayList<>();
+
+    @Override
+    public void accept(int id, String name, int salary, int age, String profileImage) {
+        employees.add(new Employee(id, name, salary, age, profileImage));
+    }
+
+    @Override
+    public boolean readsProfileImages() {
+        return true;
+    }
+
+    public List<Employee> getEmployees() {
+        return employees;
+    }
+}
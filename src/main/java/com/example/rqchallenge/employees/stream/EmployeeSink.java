@@ -0,0 +1,25 @@
+package com.example.rqchallenge.employees.stream;
+
+/**
+ * Receives employees one at a time as {@link EmployeeStreamReader} parses them, so that consumers can
+ * aggregate or filter without the full list ever being materialized.
+ */
+@FunctionalInterface
+public interface EmployeeSink {
+
+    void accept(int id, String name, int salary, int age, String profileImage);
+
+    /**
+     * Whether names are needed; when not, the reader skips them without decoding.
+     */
+    default boolean readsNames() {
+        return true;
+    }
+
+    /**
+     * Whether profile images are needed; when not, the reader skips them without decoding.
+     */
+    default boolean readsProfileImages() {
+        return false;
+    }
+}
@@ -0,0 +1,142 @@
+package com.example.rqchallenge.employees.stream;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Pull-parses an upstream {@code {"status": ..., "data": [...]}} employee list and hands every element of
+ * {@code data} to an {@link EmployeeSink} as soon as it has been read. Unknown fields, and fields the sink
+ * does not need, are skipped without being decoded. Numeric fields are accepted as JSON numbers or numeric
+ * strings, and a {@code null} one reads as zero; any other value fails the read, as it does when the payload is
+ * bound with an {@code ObjectMapper}. {@code null} elements are skipped.
+ */
+public class EmployeeStreamReader {
+
+    private final JsonFactory jsonFactory;
+
+    public EmployeeStreamReader(JsonFactory jsonFactory) {
+        this.jsonFactory = jsonFactory;
+    }
+
+    public EmployeeStreamReader() {
+        this(new JsonFactory());
+    }
+
+    /**
+     * Streams the payload into {@code sink} and returns the top-level {@code status}, or {@code null} if absent.
+     * Elements are delivered before the status is known, so a sink must discard what it received when the
+     * returned status is not a success.
+     */
+    public String read(InputStream body, EmployeeSink sink) throws IOException {
+        try (JsonParser parser = jsonFactory.createParser(body)) {
+            return read(parser, sink);
+        }
+    }
+
+    public String read(byte[] body, EmployeeSink sink) throws IOException {
+        try (JsonParser parser = jsonFactory.createParser(body)) {
+            return read(parser, sink);
+        }
+    }
+
+    private String read(JsonParser parser, EmployeeSink sink) throws IOException {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            throw new IOException("Expected an employee list object");
+        }
+        String status = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            JsonToken value = parser.nextToken();
+            if ("status".equals(field)) {
+                status = value == JsonToken.VALUE_NULL ? null : parser.getText();
+            } else if ("data".equals(field) && value == JsonToken.START_ARRAY) {
+                readEmployees(parser, sink);
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return status;
+    }
+
+    private static void readEmployees(JsonParser parser, EmployeeSink sink) throws IOException {
+        boolean readsNames = sink.readsNames();
+        boolean readsProfileImages = sink.readsProfileImages();
+        JsonToken token;
+        while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+            if (token != JsonToken.START_OBJECT) {
+                parser.skipChildren();
+                continue;
+            }
+            int id = 0;
+            int salary = 0;
+            int age = 0;
+            String name = null;
+            String profileImage = null;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.getCurrentName();
+                JsonToken value = parser.nextToken();
+                switch (field) {
+                    case "id":
+                        id = readInt(parser, value, field);
+                        break;
+                    case "employee_salary":
+                        salary = readInt(parser, value, field);
+                        break;
+                    case "employee_age":
+                        age = readInt(parser, value, field);
+                        break;
+                    case "employee_name":
+                        name = readText(parser, value, readsNames);
+                        break;
+                    case "profile_image":
+                        profileImage = readText(parser, value, readsProfileImages);
+                        break;
+                    default:
+                        parser.skipChildren();
+                }
+            }
+            sink.accept(id, name, salary, age, profileImage);
+        }
+    }
+
+    private static String readText(JsonParser parser, JsonToken value, boolean wanted) throws IOException {
+        if (value.isStructStart()) {
+            parser.skipChildren();
+            return null;
+        }
+        return wanted && value != JsonToken.VALUE_NULL ? parser.getText() : null;
+    }
+
+    /**
+     * Reads an integer field the way the data binding did: fractional numbers are truncated, numeric strings are
+     * parsed, and an empty string or {@code null} reads as zero. Overflows, other strings, booleans and nested
+     * values fail the read instead of being counted as zero.
+     */
+    private static int readInt(JsonParser parser, JsonToken value, String field) throws IOException {
+        switch (value) {
+            case VALUE_NUMBER_INT:
+            case VALUE_NUMBER_FLOAT:
+                return parser.getIntValue();
+            case VALUE_NULL:
+                return 0;
+            case VALUE_STRING:
+                String text = parser.getText().trim();
+                if (text.isEmpty()) {
+                    return 0;
+                }
+                try {
+                    return Integer.parseInt(text);
+                } catch (NumberFormatException e) {
+                    throw new JsonParseException(parser,
+                            "Expected an integer " + field + " but got \"" + text + "\"", e);
+                }
+            default:
+                throw new JsonParseException(parser, "Expected an integer " + field + " but got " + value);
+        }
+    }
+}
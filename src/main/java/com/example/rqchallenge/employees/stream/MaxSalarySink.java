@@ -0,0 +1,27 @@
+package com.example.rqchallenge.employees.stream;
+
+import java.util.OptionalInt;
+
+/**
+ * Tracks the highest streamed salary in constant space.
+ */
+public class MaxSalarySink implements EmployeeSink {
+
+    private int max = Integer.MIN_VALUE;
+    private boolean empty = true;
+
+    @Override
+    public void accept(int id, String name, int salary, int age, String profileImage) {
+        max = Math.max(max, salary);
+        empty = false;
+    }
+
+    @Override
+    public boolean readsNames() {
+        return false;
+    }
+
+    public OptionalInt getMax() {
+        return empty ? OptionalInt.empty() : OptionalInt.of(max);
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.rqchallenge.employees.stream;
+
+import com.example.rqchallenge.employees.model.Employee;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Keeps only the streamed employees whose name contains the search string, ignoring case.
+ */
+public class NameSearchSink implements EmployeeSink {
+
+    private final String foldedSearchString;
+    private final List<Employee> matches = new ArrayList<>();
+
+    public NameSearchSink(String searchString) {
+        this.foldedSearchString = searchString.toLowerCase();
+    }
+
+    @Override
+    public void accept(int id, String name, int salary, int age, String profileImage) {
+        if (name != null && name.toLowerCase().contains(foldedSearchString)) {
+            matches.add(new Employee(id, name, salary, age, profileImage));
+        }
+    }
+
+    @Override
+    public boolean readsProfileImages() {
+        return true;
+    }
+
+    public List<Employee> getMatches() {
+        return matches;
+    }
+}
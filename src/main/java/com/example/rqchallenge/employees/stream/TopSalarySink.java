@@ -0,0 +1,70 @@
+package com.example.rqchallenge.employees.stream;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Keeps the names of the {@code n} highest streamed salaries in a bounded heap, in {@code O(n)} space.
+ * Equal salaries are ranked in stream order, the same as a stable sort of the full list.
+ */
+public class TopSalarySink implements EmployeeSink {
+
+    private final int n;
+    // Worst kept entry at the head: lowest salary, and latest in stream order among equal salaries.
+    private final PriorityQueue<Entry> heap;
+    private long sequence;
+
+    public TopSalarySink(int n) {
+        if (n < 0) {
+            throw new IllegalArgumentException("n must not be negative");
+        }
+        this.n = n;
+        this.heap = new PriorityQueue<>(Math.max(1, Math.min(n, 1024)), TopSalarySink::compareWorstFirst);
+    }
+
+    @Override
+    public void accept(int id, String name, int salary, int age, String profileImage) {
+        long position = sequence++;
+        if (n == 0) {
+            return;
+        }
+        if (heap.size() < n) {
+            heap.add(new Entry(salary, position, name));
+        } else if (salary > heap.peek().salary) {
+            heap.poll();
+            heap.add(new Entry(salary, position, name));
+        }
+    }
+
+    /**
+     * Names of the kept employees, highest salary first.
+     */
+    public List<String> getNames() {
+        List<Entry> entries = new ArrayList<>(heap);
+        entries.sort(Collections.reverseOrder(TopSalarySink::compareWorstFirst));
+        List<String> names = new ArrayList<>(entries.size());
+        for (Entry entry : entries) {
+            names.add(entry.name);
+        }
+        return names;
+    }
+
+    private static int compareWorstFirst(Entry left, Entry right) {
+        int bySalary = Integer.compare(left.salary, right.salary);
+        return bySalary != 0 ? bySalary : Long.compare(right.position, left.position);
+    }
+
+    private static final class Entry {
+        private final int salary;
+        private final long position;
+        private final String name;
+
+        private Entry(int salary, long position, String name) {
+            this.salary = salary;
+            this.position = position;
+            this.name = name;
+        }
+    }
+}
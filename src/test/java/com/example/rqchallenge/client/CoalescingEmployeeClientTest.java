@@ -0,0 +1,151 @@
+package com.example.rqchallenge.client;
+
+import com.example.rqchallenge.employees.client.CoalescingEmployeeClient;
+import com.example.rqchallenge.employees.client.ConditionalEmployees;
+import com.example.rqchallenge.employees.client.EmployeeClient;
+import com.example.rqchallenge.employees.model.Employee;
+import com.example.rqchallenge.employees.resilience.UpstreamScheduler.Lane;
+import com.example.rqchallenge.employees.stream.EmployeeSink;
+import com.example.rqchallenge.employees.stream.MaxSalarySink;
+import com.example.rqchallenge.employees.stream.NameSearchSink;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CoalescingEmployeeClientTest {
+
+    private static final List<Employee> EMPLOYEES = List.of(new Employee(1, "Tiger Nixon", 320800, 61));
+
+    private final PendingUpstream upstream = new PendingUpstream();
+    private final CoalescingEmployeeClient client = new CoalescingEmployeeClient(upstream);
+
+    @Test
+    void concurrentListReadsShareOneUpstreamCall() {
+        CompletableFuture<List<Employee>> first = client.getAllEmployees();
+        CompletableFuture<ConditionalEmployees> second = client.getAllEmployeesIfModified(null);
+        CompletableFuture<List<Employee>> third = client.getAllEmployees();
+        upstream.list.complete(ConditionalEmployees.modified(EMPLOYEES, "\"v1\"", null));
+
+        assertEquals(EMPLOYEES, first.join());
+        assertEquals("\"v1\"", second.join().getEtag());
+        assertEquals(EMPLOYEES, third.join());
+        assertEquals(1, upstream.listReads.get());
+        assertEquals(2, client.getStats().get("employees").getShared());
+    }
+
+    @Test
+    void concurrentStreamedReadsShareOneUpstreamCall() {
+        MaxSalarySink highest = new MaxSalarySink();
+        NameSearchSink search = new NameSearchSink("tiger");
+
+        CompletableFuture<Void> first = client.streamAllEmployees(highest);
+        CompletableFuture<Void> second = client.streamAllEmployees(search);
+        CompletableFuture<List<Employee>> list = client.getAllEmployees();
+        upstream.list.complete(ConditionalEmployees.modified(EMPLOYEES, null, null));
+        CompletableFuture.allOf(first, second, list).join();
+
+        assertEquals(320800, highest.getMax().orElse(0));
+        assertEquals(EMPLOYEES, search.getMatches());
+        assertEquals(1, upstream.listReads.get());
+    }
+
+    @Test
+    void readsAreOnlySharedWithinALane() {
+        EmployeeClient bulk = client.inLane(Lane.BULK);
+
+        CompletableFuture<Employee> interactive = client.getEmployeeById("1");
+        CompletableFuture<Employee> queued = bulk.getEmployeeById("1");
+        bulk.getEmployeeById("1");
+        client.getAllEmployees();
+        bulk.getAllEmployees();
+
+        assertNotSame(interactive, queued);
+        assertEquals(List.of(Lane.INTERACTIVE, Lane.BULK), upstream.byIdLanes);
+        assertEquals(2, upstream.listReads.get());
+        assertEquals(1, client.getStats().get("bulk:employee/1").getShared());
+    }
+
+    @Test
+    void conditionalRefreshesAreNotShared() {
+        ConditionalEmployees previous = ConditionalEmployees.modified(EMPLOYEES, "\"v1\"", null);
+
+        client.getAllEmployeesIfModified(previous);
+        client.getAllEmployeesIfModified(previous);
+
+        assertEquals(2, upstream.listReads.get());
+    }
+
+    /**
+     * Answers every list read with one future the test completes, and counts the reads. Views in other lanes
+     * share the future and the counts.
+     */
+    private static final class PendingUpstream implements EmployeeClient {
+
+        private final CompletableFuture<ConditionalEmployees> list;
+        private final AtomicInteger listReads;
+        private final List<Lane> byIdLanes;
+        private final Lane lane;
+
+        PendingUpstream() {
+            this(new CompletableFuture<>(), new AtomicInteger(), new CopyOnWriteArrayList<>(), Lane.INTERACTIVE);
+        }
+
+        private PendingUpstream(CompletableFuture<ConditionalEmployees> list, AtomicInteger listReads,
+                                List<Lane> byIdLanes, Lane lane) {
+            this.list = list;
+            this.listReads = listReads;
+            this.byIdLanes = byIdLanes;
+            this.lane = lane;
+        }
+
+        @Override
+        public EmployeeClient inLane(Lane lane) {
+            return lane == this.lane ? this : new PendingUpstream(list, listReads, byIdLanes, lane);
+        }
+
+        @Override
+        public CompletableFuture<Void> streamAllEmployees(EmployeeSink sink) {
+            return getAllEmployees().thenAccept(employees -> employees.forEach(employee -> sink.accept(
+                    employee.getId(), employee.getName(), employee.getSalary(), employee.getAge(),
+                    employee.getProfileImage())));
+        }
+
+        @Override
+        public CompletableFuture<List<Employee>> getAllEmployees() {
+            return getAllEmployeesIfModified(null).thenApply(ConditionalEmployees::getEmployees);
+        }
+
+        @Override
+        public CompletableFuture<ConditionalEmployees> getAllEmployeesIfModified(ConditionalEmployees previous) {
+            listReads.incrementAndGet();
+            return list;
+        }
+
+        @Override
+        public CompletableFuture<Employee> getEmployeeById(String id) {
+            byIdLanes.add(lane);
+            return new CompletableFuture<>();
+        }
+
+        @Override
+        public CompletableFuture<Employee> createEmployee(Map<String, Object> employeeInput) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public CompletableFuture<Void> deleteEmployee(String id) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public CompletableFuture<String> deleteEmployeeAndReturnStatus(String id) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.rqchallenge.client;
+
+import com.example.rqchallenge.employees.client.ConditionalEmployees;
+import com.example.rqchallenge.employees.client.HttpClientEmployeeClient;
+import com.example.rqchallenge.employees.model.Employee;
+import com.example.rqchallenge.support.StubUpstreamServer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.junit.jupiter.api.Assertions.*;
+
+class HttpClientEmployeeClientTest {
+
+    private final List<Employee> employees = List.of(
+            new Employee(1, "Tiger Nixon", 320800, 61),
+            new Employee(2, "Garrett Winters", 170750, 63));
+
+    private StubUpstreamServer upstream;
+    private ExecutorService executor;
+    private HttpClientEmployeeClient client;
+
+    @BeforeEach
+    void setUp() {
+        upstream = new StubUpstreamServer(employees);
+        executor = Executors.newFixedThreadPool(2);
+        HttpClient httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(executor)
+                .build();
+        client = new HttpClientEmployeeClient(httpClient, new ObjectMapper(), upstream.getBaseUrl(), Duration.ofSeconds(10));
+    }
+
+    @AfterEach
+    void tearDown() {
+        upstream.close();
+        executor.shutdownNow();
+    }
+
+    @Test
+    void getAllEmployees() {
+        List<Employee> result = client.getAllEmployees().join();
+
+        assertEquals(2, result.size());
+        assertEquals("Garrett Winters", result.get(1).getName());
+    }
+
+    @Test
+    void conditionalReadIsAnsweredWithoutBodyWhileEtagMatches() {
+        upstream.setEtag("\"v1\"");
+
+        ConditionalEmployees first = client.getAllEmployeesIfModified(null).join();
+        ConditionalEmployees second = client.getAllEmployeesIfModified(first).join();
+        upstream.setEtag("\"v2\"");
+        ConditionalEmployees third = client.getAllEmployeesIfModified(second).join();
+
+        assertTrue(first.isModified());
+        assertEquals("\"v1\"", first.getEtag());
+        assertEquals(2, first.getEmployees().size());
+        assertFalse(second.isModified());
+        assertEquals("\"v1\"", second.getEtag());
+        assertTrue(third.isModified());
+        assertEquals("\"v2\"", third.getEtag());
+        assertEquals(3, upstream.getRequestCount("employees"));
+    }
+
+    @Test
+    void getEmployeeById() {
+        assertEquals("Tiger Nixon", client.getEmployeeById("1").join().getName());
+    }
+
+    @Test
+    void getEmployeeByIdNotFound() {
+        Exception exception = assertThrows(Exception.class, () -> client.getEmployeeById("99").join());
+        assertEquals("Error fetching employee by id", exception.getCause().getMessage());
+    }
+
+    @Test
+    void createEmployee() {
+        Employee employee = client.createEmployee(Map.of("name", "John Doe", "salary", 50000, "age", 30)).join();
+
+        assertEquals("John Doe", employee.getName());
+        assertEquals(3, employee.getId());
+    }
+
+    @Test
+    void deleteEmployeeAndReturnStatus() {
+        assertEquals("success", client.deleteEmployeeAndReturnStatus("1").join());
+    }
+
+    @Test
+    void inFlightRequestsAreNotBoundByClientThreads() throws Exception {
+        upstream.setLatency(Duration.ofMillis(200));
+        int requests = 100;
+
+        long start = System.nanoTime();
+        List<CompletableFuture<Employee>> futures = new ArrayList<>();
+        for (int i = 0; i < requests; i++) {
+            futures.add(client.getEmployeeById("1"));
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get(10, SECONDS);
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+        // Two client threads doing blocking calls would need 100 * 200ms / 2 = 10s.
+        assertTrue(elapsed.compareTo(Duration.ofSeconds(5)) < 0, "took " + elapsed);
+        assertTrue(upstream.getPeakInFlight() > 2, "peak in flight " + upstream.getPeakInFlight());
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.rqchallenge.client;
+
+import com.example.rqchallenge.employees.client.HttpClientEmployeeClient;
+import com.example.rqchallenge.employees.client.InstrumentedEmployeeClient;
+import com.example.rqchallenge.employees.model.Employee;
+import com.example.rqchallenge.support.StubUpstreamServer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+
+import static com.example.rqchallenge.employees.client.InstrumentedEmployeeClient.METRIC;
+import static org.junit.jupiter.api.Assertions.*;
+
+class InstrumentedEmployeeClientTest {
+
+    private final List<Employee> employees = List.of(
+            new Employee(1, "Tiger Nixon", 320800, 61),
+            new Employee(2, "Garrett Winters", 170750, 63));
+
+    private StubUpstreamServer upstream;
+    private SimpleMeterRegistry registry;
+    private InstrumentedEmployeeClient client;
+
+    @BeforeEach
+    void setUp() {
+        upstream = new StubUpstreamServer(employees);
+        registry = new SimpleMeterRegistry();
+        HttpClient httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        client = new InstrumentedEmployeeClient(new HttpClientEmployeeClient(httpClient, new ObjectMapper(),
+                upstream.getBaseUrl(), Duration.ofSeconds(10)), registry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        upstream.close();
+    }
+
+    @Test
+    void timesSuccessfulCallsByUrlTemplate() {
+        client.getAllEmployees().join();
+        client.getEmployeeById("1").join();
+        client.getEmployeeById("2").join();
+
+        assertEquals(1, timer("GET", "/employees", "2xx").count());
+        Timer byId = timer("GET", "/employee/{id}", "2xx");
+        assertEquals(2, byId.count());
+        assertEquals("SUCCESS", byId.getId().getTag("outcome"));
+        assertEquals("none", byId.getId().getTag("exception"));
+    }
+
+    @Test
+    void tagsFailuresWithStatusAndOutcome() {
+        assertThrows(CompletionException.class, () -> client.getEmployeeById("99").join());
+        upstream.failNext(1, 503, Map.of());
+        assertThrows(CompletionException.class, () -> client.getAllEmployees().join());
+
+        Timer notFound = timer("GET", "/employee/{id}", "404");
+        assertEquals(1, notFound.count());
+        assertEquals("CLIENT_ERROR", notFound.getId().getTag("outcome"));
+        assertNotEquals("none", notFound.getId().getTag("exception"));
+        assertEquals("SERVER_ERROR", timer("GET", "/employees", "503").getId().getTag("outcome"));
+    }
+
+    @Test
+    void neverTagsRawIds() {
+        client.getEmployeeById("1").join();
+        assertThrows(CompletionException.class, () -> client.getEmployeeById("99").join());
+        client.deleteEmployee("2").join();
+
+        for (Meter meter : registry.getMeters()) {
+            String uri = meter.getId().getTag("uri");
+            assertFalse(uri.contains("1") || uri.contains("2") || uri.contains("99"), uri);
+        }
+        assertEquals(1, timer("DELETE", "/delete/{id}", "2xx").count());
+    }
+
+    private Timer timer(String method, String uri, String status) {
+        return registry.get(METRIC).tags("method", method, "uri", uri, "status", status).timer();
+    }
+}
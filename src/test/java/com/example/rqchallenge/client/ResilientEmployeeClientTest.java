@@ -0,0 +1,162 @@
+package com.example.rqchallenge.client;
+
+import com.example.rqchallenge.employees.client.HttpClientEmployeeClient;
+import com.example.rqchallenge.employees.client.ResilientEmployeeClient;
+import com.example.rqchallenge.employees.model.Employee;
+import com.example.rqchallenge.employees.resilience.Bulkhead;
+import com.example.rqchallenge.employees.resilience.CallNotPermittedException;
+import com.example.rqchallenge.employees.resilience.CircuitBreaker;
+import com.example.rqchallenge.employees.resilience.RetryPolicy;
+import com.example.rqchallenge.employees.resilience.UpstreamScheduler;
+import com.example.rqchallenge.employees.resilience.UpstreamScheduler.Lane;
+import com.example.rqchallenge.support.StubUpstreamServer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.HttpServerErrorException;
+
+import java.net.http.HttpClient;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResilientEmployeeClientTest {
+
+    private final List<Employee> employees = List.of(
+            new Employee(1, "Tiger Nixon", 320800, 61),
+            new Employee(2, "Garrett Winters", 170750, 63));
+
+    private StubUpstreamServer upstream;
+    private ExecutorService retryExecutor;
+    private HttpClientEmployeeClient upstreamClient;
+
+    @BeforeEach
+    void setUp() {
+        upstream = new StubUpstreamServer(employees);
+        retryExecutor = Executors.newCachedThreadPool();
+        HttpClient httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        upstreamClient = new HttpClientEmployeeClient(httpClient, new ObjectMapper(), upstream.getBaseUrl(), Duration.ofSeconds(10));
+    }
+
+    @AfterEach
+    void tearDown() {
+        upstream.close();
+        retryExecutor.shutdownNow();
+    }
+
+    private ResilientEmployeeClient client(CircuitBreaker circuitBreaker, Bulkhead bulkhead, RetryPolicy retryPolicy) {
+        return new ResilientEmployeeClient(upstreamClient, circuitBreaker, bulkhead, retryPolicy, retryExecutor);
+    }
+
+    private static CircuitBreaker circuitBreaker(int minimumCalls) {
+        return new CircuitBreaker(10, minimumCalls, 50, 100, Duration.ofSeconds(5), Duration.ofMinutes(1), 1,
+                Clock.systemUTC());
+    }
+
+    private static RetryPolicy retryPolicy(int maxAttempts) {
+        return new RetryPolicy(maxAttempts, Duration.ofMillis(20), Duration.ofMillis(50), Duration.ofSeconds(2),
+                Clock.systemUTC());
+    }
+
+    @Test
+    void retriesServerErrors() {
+        ResilientEmployeeClient client = client(circuitBreaker(10), new Bulkhead(10), retryPolicy(3));
+        upstream.failNext(2, 503, Map.of());
+
+        assertEquals(2, client.getAllEmployees().join().size());
+        assertEquals(3, upstream.getRequestCount("employees"));
+        assertEquals(2, client.getRetries());
+    }
+
+    @Test
+    void honorsRetryAfter() {
+        ResilientEmployeeClient client = client(circuitBreaker(10), new Bulkhead(10), retryPolicy(2));
+        upstream.failNext(1, 429, Map.of("Retry-After", "1"));
+
+        long start = System.nanoTime();
+        assertEquals("Tiger Nixon", client.getEmployeeById("1").join().getName());
+
+        assertTrue(Duration.ofNanos(System.nanoTime() - start).toMillis() >= 1000);
+        assertEquals(2, upstream.getRequestCount("employee/1"));
+    }
+
+    @Test
+    void retriesWaitForASchedulerPermit() throws Exception {
+        UpstreamScheduler scheduler = new UpstreamScheduler(10, 10, 2, 1, 1, Duration.ofSeconds(30),
+                retryExecutor, Clock.systemUTC());
+        // Takes the one banked permit, so the retry has to wait half a second for the next.
+        scheduler.schedule(Lane.INTERACTIVE, CompletableFuture::new);
+        ResilientEmployeeClient client = new ResilientEmployeeClient(upstreamClient, circuitBreaker(10),
+                new Bulkhead(10), retryPolicy(2), retryExecutor, scheduler);
+        upstream.failNext(1, 503, Map.of());
+
+        CompletableFuture<List<Employee>> result = client.getAllEmployees();
+        Thread.sleep(250);
+        assertFalse(result.isDone());
+        assertEquals(1, upstream.getRequestCount("employees"));
+
+        assertEquals(2, result.get(5, TimeUnit.SECONDS).size());
+        assertEquals(2, upstream.getRequestCount("employees"));
+    }
+
+    @Test
+    void givesUpAfterMaxAttempts() {
+        ResilientEmployeeClient client = client(circuitBreaker(10), new Bulkhead(10), retryPolicy(3));
+        upstream.failNext(5, 500, Map.of());
+
+        CompletionException exception = assertThrows(CompletionException.class, () -> client.getAllEmployees().join());
+        assertTrue(exception.getCause() instanceof HttpServerErrorException);
+        assertEquals(3, upstream.getRequestCount("employees"));
+    }
+
+    @Test
+    void doesNotRetryOrCountRequestErrors() {
+        CircuitBreaker circuitBreaker = circuitBreaker(1);
+        ResilientEmployeeClient client = client(circuitBreaker, new Bulkhead(10), retryPolicy(3));
+
+        assertThrows(CompletionException.class, () -> client.getEmployeeById("99").join());
+
+        assertEquals(1, upstream.getRequestCount("employee/99"));
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+    }
+
+    @Test
+    void openBreakerFailsFastWithoutCallingUpstream() {
+        CircuitBreaker circuitBreaker = circuitBreaker(4);
+        ResilientEmployeeClient client = client(circuitBreaker, new Bulkhead(10), RetryPolicy.none());
+        upstream.failNext(100, 500, Map.of());
+        for (int i = 0; i < 4; i++) {
+            assertThrows(CompletionException.class, () -> client.getAllEmployees().join());
+        }
+
+        CompletionException exception = assertThrows(CompletionException.class, () -> client.getAllEmployees().join());
+
+        assertTrue(exception.getCause() instanceof CallNotPermittedException);
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+        assertEquals(4, upstream.getRequestCount("employees"));
+    }
+
+    @Test
+    void fullBulkheadRejectsImmediately() {
+        Bulkhead bulkhead = new Bulkhead(1);
+        ResilientEmployeeClient client = client(circuitBreaker(10), bulkhead, retryPolicy(3));
+        upstream.setLatency(Duration.ofMillis(300));
+
+        CompletableFuture<List<Employee>> first = client.getAllEmployees();
+        CompletionException exception = assertThrows(CompletionException.class, () -> client.getEmployeeById("1").join());
+
+        assertTrue(exception.getCause() instanceof CallNotPermittedException);
+        assertEquals(2, first.join().size());
+        assertEquals(1, bulkhead.getRejectedCalls());
+        assertEquals(0, bulkhead.getActiveCalls());
+    }
+}
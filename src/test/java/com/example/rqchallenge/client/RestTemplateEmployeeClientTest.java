@@ -0,0 +1,66 @@
+package com.example.rqchallenge.client;
+
+import com.example.rqchallenge.employees.client.RestTemplateEmployeeClient;
+import com.example.rqchallenge.employees.model.Employee;
+import com.example.rqchallenge.employees.resilience.UpstreamFailures;
+import com.example.rqchallenge.support.StubUpstreamServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RestTemplateEmployeeClientTest {
+
+    private static final Map<String, Object> INPUT = Map.of("name", "Ashton Cox", "salary", "86000", "age", "66");
+
+    private StubUpstreamServer upstream;
+    private RestTemplateEmployeeClient client;
+
+    @BeforeEach
+    void setUp() {
+        upstream = new StubUpstreamServer(List.of(new Employee(1, "Tiger Nixon", 320800, 61)));
+        client = new RestTemplateEmployeeClient(new RestTemplate(), upstream.getBaseUrl());
+    }
+
+    @AfterEach
+    void tearDown() {
+        upstream.close();
+    }
+
+    @Test
+    void createEmployee() {
+        Employee created = client.createEmployee(INPUT).join();
+
+        assertEquals(2, created.getId());
+        assertEquals("Ashton Cox", created.getName());
+    }
+
+    @Test
+    void rateLimitedCreateKeepsTheUpstreamAnswerAsItsCause() {
+        upstream.failNext(1, 429, Map.of("Retry-After", "3"));
+
+        RuntimeException thrown = assertThrows(RuntimeException.class, () -> client.createEmployee(INPUT).join());
+
+        assertTrue(UpstreamFailures.isRateLimited(thrown));
+        assertTrue(UpstreamFailures.isTransient(thrown));
+        assertEquals(Optional.of(Duration.ofSeconds(3)), UpstreamFailures.retryAfter(thrown, Clock.systemUTC()));
+    }
+
+    @Test
+    void unavailableUpstreamOnCreateIsTransient() {
+        upstream.failNext(1, 503, Map.of());
+
+        RuntimeException thrown = assertThrows(RuntimeException.class, () -> client.createEmployee(INPUT).join());
+
+        assertTrue(UpstreamFailures.isTransient(thrown));
+        assertFalse(UpstreamFailures.isRateLimited(thrown));
+    }
+}
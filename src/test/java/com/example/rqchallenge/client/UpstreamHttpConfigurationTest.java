@@ -0,0 +1,104 @@
+package com.example.rqchallenge.client;
+
+import com.example.rqchallenge.employees.client.UpstreamHttpConfiguration;
+import com.example.rqchallenge.employees.model.Employee;
+import com.example.rqchallenge.support.StubUpstreamServer;
+import org.apache.http.conn.ConnectionPoolTimeoutException;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.net.SocketTimeoutException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UpstreamHttpConfigurationTest {
+
+    private final UpstreamHttpConfiguration configuration = new UpstreamHttpConfiguration();
+    private final ExecutorService callers = Executors.newFixedThreadPool(8);
+
+    private StubUpstreamServer upstream;
+    private PoolingHttpClientConnectionManager connectionManager;
+    private CloseableHttpClient httpClient;
+    private RestTemplate restTemplate;
+
+    @BeforeEach
+    void setUp() {
+        upstream = new StubUpstreamServer(List.of(new Employee(1, "Tiger Nixon", 320800, 61)));
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        callers.shutdownNow();
+        if (httpClient != null) {
+            httpClient.close();
+        }
+        upstream.close();
+    }
+
+    private void pool(int maxPerRoute, Duration readTimeout, Duration acquireTimeout) {
+        connectionManager = configuration.upstreamConnectionManager(50, maxPerRoute, Duration.ofMinutes(5));
+        httpClient = configuration.upstreamHttpClient(connectionManager, Duration.ofSeconds(1), readTimeout,
+                acquireTimeout, Duration.ofSeconds(30));
+        restTemplate = configuration.restTemplate(new RestTemplateBuilder(), httpClient);
+    }
+
+    @Test
+    void connectionsAreReusedAcrossConcurrentRequests() throws Exception {
+        pool(4, Duration.ofSeconds(5), Duration.ofSeconds(5));
+        upstream.setLatency(Duration.ofMillis(5));
+
+        List<Future<String>> responses = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            responses.add(callers.submit(() -> restTemplate.getForObject(upstream.getBaseUrl() + "employees", String.class)));
+        }
+        for (Future<String> response : responses) {
+            assertTrue(response.get().contains("Tiger Nixon"));
+        }
+
+        assertTrue(upstream.getConnectionCount() <= 4, "connections opened: " + upstream.getConnectionCount());
+        assertEquals(0, connectionManager.getTotalStats().getLeased());
+        assertEquals(0, connectionManager.getTotalStats().getPending());
+        assertTrue(connectionManager.getTotalStats().getAvailable() > 0);
+    }
+
+    @Test
+    void acquireTimesOutWhenEveryConnectionIsLeased() throws Exception {
+        pool(1, Duration.ofSeconds(5), Duration.ofMillis(100));
+        upstream.setLatency(Duration.ofSeconds(1));
+
+        CompletableFuture<String> slow = CompletableFuture.supplyAsync(
+                () -> restTemplate.getForObject(upstream.getBaseUrl() + "employees", String.class), callers);
+        while (upstream.getInFlight() == 0) {
+            Thread.sleep(10);
+        }
+
+        ResourceAccessException exception = assertThrows(ResourceAccessException.class,
+                () -> restTemplate.getForObject(upstream.getBaseUrl() + "employees", String.class));
+        assertTrue(exception.getCause() instanceof ConnectionPoolTimeoutException);
+        assertNotNull(slow.get());
+    }
+
+    @Test
+    void readTimeoutIsApplied() {
+        pool(4, Duration.ofMillis(100), Duration.ofSeconds(1));
+        upstream.setLatency(Duration.ofMillis(500));
+
+        ResourceAccessException exception = assertThrows(ResourceAccessException.class,
+                () -> restTemplate.getForObject(upstream.getBaseUrl() + "employees", String.class));
+        assertTrue(exception.getCause() instanceof SocketTimeoutException);
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.rqchallenge.concurrent;
+
+import com.example.rqchallenge.employees.concurrent.BoundedFanOut;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoundedFanOutTest {
+
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void neverExceedsTheConcurrencyLimit() throws Exception {
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+        List<Integer> keys = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            keys.add(i);
+        }
+
+        BoundedFanOut.Result<Integer, Integer> result = new BoundedFanOut(executor, 4)
+                .execute(keys, key -> {
+                    peak.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                    sleep(5);
+                    inFlight.decrementAndGet();
+                    return CompletableFuture.completedFuture(key * 2);
+                })
+                .get(5, TimeUnit.SECONDS);
+
+        assertEquals(40, result.getValues().size());
+        assertEquals(78, (int) result.getValues().get(39));
+        assertTrue(peak.get() <= 4, "peak concurrency " + peak.get());
+        assertTrue(peak.get() > 1, "calls did not overlap");
+    }
+
+    @Test
+    void blockingCallsOverlap() throws Exception {
+        long start = System.nanoTime();
+
+        new BoundedFanOut(executor, 10)
+                .execute(List.of(1, 2, 3, 4, 5, 6, 7, 8, 9, 10), key -> {
+                    sleep(200);
+                    return CompletableFuture.completedFuture(key);
+                })
+                .get(5, TimeUnit.SECONDS);
+
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 1000);
+    }
+
+    @Test
+    void failuresAreReportedPerKey() throws Exception {
+        BoundedFanOut.Result<String, String> result = new BoundedFanOut(executor, 2)
+                .execute(List.of("1", "2", "3"), key -> {
+                    if (key.equals("2")) {
+                        throw new RuntimeException("Error fetching employee by id");
+                    }
+                    if (key.equals("3")) {
+                        return CompletableFuture.failedFuture(new IllegalStateException("Too Many Requests"));
+                    }
+                    return CompletableFuture.completedFuture("Tiger Nixon");
+                })
+                .get(5, TimeUnit.SECONDS);
+
+        assertEquals(List.of("1"), new ArrayList<>(result.getValues().keySet()));
+        assertEquals("Error fetching employee by id", result.getFailures().get("2").getMessage());
+        assertEquals("Too Many Requests", result.getFailures().get("3").getMessage());
+    }
+
+    @Test
+    void emptyInputCompletesImmediately() {
+        CompletableFuture<BoundedFanOut.Result<String, String>> result = new BoundedFanOut(executor, 2)
+                .execute(List.of(), key -> CompletableFuture.completedFuture(key));
+
+        assertTrue(result.isDone());
+        assertTrue(result.join().getValues().isEmpty());
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
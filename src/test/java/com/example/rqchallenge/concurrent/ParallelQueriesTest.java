@@ -0,0 +1,79 @@
+package com.example.rqchallenge.concurrent;
+
+import com.example.rqchallenge.employees.concurrent.ParallelQueries;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ParallelQueriesTest {
+
+    private final ParallelQueries parallel = new ParallelQueries(4, 1000);
+
+    @AfterEach
+    void tearDown() {
+        parallel.shutdown();
+    }
+
+    @Test
+    void filterReturnsMatchesInOrder() {
+        int[] values = new Random(7).ints(100_000, 0, 1000).toArray();
+
+        int[] matches = parallel.filter(values.length, i -> values[i] < 10);
+
+        assertArrayEquals(IntStream.range(0, values.length).filter(i -> values[i] < 10).toArray(), matches);
+    }
+
+    @Test
+    void filterSplitsLargeInputsAcrossThreads() {
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+
+        int[] matches = parallel.filter(1_000_000, i -> threads.add(Thread.currentThread().getName()) || true);
+
+        assertEquals(1_000_000, matches.length);
+        assertTrue(threads.stream().anyMatch(name -> name.startsWith("employee-query-")), threads.toString());
+    }
+
+    @Test
+    void filterStaysOnTheCallingThreadBelowTheThreshold() {
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+
+        parallel.filter(999, i -> threads.add(Thread.currentThread().getName()));
+
+        assertEquals(Set.of(Thread.currentThread().getName()), threads);
+    }
+
+    @Test
+    void sortMatchesSequentialSort() {
+        long[] keys = new Random(11).longs(200_000).toArray();
+        long[] expected = keys.clone();
+        Arrays.sort(expected);
+
+        parallel.sort(keys, keys.length);
+
+        assertArrayEquals(expected, keys);
+    }
+
+    @Test
+    void sortLeavesKeysBeyondTheCountAlone() {
+        long[] keys = new Random(13).longs(50_000, 0, 100).toArray();
+        long[] expected = keys.clone();
+        Arrays.sort(expected, 0, 40_000);
+
+        parallel.sort(keys, 40_000);
+
+        assertArrayEquals(expected, keys);
+    }
+
+    @Test
+    void sequentialOwnsNoThreads() {
+        assertEquals(1, ParallelQueries.sequential().getParallelism());
+        assertArrayEquals(new int[]{1, 3}, ParallelQueries.sequential().filter(5, i -> i % 2 == 1));
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.rqchallenge.concurrent;
+
+import com.example.rqchallenge.employees.concurrent.SingleFlight;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SingleFlightTest {
+
+    private final SingleFlight<String> singleFlight = new SingleFlight<>(2);
+    private final AtomicInteger calls = new AtomicInteger();
+
+    @Test
+    void concurrentCallersForTheSameKeyShareOneCall() {
+        CompletableFuture<String> upstream = new CompletableFuture<>();
+
+        CompletableFuture<String> first = singleFlight.execute("employee/1", () -> call(upstream));
+        CompletableFuture<String> second = singleFlight.execute("employee/1", () -> call(upstream));
+        CompletableFuture<String> other = singleFlight.execute("employee/2", () -> call(new CompletableFuture<>()));
+        upstream.complete("Tiger Nixon");
+
+        assertEquals("Tiger Nixon", first.join());
+        assertEquals("Tiger Nixon", second.join());
+        assertFalse(other.isDone());
+        assertEquals(2, calls.get());
+        assertEquals(1, singleFlight.getStats().get("employee/1").getExecuted());
+        assertEquals(1, singleFlight.getStats().get("employee/1").getShared());
+    }
+
+    @Test
+    void failureIsPropagatedToEverySharedCaller() {
+        CompletableFuture<String> upstream = new CompletableFuture<>();
+
+        CompletableFuture<String> first = singleFlight.execute("employees", () -> call(upstream));
+        CompletableFuture<String> second = singleFlight.execute("employees", () -> call(upstream));
+        upstream.completeExceptionally(new RuntimeException("Error fetching employees"));
+
+        CompletionException exception = assertThrows(CompletionException.class, first::join);
+        assertEquals("Error fetching employees", exception.getCause().getMessage());
+        assertThrows(CompletionException.class, second::join);
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void completedCallsAreNotCached() {
+        singleFlight.execute("employees", () -> call(CompletableFuture.completedFuture("first"))).join();
+
+        assertEquals("second", singleFlight.execute("employees", () -> call(CompletableFuture.completedFuture("second"))).join());
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void cancellingOneCallerDoesNotAffectTheOthers() {
+        CompletableFuture<String> upstream = new CompletableFuture<>();
+
+        CompletableFuture<String> first = singleFlight.execute("employees", () -> call(upstream));
+        CompletableFuture<String> second = singleFlight.execute("employees", () -> call(upstream));
+        first.cancel(true);
+        upstream.complete("ok");
+
+        assertEquals("ok", second.join());
+    }
+
+    @Test
+    void statsAreCappedAtMaxTrackedKeys() {
+        for (int id = 0; id < 5; id++) {
+            singleFlight.execute("employee/" + id, () -> call(CompletableFuture.completedFuture("ok")));
+        }
+
+        assertEquals(3, singleFlight.getStats().size());
+        assertEquals(3, singleFlight.getStats().get(SingleFlight.OTHER_KEYS).getExecuted());
+    }
+
+    private CompletableFuture<String> call(CompletableFuture<String> result) {
+        calls.incrementAndGet();
+        return result;
+    }
+}
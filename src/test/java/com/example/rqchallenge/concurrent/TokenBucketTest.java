@@ -0,0 +1,106 @@
+package com.example.rqchallenge.concurrent;
+
+import com.example.rqchallenge.employees.concurrent.TokenBucket;
+import com.example.rqchallenge.support.MutableClock;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenBucketTest {
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2024-01-01T00:00:00Z"));
+
+    @Test
+    void burstIsFree() {
+        TokenBucket bucket = new TokenBucket(10, 3, clock);
+
+        assertEquals(Duration.ZERO, bucket.reserve());
+        assertEquals(Duration.ZERO, bucket.reserve());
+        assertEquals(Duration.ZERO, bucket.reserve());
+        assertEquals(Duration.ofMillis(100), bucket.reserve());
+    }
+
+    @Test
+    void waitingReservationsAreSpacedAtTheRate() {
+        TokenBucket bucket = new TokenBucket(10, 1, clock);
+        bucket.reserve();
+
+        assertEquals(Duration.ofMillis(100), bucket.reserve());
+        assertEquals(Duration.ofMillis(200), bucket.reserve());
+        assertEquals(Duration.ofMillis(300), bucket.reserve());
+    }
+
+    @Test
+    void permitsAccrueWhileIdleUpToTheBurst() {
+        TokenBucket bucket = new TokenBucket(10, 2, clock);
+        bucket.reserve();
+        bucket.reserve();
+        assertEquals(Duration.ofMillis(100), bucket.reserve());
+
+        clock.advance(Duration.ofSeconds(10));
+
+        assertEquals(Duration.ZERO, bucket.reserve());
+        assertEquals(Duration.ZERO, bucket.reserve());
+        assertEquals(Duration.ofMillis(100), bucket.reserve());
+    }
+
+    @Test
+    void debtIsRepaidBeforeNewPermitsAreFree() {
+        TokenBucket bucket = new TokenBucket(10, 1, clock);
+        bucket.reserve();
+        bucket.reserve();
+        bucket.reserve();
+
+        clock.advance(Duration.ofMillis(150));
+
+        assertEquals(Duration.ofMillis(150), bucket.reserve());
+    }
+
+    @Test
+    void tryAcquireTakesNothingWhenNoPermitIsFree() {
+        TokenBucket bucket = new TokenBucket(10, 1, clock);
+
+        assertTrue(bucket.tryAcquire());
+        assertFalse(bucket.tryAcquire());
+        assertEquals(Duration.ofMillis(100), bucket.timeUntilAvailable());
+
+        clock.advance(Duration.ofMillis(100));
+
+        assertEquals(Duration.ZERO, bucket.timeUntilAvailable());
+        assertTrue(bucket.tryAcquire());
+    }
+
+    @Test
+    void holdOffSpendsTheBankedPermits() {
+        TokenBucket bucket = new TokenBucket(10, 5, clock);
+
+        bucket.holdOff(Duration.ofSeconds(2));
+
+        assertFalse(bucket.tryAcquire());
+        assertEquals(Duration.ofSeconds(2), bucket.timeUntilAvailable());
+        clock.advance(Duration.ofSeconds(2));
+        assertTrue(bucket.tryAcquire());
+    }
+
+    @Test
+    void rateChangesApplyToPermitsNotYetAccrued() {
+        TokenBucket bucket = new TokenBucket(10, 1, clock);
+        bucket.tryAcquire();
+        clock.advance(Duration.ofMillis(50));
+
+        bucket.setPermitsPerSecond(5);
+
+        assertEquals(5, bucket.getPermitsPerSecond());
+        assertEquals(Duration.ofMillis(100), bucket.timeUntilAvailable());
+    }
+
+    @Test
+    void rejectsNonPositiveSettings() {
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucket(0, 1, clock));
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucket(Double.NaN, 1, clock));
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucket(1, 0, clock));
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.rqchallenge.controller;
+
+import com.example.rqchallenge.employees.controller.AsyncEmployeeController;
+import com.example.rqchallenge.employees.model.Employee;
+import com.example.rqchallenge.employees.service.EmployeeService;
+import com.example.rqchallenge.employees.snapshot.EmployeeSnapshot;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.http.HttpHeaders.ETAG;
+import static org.springframework.http.HttpHeaders.IF_NONE_MATCH;
+import static org.springframework.http.MediaType.APPLICATION_JSON;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(controllers = AsyncEmployeeController.class, properties = "employees.execution-mode=async")
+class AsyncEmployeeControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private EmployeeService employeeService;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void testGetEmployeeById() throws Exception {
+        Employee employee = new Employee(1, "John Doe", 50000, 30);
+        CompletableFuture<Employee> upstream = new CompletableFuture<>();
+        when(employeeService.getEmployeeByIdAsync("1")).thenReturn(upstream);
+
+        MvcResult result = mockMvc.perform(get("/employees/1").accept(APPLICATION_JSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        upstream.complete(employee);
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().json(objectMapper.writeValueAsString(employee)));
+    }
+
+    @Test
+    void testGetAllEmployeesFailure() throws Exception {
+        when(employeeService.getAllEmployeesAsync())
+                .thenReturn(CompletableFuture.failedFuture(new RuntimeException("Error fetching employees")));
+
+        MvcResult result = mockMvc.perform(get("/employees").accept(APPLICATION_JSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isInternalServerError());
+    }
+
+    @Test
+    void testGetTopTenHighestEarningEmployeeNames() throws Exception {
+        when(employeeService.getTopTenHighestEarningEmployeeNamesAsync())
+                .thenReturn(CompletableFuture.completedFuture(List.of("Cedric Kelly", "Tiger Nixon")));
+
+        MvcResult result = mockMvc.perform(get("/employees/topTenHighestEarningEmployeeNames").accept(APPLICATION_JSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().json("[\"Cedric Kelly\",\"Tiger Nixon\"]"));
+    }
+
+    @Test
+    void testGetAllEmployeesNotModified() throws Exception {
+        when(employeeService.isSnapshotCacheEnabled()).thenReturn(true);
+        when(employeeService.getSnapshotAsync()).thenReturn(CompletableFuture.completedFuture(
+                new EmployeeSnapshot(1, Instant.now(), List.of(new Employee(1, "John Doe", 50000, 30)))));
+        MvcResult first = mockMvc.perform(get("/employees").accept(APPLICATION_JSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String etag = mockMvc.perform(asyncDispatch(first))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(ETAG);
+
+        MvcResult result = mockMvc.perform(get("/employees").accept(APPLICATION_JSON).header(IF_NONE_MATCH, etag))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isNotModified());
+    }
+}
@@ -2,7 +2,13 @@ package com.example.rqchallenge.controller;
 
 import com.example.rqchallenge.employees.controller.EmployeeController;
 import com.example.rqchallenge.employees.model.Employee;
+import com.example.rqchallenge.employees.model.EmployeeBatchResponse;
+import com.example.rqchallenge.employees.model.EmployeeBulkJob;
+import com.example.rqchallenge.employees.model.EmployeeBulkResponse;
+import com.example.rqchallenge.employees.model.EmployeeStats;
 import com.example.rqchallenge.employees.service.EmployeeService;
+import com.example.rqchallenge.employees.snapshot.EmployeeSnapshot;
+import com.example.rqchallenge.employees.stats.StatsQuery;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -11,16 +17,37 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.zip.GZIPInputStream;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.http.HttpHeaders.ACCEPT_ENCODING;
+import static org.springframework.http.HttpHeaders.CACHE_CONTROL;
+import static org.springframework.http.HttpHeaders.CONTENT_ENCODING;
+import static org.springframework.http.HttpHeaders.ETAG;
+import static org.springframework.http.HttpHeaders.IF_NONE_MATCH;
+import static org.springframework.http.HttpHeaders.VARY;
 import static org.springframework.http.MediaType.APPLICATION_JSON;
+import static org.springframework.http.MediaType.APPLICATION_NDJSON;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(EmployeeController.class)
@@ -38,6 +65,11 @@ class EmployeeControllerTest {
     void setUp() {
         MockitoAnnotations.openMocks(this);
         objectMapper = new ObjectMapper();
+        // Snapshot-scoped queries are pure functions of the snapshot the controller passes in.
+        when(employeeService.getEmployeesByNameSearch(any(EmployeeSnapshot.class), anyString())).thenCallRealMethod();
+        when(employeeService.getHighestSalaryOfEmployees(any(EmployeeSnapshot.class))).thenCallRealMethod();
+        when(employeeService.getTopHighestEarningEmployeeNames(any(EmployeeSnapshot.class), anyInt()))
+                .thenCallRealMethod();
     }
 
     @Test
@@ -51,6 +83,142 @@ class EmployeeControllerTest {
                 .andExpect(content().json(objectMapper.writeValueAsString(List.of(employee))));
     }
 
+    @Test
+    void testGetAllEmployeesPage() throws Exception {
+        Employee first = new Employee(1, "John Doe", 50000, 30);
+        Employee second = new Employee(2, "Jane Doe", 60000, 31);
+        Employee third = new Employee(3, "Jim Doe", 70000, 32);
+        when(employeeService.getAllEmployees()).thenReturn(List.of(first, second, third));
+
+        mockMvc.perform(get("/employees")
+                        .param("offset", "1")
+                        .param("limit", "1")
+                        .accept(APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Total-Count", "3"))
+                .andExpect(content().json(objectMapper.writeValueAsString(List.of(second))));
+    }
+
+    @Test
+    void testGetAllEmployeesFromSnapshotCarriesETag() throws Exception {
+        Employee employee = new Employee(1, "John Doe", 50000, 30);
+        when(employeeService.isSnapshotCacheEnabled()).thenReturn(true);
+        when(employeeService.getSnapshot()).thenReturn(new EmployeeSnapshot(1, Instant.now(), List.of(employee)));
+
+        mockMvc.perform(get("/employees")
+                        .accept(APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(ETAG))
+                .andExpect(header().string(CACHE_CONTROL, "no-cache"))
+                .andExpect(header().string("X-Total-Count", "1"))
+                .andExpect(content().json(objectMapper.writeValueAsString(List.of(employee))));
+        verify(employeeService, never()).getAllEmployees();
+    }
+
+    @Test
+    void testGetHighestSalaryNotModified() throws Exception {
+        when(employeeService.isSnapshotCacheEnabled()).thenReturn(true);
+        when(employeeService.getSnapshot()).thenReturn(new EmployeeSnapshot(1, Instant.now(),
+                List.of(new Employee(1, "John Doe", 50000, 30))));
+        String etag = mockMvc.perform(get("/employees/highestSalary"))
+                .andExpect(status().isOk())
+                .andExpect(content().string("50000"))
+                .andReturn().getResponse().getHeader(ETAG);
+
+        mockMvc.perform(get("/employees/highestSalary")
+                        .header(IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(ETAG, etag))
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void testGetTopTenHighestEarningEmployeeNamesAfterSnapshotChange() throws Exception {
+        Employee john = new Employee(1, "John Doe", 50000, 30);
+        Employee jane = new Employee(2, "Jane Doe", 60000, 31);
+        when(employeeService.isSnapshotCacheEnabled()).thenReturn(true);
+        when(employeeService.getSnapshot()).thenReturn(new EmployeeSnapshot(1, Instant.now(), List.of(john)));
+        String etag = mockMvc.perform(get("/employees/topTenHighestEarningEmployeeNames"))
+                .andReturn().getResponse().getHeader(ETAG);
+        when(employeeService.getSnapshot()).thenReturn(new EmployeeSnapshot(2, Instant.now(), List.of(john, jane)));
+
+        MvcResult result = mockMvc.perform(get("/employees/topTenHighestEarningEmployeeNames")
+                        .header(IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(content().json("[\"Jane Doe\",\"John Doe\"]"))
+                .andReturn();
+        assertNotEquals(etag, result.getResponse().getHeader(ETAG));
+    }
+
+    @Test
+    void testGetAllEmployeesGzipped() throws Exception {
+        List<Employee> employees = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            employees.add(new Employee(i, "Employee " + i, 1000 * i, 30));
+        }
+        when(employeeService.isSnapshotCacheEnabled()).thenReturn(true);
+        when(employeeService.getSnapshot()).thenReturn(new EmployeeSnapshot(1, Instant.now(), employees));
+
+        MvcResult result = mockMvc.perform(get("/employees")
+                        .header(ACCEPT_ENCODING, "gzip, deflate"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(CONTENT_ENCODING, "gzip"))
+                .andExpect(header().string(VARY, ACCEPT_ENCODING))
+                .andReturn();
+
+        byte[] body = result.getResponse().getContentAsByteArray();
+        try (GZIPInputStream gunzip = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            assertEquals(objectMapper.readTree(objectMapper.writeValueAsBytes(employees)),
+                    objectMapper.readTree(gunzip));
+        }
+        mockMvc.perform(get("/employees"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(CONTENT_ENCODING))
+                .andExpect(content().json(objectMapper.writeValueAsString(employees)));
+    }
+
+    @Test
+    void testGetEmployeesByNameSearchFromSnapshot() throws Exception {
+        Employee john = new Employee(1, "John Doe", 50000, 30);
+        Employee jane = new Employee(2, "Jane Roe", 60000, 31);
+        when(employeeService.isSnapshotCacheEnabled()).thenReturn(true);
+        when(employeeService.getSnapshot()).thenReturn(new EmployeeSnapshot(1, Instant.now(), List.of(john, jane)));
+
+        mockMvc.perform(get("/employees/search/{searchString}", "doe")
+                        .accept(APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(ETAG))
+                .andExpect(content().json(objectMapper.writeValueAsString(List.of(john))));
+        verify(employeeService, never()).getEmployeesByNameSearch(anyString());
+    }
+
+    @Test
+    void testGetAllEmployeesRejectsNegativeOffset() throws Exception {
+        mockMvc.perform(get("/employees")
+                        .param("offset", "-1")
+                        .accept(APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testStreamEmployeesByNameSearch() throws Exception {
+        Employee first = new Employee(1, "John Doe", 50000, 30);
+        Employee second = new Employee(2, "Jane Doe", 60000, 31);
+        when(employeeService.getEmployeesByNameSearch("Doe")).thenReturn(List.of(first, second));
+
+        MvcResult result = mockMvc.perform(get("/employees/search/Doe")
+                        .accept(APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        result.getAsyncResult();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(APPLICATION_NDJSON))
+                .andExpect(content().bytes((objectMapper.writeValueAsString(first) + "\n"
+                        + objectMapper.writeValueAsString(second) + "\n").getBytes(StandardCharsets.UTF_8)));
+    }
+
     @Test
     void testGetEmployeeById() throws Exception {
         Employee employee = new Employee(1, "John Doe", 50000, 30);
@@ -62,6 +230,73 @@ class EmployeeControllerTest {
                 .andExpect(content().json(objectMapper.writeValueAsString(employee)));
     }
 
+    @Test
+    void testGetTopHighestEarningEmployeeNames() throws Exception {
+        when(employeeService.getTopHighestEarningEmployeeNames(2)).thenReturn(List.of("Cedric Kelly", "Tiger Nixon"));
+
+        mockMvc.perform(get("/employees/topHighestEarningEmployeeNames")
+                        .param("n", "2")
+                        .accept(APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(content().json(objectMapper.writeValueAsString(List.of("Cedric Kelly", "Tiger Nixon"))));
+    }
+
+    @Test
+    void testGetTopHighestEarningEmployeeNamesRejectsNegativeN() throws Exception {
+        mockMvc.perform(get("/employees/topHighestEarningEmployeeNames")
+                        .param("n", "-1")
+                        .accept(APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testGetEmployeeStats() throws Exception {
+        Employee employee = new Employee(1, "John Doe", 50000, 30);
+        EmployeeStats stats = new EmployeeStats(1, 50000, 50000, 50000.0, Map.of("p50", 50000),
+                List.of(new EmployeeStats.AgeBucket(30, 39, 1, 50000)), 1, List.of(employee));
+        when(employeeService.getEmployeeStats(new StatsQuery(10, 40000, 25, null, 5))).thenReturn(stats);
+
+        mockMvc.perform(get("/employees/stats")
+                        .param("salaryAbove", "40000")
+                        .param("minAge", "25")
+                        .param("top", "5")
+                        .accept(APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(content().json(objectMapper.writeValueAsString(stats)));
+    }
+
+    @Test
+    void testGetEmployeeStatsRejectsEmptyAgeRange() throws Exception {
+        mockMvc.perform(get("/employees/stats")
+                        .param("minAge", "40")
+                        .param("maxAge", "30")
+                        .accept(APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testGetEmployeesByIds() throws Exception {
+        Employee employee = new Employee(1, "John Doe", 50000, 30);
+        EmployeeBatchResponse batch = new EmployeeBatchResponse(List.of(employee), Map.of("2", "Error fetching employee by id"));
+        when(employeeService.getEmployeesByIds(List.of("1", "2"))).thenReturn(batch);
+
+        mockMvc.perform(post("/employees/batch")
+                        .contentType(APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of("1", "2"))))
+                .andExpect(status().isOk())
+                .andExpect(content().json(objectMapper.writeValueAsString(batch)));
+    }
+
+    @Test
+    void testGetEmployeesByIdsRejectsOversizedBatch() throws Exception {
+        when(employeeService.getEmployeesByIds(any())).thenThrow(new IllegalArgumentException("At most 500 ids per batch"));
+
+        mockMvc.perform(post("/employees/batch")
+                        .contentType(APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of("1"))))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void testCreateEmployee() throws Exception {
         Employee employee = new Employee(1, "John Doe", 50000, 30);
@@ -83,4 +318,63 @@ class EmployeeControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(content().string("Deleted employee: John Doe"));
     }
+
+    @Test
+    void testCreateEmployees() throws Exception {
+        Employee employee = new Employee(1, "John Doe", 50000, 30);
+        EmployeeBulkResponse bulk = new EmployeeBulkResponse(1, 1, List.of(
+                new EmployeeBulkResponse.Item(0, "1", "success", employee, null),
+                new EmployeeBulkResponse.Item(1, null, "error", null, "Too Many Requests")));
+        when(employeeService.createEmployees(any())).thenReturn(bulk);
+
+        mockMvc.perform(post("/employees/bulk")
+                        .contentType(APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(
+                                Map.of("name", "John Doe", "salary", 50000, "age", 30),
+                                Map.of("name", "Jane Doe", "salary", 60000, "age", 31)))))
+                .andExpect(status().isOk())
+                .andExpect(content().json(objectMapper.writeValueAsString(bulk)));
+    }
+
+    @Test
+    void testDeleteEmployeesRejectsOversizedBulk() throws Exception {
+        when(employeeService.deleteEmployees(any())).thenThrow(new IllegalArgumentException("At most 1000 items per bulk request"));
+
+        mockMvc.perform(delete("/employees/bulk")
+                        .contentType(APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of("1"))))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testSubmitDeleteEmployees() throws Exception {
+        EmployeeBulkJob job = new EmployeeBulkJob("job-1", "delete", EmployeeBulkJob.RUNNING, 2, 0, null, null);
+        when(employeeService.submitDeleteEmployees(List.of("1", "2"))).thenReturn(job);
+
+        mockMvc.perform(post("/employees/bulk/jobs/delete")
+                        .contentType(APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of("1", "2"))))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", "/employees/bulk/jobs/job-1"))
+                .andExpect(content().json(objectMapper.writeValueAsString(job)));
+    }
+
+    @Test
+    void testSubmitCreateEmployeesWhenJobsAreFull() throws Exception {
+        when(employeeService.submitCreateEmployees(any())).thenThrow(new RejectedExecutionException("100 bulk jobs are already running"));
+
+        mockMvc.perform(post("/employees/bulk/jobs/create")
+                        .contentType(APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(Map.of("name", "John Doe")))))
+                .andExpect(status().isServiceUnavailable());
+    }
+
+    @Test
+    void testGetUnknownBulkJob() throws Exception {
+        when(employeeService.getBulkJob("missing")).thenReturn(null);
+
+        mockMvc.perform(get("/employees/bulk/jobs/missing")
+                        .accept(APPLICATION_JSON))
+                .andExpect(status().isNotFound());
+    }
 }
@@ -0,0 +1,102 @@
+package com.example.rqchallenge.index;
+
+import com.example.rqchallenge.employees.concurrent.ParallelQueries;
+import com.example.rqchallenge.employees.index.NameIndex;
+import com.example.rqchallenge.employees.model.Employee;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NameIndexTest {
+
+    private static final List<Employee> EMPLOYEES = Arrays.asList(
+            new Employee(1, "Tiger Nixon", 320800, 61),
+            new Employee(2, "Garrett Winters", 170750, 63),
+            null,
+            new Employee(4, null, 433060, 22),
+            new Employee(5, "Ashton Cox", 86000, 66),
+            new Employee(6, "Abcxbcd", 162700, 33)
+    );
+
+    private final NameIndex index = NameIndex.build(EMPLOYEES);
+
+    @Test
+    void searchIgnoresCase() {
+        assertArrayEquals(new int[]{0}, index.search("tIG"));
+        assertArrayEquals(new int[]{1}, index.search("WINTERS"));
+    }
+
+    @Test
+    void shortSearchStringsScanFoldedNames() {
+        assertArrayEquals(new int[]{0, 1, 4}, index.search("t"));
+        assertArrayEquals(new int[]{0, 1, 4, 5}, index.search(""));
+    }
+
+    @Test
+    void trigramCandidatesAreVerified() {
+        assertArrayEquals(new int[0], index.search("abcd"));
+        assertArrayEquals(new int[]{5}, index.search("xbcd"));
+    }
+
+    @Test
+    void unknownTrigramMatchesNothing() {
+        assertArrayEquals(new int[0], index.search("zzz"));
+    }
+
+    @Test
+    void matchesContainsScanOnRandomNames() {
+        Random random = new Random(42);
+        List<Employee> employees = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) {
+            employees.add(new Employee(i, randomName(random), 1000, 30));
+        }
+        NameIndex randomIndex = NameIndex.build(employees);
+
+        for (int i = 0; i < 500; i++) {
+            String name = employees.get(random.nextInt(employees.size())).getName();
+            int start = random.nextInt(name.length());
+            String searchString = name.substring(start, Math.min(name.length(), start + 1 + random.nextInt(5)));
+            assertArrayEquals(scan(employees, searchString), randomIndex.search(searchString.toUpperCase()));
+        }
+    }
+
+    @Test
+    void parallelSearchMatchesSequentialSearch() {
+        Random random = new Random(17);
+        List<Employee> employees = new ArrayList<>();
+        for (int i = 0; i < 60_000; i++) {
+            employees.add(i % 100 == 0 ? null : new Employee(i, randomName(random), 1000, 30));
+        }
+        NameIndex largeIndex = NameIndex.build(employees);
+        ParallelQueries parallel = new ParallelQueries(4, 1000);
+        try {
+            for (String searchString : List.of("a", "fe", "abc", "dcba", "aaaa", "zzz")) {
+                assertArrayEquals(largeIndex.search(searchString), largeIndex.search(searchString, parallel),
+                        searchString);
+            }
+        } finally {
+            parallel.shutdown();
+        }
+    }
+
+    private static int[] scan(List<Employee> employees, String searchString) {
+        return IntStream.range(0, employees.size())
+                .filter(row -> employees.get(row).getName().toLowerCase().contains(searchString.toLowerCase()))
+                .toArray();
+    }
+
+    private static String randomName(Random random) {
+        StringBuilder name = new StringBuilder();
+        int length = 4 + random.nextInt(10);
+        for (int i = 0; i < length; i++) {
+            name.append((char) ('a' + random.nextInt(6)));
+        }
+        return name.toString();
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.rqchallenge.index;
+
+import com.example.rqchallenge.employees.index.SalaryIndex;
+import com.example.rqchallenge.employees.model.Employee;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SalaryIndexTest {
+
+    private static final List<Employee> EMPLOYEES = Arrays.asList(
+            new Employee(1, "Tiger Nixon", 320800, 61),
+            new Employee(2, "Garrett Winters", 170750, 63),
+            null,
+            new Employee(4, "Cedric Kelly", 433060, 22),
+            new Employee(5, "Airi Satou", 170750, 33),
+            new Employee(6, "Brielle Williamson", 86000, 61)
+    );
+
+    private final SalaryIndex index = SalaryIndex.build(EMPLOYEES);
+
+    @Test
+    void maxAndMinSkipNullEmployees() {
+        assertEquals(5, index.size());
+        assertEquals(433060, index.max().getAsInt());
+        assertEquals(86000, index.min().getAsInt());
+    }
+
+    @Test
+    void topNamesAreOrderedBySalaryWithTiesInListOrder() {
+        assertEquals(List.of("Cedric Kelly", "Tiger Nixon", "Garrett Winters", "Airi Satou"), index.topNames(4));
+        assertArrayEquals(new int[]{4, 1}, index.topIds(2));
+        assertArrayEquals(new int[]{3, 0}, index.topRows(2));
+    }
+
+    @Test
+    void topNamesAreCappedAtIndexSize() {
+        assertEquals(5, index.topNames(100).size());
+        assertTrue(index.topNames(0).isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> index.topNames(-1));
+    }
+
+    @Test
+    void percentilesUseNearestRank() {
+        assertEquals(86000, index.percentile(0).getAsInt());
+        assertEquals(170750, index.percentile(50).getAsInt());
+        assertEquals(433060, index.percentile(100).getAsInt());
+    }
+
+    @Test
+    void rangeQueriesAreInclusive() {
+        assertEquals(3, index.countInRange(170750, 320800));
+        assertArrayEquals(new int[]{0, 1, 4}, index.rowsInRange(170750, 320800));
+        assertEquals(0, index.countInRange(500000, 600000));
+        assertEquals(0, index.countInRange(320800, 170750));
+    }
+
+    @Test
+    void emptyIndexHasNoAggregates() {
+        SalaryIndex empty = SalaryIndex.build(List.of());
+
+        assertTrue(empty.max().isEmpty());
+        assertTrue(empty.percentile(50).isEmpty());
+        assertTrue(empty.topNames(10).isEmpty());
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.rqchallenge.resilience;
+
+import com.example.rqchallenge.employees.resilience.CircuitBreaker;
+import com.example.rqchallenge.employees.resilience.CircuitBreaker.State;
+import com.example.rqchallenge.support.MutableClock;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CircuitBreakerTest {
+
+    private static final Duration FAST = Duration.ofMillis(10);
+    private static final Duration SLOW = Duration.ofSeconds(3);
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2024-01-01T00:00:00Z"));
+    private final CircuitBreaker breaker = new CircuitBreaker(10, 4, 50, 80, Duration.ofSeconds(2),
+            Duration.ofSeconds(10), 2, clock);
+
+    @Test
+    void staysClosedBelowMinimumCalls() {
+        record(3, true, FAST);
+
+        assertEquals(State.CLOSED, breaker.getState());
+        assertEquals(-1, breaker.getFailureRate());
+    }
+
+    @Test
+    void opensOnFailureRate() {
+        record(2, false, FAST);
+        record(2, true, FAST);
+
+        assertEquals(State.OPEN, breaker.getState());
+        assertFalse(breaker.tryAcquirePermission());
+        assertEquals(1, breaker.getNotPermittedCalls());
+    }
+
+    @Test
+    void opensOnSlowCallRate() {
+        record(1, false, FAST);
+        record(4, false, SLOW);
+
+        assertEquals(State.OPEN, breaker.getState());
+    }
+
+    @Test
+    void oldOutcomesLeaveTheWindow() {
+        record(4, true, FAST);
+        clock.advance(Duration.ofSeconds(10));
+        record(2, false, FAST);
+
+        assertEquals(State.CLOSED, breaker.getState());
+        record(10, false, FAST);
+        record(4, true, FAST);
+        assertEquals(State.CLOSED, breaker.getState());
+        assertEquals(40, breaker.getFailureRate());
+    }
+
+    @Test
+    void halfOpenTrialsCloseOrReopen() {
+        record(4, true, FAST);
+        clock.advance(Duration.ofSeconds(10));
+
+        assertTrue(breaker.tryAcquirePermission());
+        assertTrue(breaker.tryAcquirePermission());
+        assertFalse(breaker.tryAcquirePermission());
+        assertEquals(State.HALF_OPEN, breaker.getState());
+        breaker.onSuccess(FAST);
+        breaker.onFailure(FAST);
+        assertEquals(State.OPEN, breaker.getState());
+
+        clock.advance(Duration.ofSeconds(10));
+        assertTrue(breaker.tryAcquirePermission());
+        assertTrue(breaker.tryAcquirePermission());
+        breaker.onSuccess(FAST);
+        breaker.onSuccess(FAST);
+        assertEquals(State.CLOSED, breaker.getState());
+    }
+
+    private void record(int calls, boolean failed, Duration duration) {
+        for (int i = 0; i < calls; i++) {
+            assertTrue(breaker.tryAcquirePermission());
+            if (failed) {
+                breaker.onFailure(duration);
+            } else {
+                breaker.onSuccess(duration);
+            }
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.rqchallenge.resilience;
+
+import com.example.rqchallenge.employees.resilience.RetryPolicy;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RetryPolicyTest {
+
+    private final Clock clock = Clock.fixed(Instant.parse("2024-01-01T00:00:00Z"), ZoneOffset.UTC);
+    private final RetryPolicy policy = new RetryPolicy(3, Duration.ofMillis(100), Duration.ofMillis(150),
+            Duration.ofSeconds(5), clock);
+
+    @Test
+    void backoffIsJitteredUnderACappedCeiling() {
+        HttpServerErrorException failure = new HttpServerErrorException(HttpStatus.SERVICE_UNAVAILABLE);
+        for (int i = 0; i < 100; i++) {
+            long first = policy.nextDelay(1, failure).orElseThrow().toMillis();
+            long second = policy.nextDelay(2, failure).orElseThrow().toMillis();
+            assertTrue(first >= 0 && first <= 100, "first delay " + first);
+            assertTrue(second >= 0 && second <= 150, "second delay " + second);
+        }
+    }
+
+    @Test
+    void stopsAfterMaxAttempts() {
+        assertEquals(Optional.empty(), policy.nextDelay(3, new HttpServerErrorException(HttpStatus.INTERNAL_SERVER_ERROR)));
+    }
+
+    @Test
+    void doesNotRetryRequestErrors() {
+        RuntimeException notFound = new RuntimeException("Error fetching employee by id",
+                new HttpClientErrorException(HttpStatus.NOT_FOUND));
+
+        assertEquals(Optional.empty(), policy.nextDelay(1, notFound));
+        assertEquals(Optional.empty(), policy.nextDelay(1, new RuntimeException("Error fetching employees")));
+    }
+
+    @Test
+    void honorsRetryAfterOnTooManyRequests() {
+        assertEquals(Optional.of(Duration.ofSeconds(2)), policy.nextDelay(1, tooManyRequests("2")));
+        assertEquals(Optional.of(Duration.ofSeconds(3)), policy.nextDelay(1, tooManyRequests("Mon, 01 Jan 2024 00:00:03 GMT")));
+    }
+
+    @Test
+    void givesUpWhenRetryAfterIsTooLong() {
+        assertEquals(Optional.empty(), policy.nextDelay(1, tooManyRequests("60")));
+    }
+
+    private static RuntimeException tooManyRequests(String retryAfter) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, retryAfter);
+        return new RuntimeException("Error fetching employees",
+                new HttpClientErrorException(HttpStatus.TOO_MANY_REQUESTS, "Too Many Requests", headers, null, null));
+    }
+}
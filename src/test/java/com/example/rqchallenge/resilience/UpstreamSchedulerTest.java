@@ -0,0 +1,181 @@
+package com.example.rqchallenge.resilience;
+
+import com.example.rqchallenge.employees.resilience.CallNotPermittedException;
+import com.example.rqchallenge.employees.resilience.UpstreamScheduler;
+import com.example.rqchallenge.employees.resilience.UpstreamScheduler.Lane;
+import com.example.rqchallenge.support.MutableClock;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UpstreamSchedulerTest {
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2024-01-01T00:00:00Z"));
+
+    @Test
+    void startsAtOnceOnTheCallerThreadWhenIdle() {
+        UpstreamScheduler scheduler = new UpstreamScheduler(2, 10, 0, 0, 1, Duration.ofSeconds(30),
+                runnable -> fail("queued"), clock);
+        Thread caller = Thread.currentThread();
+
+        CompletableFuture<Boolean> result = scheduler.schedule(Lane.BULK,
+                () -> CompletableFuture.completedFuture(Thread.currentThread() == caller));
+
+        assertTrue(result.join());
+        assertEquals(1, scheduler.getStarted(Lane.BULK));
+        assertEquals(0, scheduler.getInFlight());
+    }
+
+    @Test
+    void queuedCallsStartInLaneOrder() {
+        UpstreamScheduler scheduler = new UpstreamScheduler(1, 10, 0, 0, 1, Duration.ofSeconds(30),
+                Runnable::run, clock);
+        CompletableFuture<String> blocker = new CompletableFuture<>();
+        List<String> order = Collections.synchronizedList(new ArrayList<>());
+        scheduler.schedule(Lane.INTERACTIVE, () -> blocker);
+        scheduler.schedule(Lane.BULK, () -> started(order, "bulk-1"));
+        scheduler.schedule(Lane.REFRESH, () -> started(order, "refresh"));
+        scheduler.schedule(Lane.BULK, () -> started(order, "bulk-2"));
+        CompletableFuture<String> interactive = scheduler.schedule(Lane.INTERACTIVE,
+                () -> started(order, "interactive"));
+
+        assertEquals(2, scheduler.getQueued(Lane.BULK));
+        assertTrue(order.isEmpty());
+        blocker.complete("done");
+
+        assertEquals("interactive", interactive.join());
+        assertEquals(List.of("interactive", "refresh", "bulk-1", "bulk-2"), order);
+        assertEquals(0, scheduler.getQueued(Lane.BULK));
+        assertEquals(2, scheduler.getStarted(Lane.BULK));
+    }
+
+    @Test
+    void rejectsCallsBeyondTheQueueLimit() {
+        UpstreamScheduler scheduler = new UpstreamScheduler(1, 1, 0, 0, 1, Duration.ofSeconds(30),
+                Runnable::run, clock);
+        scheduler.schedule(Lane.INTERACTIVE, CompletableFuture::new);
+        scheduler.schedule(Lane.BULK, CompletableFuture::new);
+
+        CompletableFuture<Object> rejected = scheduler.schedule(Lane.INTERACTIVE, CompletableFuture::new);
+
+        CompletionException thrown = assertThrows(CompletionException.class, rejected::join);
+        assertTrue(thrown.getCause() instanceof CallNotPermittedException);
+        assertEquals(1, scheduler.getRejectedCalls());
+    }
+
+    @Test
+    void rateLimitPacesQueuedCalls() throws Exception {
+        UpstreamScheduler scheduler = new UpstreamScheduler(10, 10, 50, 1, 1, Duration.ofSeconds(30),
+                Runnable::run, clock);
+        List<CompletableFuture<Integer>> calls = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            int call = i;
+            calls.add(scheduler.schedule(Lane.INTERACTIVE, () -> CompletableFuture.completedFuture(call)));
+        }
+
+        // One permit is banked; each of the other four waits for the clock to earn another.
+        assertEquals(1, scheduler.getStarted(Lane.INTERACTIVE));
+        assertEquals(4, scheduler.getQueued(Lane.INTERACTIVE));
+        for (int i = 1; i < 5; i++) {
+            clock.advance(Duration.ofMillis(25));
+            assertEquals(Integer.valueOf(i), calls.get(i).get(5, TimeUnit.SECONDS));
+            assertEquals(i + 1, scheduler.getStarted(Lane.INTERACTIVE));
+        }
+        assertEquals(Duration.ofMillis(25 + 50 + 75 + 100), scheduler.getTotalWait(Lane.INTERACTIVE));
+    }
+
+    @Test
+    void retriesTakeARatePermitAheadOfQueuedCalls() throws Exception {
+        UpstreamScheduler scheduler = new UpstreamScheduler(10, 10, 50, 1, 1, Duration.ofSeconds(30),
+                Runnable::run, clock);
+        scheduler.schedule(Lane.INTERACTIVE, CompletableFuture::new);
+        CompletableFuture<String> queued = scheduler.schedule(Lane.INTERACTIVE,
+                () -> CompletableFuture.completedFuture("queued"));
+
+        CompletableFuture<Void> retry = scheduler.acquireRetryPermit();
+        assertFalse(retry.isDone());
+
+        clock.advance(Duration.ofMillis(20));
+        retry.get(5, TimeUnit.SECONDS);
+        assertEquals(1, scheduler.getQueued(Lane.INTERACTIVE));
+        assertEquals(1, scheduler.getInFlight());
+
+        clock.advance(Duration.ofMillis(20));
+        assertEquals("queued", queued.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void retriesNeedNoPermitWithoutARateLimit() {
+        UpstreamScheduler scheduler = new UpstreamScheduler(1, 10, 0, 0, 1, Duration.ofSeconds(30),
+                Runnable::run, clock);
+        scheduler.schedule(Lane.INTERACTIVE, CompletableFuture::new);
+
+        assertTrue(scheduler.acquireRetryPermit().isDone());
+    }
+
+    @Test
+    void throttlingHalvesTheRateOncePerSecondAndPausesCalls() {
+        UpstreamScheduler scheduler = new UpstreamScheduler(10, 10, 8, 1, 4, Duration.ofSeconds(30),
+                Runnable::run, clock);
+
+        scheduler.onResponse(tooManyRequests("5"));
+        scheduler.onResponse(tooManyRequests(null));
+
+        assertEquals(4, scheduler.getRate());
+        assertEquals(2, scheduler.getThrottledCalls());
+        scheduler.schedule(Lane.INTERACTIVE, () -> CompletableFuture.completedFuture("paused"));
+        assertEquals(1, scheduler.getQueued(Lane.INTERACTIVE));
+
+        clock.advance(Duration.ofSeconds(1));
+        scheduler.onResponse(tooManyRequests(null));
+        assertEquals(2, scheduler.getRate());
+        clock.advance(Duration.ofSeconds(1));
+        scheduler.onResponse(tooManyRequests(null));
+        clock.advance(Duration.ofSeconds(1));
+        scheduler.onResponse(tooManyRequests(null));
+        assertEquals(1, scheduler.getRate());
+    }
+
+    @Test
+    void successesWinTheRateBack() {
+        UpstreamScheduler scheduler = new UpstreamScheduler(10, 10, 8, 1, 4, Duration.ofSeconds(30),
+                Runnable::run, clock);
+        scheduler.onResponse(tooManyRequests(null));
+
+        scheduler.onResponse(new HttpServerErrorException(HttpStatus.SERVICE_UNAVAILABLE));
+        assertEquals(4, scheduler.getRate());
+        scheduler.onResponse(null);
+        assertEquals(4.25, scheduler.getRate(), 1e-9);
+        for (int i = 0; i < 100; i++) {
+            scheduler.onResponse(null);
+        }
+        assertEquals(8, scheduler.getRate());
+    }
+
+    private static CompletableFuture<String> started(List<String> order, String name) {
+        order.add(name);
+        return CompletableFuture.completedFuture(name);
+    }
+
+    private static RuntimeException tooManyRequests(String retryAfter) {
+        HttpHeaders headers = new HttpHeaders();
+        if (retryAfter != null) {
+            headers.set(HttpHeaders.RETRY_AFTER, retryAfter);
+        }
+        return new RuntimeException("Error fetching employees",
+                new HttpClientErrorException(HttpStatus.TOO_MANY_REQUESTS, "Too Many Requests", headers, null, null));
+    }
+}
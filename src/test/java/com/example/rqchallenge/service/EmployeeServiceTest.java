@@ -1,8 +1,8 @@
 package com.example.rqchallenge.service;
 
 import com.example.rqchallenge.RqChallengeApplication;
-import com.example.rqchallenge.employees.model.EmployeeResponse;
 import com.example.rqchallenge.employees.model.Employee;
+import com.example.rqchallenge.employees.model.EmployeeBatchResponse;
 import com.example.rqchallenge.employees.model.EmployeeCreationResponse;
 import com.example.rqchallenge.employees.model.SingleEmployeeResponse;
 import com.example.rqchallenge.employees.service.EmployeeService;
@@ -14,7 +14,10 @@ import org.mockito.MockitoAnnotations;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.mock.http.client.MockClientHttpResponse;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.ResponseExtractor;
 import org.springframework.web.client.RestTemplate;
 
 import java.io.IOException;
@@ -28,6 +31,9 @@ import java.util.Map;
 import static java.util.Objects.requireNonNull;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
+import static org.springframework.http.HttpMethod.GET;
+import static org.springframework.http.HttpStatus.NOT_FOUND;
+import static org.springframework.http.HttpStatus.OK;
 
 @SpringBootTest(classes = RqChallengeApplication.class)
 @ActiveProfiles("test")
@@ -48,12 +54,12 @@ class EmployeeServiceTest {
         objectMapper = new ObjectMapper();
     }
 
-    private EmployeeResponse readJsonForEmployeeResponse(String fileName) throws IOException, URISyntaxException {
+    private void stubEmployeesResponse(String fileName) throws IOException, URISyntaxException {
         URL resource = getClass().getClassLoader().getResource("mockdata/" + fileName);
-        return objectMapper.readValue(
-                Files.readString(Paths.get(requireNonNull(resource).toURI())),
-                EmployeeResponse.class
-        );
+        byte[] body = Files.readAllBytes(Paths.get(requireNonNull(resource).toURI()));
+        when(restTemplate.execute(anyString(), eq(GET), any(), any(ResponseExtractor.class)))
+                .thenAnswer(invocation -> invocation.<ResponseExtractor<?>>getArgument(3)
+                        .extractData(new MockClientHttpResponse(body, OK)));
     }
 
     private SingleEmployeeResponse readJsonForSingleEmployeeResponse(String fileName) throws IOException, URISyntaxException {
@@ -76,8 +82,7 @@ class EmployeeServiceTest {
     class GetAllEmployeesTests {
         @Test
         void getAllEmployees_Success() throws IOException, URISyntaxException {
-            EmployeeResponse response = readJsonForEmployeeResponse("employees_success.json");
-            when(restTemplate.getForObject(anyString(), eq(EmployeeResponse.class))).thenReturn(response);
+            stubEmployeesResponse("employees_success.json");
 
             List<Employee> employees = employeeService.getAllEmployees();
             assertEquals(24, employees.size());
@@ -97,8 +102,7 @@ class EmployeeServiceTest {
 
     @Test
     void getEmployeesByName() throws IOException, URISyntaxException {
-        EmployeeResponse response = readJsonForEmployeeResponse("employees_success.json");
-        when(restTemplate.getForObject(anyString(), eq(EmployeeResponse.class))).thenReturn(response);
+        stubEmployeesResponse("employees_success.json");
 
         List<Employee> employees = employeeService.getEmployeesByNameSearch("Tig");
         assertEquals(1, employees.size());
@@ -128,6 +132,27 @@ class EmployeeServiceTest {
         }
     }
 
+    @Nested
+    class GetEmployeesByIdsTests {
+        @Test
+        void getEmployeesByIds_PartialFailure() throws IOException, URISyntaxException {
+            SingleEmployeeResponse response = readJsonForSingleEmployeeResponse("single_employee.json");
+            when(restTemplate.getForObject(endsWith("employee/1"), eq(SingleEmployeeResponse.class))).thenReturn(response);
+            when(restTemplate.getForObject(endsWith("employee/2"), eq(SingleEmployeeResponse.class)))
+                    .thenThrow(new HttpClientErrorException(NOT_FOUND));
+
+            EmployeeBatchResponse batch = employeeService.getEmployeesByIds(List.of("1", "2", "1"));
+            assertEquals(1, batch.getEmployees().size());
+            assertEquals("Tiger Nixon", batch.getEmployees().get(0).getName());
+            assertEquals(Map.of("2", "Error fetching employee by id"), batch.getErrors());
+        }
+
+        @Test
+        void getEmployeesByIds_RejectsNullIds() {
+            assertThrows(IllegalArgumentException.class, () -> employeeService.getEmployeesByIds(null));
+        }
+    }
+
     @Nested
     class CreateEmployeeTests {
         @Test
@@ -179,8 +204,7 @@ class EmployeeServiceTest {
     class GetHighestSalaryTests {
         @Test
         void getHighestSalary_Success() throws IOException, URISyntaxException {
-            EmployeeResponse response = readJsonForEmployeeResponse("employees_success.json");
-            when(restTemplate.getForObject(anyString(), eq(EmployeeResponse.class))).thenReturn(response);
+            stubEmployeesResponse("employees_success.json");
 
             Integer highestSalary = employeeService.getHighestSalaryOfEmployees();
             assertEquals(725000, highestSalary);
@@ -201,8 +225,7 @@ class EmployeeServiceTest {
     class GetTopTenHighestEarningEmployeeNamesTests {
         @Test
         void getTopTenHighestEarningEmployeeNames_Success() throws IOException, URISyntaxException {
-            EmployeeResponse response = readJsonForEmployeeResponse("employees_success.json");
-            when(restTemplate.getForObject(anyString(), eq(EmployeeResponse.class))).thenReturn(response);
+            stubEmployeesResponse("employees_success.json");
 
             List<String> topTenNames = employeeService.getTopTenHighestEarningEmployeeNames();
             assertEquals(10, topTenNames.size()); // Adjust based on the number of records in the JSON file
@@ -0,0 +1,235 @@
+package com.example.rqchallenge.shared;
+
+import com.example.rqchallenge.employees.client.ConditionalEmployees;
+import com.example.rqchallenge.employees.model.Employee;
+import com.example.rqchallenge.employees.shared.InMemorySharedSnapshotStore;
+import com.example.rqchallenge.employees.shared.SharedSnapshotLoader;
+import com.example.rqchallenge.employees.shared.SharedSnapshotStore;
+import com.example.rqchallenge.employees.shared.SharedWrite;
+import com.example.rqchallenge.support.MutableClock;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SharedSnapshotLoaderTest {
+
+    private static final Duration LEASE = Duration.ofSeconds(90);
+    private static final Duration TTL = Duration.ofSeconds(30);
+    private static final Duration MAX_AGE = TTL.plus(Duration.ofMinutes(5));
+
+    private final AtomicInteger upstreamCalls = new AtomicInteger();
+    private volatile boolean upstreamUnchanged;
+    private MutableClock clock;
+    private InMemorySharedSnapshotStore store;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(Instant.parse("2024-01-01T00:00:00Z"));
+        store = new InMemorySharedSnapshotStore(clock);
+    }
+
+    private CompletableFuture<ConditionalEmployees> loadUpstream(ConditionalEmployees previous) {
+        int call = upstreamCalls.incrementAndGet();
+        if (upstreamUnchanged && previous != null) {
+            return CompletableFuture.completedFuture(ConditionalEmployees.notModified(previous));
+        }
+        return CompletableFuture.completedFuture(ConditionalEmployees.modified(
+                List.of(new Employee(call, "Employee " + call, 1000 * call, 30)), "\"v" + call + "\"", null));
+    }
+
+    private SharedSnapshotLoader loader(SharedSnapshotStore store, String nodeId) {
+        return new SharedSnapshotLoader(store, nodeId, LEASE, MAX_AGE, this::loadUpstream, clock);
+    }
+
+    @Test
+    void onlyTheLeaseHolderReadsTheUpstream() {
+        SharedSnapshotLoader first = loader(store, "a");
+        SharedSnapshotLoader second = loader(store, "b");
+
+        ConditionalEmployees leaderResult = first.apply(null).join();
+        ConditionalEmployees followerResult = second.apply(null).join();
+
+        assertTrue(first.isLeader());
+        assertFalse(second.isLeader());
+        assertEquals(1, upstreamCalls.get());
+        assertEquals(leaderResult.getEmployees(), followerResult.getEmployees());
+        assertEquals("\"v1\"", followerResult.getEtag());
+        assertEquals(1, first.getUpstreamLoads());
+        assertEquals(1, second.getStoreLoads());
+    }
+
+    @Test
+    void followerSeesNotModifiedUntilTheLeaderPublishes() {
+        SharedSnapshotLoader leader = loader(store, "a");
+        SharedSnapshotLoader follower = loader(store, "b");
+        leader.apply(null).join();
+        ConditionalEmployees read = follower.apply(null).join();
+
+        ConditionalEmployees unchanged = follower.apply(read).join();
+        assertFalse(unchanged.isModified());
+
+        leader.apply(read).join();
+        ConditionalEmployees changed = follower.apply(read).join();
+        assertTrue(changed.isModified());
+        assertEquals("Employee 2", changed.getEmployees().get(0).getName());
+        assertEquals(2, upstreamCalls.get());
+    }
+
+    @Test
+    void followerKeepsTheTimeTheLeaderReadTheList() {
+        Instant readAt = clock.instant();
+        SharedSnapshotLoader leader = loader(store, "a");
+        SharedSnapshotLoader follower = loader(store, "b");
+        leader.apply(null).join();
+        clock.advance(Duration.ofSeconds(10));
+
+        ConditionalEmployees read = follower.apply(null).join();
+        clock.advance(Duration.ofSeconds(10));
+        ConditionalEmployees unchanged = follower.apply(read).join();
+
+        assertEquals(readAt, read.getLoadedAt());
+        assertFalse(unchanged.isModified());
+        assertEquals(readAt, unchanged.getLoadedAt());
+    }
+
+    @Test
+    void leaderConfirmsAnUnchangedList() {
+        SharedSnapshotLoader leader = loader(store, "a");
+        SharedSnapshotLoader follower = loader(store, "b");
+        ConditionalEmployees published = leader.apply(null).join();
+        ConditionalEmployees read = follower.apply(null).join();
+        upstreamUnchanged = true;
+        clock.advance(Duration.ofSeconds(20));
+
+        assertFalse(leader.apply(published).join().isModified());
+        ConditionalEmployees confirmed = follower.apply(read).join();
+
+        assertEquals(clock.instant(), store.read().join().getLoadedAt());
+        assertFalse(confirmed.isModified());
+        assertEquals(clock.instant(), confirmed.getLoadedAt());
+    }
+
+    @Test
+    void followerWaitsForALateLeaderPastTheTtl() {
+        Instant readAt = clock.instant();
+        SharedSnapshotLoader leader = loader(store, "a");
+        SharedSnapshotLoader follower = loader(store, "b");
+        ConditionalEmployees published = leader.apply(null).join();
+        ConditionalEmployees read = follower.apply(null).join();
+
+        clock.advance(TTL.plusSeconds(1));
+        ConditionalEmployees beforeTheLeader = follower.apply(read).join();
+        leader.apply(published).join();
+        ConditionalEmployees afterTheLeader = follower.apply(read).join();
+
+        assertFalse(beforeTheLeader.isModified());
+        assertEquals(readAt, beforeTheLeader.getLoadedAt());
+        assertEquals(0, follower.getUpstreamLoads());
+        assertEquals(2, upstreamCalls.get());
+        assertEquals("Employee 2", afterTheLeader.getEmployees().get(0).getName());
+    }
+
+    @Test
+    void followerReadsTheUpstreamWhenTheListIsTooOld() {
+        SharedSnapshotLoader leader = loader(store, "a");
+        SharedSnapshotLoader follower = loader(store, "b");
+        leader.apply(null).join();
+        ConditionalEmployees read = follower.apply(null).join();
+
+        clock.advance(MAX_AGE.plusSeconds(1));
+        // The leader still renews its lease, but publishes nothing, as when its upstream reads keep failing.
+        store.tryAcquireLease("a", LEASE).join();
+        ConditionalEmployees refreshed = follower.apply(read).join();
+
+        assertFalse(follower.isLeader());
+        assertEquals(2, upstreamCalls.get());
+        assertEquals("Employee 2", refreshed.getEmployees().get(0).getName());
+        assertNull(refreshed.getLoadedAt());
+        assertEquals(1, follower.getUpstreamLoads());
+    }
+
+    @Test
+    void followerTakesOverWhenTheLeaseExpires() {
+        SharedSnapshotLoader leader = loader(store, "a");
+        SharedSnapshotLoader follower = loader(store, "b");
+        leader.apply(null).join();
+        follower.apply(null).join();
+
+        clock.advance(LEASE.plusSeconds(1));
+        ConditionalEmployees refreshed = follower.apply(null).join();
+
+        assertTrue(follower.isLeader());
+        assertEquals("Employee 2", refreshed.getEmployees().get(0).getName());
+        assertNull(store.publish("a", refreshed, clock.instant()).join());
+        assertEquals("Employee 2", store.read().join().getEmployees().get(0).getName());
+    }
+
+    @Test
+    void releasedLeaseIsTakenAtOnce() {
+        SharedSnapshotLoader leader = loader(store, "a");
+        SharedSnapshotLoader follower = loader(store, "b");
+        leader.apply(null).join();
+
+        store.releaseLease("a").join();
+        follower.apply(null).join();
+
+        assertTrue(follower.isLeader());
+        assertEquals(2, upstreamCalls.get());
+    }
+
+    @Test
+    void followerReadsTheUpstreamUntilAListIsPublished() {
+        store.tryAcquireLease("a", LEASE).join();
+        SharedSnapshotLoader follower = loader(store, "b");
+
+        ConditionalEmployees result = follower.apply(null).join();
+
+        assertFalse(follower.isLeader());
+        assertEquals("Employee 1", result.getEmployees().get(0).getName());
+        assertEquals(1, follower.getUpstreamLoads());
+        assertEquals(0, follower.getStoreLoads());
+    }
+
+    @Test
+    void failingStoreFallsBackToTheUpstream() {
+        SharedSnapshotStore failing = new InMemorySharedSnapshotStore(clock) {
+            @Override
+            public CompletableFuture<Boolean> tryAcquireLease(String nodeId, Duration duration) {
+                return CompletableFuture.failedFuture(new IllegalStateException("store down"));
+            }
+        };
+        SharedSnapshotLoader loader = loader(failing, "a");
+
+        ConditionalEmployees result = loader.apply(null).join();
+
+        assertEquals("Employee 1", result.getEmployees().get(0).getName());
+        assertEquals(1, loader.getStoreFailures());
+        assertEquals(1, loader.getUpstreamLoads());
+    }
+
+    @Test
+    void announcedWritesReachEverySubscriber() {
+        List<SharedWrite> first = new ArrayList<>();
+        List<SharedWrite> second = new ArrayList<>();
+        Runnable unsubscribe = store.subscribe(first::add);
+        store.subscribe(second::add);
+
+        store.announce(SharedWrite.created("a", new Employee(7, "New", 7000, 25))).join();
+        unsubscribe.run();
+        store.announce(SharedWrite.deleted("a", 7)).join();
+
+        assertEquals(1, first.size());
+        assertTrue(first.get(0).isCreate());
+        assertEquals(2, second.size());
+        assertFalse(second.get(1).isCreate());
+        assertEquals(7, second.get(1).getDeletedId());
+    }
+}
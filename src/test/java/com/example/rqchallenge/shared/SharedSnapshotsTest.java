@@ -0,0 +1,174 @@
+package com.example.rqchallenge.shared;
+
+import com.example.rqchallenge.employees.client.ConditionalEmployees;
+import com.example.rqchallenge.employees.client.EmployeeClient;
+import com.example.rqchallenge.employees.model.Employee;
+import com.example.rqchallenge.employees.service.EmployeeService;
+import com.example.rqchallenge.employees.service.EmployeeServiceProperties;
+import com.example.rqchallenge.employees.shared.InMemorySharedSnapshotStore;
+import com.example.rqchallenge.employees.shared.SharedSnapshots;
+import com.example.rqchallenge.employees.snapshot.SnapshotWriteListener;
+import com.example.rqchallenge.employees.snapshot.SnapshotWriteSource;
+import com.example.rqchallenge.employees.stream.EmployeeSink;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SharedSnapshotsTest {
+
+    private static final Duration LEASE = Duration.ofSeconds(90);
+    private static final Duration TTL = Duration.ofHours(1);
+
+    private final FakeUpstream upstream = new FakeUpstream();
+    private InMemorySharedSnapshotStore store;
+    private SharedSnapshots sharedA;
+    private SharedSnapshots sharedB;
+    private EmployeeService nodeA;
+    private EmployeeService nodeB;
+
+    @BeforeEach
+    void setUp() {
+        upstream.employees.add(new Employee(1, "Tiger Nixon", 320800, 61));
+        upstream.employees.add(new Employee(2, "Garrett Winters", 170750, 63));
+        store = new InMemorySharedSnapshotStore(Clock.systemUTC());
+        sharedA = new SharedSnapshots(store, "a", LEASE, TTL, TTL);
+        sharedB = new SharedSnapshots(store, "b", LEASE, TTL, TTL);
+        nodeA = service(sharedA);
+        nodeB = service(sharedB);
+    }
+
+    @AfterEach
+    void tearDown() {
+        nodeA.shutdown();
+        nodeB.shutdown();
+        sharedA.shutdown();
+        sharedB.shutdown();
+    }
+
+    private EmployeeService service(SharedSnapshots shared) {
+        EmployeeServiceProperties properties = new EmployeeServiceProperties();
+        properties.getSnapshot().setTtl(TTL);
+        properties.getSnapshot().setMaxStale(TTL);
+        return new EmployeeService(shared.decorate(upstream), properties,
+                new StaticListableBeanFactory(Map.of("shared", shared)).getBeanProvider(SnapshotWriteSource.class));
+    }
+
+    @Test
+    void firstLoadsGoThroughTheStore() {
+        assertEquals(2, nodeA.getSnapshot().size());
+        assertEquals(2, nodeB.getSnapshot().size());
+
+        assertEquals(1, upstream.listReads.get());
+        assertTrue(sharedA.isLeader());
+        assertEquals(1, sharedB.getStoreLoads());
+        assertEquals(nodeA.getSnapshot().getFingerprint(), nodeB.getSnapshot().getFingerprint());
+    }
+
+    @Test
+    void writesReachTheOtherNodeWithoutARefresh() {
+        nodeA.getSnapshot();
+        nodeB.getSnapshot();
+
+        Employee created = nodeA.createEmployee(Map.of("name", "Ashton Cox", "salary", "86000", "age", "66"));
+        assertEquals("Ashton Cox", nodeB.getSnapshot().getEmployee(created.getId()).getName());
+
+        nodeB.deleteEmployee("1");
+        assertNull(nodeA.getSnapshot().getEmployee(1));
+
+        assertEquals(1, upstream.listReads.get());
+        assertEquals(nodeA.getSnapshot().getFingerprint(), nodeB.getSnapshot().getFingerprint());
+    }
+
+    @Test
+    void ownWritesAreNotAppliedTwice() {
+        List<String> seenByA = new CopyOnWriteArrayList<>();
+        sharedA.subscribe(recorder(seenByA));
+        long version = nodeA.getSnapshot().getVersion();
+        nodeB.getSnapshot();
+
+        nodeA.createEmployee(Map.of("name", "Ashton Cox", "salary", "86000", "age", "66"));
+        assertEquals(version + 1, nodeA.getSnapshot().getVersion());
+        assertEquals(List.of(), seenByA);
+
+        nodeB.deleteEmployee("2");
+        assertEquals(List.of("deleted 2"), seenByA);
+    }
+
+    private static SnapshotWriteListener recorder(List<String> seen) {
+        return new SnapshotWriteListener() {
+            @Override
+            public void created(Employee employee) {
+                seen.add("created " + employee.getId());
+            }
+
+            @Override
+            public void deleted(int id) {
+                seen.add("deleted " + id);
+            }
+        };
+    }
+
+    private static final class FakeUpstream implements EmployeeClient {
+
+        private final List<Employee> employees = new CopyOnWriteArrayList<>();
+        private final AtomicInteger listReads = new AtomicInteger();
+        private final AtomicInteger nextId = new AtomicInteger(100);
+
+        @Override
+        public CompletableFuture<Void> streamAllEmployees(EmployeeSink sink) {
+            listReads.incrementAndGet();
+            for (Employee employee : employees) {
+                sink.accept(employee.getId(), employee.getName(), employee.getSalary(), employee.getAge(),
+                        employee.getProfileImage());
+            }
+            return CompletableFuture.completedFuture(null);
+        }
+
+        @Override
+        public CompletableFuture<ConditionalEmployees> getAllEmployeesIfModified(ConditionalEmployees previous) {
+            listReads.incrementAndGet();
+            return CompletableFuture.completedFuture(
+                    ConditionalEmployees.modified(new ArrayList<>(employees), null, null));
+        }
+
+        @Override
+        public CompletableFuture<Employee> getEmployeeById(String id) {
+            return CompletableFuture.completedFuture(employees.stream()
+                    .filter(employee -> String.valueOf(employee.getId()).equals(id))
+                    .findFirst()
+                    .orElse(null));
+        }
+
+        @Override
+        public CompletableFuture<Employee> createEmployee(Map<String, Object> employeeInput) {
+            Employee employee = new Employee(nextId.getAndIncrement(), (String) employeeInput.get("name"),
+                    Integer.parseInt((String) employeeInput.get("salary")),
+                    Integer.parseInt((String) employeeInput.get("age")));
+            employees.add(employee);
+            return CompletableFuture.completedFuture(employee);
+        }
+
+        @Override
+        public CompletableFuture<Void> deleteEmployee(String id) {
+            employees.removeIf(employee -> String.valueOf(employee.getId()).equals(id));
+            return CompletableFuture.completedFuture(null);
+        }
+
+        @Override
+        public CompletableFuture<String> deleteEmployeeAndReturnStatus(String id) {
+            return deleteEmployee(id).thenApply(done -> SUCCESS);
+        }
+    }
+}
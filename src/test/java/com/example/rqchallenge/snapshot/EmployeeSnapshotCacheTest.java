@@ -0,0 +1,342 @@
+package com.example.rqchallenge.snapshot;
+
+import com.example.rqchallenge.employees.client.ConditionalEmployees;
+import com.example.rqchallenge.employees.concurrent.ParallelQueries;
+import com.example.rqchallenge.employees.model.Employee;
+import com.example.rqchallenge.employees.resilience.CallNotPermittedException;
+import com.example.rqchallenge.employees.snapshot.EmployeeSnapshot;
+import com.example.rqchallenge.employees.snapshot.EmployeeSnapshotCache;
+import com.example.rqchallenge.support.MutableClock;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EmployeeSnapshotCacheTest {
+
+    private static final Duration TTL = Duration.ofSeconds(30);
+    private static final Duration MAX_STALE = Duration.ofMinutes(5);
+
+    private final AtomicInteger loads = new AtomicInteger();
+    private MutableClock clock;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(Instant.parse("2024-01-01T00:00:00Z"));
+    }
+
+    private CompletableFuture<List<Employee>> loadEmployees() {
+        int load = loads.incrementAndGet();
+        return CompletableFuture.completedFuture(List.of(new Employee(load, "Employee " + load, 1000 * load, 30)));
+    }
+
+    @Test
+    void freshSnapshotIsServedWithoutReloading() {
+        EmployeeSnapshotCache cache = new EmployeeSnapshotCache(this::loadEmployees, TTL, MAX_STALE, Runnable::run, clock);
+
+        EmployeeSnapshot first = cache.get();
+        clock.advance(Duration.ofSeconds(10));
+        EmployeeSnapshot second = cache.get();
+
+        assertSame(first, second);
+        assertEquals(1, loads.get());
+        assertEquals(1, cache.getStats().getMisses());
+        assertEquals(1, cache.getStats().getHits());
+    }
+
+    @Test
+    void staleSnapshotIsServedWhileRefreshing() {
+        List<Runnable> scheduled = new ArrayList<>();
+        EmployeeSnapshotCache cache = new EmployeeSnapshotCache(this::loadEmployees, TTL, MAX_STALE, scheduled::add, clock);
+
+        EmployeeSnapshot first = cache.get();
+        clock.advance(TTL.plusSeconds(1));
+
+        assertSame(first, cache.get());
+        assertEquals(1, scheduled.size());
+
+        scheduled.get(0).run();
+        EmployeeSnapshot refreshed = cache.get();
+        assertEquals(2, loads.get());
+        assertTrue(refreshed.getVersion() > first.getVersion());
+        assertEquals(1, cache.getStats().getStaleHits());
+    }
+
+    @Test
+    void expiredSnapshotIsReloadedSynchronously() {
+        EmployeeSnapshotCache cache = new EmployeeSnapshotCache(this::loadEmployees, TTL, MAX_STALE, Runnable::run, clock);
+
+        cache.get();
+        clock.advance(TTL.plus(MAX_STALE));
+
+        assertEquals("Employee 2", cache.get().getEmployees().get(0).getName());
+        assertEquals(2, cache.getStats().getMisses());
+    }
+
+    @Test
+    void concurrentCallersShareOneInFlightLoad() {
+        CompletableFuture<List<Employee>> upstream = new CompletableFuture<>();
+        EmployeeSnapshotCache cache = new EmployeeSnapshotCache(() -> {
+            loads.incrementAndGet();
+            return upstream;
+        }, TTL, MAX_STALE, Runnable::run, clock);
+
+        CompletableFuture<EmployeeSnapshot> first = cache.getAsync();
+        CompletableFuture<EmployeeSnapshot> second = cache.getAsync();
+        upstream.complete(List.of(new Employee(1, "Tiger Nixon", 320800, 61)));
+
+        assertSame(first.join(), second.join());
+        assertEquals(1, loads.get());
+        assertEquals(1, cache.getStats().getCoalesced());
+    }
+
+    @Test
+    void failedLoadIsPropagatedUnwrapped() {
+        EmployeeSnapshotCache cache = new EmployeeSnapshotCache(
+                () -> CompletableFuture.failedFuture(new RuntimeException("Error fetching employees")),
+                TTL, MAX_STALE, Runnable::run, clock);
+
+        Exception exception = assertThrows(RuntimeException.class, cache::get);
+        assertEquals("Error fetching employees", exception.getMessage());
+        assertEquals(1, cache.getStats().getRefreshFailures());
+    }
+
+    @Test
+    void lastKnownSnapshotIsServedWhenRefreshFails() {
+        AtomicInteger calls = new AtomicInteger();
+        EmployeeSnapshotCache cache = new EmployeeSnapshotCache(() -> calls.incrementAndGet() == 1
+                ? loadEmployees()
+                : CompletableFuture.failedFuture(new CallNotPermittedException("Upstream circuit breaker is open")),
+                TTL, MAX_STALE, Runnable::run, clock);
+
+        EmployeeSnapshot first = cache.get();
+        clock.advance(TTL.plus(MAX_STALE).plusSeconds(1));
+
+        assertSame(first, cache.get());
+        assertEquals(1, cache.getStats().getFallbacks());
+        assertEquals(1, cache.getStats().getRefreshFailures());
+    }
+
+    @Test
+    void refreshFailuresOtherThanAnUnavailableUpstreamArePropagated() {
+        AtomicInteger calls = new AtomicInteger();
+        EmployeeSnapshotCache cache = new EmployeeSnapshotCache(() -> calls.incrementAndGet() == 1
+                ? loadEmployees()
+                : CompletableFuture.failedFuture(new IllegalStateException("Malformed employee list")),
+                TTL, MAX_STALE, Runnable::run, clock);
+
+        cache.get();
+        clock.advance(TTL.plus(MAX_STALE).plusSeconds(1));
+
+        Exception exception = assertThrows(IllegalStateException.class, cache::get);
+        assertEquals("Malformed employee list", exception.getMessage());
+        assertEquals(0, cache.getStats().getFallbacks());
+    }
+
+    @Test
+    void snapshotOlderThanFallbackMaxAgeIsNotServed() {
+        AtomicInteger calls = new AtomicInteger();
+        EmployeeSnapshotCache cache = new EmployeeSnapshotCache(previous -> calls.incrementAndGet() == 1
+                ? loadEmployees().thenApply(employees -> ConditionalEmployees.modified(employees, null, null))
+                : CompletableFuture.failedFuture(new ResourceAccessException("Connection refused")),
+                TTL, MAX_STALE, Duration.ofMinutes(10), Runnable::run, clock, ParallelQueries.sequential());
+
+        EmployeeSnapshot first = cache.get();
+        clock.advance(Duration.ofMinutes(10));
+        assertSame(first, cache.get());
+
+        clock.advance(Duration.ofSeconds(1));
+        assertThrows(ResourceAccessException.class, cache::get);
+        assertEquals(1, cache.getStats().getFallbacks());
+        assertEquals(2, cache.getStats().getRefreshFailures());
+    }
+
+    @Test
+    void zeroTtlDisablesCaching() {
+        EmployeeSnapshotCache cache = new EmployeeSnapshotCache(this::loadEmployees, Duration.ZERO, MAX_STALE, Runnable::run, clock);
+
+        cache.get();
+        cache.get();
+
+        assertEquals(2, loads.get());
+        assertNull(cache.peek());
+    }
+
+    @Test
+    void writesAreAppliedToTheCachedSnapshot() {
+        EmployeeSnapshotCache cache = new EmployeeSnapshotCache(this::loadEmployees, TTL, MAX_STALE, Runnable::run, clock);
+        EmployeeSnapshot loaded = cache.get();
+
+        cache.recordCreated(new Employee(2, "Garrett Winters", 170750, 63));
+        cache.recordDeleted(1);
+
+        EmployeeSnapshot current = cache.get();
+        assertEquals(1, loads.get());
+        assertNull(current.getEmployee(1));
+        assertEquals("Garrett Winters", current.getEmployee(2).getName());
+        assertEquals(loaded.getLoadedAt(), current.getLoadedAt());
+        assertEquals(2, cache.getStats().getLocalWrites());
+    }
+
+    @Test
+    void batchedWritesAreAppliedAsOneVersion() {
+        EmployeeSnapshotCache cache = new EmployeeSnapshotCache(this::loadEmployees, TTL, MAX_STALE, Runnable::run, clock);
+        EmployeeSnapshot loaded = cache.get();
+
+        cache.recordWrites(List.of(new Employee(2, "Garrett Winters", 170750, 63),
+                new Employee(3, "Ashton Cox", 86000, 66)), new int[]{1});
+
+        EmployeeSnapshot current = cache.get();
+        assertEquals(loaded.getVersion() + 1, current.getVersion());
+        assertNull(current.getEmployee(1));
+        assertEquals(2, current.size());
+        assertEquals(3, cache.getStats().getLocalWrites());
+    }
+
+    @Test
+    void writesAreAppliedOnTheRefreshExecutorAsOneBatch() {
+        List<Runnable> scheduled = new ArrayList<>();
+        EmployeeSnapshotCache cache = new EmployeeSnapshotCache(this::loadEmployees, TTL, MAX_STALE, scheduled::add, clock);
+        EmployeeSnapshot loaded = cache.get();
+
+        cache.recordCreated(new Employee(2, "Garrett Winters", 170750, 63));
+        cache.recordCreated(new Employee(3, "Ashton Cox", 86000, 66));
+        cache.recordDeleted(1);
+        CompletableFuture<EmployeeSnapshot> read = cache.getAsync();
+
+        assertSame(loaded, cache.peek());
+        assertFalse(read.isDone());
+        assertEquals(1, scheduled.size());
+
+        scheduled.get(0).run();
+        EmployeeSnapshot current = read.join();
+        assertSame(current, cache.peek());
+        assertEquals(loaded.getVersion() + 1, current.getVersion());
+        assertNull(current.getEmployee(1));
+        assertEquals(2, current.size());
+        assertEquals(3, cache.getStats().getLocalWrites());
+    }
+
+    @Test
+    void writesDuringARefreshAreReplayedOntoIt() {
+        CompletableFuture<List<Employee>> upstream = new CompletableFuture<>();
+        EmployeeSnapshotCache cache = new EmployeeSnapshotCache(() -> upstream, TTL, MAX_STALE, Runnable::run, clock);
+
+        CompletableFuture<EmployeeSnapshot> refreshed = cache.getAsync();
+        cache.recordCreated(new Employee(2, "Garrett Winters", 170750, 63));
+        upstream.complete(List.of(new Employee(1, "Tiger Nixon", 320800, 61)));
+
+        assertEquals(2, refreshed.join().size());
+        assertEquals("Garrett Winters", cache.peek().getEmployee(2).getName());
+    }
+
+    @Test
+    void refreshesAreConditionalOnTheLastReadsValidators() {
+        List<ConditionalEmployees> previousReads = new ArrayList<>();
+        ConditionalEmployees read = ConditionalEmployees.modified(
+                List.of(new Employee(1, "Tiger Nixon", 320800, 61)), "\"v1\"", null);
+        EmployeeSnapshotCache cache = new EmployeeSnapshotCache(previous -> {
+            previousReads.add(previous);
+            return CompletableFuture.completedFuture(previous == null ? read : ConditionalEmployees.notModified(previous));
+        }, TTL, MAX_STALE, Runnable::run, clock, ParallelQueries.sequential());
+
+        EmployeeSnapshot first = cache.get();
+        clock.advance(TTL.plus(MAX_STALE));
+        EmployeeSnapshot second = cache.get();
+
+        assertNull(previousReads.get(0));
+        assertEquals("\"v1\"", previousReads.get(1).getEtag());
+        assertNull(previousReads.get(1).getEmployees());
+        assertSame(first.getSalaryIndex(), second.getSalaryIndex());
+        assertEquals(clock.instant(), second.getLoadedAt());
+        assertEquals(first.getVersion(), second.getVersion());
+        assertEquals(1, cache.getStats().getNotModifiedRefreshes());
+    }
+
+    @Test
+    void snapshotAgesFromWhenTheLoaderSaysTheUpstreamAnswered() {
+        Instant answeredAt = clock.instant().minus(TTL).plusSeconds(5);
+        List<Runnable> scheduled = new ArrayList<>();
+        EmployeeSnapshotCache cache = new EmployeeSnapshotCache(previous -> CompletableFuture.completedFuture(
+                ConditionalEmployees.modified(List.of(new Employee(1, "Tiger Nixon", 320800, 61)), null, null)
+                        .loadedAt(answeredAt)),
+                TTL, MAX_STALE, scheduled::add, clock, ParallelQueries.sequential());
+
+        assertEquals(answeredAt, cache.get().getLoadedAt());
+        clock.advance(Duration.ofSeconds(6));
+        cache.get();
+
+        assertEquals(1, scheduled.size());
+        assertEquals(1, cache.getStats().getStaleHits());
+    }
+
+    @Test
+    void changedListIsAppliedAsADelta() {
+        Employee tiger = new Employee(1, "Tiger Nixon", 320800, 61);
+        Employee garrett = new Employee(2, "Garrett Winters", 170750, 63);
+        AtomicInteger calls = new AtomicInteger();
+        Employee ashton = new Employee(3, "Ashton Cox", 86000, 66);
+        EmployeeSnapshotCache cache = new EmployeeSnapshotCache(() -> CompletableFuture.completedFuture(
+                calls.incrementAndGet() == 1 ? List.of(tiger, garrett) : List.of(tiger, ashton)),
+                TTL, MAX_STALE, Runnable::run, clock);
+
+        cache.get();
+        clock.advance(TTL.plus(MAX_STALE));
+        EmployeeSnapshot second = cache.get();
+
+        assertEquals(List.of("Tiger Nixon", "Ashton Cox"), second.getSalaryIndex().topNames(10));
+        assertNull(second.getEmployee(2));
+        assertEquals(1, cache.getStats().getDeltaRefreshes());
+    }
+
+    @Test
+    void restoredSnapshotIsServedHoweverOldUntilRefreshed() {
+        List<Runnable> scheduled = new ArrayList<>();
+        EmployeeSnapshotCache cache = new EmployeeSnapshotCache(this::loadEmployees, TTL, MAX_STALE, scheduled::add, clock);
+        List<EmployeeSnapshot> refreshed = new ArrayList<>();
+        cache.addRefreshListener(refreshed::add);
+
+        cache.restore(List.of(new Employee(9, "Restored", 9000, 40)), clock.instant().minus(Duration.ofHours(3)));
+
+        assertEquals("Restored", cache.get().getEmployees().get(0).getName());
+        assertEquals(0, loads.get());
+        assertEquals(1, scheduled.size());
+
+        scheduled.get(0).run();
+        assertEquals("Employee 1", cache.get().getEmployees().get(0).getName());
+        assertEquals(List.of(cache.peek()), refreshed);
+    }
+
+    @Test
+    void restoredSnapshotSurvivesFailedRefreshes() {
+        List<Runnable> scheduled = new ArrayList<>();
+        EmployeeSnapshotCache cache = new EmployeeSnapshotCache(
+                () -> CompletableFuture.failedFuture(new ResourceAccessException("upstream down")),
+                TTL, MAX_STALE, scheduled::add, clock);
+
+        cache.restore(List.of(new Employee(9, "Restored", 9000, 40)), clock.instant().minus(Duration.ofHours(3)));
+        scheduled.get(0).run();
+
+        assertEquals("Restored", cache.get().getEmployees().get(0).getName());
+        assertEquals(1, cache.getStats().getRefreshFailures());
+    }
+
+    @Test
+    void restoreDoesNotReplaceALoadedSnapshot() {
+        EmployeeSnapshotCache cache = new EmployeeSnapshotCache(this::loadEmployees, TTL, MAX_STALE, Runnable::run, clock);
+        EmployeeSnapshot loaded = cache.get();
+
+        cache.restore(List.of(new Employee(9, "Restored", 9000, 40)), clock.instant());
+
+        assertSame(loaded, cache.get());
+        assertEquals(1, loads.get());
+    }
+}
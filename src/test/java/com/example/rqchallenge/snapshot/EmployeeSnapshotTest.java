@@ -0,0 +1,131 @@
+package com.example.rqchallenge.snapshot;
+
+import com.example.rqchallenge.employees.model.Employee;
+import com.example.rqchallenge.employees.snapshot.EmployeeSnapshot;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EmployeeSnapshotTest {
+
+    private static final Instant LOADED_AT = Instant.parse("2024-01-01T00:00:00Z");
+    private static final String[] NAMES = {"Tiger Nixon", "Garrett Winters", "Ashton Cox", "Cedric Kelly", "Airi Satou"};
+
+    @Test
+    void addedEmployeeIsVisibleToEveryView() {
+        EmployeeSnapshot snapshot = new EmployeeSnapshot(1, LOADED_AT, List.of(new Employee(1, "Tiger Nixon", 320800, 61)));
+
+        EmployeeSnapshot updated = snapshot.withAdded(2, new Employee(2, "Garrett Winters", 500000, 63));
+
+        assertEquals(2, updated.getVersion());
+        assertEquals(LOADED_AT, updated.getLoadedAt());
+        assertEquals(2, updated.size());
+        assertEquals("Garrett Winters", updated.getEmployee(2).getName());
+        assertEquals(List.of("Garrett Winters", "Tiger Nixon"), updated.getSalaryIndex().topNames(10));
+        assertEquals("Garrett Winters", updated.getEmployees(updated.getNameIndex().search("winter")).get(0).getName());
+        assertEquals(1, snapshot.size());
+    }
+
+    @Test
+    void removedEmployeeDisappearsFromEveryView() {
+        EmployeeSnapshot snapshot = new EmployeeSnapshot(1, LOADED_AT, List.of(
+                new Employee(1, "Tiger Nixon", 320800, 61),
+                new Employee(2, "Garrett Winters", 170750, 63),
+                new Employee(3, "Ashton Cox", 86000, 66),
+                new Employee(4, "Cedric Kelly", 433060, 22),
+                new Employee(5, "Airi Satou", 162700, 33)));
+
+        EmployeeSnapshot updated = snapshot.withRemoved(2, 1);
+
+        assertNull(updated.getEmployee(1));
+        assertEquals(4, updated.size());
+        assertFalse(updated.getSalaryIndex().topNames(10).contains("Tiger Nixon"));
+        assertEquals(0, updated.getNameIndex().search("tiger").length);
+        assertSame(updated, updated.withRemoved(3, 1));
+    }
+
+    @Test
+    void fingerprintFollowsTheEmployeesNotTheVersion() {
+        Employee tiger = new Employee(1, "Tiger Nixon", 320800, 61);
+        Employee garrett = new Employee(2, "Garrett Winters", 170750, 63);
+        EmployeeSnapshot snapshot = new EmployeeSnapshot(1, LOADED_AT, List.of(tiger, garrett));
+
+        EmployeeSnapshot elsewhere = new EmployeeSnapshot(7, LOADED_AT.plusSeconds(60), List.of(tiger, garrett));
+        EmployeeSnapshot rebuilt = new EmployeeSnapshot(3, LOADED_AT, List.of(tiger))
+                .withAdded(4, new Employee(3, "Ashton Cox", 86000, 66))
+                .withAdded(5, garrett)
+                .withRemoved(6, 3);
+
+        assertEquals(snapshot.getFingerprint(), elsewhere.getFingerprint());
+        assertEquals(snapshot.getFingerprint(), rebuilt.getFingerprint());
+        assertNotEquals(snapshot.getFingerprint(), new EmployeeSnapshot(1, LOADED_AT, List.of(garrett, tiger))
+                .getFingerprint());
+        assertNotEquals(snapshot.getFingerprint(), snapshot.withAdded(2, new Employee(2, "Garrett Winters", 170751, 63))
+                .getFingerprint());
+    }
+
+    @Test
+    void incrementalWritesMatchAFullRebuild() {
+        Random random = new Random(42);
+        List<Employee> expected = new ArrayList<>();
+        for (int id = 0; id < 50; id++) {
+            expected.add(employee(random, id));
+        }
+        EmployeeSnapshot snapshot = new EmployeeSnapshot(1, LOADED_AT, expected);
+        int nextId = 50;
+        for (int version = 2; version < 500; version++) {
+            if (random.nextBoolean() && !expected.isEmpty()) {
+                Employee removed = expected.remove(random.nextInt(expected.size()));
+                snapshot = snapshot.withRemoved(version, removed.getId());
+            } else {
+                Employee added = employee(random, nextId++);
+                expected.add(added);
+                snapshot = snapshot.withAdded(version, added);
+            }
+            EmployeeSnapshot rebuilt = new EmployeeSnapshot(version, LOADED_AT, expected);
+
+            assertEquals(rebuilt.getEmployees(), snapshot.getEmployees());
+            assertEquals(rebuilt.getSalaryIndex().topNames(20), snapshot.getSalaryIndex().topNames(20));
+            assertEquals(rebuilt.getSalaryIndex().max(), snapshot.getSalaryIndex().max());
+            for (String search : List.of("a", "on", "ter", "kelly")) {
+                assertEquals(rebuilt.getEmployees(rebuilt.getNameIndex().search(search)),
+                        snapshot.getEmployees(snapshot.getNameIndex().search(search)));
+            }
+        }
+    }
+
+    @Test
+    void batchedWritesMatchAFullRebuild() {
+        Random random = new Random(7);
+        List<Employee> expected = new ArrayList<>();
+        for (int id = 0; id < 50; id++) {
+            expected.add(employee(random, id));
+        }
+        EmployeeSnapshot snapshot = new EmployeeSnapshot(1, LOADED_AT, expected);
+
+        List<Employee> created = List.of(employee(random, 50), employee(random, 51), employee(random, 3));
+        EmployeeSnapshot updated = snapshot.withWrites(2, created, new int[]{7, 9, 51, 99});
+        expected.removeIf(employee -> employee.getId() == 3 || employee.getId() == 7 || employee.getId() == 9);
+        expected.add(created.get(0));
+        expected.add(created.get(2));
+        EmployeeSnapshot rebuilt = new EmployeeSnapshot(2, LOADED_AT, expected);
+
+        assertEquals(2, updated.getVersion());
+        assertEquals(rebuilt.getEmployees(), updated.getEmployees());
+        assertEquals(rebuilt.getSalaryIndex().topNames(20), updated.getSalaryIndex().topNames(20));
+        for (String search : List.of("a", "on", "ter", "kelly")) {
+            assertEquals(rebuilt.getEmployees(rebuilt.getNameIndex().search(search)),
+                    updated.getEmployees(updated.getNameIndex().search(search)));
+        }
+        assertSame(updated, updated.withWrites(3, List.of(), new int[]{99}));
+    }
+
+    private static Employee employee(Random random, int id) {
+        return new Employee(id, NAMES[random.nextInt(NAMES.length)] + " " + id, 1000 * random.nextInt(50), 30);
+    }
+}
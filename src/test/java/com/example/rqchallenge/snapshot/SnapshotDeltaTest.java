@@ -0,0 +1,133 @@
+package com.example.rqchallenge.snapshot;
+
+import com.example.rqchallenge.employees.model.Employee;
+import com.example.rqchallenge.employees.snapshot.EmployeeSnapshot;
+import com.example.rqchallenge.employees.snapshot.SnapshotDelta;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SnapshotDeltaTest {
+
+    private static final Instant LOADED_AT = Instant.parse("2024-01-01T00:00:00Z");
+    private static final Instant REFRESHED_AT = Instant.parse("2024-01-01T00:01:00Z");
+    private static final String[] NAMES = {"Tiger Nixon", "Garrett Winters", "Ashton Cox", "Cedric Kelly", "Airi Satou"};
+
+    @Test
+    void deltaMatchesAFullRebuild() {
+        Random random = new Random(7);
+        List<Employee> current = new ArrayList<>();
+        for (int id = 0; id < 400; id++) {
+            current.add(employee(random, id));
+        }
+        EmployeeSnapshot snapshot = new EmployeeSnapshot(1, LOADED_AT, current);
+        int nextId = 400;
+        for (int version = 2; version < 60; version++) {
+            List<Employee> fetched = new ArrayList<>();
+            for (Employee employee : current) {
+                int roll = random.nextInt(100);
+                if (roll < 2) {
+                    continue;
+                }
+                fetched.add(roll < 4 ? employee(random, employee.getId()) : employee);
+            }
+            for (int i = random.nextInt(12); i > 0; i--) {
+                fetched.add(employee(random, nextId++));
+            }
+
+            SnapshotDelta delta = SnapshotDelta.between(snapshot, fetched);
+            assertNotNull(delta);
+            snapshot = delta.applyTo(snapshot, version, REFRESHED_AT);
+            assertSameViews(new EmployeeSnapshot(version, REFRESHED_AT, fetched), snapshot);
+            current = fetched;
+        }
+    }
+
+    @Test
+    void deltaReportsEachKindOfChange() {
+        EmployeeSnapshot snapshot = new EmployeeSnapshot(1, LOADED_AT, List.of(
+                new Employee(1, "Tiger Nixon", 320800, 61),
+                new Employee(2, "Garrett Winters", 170750, 63),
+                new Employee(3, "Ashton Cox", 86000, 66)));
+
+        SnapshotDelta delta = SnapshotDelta.between(snapshot, List.of(
+                new Employee(1, "Tiger Nixon", 320800, 61),
+                new Employee(3, "Ashton Cox", 90000, 66),
+                new Employee(4, "Cedric Kelly", 433060, 22)));
+
+        assertEquals(1, delta.getInserted());
+        assertEquals(1, delta.getUpdated());
+        assertEquals(1, delta.getDeleted());
+        EmployeeSnapshot updated = delta.applyTo(snapshot, 2, REFRESHED_AT);
+        assertEquals(REFRESHED_AT, updated.getLoadedAt());
+        assertEquals(List.of("Cedric Kelly", "Tiger Nixon", "Ashton Cox"), updated.getSalaryIndex().topNames(10));
+        assertEquals(0, updated.searchNames("garrett").length);
+        assertEquals(90000, updated.getEmployee(3).getSalary());
+    }
+
+    @Test
+    void unchangedListSharesTheIndexes() {
+        List<Employee> employees = List.of(new Employee(1, "Tiger Nixon", 320800, 61));
+        EmployeeSnapshot snapshot = new EmployeeSnapshot(1, LOADED_AT, employees);
+
+        SnapshotDelta delta = SnapshotDelta.between(snapshot, List.of(new Employee(1, "Tiger Nixon", 320800, 61)));
+        EmployeeSnapshot refreshed = delta.applyTo(snapshot, 2, REFRESHED_AT);
+
+        assertTrue(delta.isEmpty());
+        assertEquals(REFRESHED_AT, refreshed.getLoadedAt());
+        assertSame(snapshot.getStore(), refreshed.getStore());
+        assertSame(snapshot.getSalaryIndex(), refreshed.getSalaryIndex());
+        assertSame(snapshot.getNameIndex(), refreshed.getNameIndex());
+    }
+
+    @Test
+    void reorderedOrIrregularListsAreRebuilt() {
+        Employee tiger = new Employee(1, "Tiger Nixon", 320800, 61);
+        Employee garrett = new Employee(2, "Garrett Winters", 170750, 63);
+        Employee ashton = new Employee(3, "Ashton Cox", 86000, 66);
+        EmployeeSnapshot snapshot = new EmployeeSnapshot(1, LOADED_AT, List.of(tiger, garrett));
+
+        assertNull(SnapshotDelta.between(snapshot, List.of(garrett, tiger)));
+        assertNull(SnapshotDelta.between(snapshot, List.of(tiger, ashton, garrett)));
+        assertNull(SnapshotDelta.between(snapshot, List.of(tiger, garrett, tiger)));
+        assertNull(SnapshotDelta.between(snapshot, Arrays.asList(tiger, null, garrett)));
+        assertNull(SnapshotDelta.between(new EmployeeSnapshot(1, LOADED_AT, List.of(tiger, tiger)), List.of(tiger)));
+    }
+
+    @Test
+    void largeChangesAreRebuilt() {
+        Random random = new Random(11);
+        List<Employee> employees = new ArrayList<>();
+        for (int id = 0; id < 1000; id++) {
+            employees.add(employee(random, id));
+        }
+        EmployeeSnapshot snapshot = new EmployeeSnapshot(1, LOADED_AT, employees);
+
+        assertNotNull(SnapshotDelta.between(snapshot, employees.subList(0, 900)));
+        assertNull(SnapshotDelta.between(snapshot, employees.subList(0, 500)));
+    }
+
+    private static void assertSameViews(EmployeeSnapshot expected, EmployeeSnapshot actual) {
+        assertEquals(expected.getEmployees(), actual.getEmployees());
+        assertEquals(expected.getEmployees(expected.getSalaryIndex().topRows(expected.size())),
+                actual.getEmployees(actual.getSalaryIndex().topRows(actual.size())));
+        for (String search : List.of("a", "on", "ter", "kelly 4")) {
+            assertEquals(expected.getEmployees(expected.searchNames(search)),
+                    actual.getEmployees(actual.searchNames(search)));
+        }
+        for (Employee employee : expected.getEmployees()) {
+            assertEquals(employee, actual.getEmployee(employee.getId()));
+        }
+    }
+
+    private static Employee employee(Random random, int id) {
+        return new Employee(id, NAMES[random.nextInt(NAMES.length)] + " " + id, 1000 * random.nextInt(50),
+                20 + random.nextInt(40));
+    }
+}
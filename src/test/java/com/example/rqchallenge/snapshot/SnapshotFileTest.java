@@ -0,0 +1,114 @@
+package com.example.rqchallenge.snapshot;
+
+import com.example.rqchallenge.employees.model.Employee;
+import com.example.rqchallenge.employees.snapshot.EmployeeSnapshot;
+import com.example.rqchallenge.employees.snapshot.SnapshotFile;
+import com.example.rqchallenge.employees.store.EmployeeStore;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SnapshotFileTest {
+
+    private static final Instant LOADED_AT = Instant.parse("2024-01-01T00:00:00Z");
+
+    private Path directory;
+    private SnapshotFile file;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        directory = Files.createTempDirectory("snapshot-file-test");
+        file = new SnapshotFile(directory.resolve("nested").resolve("employees.snapshot"));
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (Path path : (Iterable<Path>) paths.sorted(Comparator.reverseOrder())::iterator) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    @Test
+    void roundTripsEveryEmployee() throws IOException {
+        List<Employee> employees = Arrays.asList(
+                new Employee(1, "Tiger Nixon", 320800, 61, "https://example.com/tiger.png"),
+                null,
+                new Employee(3, null, 170750, 63),
+                new Employee(4, "Tiger Nixon", 86000, 66, ""),
+                new Employee(5, "Zo\u00eb \u00d8degaard", 162700, 33));
+
+        file.write(new EmployeeSnapshot(7, LOADED_AT, employees));
+        SnapshotFile.Contents contents = file.read();
+
+        assertEquals(LOADED_AT, contents.getLoadedAt());
+        List<Employee> expected = new ArrayList<>(employees);
+        expected.remove(null);
+        assertEquals(expected, employees(contents.getStore()));
+        assertSame(contents.getStore().getName(0), contents.getStore().getName(2));
+        assertEquals(2, contents.getStore().rowOf(4));
+    }
+
+    @Test
+    void omitsRemovedEmployees() throws IOException {
+        EmployeeSnapshot snapshot = new EmployeeSnapshot(1, LOADED_AT, List.of(
+                new Employee(1, "Tiger Nixon", 320800, 61),
+                new Employee(2, "Garrett Winters", 170750, 63))).withRemoved(2, 1);
+
+        file.write(snapshot);
+
+        assertEquals(List.of(new Employee(2, "Garrett Winters", 170750, 63)), employees(file.read().getStore()));
+    }
+
+    @Test
+    void replacesThePreviousFile() throws IOException {
+        file.write(new EmployeeSnapshot(1, LOADED_AT, List.of(new Employee(1, "Tiger Nixon", 320800, 61))));
+        file.write(new EmployeeSnapshot(2, LOADED_AT.plusSeconds(60), List.of()));
+
+        SnapshotFile.Contents contents = file.read();
+        assertEquals(LOADED_AT.plusSeconds(60), contents.getLoadedAt());
+        assertEquals(0, contents.getStore().size());
+        try (Stream<Path> files = Files.list(file.getPath().getParent())) {
+            assertEquals(1, files.count());
+        }
+    }
+
+    @Test
+    void missingFileReadsAsNull() throws IOException {
+        assertNull(file.read());
+    }
+
+    @Test
+    void rejectsCorruptFiles() throws IOException {
+        file.write(new EmployeeSnapshot(1, LOADED_AT, List.of(new Employee(1, "Tiger Nixon", 320800, 61))));
+        byte[] bytes = Files.readAllBytes(file.getPath());
+        bytes[bytes.length / 2] ^= 1;
+        Files.write(file.getPath(), bytes);
+
+        assertThrows(IOException.class, () -> file.read());
+
+        Files.write(file.getPath(), Arrays.copyOf(bytes, 10));
+        assertThrows(IOException.class, () -> file.read());
+    }
+
+    private static List<Employee> employees(EmployeeStore store) {
+        List<Employee> employees = new ArrayList<>();
+        for (int row = 0; row < store.size(); row++) {
+            employees.add(store.getEmployee(row));
+        }
+        return employees;
+    }
+}
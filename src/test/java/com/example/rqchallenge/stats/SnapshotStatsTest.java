@@ -0,0 +1,132 @@
+package com.example.rqchallenge.stats;
+
+import com.example.rqchallenge.employees.model.Employee;
+import com.example.rqchallenge.employees.model.EmployeeStats;
+import com.example.rqchallenge.employees.snapshot.EmployeeSnapshot;
+import com.example.rqchallenge.employees.stats.SnapshotStats;
+import com.example.rqchallenge.employees.stats.StatsQuery;
+import com.example.rqchallenge.employees.stats.StatsSink;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SnapshotStatsTest {
+
+    private static final List<Employee> EMPLOYEES = Arrays.asList(
+            new Employee(1, "Tiger Nixon", 320800, 61),
+            new Employee(2, "Garrett Winters", 170750, 63),
+            null,
+            new Employee(4, "Ashton Cox", 86000, 66),
+            new Employee(5, "Cedric Kelly", 433060, 22),
+            new Employee(6, "Airi Satou", 162700, 33)
+    );
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void aggregatesEverySalary() {
+        EmployeeStats stats = SnapshotStats.compute(new EmployeeSnapshot(1, Instant.EPOCH, EMPLOYEES),
+                new StatsQuery(10, 170000, null, null, 2));
+
+        assertEquals(5, stats.getCount());
+        assertEquals(86000, (int) stats.getMinSalary());
+        assertEquals(433060, (int) stats.getMaxSalary());
+        assertEquals(234662.0, stats.getMeanSalary(), 0.001);
+        assertEquals(Map.of("p50", 170750, "p90", 433060, "p95", 433060, "p99", 433060),
+                stats.getSalaryPercentiles());
+        assertEquals(3, (int) stats.getCountAboveSalary());
+        assertEquals(List.of("Cedric Kelly", "Tiger Nixon"), names(stats.getTopEarners()));
+    }
+
+    @Test
+    void bucketsSalariesByAge() {
+        EmployeeStats stats = SnapshotStats.compute(new EmployeeSnapshot(1, Instant.EPOCH, EMPLOYEES),
+                new StatsQuery(10, null, null, null, 0));
+
+        List<EmployeeStats.AgeBucket> buckets = stats.getAgeBuckets();
+        assertEquals(3, buckets.size());
+        assertEquals(20, buckets.get(0).getMinAge());
+        assertEquals(29, buckets.get(0).getMaxAge());
+        assertEquals(1, buckets.get(0).getCount());
+        assertEquals(60, buckets.get(2).getMinAge());
+        assertEquals(3, buckets.get(2).getCount());
+        assertEquals((320800 + 170750 + 86000) / 3.0, buckets.get(2).getMeanSalary(), 0.001);
+        assertNull(stats.getCountAboveSalary());
+        assertTrue(stats.getTopEarners().isEmpty());
+    }
+
+    @Test
+    void topEarnersAreFilteredByAge() {
+        EmployeeStats stats = SnapshotStats.compute(new EmployeeSnapshot(1, Instant.EPOCH, EMPLOYEES),
+                new StatsQuery(10, null, 30, 63, 10));
+
+        assertEquals(List.of("Tiger Nixon", "Garrett Winters", "Airi Satou"), names(stats.getTopEarners()));
+    }
+
+    @Test
+    void removedEmployeesAreNotCounted() {
+        EmployeeSnapshot snapshot = new EmployeeSnapshot(1, Instant.EPOCH, EMPLOYEES).withRemoved(2, 5);
+
+        EmployeeStats stats = SnapshotStats.compute(snapshot, new StatsQuery(10, null, null, null, 1));
+
+        assertEquals(4, stats.getCount());
+        assertEquals(320800, (int) stats.getMaxSalary());
+        assertEquals(2, stats.getAgeBuckets().size());
+        assertEquals(30, stats.getAgeBuckets().get(0).getMinAge());
+    }
+
+    @Test
+    void emptySnapshotHasNoSalaryAggregates() {
+        EmployeeStats stats = SnapshotStats.compute(new EmployeeSnapshot(1, Instant.EPOCH, List.of()),
+                new StatsQuery(10, 0, null, null, 10));
+
+        assertEquals(0, stats.getCount());
+        assertNull(stats.getMeanSalary());
+        assertTrue(stats.getSalaryPercentiles().isEmpty());
+        assertEquals(0, (int) stats.getCountAboveSalary());
+    }
+
+    @Test
+    void rejectsInvalidQueries() {
+        assertThrows(IllegalArgumentException.class, () -> new StatsQuery(0, null, null, null, 10));
+        assertThrows(IllegalArgumentException.class, () -> new StatsQuery(10, null, null, null, -1));
+        assertThrows(IllegalArgumentException.class, () -> new StatsQuery(10, null, 40, 30, 10));
+    }
+
+    @Test
+    void streamingMatchesSnapshot() throws Exception {
+        Random random = new Random(23);
+        List<Employee> employees = new ArrayList<>();
+        for (int id = 1; id <= 5_000; id++) {
+            employees.add(new Employee(id, "Employee " + id, 1000 * random.nextInt(200), 18 + random.nextInt(50)));
+        }
+        EmployeeSnapshot snapshot = new EmployeeSnapshot(1, Instant.EPOCH, employees);
+        for (StatsQuery query : List.of(new StatsQuery(10, null, null, null, 10),
+                new StatsQuery(5, 120_000, 25, 40, 25), new StatsQuery(1, 0, 67, 67, 1000))) {
+            StatsSink sink = new StatsSink(query);
+            for (Employee employee : employees) {
+                sink.accept(employee.getId(), employee.getName(), employee.getSalary(), employee.getAge(),
+                        employee.getProfileImage());
+            }
+
+            assertEquals(objectMapper.writeValueAsString(SnapshotStats.compute(snapshot, query)),
+                    objectMapper.writeValueAsString(sink.getStats()));
+        }
+    }
+
+    private static List<String> names(List<Employee> employees) {
+        List<String> names = new ArrayList<>();
+        for (Employee employee : employees) {
+            names.add(employee.getName());
+        }
+        return names;
+    }
+}
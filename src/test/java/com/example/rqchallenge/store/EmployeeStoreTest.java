@@ -0,0 +1,82 @@
+package com.example.rqchallenge.store;
+
+import com.example.rqchallenge.employees.model.Employee;
+import com.example.rqchallenge.employees.store.EmployeeStore;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static com.example.rqchallenge.employees.store.IntIntMap.MISSING;
+import static org.junit.jupiter.api.Assertions.*;
+
+class EmployeeStoreTest {
+
+    private final List<Employee> employees = Arrays.asList(
+            new Employee(1, "Tiger Nixon", 320800, 61, ""),
+            null,
+            new Employee(3, new String("Tiger Nixon"), 86000, 66, new String("")),
+            new Employee(1, "Duplicate Id", 1000, 20),
+            new Employee(5, null, 162700, 33));
+
+    @Test
+    void rowsRoundTrip() {
+        EmployeeStore store = EmployeeStore.of(employees);
+
+        assertEquals(5, store.size());
+        for (int row = 0; row < employees.size(); row++) {
+            assertEquals(employees.get(row), store.getEmployee(row));
+        }
+        assertFalse(store.hasEmployee(1));
+        assertEquals(86000, store.getSalary(2));
+        assertEquals(66, store.getAge(2));
+        assertNull(store.getName(4));
+    }
+
+    @Test
+    void equalStringsShareOneInstance() {
+        EmployeeStore store = EmployeeStore.of(employees);
+
+        assertSame(store.getName(0), store.getName(2));
+        assertSame(store.getProfileImage(0), store.getProfileImage(2));
+    }
+
+    @Test
+    void columnsBecomeRowsAsTheyAre() {
+        String[] names = {"Tiger Nixon", "Garrett Winters", "Duplicate Id"};
+        EmployeeStore store = EmployeeStore.of(new int[]{1, 2, 1}, new int[]{320800, 170750, 1000},
+                new int[]{61, 63, 20}, names, new String[]{"", null, ""});
+
+        assertEquals(3, store.size());
+        assertEquals(new Employee(2, "Garrett Winters", 170750, 63), store.getEmployee(1));
+        assertSame(names[0], store.getName(0));
+        assertEquals(0, store.rowOf(1));
+        assertThrows(IllegalArgumentException.class, () -> EmployeeStore.of(new int[]{1}, new int[0], new int[0],
+                new String[0], new String[0]));
+    }
+
+    @Test
+    void rowOfFindsTheFirstRowWithAnId() {
+        EmployeeStore store = EmployeeStore.of(employees);
+
+        assertEquals(0, store.rowOf(1));
+        assertEquals(4, store.rowOf(5));
+        assertEquals(MISSING, store.rowOf(2));
+    }
+
+    @Test
+    void appendingAndUnmappingDeriveNewStores() {
+        EmployeeStore store = EmployeeStore.of(employees);
+
+        EmployeeStore appended = store.withAppended(new Employee(3, "Ashton Cox", 90000, 67));
+        EmployeeStore unmapped = appended.withoutId(5);
+
+        assertEquals(5, appended.rowOf(3));
+        assertEquals("Ashton Cox", appended.getEmployee(5).getName());
+        assertEquals(MISSING, unmapped.rowOf(5));
+        assertEquals(6, unmapped.size());
+        assertEquals(2, store.rowOf(3));
+        assertEquals(5, store.size());
+        assertSame(unmapped, unmapped.withoutId(5));
+    }
+}
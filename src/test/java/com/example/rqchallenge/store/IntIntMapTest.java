@@ -0,0 +1,73 @@
+package com.example.rqchallenge.store;
+
+import com.example.rqchallenge.employees.store.IntIntMap;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static com.example.rqchallenge.employees.store.IntIntMap.MISSING;
+import static org.junit.jupiter.api.Assertions.*;
+
+class IntIntMapTest {
+
+    @Test
+    void putGetAndRemove() {
+        IntIntMap map = new IntIntMap(0);
+
+        assertEquals(MISSING, map.put(7, 0));
+        assertEquals(0, map.put(7, 3));
+        assertEquals(3, map.putIfAbsent(7, 5));
+        assertEquals(3, map.get(7));
+        assertEquals(MISSING, map.get(8));
+
+        assertEquals(3, map.remove(7));
+        assertEquals(MISSING, map.remove(7));
+        assertFalse(map.containsKey(7));
+        assertEquals(0, map.size());
+    }
+
+    @Test
+    void copyIsIndependent() {
+        IntIntMap map = new IntIntMap(4);
+        map.put(1, 10);
+
+        IntIntMap copy = map.copy();
+        copy.put(2, 20);
+        copy.remove(1);
+
+        assertEquals(10, map.get(1));
+        assertEquals(MISSING, map.get(2));
+        assertEquals(20, copy.get(2));
+    }
+
+    @Test
+    void matchesHashMapUnderRandomChurn() {
+        Random random = new Random(7);
+        IntIntMap map = new IntIntMap(0);
+        Map<Integer, Integer> expected = new HashMap<>();
+        for (int i = 0; i < 200_000; i++) {
+            // A narrow key range keeps probe sequences long and collisions frequent.
+            int key = random.nextInt(4096) - 2048;
+            if (random.nextInt(3) == 0) {
+                Integer removed = expected.remove(key);
+                assertEquals(removed == null ? MISSING : (int) removed, map.remove(key));
+            } else {
+                int value = random.nextInt(Integer.MAX_VALUE);
+                Integer previous = expected.put(key, value);
+                assertEquals(previous == null ? MISSING : (int) previous, map.put(key, value));
+            }
+        }
+        assertEquals(expected.size(), map.size());
+        for (int key = -2048; key < 2048; key++) {
+            Integer value = expected.get(key);
+            assertEquals(value == null ? MISSING : (int) value, map.get(key));
+        }
+    }
+
+    @Test
+    void rejectsNegativeValues() {
+        assertThrows(IllegalArgumentException.class, () -> new IntIntMap(1).put(1, -1));
+    }
+}
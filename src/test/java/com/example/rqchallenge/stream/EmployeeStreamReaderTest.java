@@ -0,0 +1,133 @@
+package com.example.rqchallenge.stream;
+
+import com.example.rqchallenge.employees.model.Employee;
+import com.example.rqchallenge.employees.stream.EmployeeListSink;
+import com.example.rqchallenge.employees.stream.EmployeeStreamReader;
+import com.example.rqchallenge.employees.stream.MaxSalarySink;
+import com.example.rqchallenge.employees.stream.NameSearchSink;
+import com.example.rqchallenge.employees.stream.TopSalarySink;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Objects.requireNonNull;
+import static org.junit.jupiter.api.Assertions.*;
+
+class EmployeeStreamReaderTest {
+
+    private final EmployeeStreamReader reader = new EmployeeStreamReader();
+
+    private String readMockData(EmployeeListSink sink) throws IOException {
+        try (InputStream body = requireNonNull(getClass().getClassLoader().getResourceAsStream("mockdata/employees_success.json"))) {
+            return reader.read(body, sink);
+        }
+    }
+
+    @Test
+    void readsEveryEmployee() throws IOException {
+        EmployeeListSink sink = new EmployeeListSink();
+
+        assertEquals("success", readMockData(sink));
+        assertEquals(24, sink.getEmployees().size());
+        Employee first = sink.getEmployees().get(0);
+        assertEquals(1, first.getId());
+        assertEquals("Tiger Nixon", first.getName());
+        assertEquals(320800, first.getSalary());
+        assertEquals(61, first.getAge());
+        assertEquals("", first.getProfileImage());
+    }
+
+    @Test
+    void acceptsNumericStringsAndSkipsUnknownFields() throws IOException {
+        String json = "{\"data\":[{\"id\":\"7\",\"employee_name\":\"Tiger Nixon\",\"employee_salary\":\"320800\","
+                + "\"employee_age\":\"61\",\"extra\":{\"nested\":[1,2]},\"profile_image\":null},null],"
+                + "\"message\":\"ok\",\"status\":\"success\"}";
+        EmployeeListSink sink = new EmployeeListSink();
+
+        assertEquals("success", reader.read(json.getBytes(UTF_8), sink));
+        assertEquals(1, sink.getEmployees().size());
+        assertEquals(7, sink.getEmployees().get(0).getId());
+        assertEquals(320800, sink.getEmployees().get(0).getSalary());
+        assertNull(sink.getEmployees().get(0).getProfileImage());
+    }
+
+    @Test
+    void readsNullAndEmptyNumbersAsZeroAndTruncatesFractions() throws IOException {
+        String json = "{\"status\":\"success\",\"data\":[{\"id\":3,\"employee_salary\":null,"
+                + "\"employee_age\":\"\"},{\"id\":4,\"employee_salary\":86000.9,\"employee_age\":66}]}";
+        EmployeeListSink sink = new EmployeeListSink();
+
+        reader.read(json.getBytes(UTF_8), sink);
+
+        assertEquals(0, sink.getEmployees().get(0).getSalary());
+        assertEquals(0, sink.getEmployees().get(0).getAge());
+        assertEquals(86000, sink.getEmployees().get(1).getSalary());
+    }
+
+    @Test
+    void failsOnANonIntegerNumber() {
+        for (String malformed : List.of("\"employee_salary\":\"320k\"", "\"employee_age\":\"61.5\"",
+                "\"employee_age\":true", "\"id\":{\"value\":1}", "\"employee_salary\":3208000000")) {
+            String json = "{\"status\":\"success\",\"data\":[{\"employee_name\":\"Tiger Nixon\"," + malformed + "}]}";
+            EmployeeListSink sink = new EmployeeListSink();
+
+            assertThrows(IOException.class, () -> reader.read(json.getBytes(UTF_8), sink));
+            assertEquals(List.of(), sink.getEmployees(), malformed);
+        }
+    }
+
+    @Test
+    void skipsFieldsTheSinkDoesNotRead() throws IOException {
+        List<String> names = new ArrayList<>();
+        List<String> profileImages = new ArrayList<>();
+        String json = "{\"status\":\"success\",\"data\":[{\"id\":1,\"employee_name\":\"Tiger Nixon\",\"profile_image\":\"x.png\"}]}";
+
+        reader.read(json.getBytes(UTF_8), (id, name, salary, age, profileImage) -> {
+            names.add(name);
+            profileImages.add(profileImage);
+        });
+
+        assertEquals(List.of("Tiger Nixon"), names);
+        assertNull(profileImages.get(0));
+    }
+
+    @Test
+    void reportsFailureStatus() throws IOException {
+        assertEquals("error", reader.read("{\"status\":\"error\",\"message\":\"Too Many Attempts.\"}".getBytes(UTF_8),
+                new EmployeeListSink()));
+    }
+
+    @Test
+    void aggregatingSinksMatchTheMockData() throws IOException {
+        EmployeeListSink all = new EmployeeListSink();
+        readMockData(all);
+        MaxSalarySink max = new MaxSalarySink();
+        TopSalarySink top = new TopSalarySink(10);
+        NameSearchSink search = new NameSearchSink("tig");
+        for (Employee employee : all.getEmployees()) {
+            max.accept(employee.getId(), employee.getName(), employee.getSalary(), employee.getAge(), null);
+            top.accept(employee.getId(), employee.getName(), employee.getSalary(), employee.getAge(), null);
+            search.accept(employee.getId(), employee.getName(), employee.getSalary(), employee.getAge(), null);
+        }
+
+        assertEquals(725000, max.getMax().getAsInt());
+        assertEquals(10, top.getNames().size());
+        assertEquals("Paul Byrd", top.getNames().get(0));
+        assertEquals(1, search.getMatches().size());
+    }
+
+    @Test
+    void topSalarySinkKeepsStreamOrderForTies() {
+        TopSalarySink top = new TopSalarySink(2);
+        top.accept(1, "first", 100, 30, null);
+        top.accept(2, "second", 100, 30, null);
+        top.accept(3, "third", 100, 30, null);
+        top.accept(4, "lowest", 50, 30, null);
+
+        assertEquals(List.of("first", "second"), top.getNames());
+    }
+}
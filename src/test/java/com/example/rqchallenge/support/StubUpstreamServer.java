@@ -0,0 +1,197 @@
+package com.example.rqchallenge.support;
+
+import com.example.rqchallenge.employees.model.Employee;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Local stand-in for {@code dummy.restapiexample.com} serving {@code /api/v1/employees}, {@code /employee/{id}},
+ * {@code /create} and {@code /delete/{id}} from an in-memory employee list, with optional per-request latency
+ * and injected error responses. Given an ETag, the employee list honours {@code If-None-Match}.
+ */
+public class StubUpstreamServer implements AutoCloseable {
+
+    private static final String API = "/api/v1/";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final Map<String, AtomicInteger> requestCounts = new ConcurrentHashMap<>();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger peakInFlight = new AtomicInteger();
+    private final Set<Integer> clientPorts = ConcurrentHashMap.newKeySet();
+    private volatile List<Employee> employees;
+    private volatile Duration latency = Duration.ZERO;
+    private final AtomicInteger remainingFaults = new AtomicInteger();
+    private volatile int faultStatus;
+    private volatile Map<String, String> faultHeaders = Map.of();
+    private volatile String etag;
+
+    public StubUpstreamServer(List<Employee> employees) {
+        this.employees = employees;
+        try {
+            server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 1024);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        server.createContext(API, this::handle);
+        server.setExecutor(executor);
+        server.start();
+    }
+
+    public String getBaseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + API;
+    }
+
+    public void setLatency(Duration latency) {
+        this.latency = latency;
+    }
+
+    public void setEmployees(List<Employee> employees) {
+        this.employees = employees;
+    }
+
+    /**
+     * Tags the employee list with {@code etag}, or stops tagging it if {@code null}.
+     */
+    public void setEtag(String etag) {
+        this.etag = etag;
+    }
+
+    /**
+     * Answers the next {@code count} requests, on any route, with {@code status} and {@code headers}.
+     */
+    public void failNext(int count, int status, Map<String, String> headers) {
+        faultStatus = status;
+        faultHeaders = headers;
+        remainingFaults.set(count);
+    }
+
+    public int getRequestCount(String path) {
+        AtomicInteger count = requestCounts.get(path);
+        return count == null ? 0 : count.get();
+    }
+
+    public int getPeakInFlight() {
+        return peakInFlight.get();
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    /**
+     * Number of distinct client connections seen so far.
+     */
+    public int getConnectionCount() {
+        return clientPorts.size();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        int current = inFlight.incrementAndGet();
+        peakInFlight.accumulateAndGet(current, Math::max);
+        clientPorts.add(exchange.getRemoteAddress().getPort());
+        try {
+            String path = exchange.getRequestURI().getPath().substring(API.length());
+            requestCounts.computeIfAbsent(path, key -> new AtomicInteger()).incrementAndGet();
+            sleep(latency);
+            if (remainingFaults.getAndUpdate(count -> Math.max(0, count - 1)) > 0) {
+                faultHeaders.forEach(exchange.getResponseHeaders()::set);
+                respond(exchange, faultStatus, error("Injected failure"));
+                return;
+            }
+            route(exchange, path);
+        } finally {
+            inFlight.decrementAndGet();
+            exchange.close();
+        }
+    }
+
+    private void route(HttpExchange exchange, String path) throws IOException {
+        String method = exchange.getRequestMethod();
+        if ("GET".equals(method) && path.equals("employees")) {
+            String currentEtag = etag;
+            if (currentEtag != null) {
+                exchange.getResponseHeaders().set("ETag", currentEtag);
+                if (currentEtag.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+                    exchange.sendResponseHeaders(304, -1);
+                    return;
+                }
+            }
+            respond(exchange, 200, success(employees));
+        } else if ("GET".equals(method) && path.startsWith("employee/")) {
+            Employee employee = find(path.substring("employee/".length()));
+            respond(exchange, employee == null ? 404 : 200, employee == null ? error("Not found") : success(employee));
+        } else if ("POST".equals(method) && path.equals("create")) {
+            Map<String, Object> input;
+            try (InputStream body = exchange.getRequestBody()) {
+                input = objectMapper.readValue(body, new TypeReference<Map<String, Object>>() {
+                });
+            }
+            Map<String, Object> created = new LinkedHashMap<>(input);
+            created.put("id", employees.size() + 1);
+            respond(exchange, 200, success(created));
+        } else if ("DELETE".equals(method) && path.startsWith("delete/")) {
+            respond(exchange, 200, Map.of("status", "success", "message", "successfully! deleted Record"));
+        } else {
+            respond(exchange, 404, error("Unknown route"));
+        }
+    }
+
+    private Employee find(String id) {
+        return employees.stream()
+                .filter(Objects::nonNull)
+                .filter(employee -> String.valueOf(employee.getId()).equals(id))
+                .findFirst()
+                .orElse(null);
+    }
+
+    private void respond(HttpExchange exchange, int status, Object body) throws IOException {
+        byte[] bytes = objectMapper.writeValueAsBytes(body);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        exchange.getResponseBody().write(bytes);
+    }
+
+    private static Map<String, Object> success(Object data) {
+        return Map.of("status", "success", "data", data);
+    }
+
+    private static Map<String, Object> error(String message) {
+        return Map.of("status", "error", "message", message);
+    }
+
+    private static void sleep(Duration duration) {
+        if (duration.isZero()) {
+            return;
+        }
+        try {
+            Thread.sleep(duration.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.rqchallenge.web;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import com.example.rqchallenge.employees.web.AccessLogFilter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletResponse;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AccessLogFilterTest {
+
+    private final Logger accessLogger = (Logger) LoggerFactory.getLogger(AccessLogFilter.LOGGER_NAME);
+    private final ListAppender<ILoggingEvent> appender = new ListAppender<>();
+    private final AccessLogFilter filter = new AccessLogFilter();
+
+    @BeforeEach
+    void setUp() {
+        appender.start();
+        accessLogger.addAppender(appender);
+    }
+
+    @AfterEach
+    void tearDown() {
+        accessLogger.detachAppender(appender);
+    }
+
+    @Test
+    void logsOneLinePerRequest() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/employees/42");
+        request.setQueryString("limit=10");
+
+        filter.doFilter(request, new MockHttpServletResponse(),
+                (req, res) -> ((HttpServletResponse) res).setStatus(404));
+
+        assertEquals(1, appender.list.size());
+        String line = appender.list.get(0).getFormattedMessage();
+        assertTrue(line.startsWith("method=GET path=/employees/42 status=404 duration_us="), line);
+        assertFalse(line.contains("limit"), line);
+    }
+
+    @Test
+    void logsAsyncRequestsWhenTheyComplete() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/employees");
+        request.setAsyncSupported(true);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, (req, res) -> req.startAsync());
+        assertTrue(appender.list.isEmpty());
+
+        response.setStatus(503);
+        ((MockAsyncContext) request.getAsyncContext()).complete();
+
+        assertEquals(1, appender.list.size());
+        assertTrue(appender.list.get(0).getFormattedMessage().contains("status=503"));
+    }
+
+    @Test
+    void logsUnhandledFailuresAsServerErrors() {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/employees");
+
+        assertThrows(ServletException.class, () -> filter.doFilter(request, new MockHttpServletResponse(),
+                (req, res) -> {
+                    throw new ServletException("boom");
+                }));
+
+        assertEquals(1, appender.list.size());
+        assertTrue(appender.list.get(0).getFormattedMessage().contains("status=500"));
+    }
+}